@@ -0,0 +1,89 @@
+/*
+ * Copyright 2006-2019 ICEsoft Technologies Canada Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.io;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * InputStream that reads directly from a ByteBuffer without copying its contents.  Bytes are read from the
+ * buffer's current position up to its limit and the buffer's position is advanced as bytes are read, so callers
+ * that share a buffer should pass in a {@link ByteBuffer#duplicate()}.
+ *
+ * @since 7.3.0
+ */
+public class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer byteBuffer;
+    private int markPosition;
+
+    public ByteBufferInputStream(ByteBuffer byteBuffer) {
+        this.byteBuffer = byteBuffer;
+        markPosition = byteBuffer.position();
+    }
+
+    @Override
+    public int read() {
+        if (!byteBuffer.hasRemaining()) {
+            return -1;
+        }
+        return byteBuffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        int remaining = byteBuffer.remaining();
+        if (remaining == 0) {
+            return -1;
+        }
+        int count = Math.min(length, remaining);
+        byteBuffer.get(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        if (n <= 0) {
+            return 0;
+        }
+        int count = (int) Math.min(n, byteBuffer.remaining());
+        byteBuffer.position(byteBuffer.position() + count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return byteBuffer.remaining();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+        markPosition = byteBuffer.position();
+    }
+
+    @Override
+    public synchronized void reset() {
+        byteBuffer.position(markPosition);
+    }
+}
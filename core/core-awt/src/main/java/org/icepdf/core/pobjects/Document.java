@@ -112,6 +112,9 @@ public class Document {
     // disable/enable file caching when downloading url data streams
     private static boolean isCachingEnabled;
 
+    // disable/enable memory mapping of file backed documents rather than copying them onto the heap
+    private static boolean isMemoryMappingEnabled;
+
     private final Library library;
 
     private FileChannel documentFileChannel;
@@ -124,6 +127,11 @@ public class Document {
         isCachingEnabled =
                 Defs.sysPropertyBoolean("org.icepdf.core.streamcache.enabled",
                         true);
+        // sets if file backed documents are memory mapped, the file can't be overwritten or deleted on some
+        // platforms while the document is open when enabled.
+        isMemoryMappingEnabled =
+                Defs.sysPropertyBoolean("org.icepdf.core.memoryMappedFile.enabled",
+                        false);
     }
 
     /**
@@ -201,12 +209,33 @@ public class Document {
         }
     }
 
+    /**
+     * Opens the given file and returns a buffer containing its bytes.  If the system property
+     * org.icepdf.core.memoryMappedFile.enabled=true the file is mapped read only, so the operating system pages
+     * the file in as it is read and heap use doesn't grow with the file size.  Otherwise, the whole file is copied
+     * into a heap buffer.
+     *
+     * @param file file to load
+     * @return buffer containing the file's bytes, positioned at zero.
+     * @throws IOException if the file can't be read or is larger than a buffer can address.
+     */
     private ByteBuffer copyFileToByteBuffer(File file) throws IOException {
         randomAccessFile = new RandomAccessFile(file, "r");
         documentFileChannel = randomAccessFile.getChannel();
         long fileSize = documentFileChannel.size();
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("File is too large to be loaded, size: " + fileSize);
+        }
+        if (isMemoryMappingEnabled) {
+            return documentFileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        }
         ByteBuffer buffer = ByteBuffer.allocate((int) fileSize);
-        documentFileChannel.read(buffer);
+        // a single read isn't guaranteed to fill the buffer.
+        while (buffer.hasRemaining()) {
+            if (documentFileChannel.read(buffer) < 0) {
+                break;
+            }
+        }
         buffer.flip();
         return buffer;
     }
@@ -548,6 +577,9 @@ public class Document {
             documentByteBuffer.clear();
         }
 
+        library.getDecodedStreamCache().clear();
+        library.getImagePool().clear();
+
         String fileToDelete = getDocumentCachedFilePath();
         if (fileToDelete != null) {
             File file = new File(fileToDelete);
@@ -721,6 +753,38 @@ public class Document {
         }
     }
 
+    /**
+     * Creates a pipeline that initializes the given range of pages ahead of the caller on a pool of worker threads.
+     * Batch rasterization or extraction jobs can consume the pages in order with {@link PagePipeline#next()} and
+     * hand them back with {@link PagePipeline#release(Page)}, page content, fonts and images of the following pages
+     * are parsed in parallel in the mean time.  The pipeline must be closed once it's no longer needed.
+     *
+     * @param startPage   zero-based index of the first page, inclusive.
+     * @param endPage     zero-based index of the last page, exclusive.
+     * @param parallelism number of pages that can be initialized concurrently.
+     * @return new page pipeline over the given range.
+     * @since 7.3.0
+     */
+    public PagePipeline getPagePipeline(int startPage, int endPage, int parallelism) {
+        return new PagePipeline(catalog.getPageTree(), startPage, endPage, parallelism);
+    }
+
+    /**
+     * Creates an extractor that streams the text of the given range of pages to a handler or writer in page order.
+     * Unlike calling {@link #getPageText(int)} for each page, the text of the following pages is parsed in
+     * parallel and each page's text and content is released as soon as it has been handed over, so memory use
+     * doesn't grow with the number of pages.
+     *
+     * @param startPage   zero-based index of the first page, inclusive.
+     * @param endPage     zero-based index of the last page, exclusive.
+     * @param parallelism number of pages that can be parsed concurrently.
+     * @return new text extractor over the given range.
+     * @since 7.3.0
+     */
+    public TextExtractor getTextExtractor(int startPage, int endPage, int parallelism) {
+        return new TextExtractor(catalog.getPageTree(), startPage, endPage, parallelism);
+    }
+
     public boolean hasRedactions() {
         // check state manager first as this will be a bit cheaper than scanning each page in the document.
         if (stateManager.hasRedactions()) {
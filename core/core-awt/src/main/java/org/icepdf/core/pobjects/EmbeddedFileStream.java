@@ -121,7 +121,7 @@ public class EmbeddedFileStream extends Dictionary {
      * @return number of bytes in compressed stream.
      */
     public int getCompressedSize() {
-        return fileStream.getRawBytes().length;
+        return fileStream.getRawBytesLength();
     }
 
     /**
@@ -46,7 +46,11 @@ public class ObjectStream extends Stream {
         super(library, dictionaryEntries, rawBytes);
     }
 
-    public void initialize() throws IOException {
+    public ObjectStream(Library library, DictionaryEntries dictionaryEntries, ByteBuffer rawByteBuffer) {
+        super(library, dictionaryEntries, rawByteBuffer);
+    }
+
+    public synchronized void initialize() throws IOException {
         if (inited) {
             return;
         }
@@ -81,8 +85,7 @@ public class ObjectStream extends Stream {
         int objectNumber = objectNumbers[objectIndex];
         int position = (int) objectOffset[objectIndex];
 
-        decodedByteBufer.position(position);
-
-        return parser.getCompressedObject(decodedByteBufer, objectNumber, position);
+        // work on a duplicate so concurrent loads from the same object stream don't share a position.
+        return parser.getCompressedObject(decodedByteBufer.duplicate(), objectNumber, position);
     }
 }
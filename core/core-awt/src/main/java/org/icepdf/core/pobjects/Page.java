@@ -26,6 +26,7 @@ import org.icepdf.core.pobjects.graphics.text.PageText;
 import org.icepdf.core.pobjects.graphics.text.WordText;
 import org.icepdf.core.util.*;
 import org.icepdf.core.util.parser.content.ContentParser;
+import org.icepdf.core.util.parser.content.OperandStack;
 import org.icepdf.core.util.updater.callbacks.ContentStreamRedactorCallback;
 import org.icepdf.core.util.updater.modifiers.AnnotationRemovalModifier;
 import org.icepdf.core.util.updater.modifiers.ModifierFactory;
@@ -239,7 +240,7 @@ public class Page extends Dictionary {
                 if (tmp instanceof Stream) {
                     Stream tmpStream = (Stream) tmp;
                     // prune any zero length streams,
-                    if (tmpStream.getRawBytes().length > 0) {
+                    if (tmpStream.getRawBytesLength() > 0) {
                         tmpStream.setPObjectReference((Reference) cont);
                         contents.add(tmpStream);
                     }
@@ -373,6 +374,21 @@ public class Page extends Dictionary {
         inited = false;
     }
 
+    /**
+     * Drops the content streams and resources loaded by {@link #getText()} so
+     * they can be reclaimed once the page's text has been consumed.  Nothing is
+     * dropped if the page has been initialized, the streams and resources are
+     * loaded again when needed.
+     *
+     * @since 7.3.0
+     */
+    public synchronized void releaseTextResources() {
+        if (!inited) {
+            contents = null;
+            resources = null;
+        }
+    }
+
     /**
      * Initialize the Page object.  This method triggers the parsing of a page's
      * child elements.  Once a page has been initialized, it can be painted.
@@ -1579,7 +1595,7 @@ public class Page extends Dictionary {
                 textBlockShapes = cp.parseTextBlocks(streams);
                 // print off any fuzz left on the stack
                 if (logger.isLoggable(Level.FINER)) {
-                    Stack<Object> stack = cp.getStack();
+                    OperandStack stack = cp.getStack();
                     while (!stack.isEmpty()) {
                         String tmp = stack.pop().toString();
                         if (logger.isLoggable(Level.FINE)) {
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2006-2019 ICEsoft Technologies Canada Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Initializes a range of pages ahead of a consumer on a bounded pool of worker threads, so batch jobs that rasterize
+ * or extract every page of a document can parse content, fonts and images of upcoming pages while the current page
+ * is being processed.
+ * <br>
+ * Pages are returned by {@link #next()} in page order and should be handed back with {@link #release(Page)} once
+ * they have been consumed, which resets the page's initialized state so its content can be reclaimed.  At most two
+ * pages per worker are initialized ahead of the consumer, and no new pages are scheduled while the free heap is below
+ * the minimum set by the system property "org.icepdf.core.pagePipeline.minFreeMemory" in megabytes, default 64.
+ * <br>
+ * A pipeline is meant to be used by a single consumer thread and must be closed when no longer needed to stop its
+ * worker threads.
+ *
+ * @since 7.3.0
+ */
+public class PagePipeline implements AutoCloseable {
+
+    private final PageTaskQueue<Page> queue;
+
+    /**
+     * Creates a new pipeline over the given pages.
+     *
+     * @param pageTree    document page tree.
+     * @param startPage   zero-based index of the first page, inclusive.
+     * @param endPage     zero-based index of the last page, exclusive.
+     * @param parallelism number of worker threads used to initialize pages.
+     */
+    PagePipeline(PageTree pageTree, int startPage, int endPage, int parallelism) {
+        queue = new PageTaskQueue<>(pageTree, startPage, endPage, parallelism, "ICEpdf-page-pipeline",
+                (pageIndex, page) -> {
+                    if (page == null) {
+                        throw new IllegalStateException("Page " + pageIndex + " could not be found.");
+                    }
+                    page.init();
+                    return page;
+                });
+    }
+
+    /**
+     * @return true if there are more pages to be returned by {@link #next()}.
+     */
+    public boolean hasNext() {
+        return queue.hasNext();
+    }
+
+    /**
+     * Gets the next page in the range, waiting for it to finish initializing if needed.
+     *
+     * @return next initialized page.
+     * @throws InterruptedException   the calling thread was interrupted while waiting, or the page's initialization
+     *                                was interrupted.
+     * @throws NoSuchElementException there are no more pages in the range.
+     */
+    public Page next() throws InterruptedException {
+        return queue.next();
+    }
+
+    /**
+     * Releases a page returned by {@link #next()}, resetting its initialized state so the page's content can be
+     * reclaimed, and schedules more pages if memory allows.
+     *
+     * @param page page that has been consumed.
+     */
+    public void release(Page page) {
+        if (page != null) {
+            page.resetInitializedState();
+        }
+        queue.schedule();
+    }
+
+    /**
+     * Cancels any pages still waiting to be initialized and stops the worker threads.
+     */
+    @Override
+    public void close() {
+        queue.close();
+    }
+}
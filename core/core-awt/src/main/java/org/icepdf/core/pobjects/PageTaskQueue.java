@@ -0,0 +1,179 @@
+/*
+ * Copyright 2006-2019 ICEsoft Technologies Canada Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects;
+
+import org.icepdf.core.util.Defs;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs a task for each page of a range on a bounded pool of worker threads and hands the results back in page
+ * order.  At most two pages per worker are run ahead of the consumer, and no new pages are scheduled while the free
+ * heap is below the minimum set by the system property "org.icepdf.core.pagePipeline.minFreeMemory" in megabytes,
+ * default 64.  Shared by {@link PagePipeline} and {@link TextExtractor}.
+ * <br>
+ * A queue is meant to be used by a single consumer thread and must be closed when no longer needed to stop its
+ * worker threads.
+ *
+ * @param <T> result of the page task.
+ * @since 7.3.0
+ */
+class PageTaskQueue<T> implements AutoCloseable {
+
+    private static final Logger logger =
+            Logger.getLogger(PageTaskQueue.class.toString());
+
+    private static final long KEEP_ALIVE_TIME = 10;
+
+    private static long minFreeMemory;
+
+    static {
+        minFreeMemory = Defs.intProperty("org.icepdf.core.pagePipeline.minFreeMemory", 64) * 1024L * 1024L;
+    }
+
+    /**
+     * Work done for a page on a worker thread.
+     *
+     * @param <T> result of the task.
+     */
+    interface PageTask<T> {
+        /**
+         * @param pageIndex zero-based page index.
+         * @param page      page, null if the page couldn't be found.
+         * @return result handed to the consumer.
+         * @throws Exception error processing the page, rethrown to the consumer.
+         */
+        T run(int pageIndex, Page page) throws Exception;
+    }
+
+    private final PageTree pageTree;
+    private final int endPage;
+    private final int maxAhead;
+    private final PageTask<T> task;
+    private final ThreadPoolExecutor executor;
+    private final ArrayDeque<Future<T>> pending;
+    private int nextPage;
+    private int consumedPage;
+    private boolean closed;
+
+    /**
+     * Creates a new queue over the given pages, no work is scheduled until {@link #next()} is called.
+     *
+     * @param pageTree    document page tree.
+     * @param startPage   zero-based index of the first page, inclusive.
+     * @param endPage     zero-based index of the last page, exclusive.
+     * @param parallelism number of worker threads.
+     * @param threadName  name of the worker threads.
+     * @param task        task run for each page.
+     */
+    PageTaskQueue(PageTree pageTree, int startPage, int endPage, int parallelism, final String threadName,
+                  PageTask<T> task) {
+        this.pageTree = pageTree;
+        this.task = task;
+        this.nextPage = Math.max(0, startPage);
+        this.consumedPage = nextPage;
+        this.endPage = Math.min(endPage, pageTree.getNumberOfPages());
+        parallelism = Math.max(1, parallelism);
+        maxAhead = parallelism * 2;
+        pending = new ArrayDeque<>(maxAhead);
+        executor = new ThreadPoolExecutor(
+                parallelism, parallelism, KEEP_ALIVE_TIME, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>());
+        executor.allowCoreThreadTimeOut(true);
+        executor.setThreadFactory(command -> {
+            Thread newThread = new Thread(command);
+            newThread.setName(threadName);
+            newThread.setPriority(Thread.NORM_PRIORITY);
+            newThread.setDaemon(true);
+            return newThread;
+        });
+    }
+
+    /**
+     * @return true if there are more results to be returned by {@link #next()}.
+     */
+    boolean hasNext() {
+        return !closed && (!pending.isEmpty() || nextPage < endPage);
+    }
+
+    /**
+     * Gets the result of the next page in the range, waiting for its task to finish if needed.
+     *
+     * @return result of the page task.
+     * @throws InterruptedException   the calling thread was interrupted while waiting, or the task was interrupted.
+     * @throws NoSuchElementException there are no more pages in the range.
+     */
+    T next() throws InterruptedException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        schedule();
+        Future<T> future = pending.poll();
+        int pageIndex = consumedPage++;
+        // keep the workers busy while the consumer works on this page.
+        schedule();
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof InterruptedException) {
+                throw new InterruptedException(cause.getMessage());
+            }
+            throw new IllegalStateException("Error processing page " + pageIndex + ".", cause);
+        }
+    }
+
+    /**
+     * Schedules more pages if the look ahead window and memory allow.
+     */
+    void schedule() {
+        // page lookups are done on the consumer thread as the page tree isn't thread safe, only the task is
+        // run on the workers.
+        while (!closed && nextPage < endPage && pending.size() < maxAhead &&
+                (pending.isEmpty() || hasFreeMemory())) {
+            final Page page = pageTree.getPage(nextPage);
+            final int pageIndex = nextPage;
+            nextPage++;
+            pending.add(executor.submit(() -> task.run(pageIndex, page)));
+        }
+        if (logger.isLoggable(Level.FINER)) {
+            logger.finer("Page task queue, pending " + pending.size() + " next " + nextPage);
+        }
+    }
+
+    /**
+     * Cancels any pages still waiting to be processed and stops the worker threads.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Future<T> future : pending) {
+            future.cancel(true);
+        }
+        pending.clear();
+        executor.shutdownNow();
+    }
+
+    private static boolean hasFreeMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return runtime.maxMemory() - used >= minFreeMemory;
+    }
+}
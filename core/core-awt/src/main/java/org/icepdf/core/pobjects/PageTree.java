@@ -19,7 +19,9 @@ import org.icepdf.core.pobjects.graphics.WatermarkCallback;
 import org.icepdf.core.util.Library;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -68,6 +70,8 @@ public class PageTree extends Dictionary {
     // resources. 
     private boolean loadedResources;
     private WatermarkCallback watermarkCallback;
+    // flattened page index of the root page tree, built on first use.
+    private volatile PageIndex pageIndex;
 
     /**
      * Inheritable rotation factor by child pages.
@@ -95,6 +99,17 @@ public class PageTree extends Dictionary {
      */
     public void resetInitializedState() {
         inited = false;
+        pageIndex = null;
+    }
+
+    /**
+     * Discards the flattened page index so it's rebuilt from the kids on the next page lookup.  Must be called on
+     * the root page tree whenever pages are added to or removed from the tree.
+     *
+     * @since 7.3.0
+     */
+    public void resetPageIndex() {
+        pageIndex = null;
     }
 
     /**
@@ -222,6 +237,11 @@ public class PageTree extends Dictionary {
      * is returned.
      */
     public int getPageNumber(Reference r) {
+        PageIndex index = getPageIndex();
+        if (index != null) {
+            Integer pageNumber = index.pageNumbers.get(r);
+            return pageNumber != null ? pageNumber : -1;
+        }
         Object obj = library.getObject(r);
         if (obj instanceof Page) {
             Page pg = (Page) library.getObject(r);
@@ -369,13 +389,24 @@ public class PageTree extends Dictionary {
     public Page getPage(int pageNumber) {
         if (pageNumber < 0)
             return null;
-        Page page = getPagePotentiallyNotInitedByRecursiveIndex(pageNumber);
+        Page page = null;
+        PageIndex index = getPageIndex();
+        if (index != null) {
+            if (pageNumber < index.pages.length) {
+                Object tmp = library.getObject(index.pages[pageNumber]);
+                if (tmp instanceof Page) {
+                    page = (Page) tmp;
+                }
+            }
+        } else {
+            page = getPagePotentiallyNotInitedByRecursiveIndex(pageNumber);
+        }
         // pass in the watermark, even null to wipe a previous watermark
         if (page != null) {
             page.setWatermarkCallback(watermarkCallback);
             page.setPageIndex(pageNumber);
         }
-        return getPagePotentiallyNotInitedByRecursiveIndex(pageNumber);
+        return page;
     }
 
     /**
@@ -387,6 +418,10 @@ public class PageTree extends Dictionary {
     public Reference getPageReference(int pageNumber) {
         if (pageNumber < 0)
             return null;
+        PageIndex index = getPageIndex();
+        if (index != null) {
+            return pageNumber < index.pages.length ? index.pages[pageNumber] : null;
+        }
         Page p = getPagePotentiallyNotInitedByRecursiveIndex(pageNumber);
         if (p != null) {
             return p.getPObjectReference();
@@ -394,6 +429,90 @@ public class PageTree extends Dictionary {
         return null;
     }
 
+    /**
+     * Gets the flattened page index, building it if needed.  Only the root page tree keeps an index as page numbers
+     * are relative to the whole document.
+     *
+     * @return page index or null if this isn't the root page tree or the tree can't be indexed, in which case the
+     * kids must be walked.
+     */
+    private PageIndex getPageIndex() {
+        if (!inited) {
+            init();
+        }
+        if (parent != null) {
+            return null;
+        }
+        PageIndex index = pageIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = pageIndex;
+                if (index == null) {
+                    index = buildPageIndex();
+                    pageIndex = index;
+                }
+            }
+        }
+        return index != PageIndex.UNINDEXABLE ? index : null;
+    }
+
+    private PageIndex buildPageIndex() {
+        ArrayList<Reference> pages = new ArrayList<>(Math.max(kidsCount, 16));
+        if (!collectPageReferences(this, pages, new HashSet<>())) {
+            return PageIndex.UNINDEXABLE;
+        }
+        return new PageIndex(pages.toArray(new Reference[0]));
+    }
+
+    /**
+     * Collects the page references of the tree in page order.
+     *
+     * @return false if the tree can't be indexed, a kid that isn't a reference or a cycle in the tree.
+     */
+    private boolean collectPageReferences(PageTree pageTree, List<Reference> pages, HashSet<Reference> visited) {
+        pageTree.init();
+        for (Object kid : pageTree.kidsReferences) {
+            if (!(kid instanceof Reference)) {
+                return false;
+            }
+            Reference reference = (Reference) kid;
+            if (!visited.add(reference)) {
+                return false;
+            }
+            Object pageOrPages = library.getObject(reference);
+            if (pageOrPages instanceof Page) {
+                pages.add(reference);
+            } else if (pageOrPages instanceof PageTree) {
+                if (!collectPageReferences((PageTree) pageOrPages, pages, visited)) {
+                    return false;
+                }
+            } else if (pageOrPages instanceof DictionaryEntries) {
+                // corner case where pages didn't have "pages" key, walk the kids instead.
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Page references by page number and page numbers by reference for the whole document.
+     */
+    private static class PageIndex {
+
+        private static final PageIndex UNINDEXABLE = new PageIndex(new Reference[0]);
+
+        private final Reference[] pages;
+        private final HashMap<Reference, Integer> pageNumbers;
+
+        private PageIndex(Reference[] pages) {
+            this.pages = pages;
+            pageNumbers = new HashMap<>(Math.max(16, (int) (pages.length / 0.75f) + 1));
+            for (int i = 0; i < pages.length; i++) {
+                pageNumbers.putIfAbsent(pages[i], i);
+            }
+        }
+    }
+
     /**
      * Returns a summary of the PageTree dictionary values.
      *
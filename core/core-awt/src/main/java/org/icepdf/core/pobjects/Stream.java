@@ -16,9 +16,11 @@
 package org.icepdf.core.pobjects;
 
 import org.icepdf.core.io.BitStream;
+import org.icepdf.core.io.ByteBufferInputStream;
 import org.icepdf.core.io.ConservativeSizingByteArrayOutputStream;
 import org.icepdf.core.pobjects.filters.*;
 import org.icepdf.core.pobjects.security.SecurityManager;
+import org.icepdf.core.util.DecodedStreamCache;
 import org.icepdf.core.util.Library;
 
 import java.io.ByteArrayInputStream;
@@ -58,6 +60,9 @@ public class Stream extends Dictionary {
 
     // original byte stream that has not been decoded
     protected byte[] rawBytes;
+    // view of the original byte stream in the document's backing buffer, used in place of rawBytes so the
+    // stream data isn't copied when the object is parsed.
+    protected ByteBuffer rawByteBuffer;
     protected byte[] decompressedBytes;
 
     protected DictionaryEntries decodeParams;
@@ -72,22 +77,92 @@ public class Stream extends Dictionary {
         this.rawBytes = rawBytes;
     }
 
+    /**
+     * Creates a new stream backed by a view of the document's byte buffer.  The stream bytes are not copied,
+     * they are read from the view when the stream is decoded.
+     *
+     * @param library           document library
+     * @param dictionaryEntries stream dictionary
+     * @param rawByteBuffer     buffer slice containing the encoded stream bytes.
+     */
+    public Stream(Library library, DictionaryEntries dictionaryEntries, ByteBuffer rawByteBuffer) {
+        super(library, dictionaryEntries);
+        decodeParams = this.library.getDictionary(entries, DECODEPARAM_KEY);
+        this.rawByteBuffer = rawByteBuffer;
+    }
+
     public Stream(DictionaryEntries dictionaryEntries, byte[] rawBytes) {
         super(null, dictionaryEntries);
         this.rawBytes = rawBytes;
     }
 
+    /**
+     * Gets the raw, undecoded, stream bytes.  If the stream is backed by a view of the document's byte buffer
+     * a copy of the bytes is returned on each call, {@link #getRawByteBuffer()} or {@link #getRawBytesLength()}
+     * should be used when a copy isn't needed.
+     *
+     * @return raw stream bytes, can be null.
+     */
     public byte[] getRawBytes() {
+        if (rawBytes == null && rawByteBuffer != null) {
+            ByteBuffer view = rawByteBuffer.duplicate();
+            byte[] bytes = new byte[view.remaining()];
+            view.get(bytes);
+            return bytes;
+        }
         return rawBytes;
     }
 
+    /**
+     * Gets a read only view of the raw, undecoded, stream bytes.
+     *
+     * @return raw stream bytes, can be null.
+     */
+    public ByteBuffer getRawByteBuffer() {
+        if (rawByteBuffer != null) {
+            return rawByteBuffer.asReadOnlyBuffer();
+        } else if (rawBytes != null) {
+            return ByteBuffer.wrap(rawBytes).asReadOnlyBuffer();
+        }
+        return null;
+    }
+
+    /**
+     * Gets the length of the raw stream bytes without copying them.
+     *
+     * @return length of the raw stream bytes, zero if there are no bytes.
+     */
+    public int getRawBytesLength() {
+        if (rawBytes != null) {
+            return rawBytes.length;
+        } else if (rawByteBuffer != null) {
+            return rawByteBuffer.remaining();
+        }
+        return 0;
+    }
+
     public void setRawBytes(byte[] rawBytes) {
         this.rawBytes = decompressedBytes = rawBytes;
+        rawByteBuffer = null;
         compressed = false;
+        // make sure the previous stream content can't be served from the document cache.
+        if (library != null && pObjectReference != null) {
+            library.getDecodedStreamCache().remove(pObjectReference);
+        }
     }
 
+    /**
+     * Gets the decoded bytes of the stream if they have already been decoded, the stream isn't decoded by this
+     * call, see {@link #getDecodedStreamBytes()}.
+     *
+     * @return decoded bytes held by the stream or the library's decoded stream cache, null if not decoded yet.
+     */
     public byte[] getDecompressedBytes() {
-        return decompressedBytes;
+        if (decompressedBytes != null) {
+            return decompressedBytes;
+        }
+        DecodedStreamCache decodedStreamCache = getDecodedStreamCache();
+        return decodedStreamCache != null ? decodedStreamCache.get(pObjectReference) : null;
     }
 
     public boolean isRawBytesCompressed() {
@@ -116,6 +191,9 @@ public class Stream extends Dictionary {
      * This is similar to getDecodedStreamByteArray(), except that the returned byte[]
      * is not necessarily exactly sized, and may be larger. Therefore the returned
      * Integer gives the actual valid size
+     * <br>
+     * Decoded bytes of streams loaded from the document are held by the library's {@link DecodedStreamCache}
+     * rather than by the stream instance, so they can be evicted once the cache's byte budget is reached.
      *
      * @param presize potential size to associate with byte array.
      * @return Object[] { byte[] data, Integer sizeActualData }
@@ -126,32 +204,31 @@ public class Stream extends Dictionary {
             // the raw bytes.
             return decompressedBytes;
         }
+        DecodedStreamCache decodedStreamCache = getDecodedStreamCache();
+        if (decodedStreamCache != null) {
+            byte[] cachedBytes = decodedStreamCache.get(pObjectReference);
+            if (cachedBytes != null) {
+                return cachedBytes;
+            }
+        }
         // decompress the stream
         if (compressed) {
             try {
-                ByteArrayInputStream streamInput = new ByteArrayInputStream(rawBytes);
-                long rawStreamLength = rawBytes.length;
-                InputStream input = getDecodedInputStream(streamInput, rawStreamLength);
-                if (input == null) return null;
-                int outLength;
-                if (presize > 0) {
-                    outLength = presize;
-                } else {
-                    outLength = Math.max(8192, (int) rawStreamLength);
+                byte[] decodedBytes = null;
+                // unencrypted single filter flate streams are inflated in one pass, everything else goes through
+                // the filter stream chain.
+                if (library != null && library.getSecurityManager() == null) {
+                    decodedBytes = BlockDecode.decode(library, entries, getFilterNames(), getRawByteBuffer());
                 }
-                ConservativeSizingByteArrayOutputStream out = new ConservativeSizingByteArrayOutputStream(outLength);
-                byte[] buffer = new byte[Math.min(outLength, 32 * 1024)];
-                while (true) {
-                    int read = input.read(buffer);
-                    if (read <= 0) break;
-                    out.write(buffer, 0, read);
+                if (decodedBytes == null) {
+                    decodedBytes = decodeFilterChain(presize);
+                    if (decodedBytes == null) return null;
                 }
-                input.close();
-                out.flush();
-                out.close();
-                out.trim();
-                decompressedBytes = out.relinquishByteArray();
-                return decompressedBytes;
+                // streams that are too large for the cache budget are kept on the instance.
+                if (decodedStreamCache == null || !decodedStreamCache.put(pObjectReference, decodedBytes)) {
+                    decompressedBytes = decodedBytes;
+                }
+                return decodedBytes;
             } catch (IOException e) {
                 logger.log(Level.FINE, "Problem decoding stream bytes: ", e);
             }
@@ -159,6 +236,64 @@ public class Stream extends Dictionary {
         return null;
     }
 
+    /**
+     * Decodes the stream through the chain of filter input streams.
+     *
+     * @param presize potential size of the decoded bytes.
+     * @return decoded bytes, null if the stream has no data.
+     * @throws IOException error reading the stream.
+     */
+    private byte[] decodeFilterChain(int presize) throws IOException {
+        InputStream streamInput = getRawInputStream();
+        long rawStreamLength = getRawBytesLength();
+        InputStream input = getDecodedInputStream(streamInput, rawStreamLength);
+        if (input == null) return null;
+        int outLength;
+        if (presize > 0) {
+            outLength = presize;
+        } else {
+            outLength = Math.max(8192, (int) rawStreamLength);
+        }
+        ConservativeSizingByteArrayOutputStream out = new ConservativeSizingByteArrayOutputStream(outLength);
+        byte[] buffer = new byte[Math.min(outLength, 32 * 1024)];
+        while (true) {
+            int read = input.read(buffer);
+            if (read <= 0) break;
+            out.write(buffer, 0, read);
+        }
+        input.close();
+        out.flush();
+        out.close();
+        out.trim();
+        return out.relinquishByteArray();
+    }
+
+    private DecodedStreamCache getDecodedStreamCache() {
+        if (compressed && library != null && pObjectReference != null) {
+            DecodedStreamCache decodedStreamCache = library.getDecodedStreamCache();
+            if (decodedStreamCache.isEnabled()) {
+                return decodedStreamCache;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets an input stream over the raw stream bytes, reading directly from the document buffer view when
+     * available.
+     *
+     * @return raw byte input stream, null if the stream has no data.
+     */
+    private InputStream getRawInputStream() {
+        if (rawBytes != null) {
+            return new ByteArrayInputStream(rawBytes);
+        } else if (rawByteBuffer != null) {
+            // duplicate so concurrent decodes of the same stream don't share a position.
+            return new ByteBufferInputStream(rawByteBuffer.duplicate());
+        }
+        return null;
+    }
+
     public ByteBuffer getDecodedStreamByteBuffer() {
         return getDecodedStreamByteBuffer(8192);
     }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2006-2019 ICEsoft Technologies Canada Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects;
+
+import org.icepdf.core.pobjects.graphics.text.PageText;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Streams the text of a range of pages to a handler or writer in page order.  Page text is parsed with the text
+ * only content parser of {@link Page#getText()} on a bounded pool of worker threads, at most two pages per worker
+ * are parsed ahead of the handler and no new pages are scheduled while the free heap is below the page pipeline
+ * minimum, see {@link PagePipeline}.  Each page's text, content streams and resources are released as soon as the
+ * page has been handed to the handler so memory stays flat no matter how many pages are extracted.
+ * <br>
+ * Plain text is available from {@link PageText#toString()}, words and their bounds from
+ * {@link PageText#getPageLines()}.  Setting the system property org.icepdf.core.views.page.text.compact=true
+ * avoids building the word objects for handlers that only call {@link PageText#toString()}, asking for the page
+ * lines builds them as usual.
+ *
+ * @since 7.3.0
+ */
+public class TextExtractor {
+
+    /**
+     * Receives the text of each page in page order.
+     */
+    public interface PageTextHandler {
+        /**
+         * Called with the text of a page, the page text shouldn't be kept once the call returns.
+         *
+         * @param pageIndex zero-based page index.
+         * @param pageText  text of the page, null if the page couldn't be found.
+         * @throws IOException error writing the text, stops the extraction.
+         */
+        void pageText(int pageIndex, PageText pageText) throws IOException;
+    }
+
+    private final PageTree pageTree;
+    private final int startPage;
+    private final int endPage;
+    private final int parallelism;
+
+    /**
+     * Creates a new extractor over the given pages.
+     *
+     * @param pageTree    document page tree.
+     * @param startPage   zero-based index of the first page, inclusive.
+     * @param endPage     zero-based index of the last page, exclusive.
+     * @param parallelism number of worker threads used to parse page text.
+     */
+    TextExtractor(PageTree pageTree, int startPage, int endPage, int parallelism) {
+        this.pageTree = pageTree;
+        this.startPage = Math.max(0, startPage);
+        this.endPage = Math.min(endPage, pageTree.getNumberOfPages());
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Writes the plain text of each page to the writer, each page is followed by a form feed.  The writer isn't
+     * closed.
+     *
+     * @param writer writer to write the text to.
+     * @throws InterruptedException the calling thread was interrupted.
+     * @throws IOException          error writing the text.
+     */
+    public void extract(final Writer writer) throws InterruptedException, IOException {
+        extract((pageIndex, pageText) -> {
+            if (pageText != null) {
+                writer.write(pageText.toString());
+            }
+            writer.write('\f');
+        });
+    }
+
+    /**
+     * Extracts the text of each page and hands it to the handler on the calling thread in page order.
+     *
+     * @param handler handler to call with each page's text.
+     * @throws InterruptedException the calling thread was interrupted while waiting, or a page's parsing was
+     *                              interrupted.
+     * @throws IOException          thrown by the handler.
+     */
+    public void extract(PageTextHandler handler) throws InterruptedException, IOException {
+        try (PageTaskQueue<PageText> queue = new PageTaskQueue<>(pageTree, startPage, endPage, parallelism,
+                "ICEpdf-text-extractor", (pageIndex, page) -> {
+            if (page == null) {
+                return null;
+            }
+            try {
+                return page.getText();
+            } finally {
+                page.releaseTextResources();
+            }
+        })) {
+            for (int pageIndex = startPage; queue.hasNext(); pageIndex++) {
+                handler.pageText(pageIndex, queue.next());
+            }
+        }
+    }
+}
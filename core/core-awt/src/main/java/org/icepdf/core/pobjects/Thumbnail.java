@@ -55,7 +55,7 @@ public class Thumbnail extends Dictionary {
                 thumbStream = (ImageStream) thumb;
             } else {
                 thumbStream = new ImageStream(library, ((Stream) thumb).getEntries(),
-                        ((Stream) thumb).getRawBytes());
+                        ((Stream) thumb).getRawByteBuffer());
             }
             // grab its bounds.
             int width = library.getInt(thumbStream.entries, WIDTH_KEY);
@@ -18,11 +18,15 @@ package org.icepdf.core.pobjects.acroform;
 import org.icepdf.core.pobjects.acroform.signature.DigitalSignatureFactory;
 import org.icepdf.core.pobjects.acroform.signature.SignatureValidator;
 import org.icepdf.core.pobjects.acroform.signature.exceptions.SignatureIntegrityException;
+import org.icepdf.core.pobjects.annotations.SignatureWidgetAnnotation;
 import org.icepdf.core.util.Defs;
 
 import java.lang.reflect.InvocationTargetException;
 import java.security.Provider;
 import java.security.Security;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,7 +40,13 @@ public class SignatureHandler {
     private static final Logger logger =
             Logger.getLogger(SignatureHandler.class.toString());
 
+    // maximum number of signatures validated at the same time by validateSignatures.
+    private static int validationThreads;
+
     static {
+        validationThreads = Defs.intProperty("org.icepdf.core.signatureHandler.threads",
+                Runtime.getRuntime().availableProcessors());
+
         // Load security handler from system property if possible
         String defaultSecurityProvider =
                 "org.bouncycastle.jce.provider.BouncyCastleProvider";
@@ -86,4 +96,94 @@ public class SignatureHandler {
         }
         return null;
     }
+
+    /**
+     * Validates the given signature fields on a pool of worker threads.  Each signature's byte ranges are digested
+     * and its certificate chain checked independently, so documents with several signatures are verified in
+     * roughly the time of the slowest one.  Fields that haven't been signed are skipped.
+     * <br>
+     * Results are handed to the listener on the calling thread as soon as each signature has been validated, in
+     * order of completion rather than document order.  The signature's validator, see
+     * {@link SignatureWidgetAnnotation#getSignatureValidator()}, holds the result of the validation.
+     *
+     * @param signatures signature fields to validate, usually {@link InteractiveForm#getSignatureFields()}.
+     * @param listener   listener notified of each validated signature.
+     * @throws InterruptedException the calling thread was interrupted, signatures not yet validated are cancelled.
+     */
+    public void validateSignatures(List<SignatureWidgetAnnotation> signatures, ValidationListener listener)
+            throws InterruptedException {
+        ArrayList<SignatureWidgetAnnotation> signedFields = new ArrayList<>(signatures.size());
+        for (SignatureWidgetAnnotation signature : signatures) {
+            SignatureDictionary signatureDictionary = signature.getSignatureDictionary();
+            if (signatureDictionary != null && signatureDictionary.getEntries().size() > 0) {
+                signedFields.add(signature);
+            }
+        }
+        int total = signedFields.size();
+        int parallelism = Math.min(total, validationThreads);
+        if (parallelism <= 1) {
+            for (int i = 0; i < total; i++) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                validate(signedFields.get(i));
+                listener.signatureValidated(signedFields.get(i), i + 1, total);
+            }
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, command -> {
+            Thread newThread = new Thread(command);
+            newThread.setName("ICEpdf-signature-validation");
+            newThread.setDaemon(true);
+            return newThread;
+        });
+        try {
+            CompletionService<SignatureWidgetAnnotation> completionService =
+                    new ExecutorCompletionService<>(executor);
+            for (SignatureWidgetAnnotation signature : signedFields) {
+                completionService.submit(() -> {
+                    validate(signature);
+                    return signature;
+                });
+            }
+            for (int i = 0; i < total; i++) {
+                Future<SignatureWidgetAnnotation> future = completionService.take();
+                try {
+                    listener.signatureValidated(future.get(), i + 1, total);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Error validating signature.", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void validate(SignatureWidgetAnnotation signature) {
+        try {
+            SignatureValidator signatureValidator = signature.getSignatureValidator();
+            if (signatureValidator != null) {
+                signatureValidator.validate();
+            }
+        } catch (SignatureIntegrityException e) {
+            logger.log(Level.WARNING, "Error verifying signature.", e);
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Signature validation was unsuccessful.", e);
+        }
+    }
+
+    /**
+     * Receives the progress of {@link #validateSignatures(List, ValidationListener)}.
+     */
+    public interface ValidationListener {
+
+        /**
+         * Called each time a signature has been validated.
+         *
+         * @param signature signature field that was validated.
+         * @param completed number of signatures validated so far.
+         * @param total     number of signatures being validated.
+         */
+        void signatureValidated(SignatureWidgetAnnotation signature, int completed, int total);
+    }
 }
@@ -68,6 +68,9 @@ public abstract class AbstractPkcsValidator implements SignatureValidator {
 
     private static final String ALGORITHM_WITH = "with";
 
+    // size of the slices of the document buffer handed to the message digest.
+    private static final int DIGEST_CHUNK_SIZE = 64 * 1024;
+
     // signature dictionary of signature do verify
     protected SignatureFieldDictionary signatureFieldDictionary;
 
@@ -505,6 +508,31 @@ public abstract class AbstractPkcsValidator implements SignatureValidator {
         return "Unknown";
     }
 
+    /**
+     * Feeds a section of the document buffer to the digest in chunks of at most DIGEST_CHUNK_SIZE bytes.  The bytes
+     * are read straight from the buffer, heap or mapped, so no copy of the section is made.
+     *
+     * @param messageDigest digest to update.
+     * @param buffer        private view of the document buffer, its position and limit are changed.
+     * @param totalLength   length of the document.
+     * @param offset        start of the section.
+     * @param length        length of the section.
+     * @throws SignatureIntegrityException the section isn't contained in the document.
+     */
+    private static void digestRange(MessageDigest messageDigest, ByteBuffer buffer, int totalLength,
+                                    int offset, int length) throws SignatureIntegrityException {
+        if (offset < 0 || length < 0 || (long) offset + length > totalLength) {
+            throw new SignatureIntegrityException("Signature byte range " + offset + " " + length +
+                    " is outside of the document length " + totalLength);
+        }
+        int end = offset + length;
+        for (int position = offset; position < end; position += DIGEST_CHUNK_SIZE) {
+            buffer.limit(Math.min(end, position + DIGEST_CHUNK_SIZE));
+            buffer.position(position);
+            messageDigest.update(buffer);
+        }
+    }
+
     /**
      * Validates the document against the data in the signatureDictionary.
      *
@@ -544,25 +572,19 @@ public abstract class AbstractPkcsValidator implements SignatureValidator {
         ArrayList<Integer> byteRange = signatureFieldDictionary.getSignatureDictionary().getByteRange();
         Library library = signatureFieldDictionary.getLibrary();
 
-        synchronized (library.getMappedFileByteBufferLock()) {
-            ByteBuffer documentByteBuffer = library.getMappedFileByteBuffer();
-            documentByteBuffer.position(0);
-            int totalLength = documentByteBuffer.remaining();
-            long digestedLength = byteRange.get(2) + byteRange.get(3);
-            // this doesn't mean the signature has been tampered with just that there are subsequent modification
-            // or signatures added after this signature.
-            if (digestedLength < totalLength) {
-                isDocumentDataModified = true;
-            }
-            documentByteBuffer.position(byteRange.get(0));
-            byte[] firstSection = new byte[byteRange.get(1)];
-            documentByteBuffer.get(firstSection);
-            messageDigestAlgorithm.update(firstSection);
-            documentByteBuffer.position(byteRange.get(2));
-            byte[] secondSection = new byte[byteRange.get(3)];
-            documentByteBuffer.get(secondSection);
-            messageDigestAlgorithm.update(secondSection);
+        // work on a private view of the document buffer so signatures can be digested concurrently without
+        // holding the buffer lock or copying the signed sections.  The parser moves the shared buffer's limit while
+        // it holds the lock, the capacity is the document length.
+        ByteBuffer documentByteBuffer = library.getMappedFileByteBuffer().duplicate();
+        int totalLength = documentByteBuffer.capacity();
+        long digestedLength = (long) byteRange.get(2) + byteRange.get(3);
+        // this doesn't mean the signature has been tampered with just that there are subsequent modification
+        // or signatures added after this signature.
+        if (digestedLength < totalLength) {
+            isDocumentDataModified = true;
         }
+        digestRange(messageDigestAlgorithm, documentByteBuffer, totalLength, byteRange.get(0), byteRange.get(1));
+        digestRange(messageDigestAlgorithm, documentByteBuffer, totalLength, byteRange.get(2), byteRange.get(3));
         // set up the compare
         try {
             // RFC3852 - The result of the message digest calculation process depends on whether the signedAttrs field
@@ -651,19 +673,11 @@ public abstract class AbstractPkcsValidator implements SignatureValidator {
         ArrayList<Integer> byteRange = signatureFieldDictionary.getSignatureDictionary().getByteRange();
         Library library = signatureFieldDictionary.getLibrary();
 
-        synchronized (library.getMappedFileByteBufferLock()) {
-            ByteBuffer documentByteBuffer = library.getMappedFileByteBuffer();
-            documentByteBuffer.position(0);
-
-            int totalLength = documentByteBuffer.remaining();
-            long digestedLength = byteRange.get(2) + byteRange.get(3);
-            // this doesn't mean the signature has been tampered with just that there are subsequent modification
-            // or signatures added after this signature.
-            if (digestedLength == totalLength) {
-                return true;
-            }
-        }
-        return false;
+        int totalLength = library.getMappedFileByteBuffer().capacity();
+        long digestedLength = (long) byteRange.get(2) + byteRange.get(3);
+        // this doesn't mean the signature has been tampered with just that there are subsequent modification
+        // or signatures added after this signature.
+        return digestedLength == totalLength;
     }
 
     /**
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2006-2019 ICEsoft Technologies Canada Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.filters;
+
+import org.icepdf.core.pobjects.DictionaryEntries;
+import org.icepdf.core.pobjects.Name;
+import org.icepdf.core.pobjects.graphics.images.ImageParams;
+import org.icepdf.core.util.Defs;
+import org.icepdf.core.util.Library;
+import org.icepdf.core.util.Utils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Block oriented decoder for the most common stream encoding, a single FlateDecode filter with or without a
+ * predictor.  The stream chain built by Stream copies every byte through a BufferedInputStream, the FlateDecode and
+ * PredictorDecode buffers and a growing output stream.  Here the Inflater reads straight from the raw stream
+ * buffer into an output array sized from /DL or the image dimensions when known, and predictors are undone in place
+ * in the output array.
+ * <br>
+ * Anything else, other filters, filter chains or unusual predictor parameters, returns null from
+ * {@link #decode(Library, DictionaryEntries, List, ByteBuffer)} and the caller falls back to the stream chain.
+ * Corrupt or truncated data yields whatever could be inflated, the same as the stream chain.  The block path can
+ * be turned off by setting the system property "org.icepdf.core.blockDecode" to false.
+ *
+ * @since 7.3.0
+ */
+public class BlockDecode {
+
+    private static final Logger logger =
+            Logger.getLogger(BlockDecode.class.toString());
+
+    public static final Name DL_KEY = new Name("DL");
+
+    private static final int MIN_OUTPUT_SIZE = 8192;
+    // compressed streams are assumed to inflate to about this many times their size when the size isn't known.
+    private static final int INFLATE_RATIO = 4;
+    // deflate can't compress better than about 1032:1, larger sizes from the dictionary are bogus.
+    private static final int MAX_INFLATE_RATIO = 1032;
+    // largest output allocated up front from the dictionary, bigger outputs grow as they are inflated.
+    private static final int MAX_INITIAL_SIZE = 64 * 1024 * 1024;
+
+    private static boolean enabled;
+
+    static {
+        enabled = Defs.booleanProperty("org.icepdf.core.blockDecode", true);
+    }
+
+    private BlockDecode() {
+    }
+
+    /**
+     * Checks if the block path can decode a stream with the given filters.
+     *
+     * @param filterNames stream filter names, can be null.
+     * @return true if the filters are a single FlateDecode.
+     */
+    public static boolean isSupported(List<String> filterNames) {
+        if (!enabled || filterNames == null || filterNames.size() != 1) {
+            return false;
+        }
+        String filterName = String.valueOf(filterNames.get(0));
+        return filterName.equals("FlateDecode") || filterName.equals("/Fl") || filterName.equals("Fl");
+    }
+
+    /**
+     * Decodes a stream in one pass.
+     *
+     * @param library     document library.
+     * @param entries     stream dictionary entries.
+     * @param filterNames stream filter names.
+     * @param raw         raw, unencrypted stream bytes between position and limit, not modified.
+     * @return decoded bytes, or null if the stream has to be decoded with the stream chain.
+     */
+    public static byte[] decode(Library library, DictionaryEntries entries, List<String> filterNames,
+                                ByteBuffer raw) {
+        if (!isSupported(filterNames) || raw == null || raw.remaining() < 3) {
+            return null;
+        }
+        DictionaryEntries decodeParms = ImageParams.getDecodeParams(library, entries);
+        int predictor = PredictorDecode.PREDICTOR_NONE;
+        int colors = 1;
+        int bitsPerComponent = 8;
+        int columns = 1;
+        if (decodeParms != null) {
+            predictor = library.getInt(decodeParms, PredictorDecode.PREDICTOR_VALUE);
+            if (predictor == 0) {
+                predictor = PredictorDecode.PREDICTOR_NONE;
+            }
+            Number width = library.getNumber(entries, PredictorDecode.WIDTH_VALUE);
+            if (width != null) {
+                columns = width.intValue();
+            }
+            int columnsValue = library.getInt(decodeParms, PredictorDecode.COLUMNS_VALUE);
+            if (columnsValue > 0) {
+                columns = columnsValue;
+            }
+            Object value = library.getObject(decodeParms, PredictorDecode.COLORS_VALUE);
+            if (value instanceof Number) {
+                colors = ((Number) value).intValue();
+            }
+            value = library.getObject(decodeParms, PredictorDecode.BITS_PER_COMPONENT_VALUE);
+            if (value instanceof Number) {
+                bitsPerComponent = ((Number) value).intValue();
+            }
+        }
+        boolean pngPredictor = predictor >= PredictorDecode.PREDICTOR_PNG_NONE &&
+                predictor <= PredictorDecode.PREDICTOR_PNG_OPTIMUM;
+        if (predictor != PredictorDecode.PREDICTOR_NONE && !pngPredictor &&
+                predictor != PredictorDecode.PREDICTOR_TIFF_2) {
+            // FlateDecode ignores unknown predictors.
+            predictor = PredictorDecode.PREDICTOR_NONE;
+        }
+        if (predictor != PredictorDecode.PREDICTOR_NONE &&
+                (columns <= 0 || colors <= 0 || bitsPerComponent <= 0 ||
+                        (long) columns * colors * bitsPerComponent > Integer.MAX_VALUE)) {
+            return null;
+        }
+
+        byte[] decoded = inflate(raw, estimateSize(library, entries, raw.remaining(), columns, colors,
+                bitsPerComponent, pngPredictor));
+        int length = decoded.length;
+        // inflate returns an exactly sized array, predictors may shrink it.
+        if (pngPredictor) {
+            int rowBytes = Utils.numBytesToHoldBits(columns * colors * bitsPerComponent);
+            int bytesPerPixel = Math.max(1, Utils.numBytesToHoldBits(colors * bitsPerComponent));
+            length = applyPngPredictor(decoded, rowBytes, bytesPerPixel);
+        } else if (predictor == PredictorDecode.PREDICTOR_TIFF_2 && bitsPerComponent == 8) {
+            int rowBytes = Utils.numBytesToHoldBits(columns * colors * bitsPerComponent);
+            applyTiffPredictor(decoded, rowBytes, colors);
+        }
+        return length == decoded.length ? decoded : Arrays.copyOf(decoded, length);
+    }
+
+    /**
+     * Estimates the decoded size, exact when the stream has a /DL entry or is an image with known dimensions.  The
+     * dictionary values aren't trusted beyond what the raw bytes could inflate to, and never beyond
+     * MAX_INITIAL_SIZE, so a bogus /DL on a tiny stream can't force a huge allocation.
+     */
+    private static int estimateSize(Library library, DictionaryEntries entries, int rawLength,
+                                    int columns, int colors, int bitsPerComponent, boolean pngPredictor) {
+        long size = 0;
+        Number decodedLength = library.getNumber(entries, DL_KEY);
+        if (decodedLength != null) {
+            size = decodedLength.longValue();
+        } else {
+            Number width = library.getNumber(entries, ImageParams.WIDTH_KEY);
+            Number height = library.getNumber(entries, ImageParams.HEIGHT_KEY);
+            if (width != null && height != null) {
+                long rowBits = 0;
+                if (pngPredictor) {
+                    rowBits = (long) columns * colors * bitsPerComponent;
+                } else {
+                    int components = getComponents(library, entries);
+                    Number bpc = library.getNumber(entries, ImageParams.BITS_PER_COMPONENT_KEY);
+                    if (library.getBoolean(entries, ImageParams.IMAGE_MASK_KEY)) {
+                        rowBits = width.longValue();
+                    } else if (components > 0 && bpc != null) {
+                        rowBits = width.longValue() * components * bpc.intValue();
+                    }
+                }
+                long rowBytes = (rowBits + 7) / 8;
+                if (pngPredictor) {
+                    // the predictor tag byte at the start of each row.
+                    rowBytes++;
+                }
+                size = rowBytes * height.longValue();
+            }
+        }
+        if (size <= 0) {
+            size = (long) rawLength * INFLATE_RATIO;
+        }
+        size = Math.min(size, Math.min((long) rawLength * MAX_INFLATE_RATIO, MAX_INITIAL_SIZE));
+        return (int) Math.max(MIN_OUTPUT_SIZE, size);
+    }
+
+    private static int getComponents(Library library, DictionaryEntries entries) {
+        Object colorSpace = library.getObject(entries, ImageParams.COLORSPACE_KEY);
+        if (colorSpace instanceof Name) {
+            String name = ((Name) colorSpace).getName();
+            switch (name) {
+                case "DeviceGray":
+                case "CalGray":
+                    return 1;
+                case "DeviceRGB":
+                case "CalRGB":
+                case "Lab":
+                    return 3;
+                case "DeviceCMYK":
+                    return 4;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Inflates the raw bytes, skipping the two byte zlib header like FlateDecode does.
+     *
+     * @return exactly sized decoded bytes.
+     */
+    private static byte[] inflate(ByteBuffer raw, int initialSize) {
+        ByteBuffer input = raw.duplicate();
+        input.position(input.position() + 2);
+        byte[] output = new byte[initialSize];
+        int length = 0;
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(input);
+            while (!inflater.finished()) {
+                if (length == output.length) {
+                    output = Arrays.copyOf(output, (int) Math.min(Integer.MAX_VALUE - 8, output.length * 2L));
+                    if (length == output.length) {
+                        break;
+                    }
+                }
+                int inflated = inflater.inflate(output, length, output.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    // truncated stream, keep what we have.
+                    break;
+                }
+                length += inflated;
+            }
+        } catch (DataFormatException e) {
+            logger.log(Level.FINE, "Corrupt flate data, keeping decoded bytes.", e);
+        } finally {
+            inflater.end();
+        }
+        return length == output.length ? output : Arrays.copyOf(output, length);
+    }
+
+    /**
+     * Undoes PNG predictors in place, each row's tag byte is dropped so the decoded rows move down over the tags.
+     *
+     * @return decoded length without the tag bytes.
+     */
+    static int applyPngPredictor(byte[] data, int rowBytes, int bytesPerPixel) {
+        int length = data.length;
+        int in = 0;
+        int out = 0;
+        int aboveRow = -1;
+        while (in < length) {
+            int currPredictor = (data[in++] & 0xFF) + PredictorDecode.PREDICTOR_PNG_NONE;
+            int count = Math.min(rowBytes, length - in);
+            if (count <= 0) {
+                break;
+            }
+            System.arraycopy(data, in, data, out, count);
+            in += count;
+            switch (currPredictor) {
+                case PredictorDecode.PREDICTOR_PNG_SUB:
+                    for (int i = bytesPerPixel; i < count; i++) {
+                        data[out + i] += data[out + i - bytesPerPixel];
+                    }
+                    break;
+                case PredictorDecode.PREDICTOR_PNG_UP:
+                    if (aboveRow >= 0) {
+                        for (int i = 0; i < count; i++) {
+                            data[out + i] += data[aboveRow + i];
+                        }
+                    }
+                    break;
+                case PredictorDecode.PREDICTOR_PNG_AVG:
+                    for (int i = 0; i < count; i++) {
+                        int left = i >= bytesPerPixel ? data[out + i - bytesPerPixel] & 0xFF : 0;
+                        int above = aboveRow >= 0 ? data[aboveRow + i] & 0xFF : 0;
+                        data[out + i] += (byte) ((left + above) >>> 1);
+                    }
+                    break;
+                case PredictorDecode.PREDICTOR_PNG_PAETH:
+                    for (int i = 0; i < count; i++) {
+                        int left = i >= bytesPerPixel ? data[out + i - bytesPerPixel] & 0xFF : 0;
+                        int above = aboveRow >= 0 ? data[aboveRow + i] & 0xFF : 0;
+                        int aboveLeft = i >= bytesPerPixel && aboveRow >= 0 ?
+                                data[aboveRow + i - bytesPerPixel] & 0xFF : 0;
+                        int p = left + above - aboveLeft;
+                        int pLeft = Math.abs(p - left);
+                        int pAbove = Math.abs(p - above);
+                        int pAboveLeft = Math.abs(p - aboveLeft);
+                        int paeth = pLeft <= pAbove && pLeft <= pAboveLeft ? left :
+                                pAbove <= pAboveLeft ? above : aboveLeft;
+                        data[out + i] += (byte) paeth;
+                    }
+                    break;
+                default:
+                    // PNG none, or an unknown tag which PredictorDecode also leaves as is.
+                    break;
+            }
+            aboveRow = out;
+            out += count;
+        }
+        return out;
+    }
+
+    /**
+     * Undoes the TIFF 2 predictor for 8 bit components in place, row by row as FlateDecode does.
+     */
+    static void applyTiffPredictor(byte[] data, int rowBytes, int colors) {
+        for (int row = 0; row < data.length; row += rowBytes) {
+            int end = Math.min(data.length, row + rowBytes);
+            for (int i = row + colors; i < end; i++) {
+                data[i] += data[i - colors];
+            }
+        }
+    }
+}
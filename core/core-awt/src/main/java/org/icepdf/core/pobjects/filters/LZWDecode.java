@@ -21,9 +21,13 @@ import org.icepdf.core.pobjects.Name;
 import org.icepdf.core.util.Library;
 
 import java.io.IOException;
-import java.util.Stack;
 
 /**
+ * LZW decoder.  The code table is kept in flat prefix, suffix and length arrays
+ * so a code's string is written backwards straight into the output by walking
+ * its prefix chain, no objects are created per code.  Bulk reads that are large
+ * enough are decoded directly into the caller's array.
+ *
  * @author Mark Collette
  * @since 2.0
  */
@@ -32,6 +36,11 @@ public class LZWDecode extends ChunkingInputStream {
     public static final Name DECODEPARMS_KEY = new Name("DecodeParms");
     public static final Name EARLYCHANGE_KEY = new Name("EarlyChange");
 
+    private static final int CLEAR_TABLE = 256;
+    private static final int END_OF_DATA = 257;
+    private static final int MAX_CODES = 4096;
+    // longest string a code can expand to, a full table chain plus the KwKwK byte.
+    private static final int MAX_STRING_LENGTH = MAX_CODES + 1;
 
     private BitStream inb;
     private int earlyChange;
@@ -41,7 +50,10 @@ public class LZWDecode extends ChunkingInputStream {
 
     private int code_len;
     private int last_code;
-    private Code[] codes;
+    // code table, the code's prefix code, last byte and string length.
+    private final int[] prefixes = new int[MAX_CODES];
+    private final byte[] suffixes = new byte[MAX_CODES];
+    private final int[] lengths = new int[MAX_CODES];
 
 
     public LZWDecode(BitStream inb, Library library, DictionaryEntries entries) {
@@ -56,6 +68,11 @@ public class LZWDecode extends ChunkingInputStream {
             }
         }
 
+        for (int i = 0; i < 256; i++) {
+            prefixes[i] = -1;
+            suffixes[i] = (byte) i;
+            lengths[i] = 1;
+        }
         code = 0;
         old_code = 0;
         firstTime = true;
@@ -64,63 +81,83 @@ public class LZWDecode extends ChunkingInputStream {
     }
 
     protected int fillInternalBuffer() throws IOException {
+        return decode(buffer, 0, buffer.length);
+    }
+
+    /**
+     * Decodes directly into b when the internal buffer is empty and the request
+     * is large enough to hold the longest possible code string, any remainder is
+     * read through the internal buffer.
+     */
+    @Override
+    public int read(byte[] b, int off, int length) throws IOException {
+        if (available() > 0 || length < MAX_STRING_LENGTH) {
+            return super.read(b, off, length);
+        }
+        int read = 0;
+        while (length - read >= MAX_STRING_LENGTH) {
+            int decoded = decode(b, off + read, length - read);
+            if (decoded <= 0) {
+                return read > 0 ? read : -1;
+            }
+            read += decoded;
+        }
+        if (read < length) {
+            int remainder = super.read(b, off + read, length - read);
+            if (remainder > 0) {
+                read += remainder;
+            }
+        }
+        return read;
+    }
+
+    /**
+     * Decodes codes into out until there is no longer room for the longest
+     * possible code string or the end of data is reached.
+     *
+     * @return number of bytes decoded, -1 if the end of the input was reached.
+     */
+    private int decode(byte[] out, int offset, int length) throws IOException {
         int numRead = 0;
-        // start decompression,  haven't tried to optimized this one yet for
-        // speed or for memory.
 
         if (firstTime) {
             firstTime = false;
-            old_code = code = inb.getBits(code_len);
+            code = inb.getBits(code_len);
+            old_code = -1;
         } else if (inb.atEndOfFile())
             return -1;
 
         do {
-            if (code == 256) {
+            if (code == CLEAR_TABLE) {
                 initCodeTable();
-            } else if (code == 257) {
+                code = -1;
+            } else if (code == END_OF_DATA) {
                 break;
             } else {
-                if (codes[code] != null) {
-                    Stack stack = new Stack();
-                    codes[code].getString(stack);
-                    Code c = (Code) stack.pop();
-                    addToBuffer(c.c, numRead);
-                    numRead++;
-                    //System.err.println((char)c.c);
-                    byte first = c.c;
-                    while (!stack.empty()) {
-                        c = (Code) stack.pop();
-                        addToBuffer(c.c, numRead);
-                        numRead++;
-                        //System.err.println((char)c.c);
-                    }
-                    //							while (codes[last_code]!=null) last_code++;
-                    codes[last_code++] = new Code(codes[old_code], first);
+                byte first;
+                if (code < last_code) {
+                    first = writeString(code, out, offset + numRead);
+                    numRead += lengths[code];
                 } else {
-                    //System.err.println("MISS: "+last_code+" "+code);
-                    if (code != last_code)
+                    // KwKwK, the code being defined, the previous string plus its own first byte.
+                    if (code != last_code || old_code < 0)
                         throw new RuntimeException("LZWDecode failure");
-                    Stack stack = new Stack();
-                    codes[old_code].getString(stack);
-                    Code c = (Code) stack.pop();
-                    addToBuffer(c.c, numRead);
+                    first = writeString(old_code, out, offset + numRead);
+                    numRead += lengths[old_code];
+                    out[offset + numRead] = first;
                     numRead++;
-                    //System.err.println((char)c.c);
-                    byte first = c.c;
-                    while (!stack.empty()) {
-                        c = (Code) stack.pop();
-                        addToBuffer(c.c, numRead);
-                        numRead++;
-                        //System.err.println((char)c.c);
-                    }
-                    addToBuffer(first, numRead);
-                    numRead++;
-                    codes[code] = new Code(codes[old_code], first);
+                }
+                // no entry is added for the first code after a clear.
+                if (old_code >= 0 && last_code < MAX_CODES) {
+                    prefixes[last_code] = old_code;
+                    suffixes[last_code] = first;
+                    lengths[last_code] = lengths[old_code] + 1;
+                }
+                if (last_code < MAX_CODES) {
                     last_code++;
                 }
             }
             if (code_len < 12 && last_code == (1 << code_len) - earlyChange) {
-                //System.err.println(last_code+" "+code_len);
                 code_len++;
             }
             old_code = code;
@@ -128,26 +165,31 @@ public class LZWDecode extends ChunkingInputStream {
 
             if (inb.atEndOfFile())
                 break;
-        } while (numRead < buffer.length);
+        } while (length - numRead >= MAX_STRING_LENGTH);
 
         return numRead;
     }
 
+    /**
+     * Writes the string for the given code at offset, last byte first.
+     *
+     * @return first byte of the string.
+     */
+    private byte writeString(int code, byte[] out, int offset) {
+        int position = offset + lengths[code] - 1;
+        while (position > offset) {
+            out[position--] = suffixes[code];
+            code = prefixes[code];
+        }
+        out[offset] = suffixes[code];
+        return suffixes[code];
+    }
+
     private void initCodeTable() {
         code_len = 9;
+        // 256 and 257 are the clear and end of data codes, the first code after
+        // a clear takes the 257 slot without adding an entry.
         last_code = 257;
-        codes = new Code[4096];
-        for (int i = 0; i < 256; i++)
-            codes[i] = new Code(null, (byte) i);
-    }
-
-    private void addToBuffer(byte b, int offset) {
-        if (offset >= buffer.length) { // Should never happen
-            byte[] bufferNew = new byte[buffer.length * 2];
-            System.arraycopy(buffer, 0, bufferNew, 0, buffer.length);
-            buffer = bufferNew;
-        }
-        buffer[offset] = b;
     }
 
 
@@ -159,25 +201,4 @@ public class LZWDecode extends ChunkingInputStream {
             inb = null;
         }
     }
-
-
-    /**
-     * Utility class for decode methods.
-     */
-    private static class Code {
-        final Code prefix;
-        final byte c;
-
-        Code(Code p, byte cc) {
-            prefix = p;
-            c = cc;
-        }
-
-        @SuppressWarnings("unchecked")
-        void getString(Stack s) {
-            s.push(this);
-            if (prefix != null)
-                prefix.getString(s);
-        }
-    }
 }
@@ -0,0 +1,262 @@
+package org.icepdf.core.pobjects.fonts.zfont.fontFiles;
+
+import org.icepdf.core.util.Defs;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Glyph outline cache for a single embedded font program.  Outlines are keyed by glyph id or glyph name, so the
+ * cache is independent of size, transform and encoding and is shared by every font instance created by
+ * deriveFont() from the same program.  A glyph's path is built once rather than every time it's painted.
+ * <br>
+ * Pre-rasterized glyph masks can optionally be cached for small, unrotated fill only glyphs by setting the system
+ * property "org.icepdf.core.font.glyphMaskCache" to true.  Masks are snapped to whole device pixels, which trades
+ * sub-pixel glyph placement for speed on text heavy pages.  The number of masks kept per font program is set with
+ * "org.icepdf.core.font.glyphMaskCacheSize", default 512, and masks are only created for glyphs that are at most
+ * "org.icepdf.core.font.glyphMaskMaxSize" device pixels high or wide, default 48.
+ *
+ * @since 7.3.0
+ */
+public class GlyphOutlineCache {
+
+    private static boolean maskCacheEnabled;
+    private static int maskCacheSize;
+    private static int maskMaxSize;
+
+    static {
+        maskCacheEnabled = Defs.sysPropertyBoolean("org.icepdf.core.font.glyphMaskCache", false);
+        maskCacheSize = Defs.intProperty("org.icepdf.core.font.glyphMaskCacheSize", 512);
+        maskMaxSize = Defs.intProperty("org.icepdf.core.font.glyphMaskMaxSize", 48);
+    }
+
+    /**
+     * Builds a glyph outline on a cache miss.
+     */
+    public interface GlyphLoader {
+        Shape load() throws IOException;
+    }
+
+    /**
+     * Cached glyph, the outline in glyph space along with its lazily created area.
+     */
+    public static final class Glyph {
+
+        private final Shape outline;
+        private volatile Area area;
+
+        private Glyph(Shape outline) {
+            this.outline = outline;
+        }
+
+        /**
+         * Gets the glyph outline.  The shape is shared and must not be modified.
+         *
+         * @return glyph outline, can be null if the glyph isn't in the font program.
+         */
+        public Shape getOutline() {
+            return outline;
+        }
+
+        /**
+         * Gets the glyph outline as an area, created on first use.  The area is shared and must not be modified,
+         * use createTransformedArea to get a copy.
+         *
+         * @return glyph area, null if the glyph has no outline.
+         */
+        public Area getArea() {
+            Area area = this.area;
+            if (area == null && outline != null) {
+                area = new Area(outline);
+                this.area = area;
+            }
+            return area;
+        }
+    }
+
+    private static final class MaskKey {
+        private final Glyph glyph;
+        private final int scaleX;
+        private final int scaleY;
+        private final int rgb;
+        private final boolean antiAliased;
+
+        private MaskKey(Glyph glyph, int scaleX, int scaleY, int rgb, boolean antiAliased) {
+            this.glyph = glyph;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+            this.rgb = rgb;
+            this.antiAliased = antiAliased;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof MaskKey)) return false;
+            MaskKey maskKey = (MaskKey) o;
+            return glyph == maskKey.glyph && scaleX == maskKey.scaleX && scaleY == maskKey.scaleY &&
+                    rgb == maskKey.rgb && antiAliased == maskKey.antiAliased;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(glyph);
+            result = 31 * result + scaleX;
+            result = 31 * result + scaleY;
+            result = 31 * result + rgb;
+            return 31 * result + (antiAliased ? 1 : 0);
+        }
+    }
+
+    private static final class Mask {
+        private final BufferedImage image;
+        private final int x;
+        private final int y;
+
+        private Mask(BufferedImage image, int x, int y) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    // scale is quantized so nearly identical zoom levels share a mask.
+    private static final float SCALE_QUANTUM = 64f;
+
+    private static final Mask EMPTY_MASK = new Mask(null, 0, 0);
+
+    private final ConcurrentHashMap<Object, Glyph> glyphs = new ConcurrentHashMap<>();
+    private final LinkedHashMap<MaskKey, Mask> masks;
+
+    public GlyphOutlineCache() {
+        if (maskCacheEnabled && maskCacheSize > 0) {
+            masks = new LinkedHashMap<MaskKey, Mask>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<MaskKey, Mask> eldest) {
+                    return size() > maskCacheSize;
+                }
+            };
+        } else {
+            masks = null;
+        }
+    }
+
+    /**
+     * Gets the glyph for the given glyph id or name, loading its outline if it isn't already cached.
+     *
+     * @param key    glyph id or glyph name, must be unique within the font program.
+     * @param loader builds the outline on a cache miss.
+     * @return cached glyph.
+     * @throws IOException outline could not be read from the font program.
+     */
+    public Glyph getGlyph(Object key, GlyphLoader loader) throws IOException {
+        Glyph glyph = glyphs.get(key);
+        if (glyph == null) {
+            glyph = new Glyph(loader.load());
+            Glyph previous = glyphs.putIfAbsent(key, glyph);
+            if (previous != null) {
+                glyph = previous;
+            }
+        }
+        return glyph;
+    }
+
+    /**
+     * Gets the number of glyphs in the cache.
+     *
+     * @return cached glyph count.
+     */
+    public int getSize() {
+        return glyphs.size();
+    }
+
+    public void clear() {
+        glyphs.clear();
+        if (masks != null) {
+            synchronized (masks) {
+                masks.clear();
+            }
+        }
+    }
+
+    /**
+     * Fills the glyph using a cached mask if mask caching is enabled and the glyph qualifies, namely a solid colour
+     * paint and a device transform with no rotation or shear that produces a glyph no larger than the max mask
+     * size.
+     *
+     * @param g         graphics context to paint to.
+     * @param glyph     glyph to paint.
+     * @param transform glyph space to user space transform.
+     * @return true if the glyph was painted, false if the caller must fill the outline itself.
+     */
+    public boolean fillMask(Graphics2D g, Glyph glyph, AffineTransform transform) {
+        if (masks == null || glyph.outline == null || !(g.getPaint() instanceof Color)) {
+            return false;
+        }
+        AffineTransform device = g.getTransform();
+        device.concatenate(transform);
+        if ((device.getType() & (AffineTransform.TYPE_GENERAL_ROTATION | AffineTransform.TYPE_QUADRANT_ROTATION |
+                AffineTransform.TYPE_GENERAL_TRANSFORM)) != 0) {
+            return false;
+        }
+        int scaleX = Math.round((float) device.getScaleX() * SCALE_QUANTUM);
+        int scaleY = Math.round((float) device.getScaleY() * SCALE_QUANTUM);
+        if (scaleX == 0 || scaleY == 0) {
+            return false;
+        }
+        Color color = (Color) g.getPaint();
+        boolean antiAliased =
+                g.getRenderingHint(RenderingHints.KEY_ANTIALIASING) == RenderingHints.VALUE_ANTIALIAS_ON;
+        MaskKey key = new MaskKey(glyph, scaleX, scaleY, color.getRGB(), antiAliased);
+        Mask mask;
+        synchronized (masks) {
+            mask = masks.get(key);
+        }
+        if (mask == null) {
+            mask = createMask(glyph.outline, scaleX / SCALE_QUANTUM, scaleY / SCALE_QUANTUM, color, antiAliased);
+            synchronized (masks) {
+                masks.put(key, mask);
+            }
+        }
+        if (mask == EMPTY_MASK) {
+            return false;
+        }
+        AffineTransform af = g.getTransform();
+        g.setTransform(new AffineTransform());
+        g.drawImage(mask.image,
+                (int) Math.round(device.getTranslateX()) + mask.x,
+                (int) Math.round(device.getTranslateY()) + mask.y, null);
+        g.setTransform(af);
+        return true;
+    }
+
+    private static Mask createMask(Shape outline, float scaleX, float scaleY, Color color, boolean antiAliased) {
+        AffineTransform scale = AffineTransform.getScaleInstance(scaleX, scaleY);
+        Rectangle2D bounds = scale.createTransformedShape(outline).getBounds2D();
+        if (bounds.isEmpty() || bounds.getWidth() > maskMaxSize || bounds.getHeight() > maskMaxSize) {
+            return EMPTY_MASK;
+        }
+        // one pixel of padding so anti aliased edges aren't cut off.
+        int x = (int) Math.floor(bounds.getMinX()) - 1;
+        int y = (int) Math.floor(bounds.getMinY()) - 1;
+        int width = (int) Math.ceil(bounds.getMaxX()) + 1 - x;
+        int height = (int) Math.ceil(bounds.getMaxY()) + 1 - y;
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                antiAliased ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        g2.setColor(color);
+        g2.translate(-x, -y);
+        g2.transform(scale);
+        g2.fill(outline);
+        g2.dispose();
+        return new Mask(image, x, y);
+    }
+}
@@ -6,7 +6,6 @@ import org.apache.fontbox.ttf.OpenTypeFont;
 import org.apache.pdfbox.io.RandomAccessReadBuffer;
 import org.icepdf.core.pobjects.Stream;
 
-import java.awt.*;
 import java.awt.geom.GeneralPath;
 import java.io.IOException;
 import java.util.logging.Level;
@@ -42,15 +41,15 @@ public class ZFontOpenType extends ZFontTrueType {
     }
 
     @Override
-    public Shape getGlphyShape(char estr) throws IOException {
+    protected GlyphOutlineCache.Glyph getGlyph(char estr) throws IOException {
         int gid = getCharToGid(estr);
-        GlyphData glyphData = trueTypeFont.getGlyph().getGlyph(gid);
-        Shape outline;
-        if (glyphData == null) {
-            outline = new GeneralPath();
-        } else {
-            outline = glyphData.getPath();
-        }
-        return outline;
+        return glyphOutlineCache.getGlyph(gid, () -> {
+            GlyphData glyphData = trueTypeFont.getGlyph().getGlyph(gid);
+            if (glyphData == null) {
+                return new GeneralPath();
+            } else {
+                return glyphData.getPath();
+            }
+        });
     }
 }
@@ -9,7 +9,6 @@ import org.icepdf.core.pobjects.fonts.Encoding;
 import org.icepdf.core.pobjects.fonts.FontFile;
 import org.icepdf.core.pobjects.fonts.zfont.GlyphList;
 
-import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.GeneralPath;
 import java.awt.geom.Point2D;
@@ -107,23 +106,24 @@ public class ZFontTrueType extends ZSimpleFont {
     }
 
     @Override
-    public Shape getGlphyShape(char estr) throws IOException {
-        Shape outline;
-        int gid;
+    protected GlyphOutlineCache.Glyph getGlyph(char estr) throws IOException {
         if (trueTypeFont instanceof OpenTypeFont) {
             int cid = codeToGID(estr);
-            Type2CharString charstring = ((OpenTypeFont) trueTypeFont).getCFF().getFont().getType2CharString(cid);
-            outline = charstring.getPath();
+            return glyphOutlineCache.getGlyph(cid, () -> {
+                Type2CharString charstring = ((OpenTypeFont) trueTypeFont).getCFF().getFont().getType2CharString(cid);
+                return charstring.getPath();
+            });
         } else {
-            gid = getCharToGid(estr);
-            GlyphData glyphData = trueTypeFont.getGlyph().getGlyph(gid);
-            if (glyphData == null) {
-                outline = new GeneralPath();
-            } else {
-                outline = glyphData.getPath();
-            }
+            int gid = getCharToGid(estr);
+            return glyphOutlineCache.getGlyph(gid, () -> {
+                GlyphData glyphData = trueTypeFont.getGlyph().getGlyph(gid);
+                if (glyphData == null) {
+                    return new GeneralPath();
+                } else {
+                    return glyphData.getPath();
+                }
+            });
         }
-        return outline;
     }
 
     @Override
@@ -87,16 +87,17 @@ public class ZFontType0 extends ZSimpleFont {
     }
 
     @Override
-    public Shape getGlphyShape(char estr) throws IOException {
-        Shape outline = null;
-
-        Type2CharString charString = getType2CharString(estr);
-        if (charString != null) {
-            outline = charString.getPath();
-        } else if (t1Font instanceof CFFType1Font) {
-            outline = ((CFFType1Font) t1Font).getType2CharString(estr).getPath();
-        }
-        return outline;
+    protected GlyphOutlineCache.Glyph getGlyph(char estr) throws IOException {
+        return glyphOutlineCache.getGlyph((int) estr, () -> {
+            Shape outline = null;
+            Type2CharString charString = getType2CharString(estr);
+            if (charString != null) {
+                outline = charString.getPath();
+            } else if (t1Font instanceof CFFType1Font) {
+                outline = ((CFFType1Font) t1Font).getType2CharString(estr).getPath();
+            }
+            return outline;
+        });
     }
 
     public FontFile deriveFont(float defaultWidth, float[] widths) {
@@ -9,7 +9,6 @@ import org.icepdf.core.pobjects.Stream;
 import org.icepdf.core.pobjects.fonts.CMap;
 import org.icepdf.core.pobjects.fonts.Encoding;
 import org.icepdf.core.pobjects.fonts.FontFile;
-import org.icepdf.core.pobjects.graphics.TextState;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
@@ -49,6 +48,8 @@ public class ZFontType2 extends ZSimpleFont { //extends ZFontTrueType {
 
     public ZFontType2(ZFontTrueType font) {
         super(font);
+        // glyphs are looked up by cid to gid mapping, so the simple font's outlines can't be shared.
+        this.glyphOutlineCache = new GlyphOutlineCache();
         this.trueTypeFont = font.trueTypeFont;
         this.fontBoxFont = this.trueTypeFont;
         this.fontMatrix = convertFontMatrix(fontBoxFont);
@@ -82,32 +83,23 @@ public class ZFontType2 extends ZSimpleFont { //extends ZFontTrueType {
     }
 
     @Override
-    public void paint(Graphics2D g, char estr, float x, float y, long layout, int mode, Color strokeColor) {
-        try {
-            AffineTransform af = g.getTransform();
-            int gid = getCharToGid(estr);
+    protected GlyphOutlineCache.Glyph getGlyph(char estr) throws IOException {
+        int gid = getCharToGid(estr);
+        return glyphOutlineCache.getGlyph(gid, () -> {
             GlyphData glyphData = trueTypeFont.getGlyph().getGlyph(gid);
-            Shape outline;
             if (glyphData == null) {
-                outline = new GeneralPath();
+                return new GeneralPath();
             } else {
                 // must be scaled by caller using FontMatrix
-                outline = glyphData.getPath();
+                return glyphData.getPath();
             }
+        });
+    }
 
-            // clean up,  not very efficient
-            g.translate(x, y);
-            g.transform(this.fontTransform);
-
-            if (TextState.MODE_FILL == mode || TextState.MODE_FILL_STROKE == mode ||
-                    TextState.MODE_FILL_ADD == mode || TextState.MODE_FILL_STROKE_ADD == mode) {
-                g.fill(outline);
-            }
-            if (TextState.MODE_STROKE == mode || TextState.MODE_FILL_STROKE == mode ||
-                    TextState.MODE_STROKE_ADD == mode || TextState.MODE_FILL_STROKE_ADD == mode) {
-                g.draw(outline);
-            }
-            g.setTransform(af);
+    @Override
+    public void paint(Graphics2D g, char estr, float x, float y, long layout, int mode, Color strokeColor) {
+        try {
+            paint(g, getGlyph(estr), x, y, mode);
         } catch (IOException e) {
             logger.log(Level.FINE, "Error painting FontType2 font", e);
         }
@@ -63,6 +63,9 @@ public abstract class ZSimpleFont implements FontFile {
 
     protected boolean isDamaged;
 
+    // glyph outlines of the font program, shared by all derived instances.
+    protected GlyphOutlineCache glyphOutlineCache = new GlyphOutlineCache();
+
     protected ZSimpleFont() {
 
     }
@@ -83,6 +86,7 @@ public abstract class ZSimpleFont implements FontFile {
         this.source = font.source;
         this.fontBoxFont = font.fontBoxFont;
         this.isDamaged = font.isDamaged;
+        this.glyphOutlineCache = font.glyphOutlineCache;
         this.gsTransform = new AffineTransform(gsTransform);
         this.fontMatrix = new AffineTransform(font.fontMatrix);
         this.fontTransform = new AffineTransform(font.fontTransform);
@@ -139,50 +143,71 @@ public abstract class ZSimpleFont implements FontFile {
 
     @Override
     public Shape getGlphyShape(char estr) throws IOException {
+        return getGlyph(estr).getOutline();
+    }
+
+    /**
+     * Gets the cached glyph for the given character code, subclasses resolve the code to a glyph id or name
+     * which is used as the key in the font program's glyph outline cache.
+     *
+     * @param estr character code
+     * @return cached glyph
+     * @throws IOException glyph outline could not be read
+     */
+    protected GlyphOutlineCache.Glyph getGlyph(char estr) throws IOException {
         String name = codeToName(estr);
-        Shape outline = fontBoxFont.getPath(name);
         if (encoding != null && !fontBoxFont.hasGlyph(name)) {
-            name = encoding.getName(estr);
-            if (name != null) {
-                outline = fontBoxFont.getPath(name);
+            String encodedName = encoding.getName(estr);
+            if (encodedName != null) {
+                name = encodedName;
             }
         }
-        return outline;
+        final String glyphName = name;
+        return glyphOutlineCache.getGlyph(glyphName, () -> fontBoxFont.getPath(glyphName));
     }
 
     @Override
     public void paint(Graphics2D g, char estr, float x, float y, long layout, int mode, Color strokeColor) {
         try {
-            AffineTransform af = g.getTransform();
-            Shape outline = getGlphyShape(estr);
-
-            g.translate(x, y);
-            g.transform(this.fontTransform);
-
-            if (TextState.MODE_FILL == mode || TextState.MODE_FILL_STROKE == mode ||
-                    TextState.MODE_FILL_ADD == mode || TextState.MODE_FILL_STROKE_ADD == mode) {
-                g.fill(outline);
-            }
-            if (TextState.MODE_STROKE == mode || TextState.MODE_FILL_STROKE == mode ||
-                    TextState.MODE_STROKE_ADD == mode || TextState.MODE_FILL_STROKE_ADD == mode) {
-                g.draw(outline);
-            }
-            g.setTransform(af);
+            paint(g, getGlyph(estr), x, y, mode);
         } catch (IOException e) {
             logger.log(Level.FINE, "Error painting SimpleFont", e);
         }
     }
 
+    protected void paint(Graphics2D g, GlyphOutlineCache.Glyph glyph, float x, float y, int mode) {
+        AffineTransform glyphTransform = AffineTransform.getTranslateInstance(x, y);
+        glyphTransform.concatenate(this.fontTransform);
+        // small fill only glyphs can be blitted from a pre-rasterized mask if enabled.
+        if (TextState.MODE_FILL == mode && glyphOutlineCache.fillMask(g, glyph, glyphTransform)) {
+            return;
+        }
+        AffineTransform af = g.getTransform();
+        Shape outline = glyph.getOutline();
+        g.transform(glyphTransform);
+
+        if (TextState.MODE_FILL == mode || TextState.MODE_FILL_STROKE == mode ||
+                TextState.MODE_FILL_ADD == mode || TextState.MODE_FILL_STROKE_ADD == mode) {
+            g.fill(outline);
+        }
+        if (TextState.MODE_STROKE == mode || TextState.MODE_FILL_STROKE == mode ||
+                TextState.MODE_STROKE_ADD == mode || TextState.MODE_FILL_STROKE_ADD == mode) {
+            g.draw(outline);
+        }
+        g.setTransform(af);
+    }
+
     @Override
     public Shape getOutline(char estr, float x, float y) {
         try {
-            Shape glyph = getGlphyShape(estr);
-            Area outline = new Area(glyph);
+            Area outline = getGlyph(estr).getArea();
+            if (outline == null) {
+                return null;
+            }
             AffineTransform transform = new AffineTransform();
             transform.translate(x, y);
             transform.concatenate(fontTransform);
-            outline = outline.createTransformedArea(transform);
-            return outline;
+            return outline.createTransformedArea(transform);
         } catch (IOException e) {
             logger.log(Level.FINE, "Error painting font outline", e);
         }
@@ -17,13 +17,14 @@ package org.icepdf.core.pobjects.functions;
 
 import org.icepdf.core.pobjects.Dictionary;
 import org.icepdf.core.pobjects.Stream;
+import org.icepdf.core.pobjects.functions.postscript.CalculatorProgram;
 import org.icepdf.core.pobjects.functions.postscript.Lexer;
+import org.icepdf.core.util.Defs;
 import org.icepdf.core.util.Utils;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.Stack;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -37,6 +38,12 @@ import java.util.logging.Logger;
  * without the loss of accuracy that comes from sampling, and without adding to
  * the list a predefined spot function (10.5.3 spot functions).  All of the
  * predefined spot functions can be written as type 4 functions. </p>
+ * <p>The program is compiled once into a {@link CalculatorProgram}, programs the
+ * compiler doesn't accept fall back to the interpreting {@link Lexer}.  Functions
+ * with one input can optionally be evaluated from a table of samples taken over
+ * the domain by setting the system property
+ * "org.icepdf.core.function4.sampleSize" to the number of samples, 0 disables
+ * sampling and is the default.</p>
  *
  * @since 4.2
  */
@@ -45,14 +52,36 @@ public class Function_4 extends Function {
     private static final Logger logger =
             Logger.getLogger(Function_4.class.toString());
 
+    private static int defaultSampleSize;
+
+    static {
+        defaultSampleSize = Defs.intProperty("org.icepdf.core.function4.sampleSize", 0);
+    }
+
+    // number of samples taken over the domain of single input functions, 0 disables sampling.
+    private final int sampleSize;
+
     // decoded content that makes up the type 4 functions.
     private byte[] functionContent;
 
-    // cache for calculated colour values
-    private final ConcurrentHashMap<Integer, float[]> resultCache;
+    // compiled program, null if the program could not be compiled.
+    private CalculatorProgram program;
+
+    // sampled outputs for single input functions, sampleSize rows of n outputs.
+    private volatile float[] samples;
 
     public Function_4(Dictionary d) {
+        this(d, defaultSampleSize);
+    }
+
+    /**
+     * @param d          function dictionary.
+     * @param sampleSize number of samples taken over the domain of a single
+     *                   input function, 0 disables sampling.
+     */
+    Function_4(Dictionary d, int sampleSize) {
         super(d);
+        this.sampleSize = sampleSize;
         // decode the stream for parsing.
         if (d instanceof Stream) {
             Stream functionStream = (Stream) d;
@@ -60,12 +89,14 @@ public class Function_4 extends Function {
             if (logger.isLoggable(Level.FINER)) {
                 logger.finer("Function 4: " + Utils.convertByteArrayToByteString(functionContent));
             }
-
+            try {
+                program = CalculatorProgram.compile(functionContent);
+            } catch (IllegalArgumentException e) {
+                logger.log(Level.FINE, "Type 4 function could not be compiled, using interpreter.", e);
+            }
         } else {
             logger.finer("Type 4 function operands could not be found.");
         }
-        // cache for type 4 function results.
-        resultCache = new ConcurrentHashMap<>();
     }
 
     /**
@@ -75,13 +106,72 @@ public class Function_4 extends Function {
      * @return output values n
      */
     public float[] calculate(float[] x) {
+        if (program == null) {
+            return interpret(x);
+        }
+        if (sampleSize > 1 && x.length == 1 && domain.length == 2) {
+            return sample(x[0]);
+        }
+        float[] output;
+        try {
+            output = program.execute(x);
+        } catch (IllegalStateException e) {
+            logger.log(Level.WARNING, "Error Processing Type 4 definition", e);
+            output = new float[0];
+        }
+        return applyRange(output, new float[range.length / 2]);
+    }
+
+    /**
+     * Evaluates a single input function by linear interpolation between samples
+     * taken over the domain, the samples are taken on first use.
+     */
+    private float[] sample(float x) {
+        int n = range.length / 2;
+        float[] samples = this.samples;
+        if (samples == null) {
+            samples = new float[sampleSize * n];
+            float[] input = new float[1];
+            float[] output = new float[n];
+            for (int i = 0; i < sampleSize; i++) {
+                input[0] = interpolate(i, 0, sampleSize - 1, domain[0], domain[1]);
+                try {
+                    applyRange(program.execute(input), output);
+                } catch (IllegalStateException e) {
+                    logger.log(Level.WARNING, "Error Processing Type 4 definition", e);
+                }
+                System.arraycopy(output, 0, samples, i * n, n);
+            }
+            this.samples = samples;
+        }
+        float position = interpolate(x, domain[0], domain[1], 0, sampleSize - 1);
+        position = Math.min(Math.max(position, 0), sampleSize - 1);
+        int low = Math.min((int) position, sampleSize - 2);
+        float fraction = position - low;
+        float[] y = new float[n];
+        for (int i = 0, offset = low * n; i < n; i++) {
+            float y0 = samples[offset + i];
+            y[i] = y0 + (samples[offset + n + i] - y0) * fraction;
+        }
+        return y;
+    }
 
-        // check the cache in case we've already made the calculation.
-        Integer colourKey = calculateColourKey(x);
-        float[] result = resultCache.get(colourKey);
-        if (result != null) {
-            return result;
+    /**
+     * Copies the first n stack values into y, clamped to the function range.
+     */
+    private float[] applyRange(float[] stack, float[] y) {
+        for (int i = 0; i < y.length; i++) {
+            float value = i < stack.length ? stack[i] : range[2 * i];
+            y[i] = Math.min(Math.max(value, range[2 * i]), range[2 * i + 1]);
         }
+        return y;
+    }
+
+    /**
+     * Evaluates the function with the interpreting lexer, used when the program
+     * could not be compiled.
+     */
+    private float[] interpret(float[] x) {
 
         // setup the lexer stream
         InputStream content = new ByteArrayInputStream(functionContent);
@@ -108,35 +198,6 @@ public class Function_4 extends Function {
             y[i] = Math.min(Math.max((Float) stack.elementAt(i),
                     range[2 * i]), range[2 * i + 1]);
         }
-        // add the new value to the cache.
-        resultCache.put(colourKey, y);
         return y;
     }
-
-    /**
-     * Utility for creating a comparable colour key for colour components.
-     *
-     * @param colours one or more colour values,  usually maxes out at four.
-     * @return concatenation of colour values.
-     */
-    private Integer calculateColourKey(float[] colours) {
-        int length = colours.length;
-        // only works for colour vlues 0-255
-        if (!(colours[0] <= 1.0)) {
-            if (length == 1) {
-                return (int) colours[0];
-            } else if (length == 2) {
-                return ((int) colours[1] << 8) | (int) colours[0];
-            } else if (length == 3) {
-                return ((int) colours[2] << 16) |
-                        ((int) colours[1] << 8) | (int) colours[0];
-            }
-        }
-        // otherwise expensive hash generation.
-        StringBuilder builder = new StringBuilder();
-        for (float colour : colours) {
-            builder.append(colour);
-        }
-        return builder.toString().hashCode();
-    }
 }
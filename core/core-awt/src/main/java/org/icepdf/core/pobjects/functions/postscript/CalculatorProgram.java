@@ -0,0 +1,501 @@
+/*
+ * Copyright 2006-2019 ICEsoft Technologies Canada Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.functions.postscript;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A type 4 function program compiled once into a flat instruction array which is executed over a primitive float
+ * stack.  The Lexer re-tokenizes the program text and boxes every operand each time the function is evaluated,
+ * a compiled program is parsed once when the function is created and evaluated without allocating anything but the
+ * stack.
+ * <br>
+ * Procedures are only legal as the operands of if and ifelse in a calculator function, so they are compiled
+ * inline with conditional jumps:
+ * <pre>
+ *     bool {proc} if              -&gt; jumpIfFalse end; proc; end:
+ *     bool {proc1} {proc2} ifelse -&gt; jumpIfFalse else; proc1; jump end; else: proc2; end:
+ * </pre>
+ * Booleans are stored on the stack as 1 or 0 with a parallel flag so and, or, xor and not can tell a logical
+ * operation from a bitwise one.
+ * <br>
+ * A compiled program is immutable and can be executed by several threads at once.
+ *
+ * @since 7.3.0
+ */
+public class CalculatorProgram {
+
+    // instructions that aren't operators, numbered after the OperatorNames constants.
+    private static final int
+            PUSH_NUMBER = 100,
+            PUSH_BOOLEAN = 101,
+            JUMP = 102,
+            JUMP_IF_FALSE = 103;
+
+    private static final int MIN_STACK_SIZE = 16;
+
+    // opcode of each instruction and its argument, a constant value or a jump target.
+    private final int[] code;
+    private final float[] arguments;
+
+    private CalculatorProgram(int[] code, float[] arguments) {
+        this.code = code;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Compiles a type 4 function program.
+     *
+     * @param content decoded type 4 function stream, a single procedure enclosed in braces.
+     * @return compiled program.
+     * @throws IllegalArgumentException if the program contains an unknown operator, a procedure that isn't the
+     *                                  operand of if or ifelse or unbalanced braces.
+     */
+    public static CalculatorProgram compile(byte[] content) {
+        if (content == null) {
+            throw new IllegalArgumentException("Type 4 function, no program content.");
+        }
+        Tokenizer tokenizer = new Tokenizer(content);
+        // skip anything ahead of the outer procedure.
+        Object token;
+        do {
+            token = tokenizer.next();
+        } while (token != null && token != Tokenizer.PROC_START);
+        if (token == null) {
+            throw new IllegalArgumentException("Type 4 function, missing program procedure.");
+        }
+        List<Object> program = parseProcedure(tokenizer);
+        Emitter emitter = new Emitter();
+        emitter.emit(program);
+        return new CalculatorProgram(
+                Arrays.copyOf(emitter.code, emitter.size),
+                Arrays.copyOf(emitter.arguments, emitter.size));
+    }
+
+    /**
+     * Executes the program with the given input values.
+     *
+     * @param input input values, pushed onto the stack before the program is run.
+     * @return stack contents once the program has run, from the bottom of the stack up.
+     * @throws IllegalStateException if the program underflows the stack.
+     */
+    public float[] execute(float[] input) {
+        ExecutionStack stack = new ExecutionStack(Math.max(MIN_STACK_SIZE, input.length * 2));
+        for (float value : input) {
+            stack.push(value, false);
+        }
+        final int[] code = this.code;
+        final float[] arguments = this.arguments;
+        int pc = 0;
+        float num1, num2;
+        boolean bool;
+        try {
+            while (pc < code.length) {
+                int op = code[pc];
+                float argument = arguments[pc];
+                pc++;
+                switch (op) {
+                    case PUSH_NUMBER:
+                        stack.push(argument, false);
+                        break;
+                    case PUSH_BOOLEAN:
+                        stack.push(argument, true);
+                        break;
+                    case JUMP:
+                        pc = (int) argument;
+                        break;
+                    case JUMP_IF_FALSE:
+                        if (stack.pop() == 0) {
+                            pc = (int) argument;
+                        }
+                        break;
+                    case OperatorNames.OP_ABS:
+                        stack.push(Math.abs(stack.pop()), false);
+                        break;
+                    case OperatorNames.OP_ADD:
+                        num2 = stack.pop();
+                        stack.push(stack.pop() + num2, false);
+                        break;
+                    case OperatorNames.OP_SUB:
+                        num2 = stack.pop();
+                        stack.push(stack.pop() - num2, false);
+                        break;
+                    case OperatorNames.OP_MUL:
+                        num2 = stack.pop();
+                        stack.push(stack.pop() * num2, false);
+                        break;
+                    case OperatorNames.OP_DIV:
+                        num2 = stack.pop();
+                        stack.push(stack.pop() / num2, false);
+                        break;
+                    case OperatorNames.OP_IDIV:
+                        num2 = stack.pop();
+                        stack.push((int) (stack.pop() / num2), false);
+                        break;
+                    case OperatorNames.OP_MOD:
+                        num2 = stack.pop();
+                        stack.push(stack.pop() % num2, false);
+                        break;
+                    case OperatorNames.OP_NEG:
+                        stack.push(-stack.pop(), false);
+                        break;
+                    case OperatorNames.OP_CEILING:
+                        stack.push((float) Math.ceil(stack.pop()), false);
+                        break;
+                    case OperatorNames.OP_FLOOR:
+                        stack.push((float) Math.floor(stack.pop()), false);
+                        break;
+                    case OperatorNames.OP_ROUND:
+                        stack.push(Math.round(stack.pop()), false);
+                        break;
+                    case OperatorNames.OP_TRUNCATE:
+                    case OperatorNames.OP_CVI:
+                        // toward zero.
+                        stack.push((int) stack.pop(), false);
+                        break;
+                    case OperatorNames.OP_CVR:
+                        stack.push(stack.pop(), false);
+                        break;
+                    case OperatorNames.OP_SQRT:
+                        stack.push((float) Math.sqrt(stack.pop()), false);
+                        break;
+                    case OperatorNames.OP_EXP:
+                        num2 = stack.pop();
+                        stack.push((float) Math.pow(stack.pop(), num2), false);
+                        break;
+                    case OperatorNames.OP_LN:
+                        stack.push((float) Math.log(stack.pop()), false);
+                        break;
+                    case OperatorNames.OP_LOG:
+                        stack.push((float) Math.log10(stack.pop()), false);
+                        break;
+                    // angles are in degrees.
+                    case OperatorNames.OP_SIN:
+                        stack.push((float) Math.sin(Math.toRadians(stack.pop())), false);
+                        break;
+                    case OperatorNames.OP_COS:
+                        stack.push((float) Math.cos(Math.toRadians(stack.pop())), false);
+                        break;
+                    case OperatorNames.OP_ATAN:
+                        num2 = stack.pop();
+                        num1 = stack.pop();
+                        double angle = Math.toDegrees(Math.atan2(num1, num2));
+                        stack.push((float) (angle < 0 ? angle + 360 : angle), false);
+                        break;
+                    case OperatorNames.OP_EQ:
+                        num2 = stack.pop();
+                        stack.push(stack.pop() == num2 ? 1 : 0, true);
+                        break;
+                    case OperatorNames.OP_NE:
+                        num2 = stack.pop();
+                        stack.push(stack.pop() != num2 ? 1 : 0, true);
+                        break;
+                    case OperatorNames.OP_GE:
+                        num2 = stack.pop();
+                        stack.push(stack.pop() >= num2 ? 1 : 0, true);
+                        break;
+                    case OperatorNames.OP_GT:
+                        num2 = stack.pop();
+                        stack.push(stack.pop() > num2 ? 1 : 0, true);
+                        break;
+                    case OperatorNames.OP_LE:
+                        num2 = stack.pop();
+                        stack.push(stack.pop() <= num2 ? 1 : 0, true);
+                        break;
+                    case OperatorNames.OP_LT:
+                        num2 = stack.pop();
+                        stack.push(stack.pop() < num2 ? 1 : 0, true);
+                        break;
+                    // booleans are 1 or 0 so the bitwise operations double as the logical ones.
+                    case OperatorNames.OP_AND:
+                        bool = stack.isBoolean();
+                        num2 = stack.pop();
+                        stack.push((int) stack.pop() & (int) num2, bool);
+                        break;
+                    case OperatorNames.OP_OR:
+                        bool = stack.isBoolean();
+                        num2 = stack.pop();
+                        stack.push((int) stack.pop() | (int) num2, bool);
+                        break;
+                    case OperatorNames.OP_XOR:
+                        bool = stack.isBoolean();
+                        num2 = stack.pop();
+                        stack.push((int) stack.pop() ^ (int) num2, bool);
+                        break;
+                    case OperatorNames.OP_NOT:
+                        bool = stack.isBoolean();
+                        num1 = stack.pop();
+                        stack.push(bool ? (num1 == 0 ? 1 : 0) : ~(int) num1, bool);
+                        break;
+                    case OperatorNames.OP_BITSHIFT:
+                        int shift = (int) stack.pop();
+                        int int1 = (int) stack.pop();
+                        stack.push(shift >= 0 ? int1 << shift : int1 >> -shift, false);
+                        break;
+                    case OperatorNames.OP_POP:
+                        stack.pop();
+                        break;
+                    case OperatorNames.OP_DUP:
+                        stack.copy(1);
+                        break;
+                    case OperatorNames.OP_COPY:
+                        stack.copy((int) stack.pop());
+                        break;
+                    case OperatorNames.OP_EXCH:
+                        stack.roll(2, 1);
+                        break;
+                    case OperatorNames.OP_INDEX:
+                        stack.index((int) stack.pop());
+                        break;
+                    case OperatorNames.OP_ROLL:
+                        int j = (int) stack.pop();
+                        stack.roll((int) stack.pop(), j);
+                        break;
+                    default:
+                        throw new IllegalStateException("Type 4 function, unknown instruction " + op);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalStateException("Type 4 function, stack underflow.", e);
+        }
+        return Arrays.copyOf(stack.values, stack.size);
+    }
+
+    /**
+     * Parses the tokens of a procedure up to its closing brace into a list of numbers, booleans, operator types
+     * and nested procedures.
+     */
+    private static List<Object> parseProcedure(Tokenizer tokenizer) {
+        List<Object> procedure = new ArrayList<>();
+        Object token;
+        while ((token = tokenizer.next()) != null) {
+            if (token == Tokenizer.PROC_START) {
+                procedure.add(parseProcedure(tokenizer));
+            } else if (token == Tokenizer.PROC_END) {
+                return procedure;
+            } else {
+                procedure.add(token);
+            }
+        }
+        throw new IllegalArgumentException("Type 4 function, unbalanced braces.");
+    }
+
+    /**
+     * Tokenizes the program bytes into Float, Boolean and Integer operator type tokens.
+     */
+    private static final class Tokenizer {
+
+        static final Object PROC_START = new Object();
+        static final Object PROC_END = new Object();
+
+        private final byte[] content;
+        private int pos;
+
+        Tokenizer(byte[] content) {
+            this.content = content;
+        }
+
+        Object next() {
+            while (pos < content.length && isWhiteSpace(content[pos])) {
+                pos++;
+            }
+            if (pos == content.length) {
+                return null;
+            }
+            byte c = content[pos];
+            if (c == '{') {
+                pos++;
+                return PROC_START;
+            } else if (c == '}') {
+                pos++;
+                return PROC_END;
+            }
+            int start = pos;
+            while (pos < content.length && !isDelimiter(content[pos])) {
+                pos++;
+            }
+            int length = pos - start;
+            String token = new String(content, start, length, StandardCharsets.US_ASCII);
+            if (c < 'A') {
+                try {
+                    return Float.parseFloat(token);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Type 4 function, bad number " + token, e);
+                }
+            } else if (token.equals("true")) {
+                return Boolean.TRUE;
+            } else if (token.equals("false")) {
+                return Boolean.FALSE;
+            }
+            // every operator name is at least two characters, getType assumes as much.
+            int type = length > 1 ? OperatorNames.getType(token.toCharArray(), 0, length) : OperatorNames.NO_OP;
+            if (type == OperatorNames.NO_OP || type == OperatorNames.OP_TRUE || type == OperatorNames.OP_FALSE) {
+                throw new IllegalArgumentException("Type 4 function, unknown operator " + token);
+            }
+            return type;
+        }
+
+        private static boolean isWhiteSpace(byte c) {
+            return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == 0;
+        }
+
+        private static boolean isDelimiter(byte c) {
+            return isWhiteSpace(c) || c == '{' || c == '}';
+        }
+    }
+
+    /**
+     * Flattens a parsed procedure into the instruction arrays.
+     */
+    private static final class Emitter {
+
+        private int[] code = new int[64];
+        private float[] arguments = new float[64];
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        void emit(List<Object> procedure) {
+            for (int i = 0, max = procedure.size(); i < max; i++) {
+                Object token = procedure.get(i);
+                if (token instanceof Float) {
+                    add(PUSH_NUMBER, (Float) token);
+                } else if (token instanceof Boolean) {
+                    add(PUSH_BOOLEAN, (Boolean) token ? 1 : 0);
+                } else if (token instanceof List) {
+                    List<Object> proc1 = (List<Object>) token;
+                    if (i + 1 < max && isOperator(procedure.get(i + 1), OperatorNames.OP_IF)) {
+                        int jumpToEnd = add(JUMP_IF_FALSE, 0);
+                        emit(proc1);
+                        arguments[jumpToEnd] = size;
+                        i += 1;
+                    } else if (i + 2 < max && procedure.get(i + 1) instanceof List &&
+                            isOperator(procedure.get(i + 2), OperatorNames.OP_IFELSE)) {
+                        int jumpToElse = add(JUMP_IF_FALSE, 0);
+                        emit(proc1);
+                        int jumpToEnd = add(JUMP, 0);
+                        arguments[jumpToElse] = size;
+                        emit((List<Object>) procedure.get(i + 1));
+                        arguments[jumpToEnd] = size;
+                        i += 2;
+                    } else {
+                        throw new IllegalArgumentException("Type 4 function, procedure without if or ifelse.");
+                    }
+                } else {
+                    int type = (Integer) token;
+                    if (type == OperatorNames.OP_IF || type == OperatorNames.OP_IFELSE) {
+                        throw new IllegalArgumentException("Type 4 function, if or ifelse without a procedure.");
+                    }
+                    add(type, 0);
+                }
+            }
+        }
+
+        private static boolean isOperator(Object token, int type) {
+            return token instanceof Integer && (Integer) token == type;
+        }
+
+        private int add(int op, float argument) {
+            if (size == code.length) {
+                code = Arrays.copyOf(code, size * 2);
+                arguments = Arrays.copyOf(arguments, size * 2);
+            }
+            code[size] = op;
+            arguments[size] = argument;
+            return size++;
+        }
+    }
+
+    /**
+     * Primitive operand stack, booleans are flagged so logical operators can be told from bitwise ones.
+     */
+    private static final class ExecutionStack {
+
+        private float[] values;
+        private boolean[] booleans;
+        private int size;
+
+        ExecutionStack(int capacity) {
+            values = new float[capacity];
+            booleans = new boolean[capacity];
+        }
+
+        void push(float value, boolean isBoolean) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                booleans = Arrays.copyOf(booleans, size * 2);
+            }
+            values[size] = value;
+            booleans[size] = isBoolean;
+            size++;
+        }
+
+        float pop() {
+            return values[--size];
+        }
+
+        boolean isBoolean() {
+            return booleans[size - 1];
+        }
+
+        /**
+         * Pushes a copy of the top n elements.
+         */
+        void copy(int n) {
+            if (n < 0 || n > size) {
+                throw new ArrayIndexOutOfBoundsException(n);
+            }
+            for (int i = size - n, max = size; i < max; i++) {
+                push(values[i], booleans[i]);
+            }
+        }
+
+        /**
+         * Pushes a copy of the nth element counting down from the top, zero being the top.
+         */
+        void index(int n) {
+            int i = size - 1 - n;
+            push(values[i], booleans[i]);
+        }
+
+        /**
+         * Circular shift of the top n elements by j, positive j moves elements up the stack.
+         */
+        void roll(int n, int j) {
+            if (n < 0 || n > size) {
+                throw new ArrayIndexOutOfBoundsException(n);
+            }
+            if (n == 0) {
+                return;
+            }
+            j = ((j % n) + n) % n;
+            if (j == 0) {
+                return;
+            }
+            int base = size - n;
+            float[] rolledValues = new float[n];
+            boolean[] rolledBooleans = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                rolledValues[(i + j) % n] = values[base + i];
+                rolledBooleans[(i + j) % n] = booleans[base + i];
+            }
+            System.arraycopy(rolledValues, 0, values, base, n);
+            System.arraycopy(rolledBooleans, 0, booleans, base, n);
+        }
+    }
+}
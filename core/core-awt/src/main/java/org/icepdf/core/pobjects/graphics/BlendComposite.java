@@ -50,6 +50,8 @@ import java.awt.image.ColorModel;
 import java.awt.image.DataBuffer;
 import java.awt.image.Raster;
 import java.awt.image.WritableRaster;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.logging.Logger;
 
 public final class BlendComposite implements Composite {
@@ -97,9 +99,19 @@ public final class BlendComposite implements Composite {
     // context.
     private static final boolean disableBlendComposite;
 
+    // System properties to split the compose of large rasters into bands of rows blended on the common fork-join
+    // pool.  Off by default, the threshold is the minimum raster size in pixels that is worth splitting.
+    private static final boolean parallelCompose;
+    private static final int parallelThreshold;
+    private static final int ROWS_PER_TASK = 64;
+
     static {
         disableBlendComposite = Defs.booleanProperty(
                 "org.icepdf.core.paint.disableBlendComposite", false);
+        parallelCompose = Defs.booleanProperty(
+                "org.icepdf.core.paint.blendComposite.parallel", false);
+        parallelThreshold = Defs.intProperty(
+                "org.icepdf.core.paint.blendComposite.parallelThreshold", 512 * 512);
     }
 
     public static final Name NORMAL_VALUE = new Name("Normal");
@@ -257,111 +269,181 @@ public final class BlendComposite implements Composite {
             int width = Math.min(src.getWidth(), dstIn.getWidth());
             int height = Math.min(src.getHeight(), dstIn.getHeight());
 
+            if (parallelCompose && height > ROWS_PER_TASK && (long) width * height >= parallelThreshold) {
+                ForkJoinPool.commonPool().invoke(new ComposeTask(src, dstIn, dstOut, width, 0, height));
+            } else {
+                composeRows(src, dstIn, dstOut, width, 0, height);
+            }
+        }
+
+        private void composeRows(Raster src, Raster dstIn, WritableRaster dstOut, int width,
+                                 int startRow, int endRow) {
             float alpha = composite.getAlpha();
+            Blender blender = this.blender;
 
-            int[] srcPixel = new int[4];
-            int[] dstPixel = new int[4];
             int[] srcPixels = new int[width];
             int[] dstPixels = new int[width];
 
-            for (int y = 0; y < height; y++) {
+            for (int y = startRow; y < endRow; y++) {
                 src.getDataElements(0, y, width, 1, srcPixels);
                 dstIn.getDataElements(0, y, width, 1, dstPixels);
-                for (int x = 0; x < width; x++) {
-                    // pixels are stored as INT_ARGB
-                    // our arrays are [R, G, B, A]
-                    int pixel = srcPixels[x];
-                    srcPixel[0] = (pixel >> 16) & 0xFF;
-                    srcPixel[1] = (pixel >> 8) & 0xFF;
-                    srcPixel[2] = (pixel) & 0xFF;
-                    srcPixel[3] = (pixel >> 24) & 0xFF;
-
-                    pixel = dstPixels[x];
-                    dstPixel[0] = (pixel >> 16) & 0xFF;
-                    dstPixel[1] = (pixel >> 8) & 0xFF;
-                    dstPixel[2] = (pixel) & 0xFF;
-                    dstPixel[3] = (pixel >> 24) & 0xFF;
-
-                    int[] result = blender.blend(srcPixel, dstPixel);
-
-                    // mixes the result with the opacity
-                    dstPixels[x] =
-                            ((int) (dstPixel[3] + (result[3] - dstPixel[3]) * alpha) & 0xFF) << 24 |
-                                    ((int) (dstPixel[0] + (result[0] - dstPixel[0]) * alpha) & 0xFF) << 16 |
-                                    ((int) (dstPixel[1] + (result[1] - dstPixel[1]) * alpha) & 0xFF) << 8 |
-                                    (int) (dstPixel[2] + (result[2] - dstPixel[2]) * alpha) & 0xFF;
+                if (alpha == 1.0f) {
+                    for (int x = 0; x < width; x++) {
+                        dstPixels[x] = blender.blend(srcPixels[x], dstPixels[x]);
+                    }
+                } else {
+                    for (int x = 0; x < width; x++) {
+                        // pixels are stored as INT_ARGB
+                        int dst = dstPixels[x];
+                        int result = blender.blend(srcPixels[x], dst);
+                        // mixes the result with the opacity
+                        dstPixels[x] =
+                                mix(alpha(dst), alpha(result), alpha) << 24 |
+                                        mix(red(dst), red(result), alpha) << 16 |
+                                        mix(green(dst), green(result), alpha) << 8 |
+                                        mix(blue(dst), blue(result), alpha);
+                    }
                 }
                 dstOut.setDataElements(0, y, width, 1, dstPixels);
             }
         }
+
+        private static int mix(int dst, int result, float alpha) {
+            return (int) (dst + (result - dst) * alpha) & 0xFF;
+        }
+
+        /**
+         * Splits the rows of a compose in half until each task has no more than ROWS_PER_TASK rows.
+         */
+        private final class ComposeTask extends RecursiveAction {
+            private static final long serialVersionUID = 3187255361442538512L;
+
+            private final Raster src;
+            private final Raster dstIn;
+            private final WritableRaster dstOut;
+            private final int width;
+            private final int startRow;
+            private final int endRow;
+
+            private ComposeTask(Raster src, Raster dstIn, WritableRaster dstOut, int width,
+                                int startRow, int endRow) {
+                this.src = src;
+                this.dstIn = dstIn;
+                this.dstOut = dstOut;
+                this.width = width;
+                this.startRow = startRow;
+                this.endRow = endRow;
+            }
+
+            @Override
+            protected void compute() {
+                if (endRow - startRow <= ROWS_PER_TASK) {
+                    composeRows(src, dstIn, dstOut, width, startRow, endRow);
+                } else {
+                    int middle = (startRow + endRow) >>> 1;
+                    invokeAll(new ComposeTask(src, dstIn, dstOut, width, startRow, middle),
+                            new ComposeTask(src, dstIn, dstOut, width, middle, endRow));
+                }
+            }
+        }
+    }
+
+    // packed INT_ARGB channel access.
+    private static int alpha(int pixel) {
+        return (pixel >> 24) & 0xFF;
     }
 
+    private static int red(int pixel) {
+        return (pixel >> 16) & 0xFF;
+    }
+
+    private static int green(int pixel) {
+        return (pixel >> 8) & 0xFF;
+    }
+
+    private static int blue(int pixel) {
+        return pixel & 0xFF;
+    }
+
+    private static int clamp(int value) {
+        return value < 0 ? 0 : (value > 255 ? 255 : value);
+    }
+
+    private static int argb(int a, int r, int g, int b) {
+        return clamp(a) << 24 | clamp(r) << 16 | clamp(g) << 8 | clamp(b);
+    }
+
+    // the alpha channel used by most of the blenders.
+    private static int sumAlpha(int src, int dst) {
+        return Math.min(255, alpha(src) + alpha(dst));
+    }
+
+    /**
+     * Blend mode kernel, works on packed INT_ARGB pixels so nothing is allocated per pixel.  Blenders are stateless
+     * and are shared by the rows of a parallel compose.
+     */
     private static abstract class Blender {
-        public abstract int[] blend(int[] src, int[] dst);
+        public abstract int blend(int src, int dst);
 
-        private static void RGBtoHSL(int r, int g, int b, float[] hsl) {
+        private static float hue(int r, int g, int b) {
             float var_R = (r / 255f);
             float var_G = (g / 255f);
             float var_B = (b / 255f);
 
-            float var_Min;
-            float var_Max;
-            float del_Max;
+            float var_Max = Math.max(var_R, Math.max(var_G, var_B));
+            float var_Min = Math.min(var_R, Math.min(var_G, var_B));
+            float del_Max = var_Max - var_Min;
+
+            if (del_Max - 0.01f <= 0.0f) {
+                return 0;
+            }
+
+            float del_R = (((var_Max - var_R) / 6f) + (del_Max / 2f)) / del_Max;
+            float del_G = (((var_Max - var_G) / 6f) + (del_Max / 2f)) / del_Max;
+            float del_B = (((var_Max - var_B) / 6f) + (del_Max / 2f)) / del_Max;
 
-            if (var_R > var_G) {
-                var_Min = var_G;
-                var_Max = var_R;
+            float H;
+            if (var_R == var_Max) {
+                H = del_B - del_G;
+            } else if (var_G == var_Max) {
+                H = (1 / 3f) + del_R - del_B;
             } else {
-                var_Min = var_R;
-                var_Max = var_G;
+                H = (2 / 3f) + del_G - del_R;
             }
-            if (var_B > var_Max) {
-                var_Max = var_B;
+            if (H < 0) {
+                H += 1;
             }
-            if (var_B < var_Min) {
-                var_Min = var_B;
+            if (H > 1) {
+                H -= 1;
             }
+            return H;
+        }
 
-            del_Max = var_Max - var_Min;
-
-            float H, S, L;
-            L = (var_Max + var_Min) / 2f;
+        private static float saturation(int r, int g, int b) {
+            float var_Max = Math.max(r, Math.max(g, b)) / 255f;
+            float var_Min = Math.min(r, Math.min(g, b)) / 255f;
+            float del_Max = var_Max - var_Min;
 
             if (del_Max - 0.01f <= 0.0f) {
-                H = 0;
-                S = 0;
+                return 0;
+            }
+            if ((var_Max + var_Min) / 2f < 0.5f) {
+                return del_Max / (var_Max + var_Min);
             } else {
-                if (L < 0.5f) {
-                    S = del_Max / (var_Max + var_Min);
-                } else {
-                    S = del_Max / (2 - var_Max - var_Min);
-                }
-
-                float del_R = (((var_Max - var_R) / 6f) + (del_Max / 2f)) / del_Max;
-                float del_G = (((var_Max - var_G) / 6f) + (del_Max / 2f)) / del_Max;
-                float del_B = (((var_Max - var_B) / 6f) + (del_Max / 2f)) / del_Max;
-
-                if (var_R == var_Max) {
-                    H = del_B - del_G;
-                } else if (var_G == var_Max) {
-                    H = (1 / 3f) + del_R - del_B;
-                } else {
-                    H = (2 / 3f) + del_G - del_R;
-                }
-                if (H < 0) {
-                    H += 1;
-                }
-                if (H > 1) {
-                    H -= 1;
-                }
+                return del_Max / (2 - var_Max - var_Min);
             }
+        }
 
-            hsl[0] = H;
-            hsl[1] = S;
-            hsl[2] = L;
+        private static float lightness(int r, int g, int b) {
+            float var_Max = Math.max(r, Math.max(g, b)) / 255f;
+            float var_Min = Math.min(r, Math.min(g, b)) / 255f;
+            return (var_Max + var_Min) / 2f;
         }
 
-        private static void HSLtoRGB(float h, float s, float l, int[] rgb) {
+        /**
+         * Converts the given hue, saturation and lightness to an ARGB pixel with the given alpha.
+         */
+        private static int HSLtoARGB(float h, float s, float l, int a) {
             int R, G, B;
 
             if (s - 0.01f <= 0.0f) {
@@ -381,10 +463,7 @@ public final class BlendComposite implements Composite {
                 G = (int) (255.0f * hue2RGB(var_1, var_2, h));
                 B = (int) (255.0f * hue2RGB(var_1, var_2, h - (1.0f / 3.0f)));
             }
-
-            rgb[0] = R;
-            rgb[1] = G;
-            rgb[2] = B;
+            return argb(a, R, G, B);
         }
 
         private static float hue2RGB(float v1, float v2, float vH) {
@@ -406,13 +485,44 @@ public final class BlendComposite implements Composite {
             return (v1);
         }
 
+        private static int colorBurn(int src, int dst) {
+            return src == 0 ? 0 : Math.max(0, 255 - (((255 - dst) << 8) / src));
+        }
+
+        private static int colorDodge(int src, int dst) {
+            return src == 255 ? 255 : Math.min((dst << 8) / (255 - src), 255);
+        }
+
+        private static int freeze(int src, int dst) {
+            return src == 0 ? 0 : Math.max(0, 255 - (255 - dst) * (255 - dst) / src);
+        }
+
+        private static int reflect(int src, int dst) {
+            return src == 255 ? 255 : Math.min(255, dst * dst / (255 - src));
+        }
+
+        private static int hardLight(int src, int dst) {
+            return src < 128 ? dst * src >> 7 : 255 - ((255 - src) * (255 - dst) >> 7);
+        }
+
+        private static int softDodge(int src, int dst) {
+            return dst + src < 256 ?
+                    (src == 255 ? 255 : Math.min(255, (dst << 7) / (255 - src))) :
+                    Math.max(0, 255 - (((255 - src) << 7) / dst));
+        }
+
+        private static int softLight(int src, int dst) {
+            int m = src * dst / 255;
+            return m + src * (255 - ((255 - src) * (255 - dst) / 255) - m) / 255;
+        }
+
         public static Blender getBlenderFor(BlendComposite composite) {
             switch (composite.getMode()) {
                 case NORMAL:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            if (src[3] == 0) {
+                        public int blend(int src, int dst) {
+                            if (alpha(src) == 0) {
                                 return dst;
                             }
                             return src;
@@ -421,366 +531,272 @@ public final class BlendComposite implements Composite {
                 case MULTIPLY:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
+                        public int blend(int src, int dst) {
                             // white stays white.
-                            if (src[3] == 0) {
+                            if (alpha(src) == 0) {
                                 return dst;
                             }
-                            return new int[]{
-                                    (src[0] * dst[0]) >> 8,
-                                    (src[1] * dst[1]) >> 8,
-                                    (src[2] * dst[2]) >> 8,
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                            return argb(sumAlpha(src, dst),
+                                    (red(src) * red(dst)) >> 8,
+                                    (green(src) * green(dst)) >> 8,
+                                    (blue(src) * blue(dst)) >> 8);
                         }
                     };
                 case ADD:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    Math.min(255, src[0] + dst[0]),
-                                    Math.min(255, src[1] + dst[1]),
-                                    Math.min(255, src[2] + dst[2]),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            return argb(sumAlpha(src, dst),
+                                    red(src) + red(dst),
+                                    green(src) + green(dst),
+                                    blue(src) + blue(dst));
                         }
                     };
                 case AVERAGE:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    (src[0] + dst[0]) >> 1,
-                                    (src[1] + dst[1]) >> 1,
-                                    (src[2] + dst[2]) >> 1,
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            return argb(sumAlpha(src, dst),
+                                    (red(src) + red(dst)) >> 1,
+                                    (green(src) + green(dst)) >> 1,
+                                    (blue(src) + blue(dst)) >> 1);
                         }
                     };
                 case BLUE:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    dst[0],
-                                    src[1],
-                                    dst[2],
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            return argb(sumAlpha(src, dst), red(dst), green(src), blue(dst));
                         }
                     };
                 case COLOR:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            float[] srcHSL = new float[3];
-                            RGBtoHSL(src[0], src[1], src[2], srcHSL);
-                            float[] dstHSL = new float[3];
-                            RGBtoHSL(dst[0], dst[1], dst[2], dstHSL);
-
-                            int[] result = new int[4];
-                            HSLtoRGB(srcHSL[0], srcHSL[1], dstHSL[2], result);
-                            result[3] = Math.min(255, src[3] + dst[3]);
-
-                            return result;
+                        public int blend(int src, int dst) {
+                            int sr = red(src), sg = green(src), sb = blue(src);
+                            return HSLtoARGB(hue(sr, sg, sb), saturation(sr, sg, sb),
+                                    lightness(red(dst), green(dst), blue(dst)), sumAlpha(src, dst));
                         }
                     };
                 case COLOR_BURN:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    src[0] == 0 ? 0 :
-                                            Math.max(0, 255 - (((255 - dst[0]) << 8) / src[0])),
-                                    src[1] == 0 ? 0 :
-                                            Math.max(0, 255 - (((255 - dst[1]) << 8) / src[1])),
-                                    src[2] == 0 ? 0 :
-                                            Math.max(0, 255 - (((255 - dst[2]) << 8) / src[2])),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            return argb(sumAlpha(src, dst),
+                                    colorBurn(red(src), red(dst)),
+                                    colorBurn(green(src), green(dst)),
+                                    colorBurn(blue(src), blue(dst)));
                         }
                     };
                 case COLOR_DODGE:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    src[0] == 255 ? 255 :
-                                            Math.min((dst[0] << 8) / (255 - src[0]), 255),
-                                    src[1] == 255 ? 255 :
-                                            Math.min((dst[1] << 8) / (255 - src[1]), 255),
-                                    src[2] == 255 ? 255 :
-                                            Math.min((dst[2] << 8) / (255 - src[2]), 255),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            return argb(sumAlpha(src, dst),
+                                    colorDodge(red(src), red(dst)),
+                                    colorDodge(green(src), green(dst)),
+                                    colorDodge(blue(src), blue(dst)));
                         }
                     };
                 case DARKEN:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    Math.min(src[0], dst[0]),
-                                    Math.min(src[1], dst[1]),
-                                    Math.min(src[2], dst[2]),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            return argb(sumAlpha(src, dst),
+                                    Math.min(red(src), red(dst)),
+                                    Math.min(green(src), green(dst)),
+                                    Math.min(blue(src), blue(dst)));
                         }
                     };
                 case DIFFERENCE:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    Math.abs(dst[0] - src[0]),
-                                    Math.abs(dst[1] - src[1]),
-                                    Math.abs(dst[2] - src[2]),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            return argb(sumAlpha(src, dst),
+                                    Math.abs(red(dst) - red(src)),
+                                    Math.abs(green(dst) - green(src)),
+                                    Math.abs(blue(dst) - blue(src)));
                         }
                     };
                 case EXCLUSION:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    dst[0] + src[0] - (dst[0] * src[0] >> 7),
-                                    dst[1] + src[1] - (dst[1] * src[1] >> 7),
-                                    dst[2] + src[2] - (dst[2] * src[2] >> 7),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            int sr = red(src), sg = green(src), sb = blue(src);
+                            int dr = red(dst), dg = green(dst), db = blue(dst);
+                            return argb(sumAlpha(src, dst),
+                                    dr + sr - (dr * sr >> 7),
+                                    dg + sg - (dg * sg >> 7),
+                                    db + sb - (db * sb >> 7));
                         }
                     };
                 case FREEZE:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    src[0] == 0 ? 0 : Math.max(0, 255 - (255 - dst[0]) * (255 - dst[0]) / src[0]),
-                                    src[1] == 0 ? 0 : Math.max(0, 255 - (255 - dst[1]) * (255 - dst[1]) / src[1]),
-                                    src[2] == 0 ? 0 : Math.max(0, 255 - (255 - dst[2]) * (255 - dst[2]) / src[2]),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            return argb(sumAlpha(src, dst),
+                                    freeze(red(src), red(dst)),
+                                    freeze(green(src), green(dst)),
+                                    freeze(blue(src), blue(dst)));
                         }
                     };
                 case GLOW:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    dst[0] == 255 ? 255 : Math.min(255, src[0] * src[0] / (255 - dst[0])),
-                                    dst[1] == 255 ? 255 : Math.min(255, src[1] * src[1] / (255 - dst[1])),
-                                    dst[2] == 255 ? 255 : Math.min(255, src[2] * src[2] / (255 - dst[2])),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            // glow is reflect with the source and backdrop swapped.
+                            return argb(sumAlpha(src, dst),
+                                    reflect(red(dst), red(src)),
+                                    reflect(green(dst), green(src)),
+                                    reflect(blue(dst), blue(src)));
                         }
                     };
                 case GREEN:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    dst[0],
-                                    dst[1],
-                                    src[2],
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            return argb(sumAlpha(src, dst), red(dst), green(dst), blue(src));
                         }
                     };
                 case HARD_LIGHT:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            if (src[3] == 0) {
+                        public int blend(int src, int dst) {
+                            if (alpha(src) == 0) {
                                 return dst;
                             }
-                            return new int[]{
-                                    src[0] < 128 ? dst[0] * src[0] >> 7 :
-                                            255 - ((255 - src[0]) * (255 - dst[0]) >> 7),
-                                    src[1] < 128 ? dst[1] * src[1] >> 7 :
-                                            255 - ((255 - src[1]) * (255 - dst[1]) >> 7),
-                                    src[2] < 128 ? dst[2] * src[2] >> 7 :
-                                            255 - ((255 - src[2]) * (255 - dst[2]) >> 7),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                            return argb(sumAlpha(src, dst),
+                                    hardLight(red(src), red(dst)),
+                                    hardLight(green(src), green(dst)),
+                                    hardLight(blue(src), blue(dst)));
                         }
                     };
                 case HEAT:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    dst[0] == 0 ? 0 : Math.max(0, 255 - (255 - src[0]) * (255 - src[0]) / dst[0]),
-                                    dst[1] == 0 ? 0 : Math.max(0, 255 - (255 - src[1]) * (255 - src[1]) / dst[1]),
-                                    dst[2] == 0 ? 0 : Math.max(0, 255 - (255 - src[2]) * (255 - src[2]) / dst[2]),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            // heat is freeze with the source and backdrop swapped.
+                            return argb(sumAlpha(src, dst),
+                                    freeze(red(dst), red(src)),
+                                    freeze(green(dst), green(src)),
+                                    freeze(blue(dst), blue(src)));
                         }
                     };
                 case HUE:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            float[] srcHSL = new float[3];
-                            RGBtoHSL(src[0], src[1], src[2], srcHSL);
-                            float[] dstHSL = new float[3];
-                            RGBtoHSL(dst[0], dst[1], dst[2], dstHSL);
-
-                            int[] result = new int[4];
-                            HSLtoRGB(srcHSL[0], dstHSL[1], dstHSL[2], result);
-                            result[3] = Math.min(255, src[3] + dst[3]);
-
-                            return result;
+                        public int blend(int src, int dst) {
+                            int dr = red(dst), dg = green(dst), db = blue(dst);
+                            return HSLtoARGB(hue(red(src), green(src), blue(src)), saturation(dr, dg, db),
+                                    lightness(dr, dg, db), sumAlpha(src, dst));
                         }
                     };
                 case INVERSE_COLOR_BURN:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    dst[0] == 0 ? 0 :
-                                            Math.max(0, 255 - (((255 - src[0]) << 8) / dst[0])),
-                                    dst[1] == 0 ? 0 :
-                                            Math.max(0, 255 - (((255 - src[1]) << 8) / dst[1])),
-                                    dst[2] == 0 ? 0 :
-                                            Math.max(0, 255 - (((255 - src[2]) << 8) / dst[2])),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            return argb(sumAlpha(src, dst),
+                                    colorBurn(red(dst), red(src)),
+                                    colorBurn(green(dst), green(src)),
+                                    colorBurn(blue(dst), blue(src)));
                         }
                     };
                 case INVERSE_COLOR_DODGE:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    dst[0] == 255 ? 255 :
-                                            Math.min((src[0] << 8) / (255 - dst[0]), 255),
-                                    dst[1] == 255 ? 255 :
-                                            Math.min((src[1] << 8) / (255 - dst[1]), 255),
-                                    dst[2] == 255 ? 255 :
-                                            Math.min((src[2] << 8) / (255 - dst[2]), 255),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            return argb(sumAlpha(src, dst),
+                                    colorDodge(red(dst), red(src)),
+                                    colorDodge(green(dst), green(src)),
+                                    colorDodge(blue(dst), blue(src)));
                         }
                     };
                 case LIGHTEN:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    Math.max(src[0], dst[0]),
-                                    Math.max(src[1], dst[1]),
-                                    Math.max(src[2], dst[2]),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            return argb(sumAlpha(src, dst),
+                                    Math.max(red(src), red(dst)),
+                                    Math.max(green(src), green(dst)),
+                                    Math.max(blue(src), blue(dst)));
                         }
                     };
                 case LUMINOSITY:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-
-                            float[] srcHSL = new float[3];
-                            RGBtoHSL(src[0], src[1], src[2], srcHSL);
-                            float[] dstHSL = new float[3];
-                            RGBtoHSL(dst[0], dst[1], dst[2], dstHSL);
-
-                            int[] result = new int[4];
-                            HSLtoRGB(dstHSL[0], dstHSL[1], srcHSL[2], result);
-                            result[3] = Math.min(255, src[3] + dst[3]);
-
-                            return result;
+                        public int blend(int src, int dst) {
+                            int dr = red(dst), dg = green(dst), db = blue(dst);
+                            return HSLtoARGB(hue(dr, dg, db), saturation(dr, dg, db),
+                                    lightness(red(src), green(src), blue(src)), sumAlpha(src, dst));
                         }
                     };
                 case NEGATION:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    255 - Math.abs(255 - dst[0] - src[0]),
-                                    255 - Math.abs(255 - dst[1] - src[1]),
-                                    255 - Math.abs(255 - dst[2] - src[2]),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            return argb(sumAlpha(src, dst),
+                                    255 - Math.abs(255 - red(dst) - red(src)),
+                                    255 - Math.abs(255 - green(dst) - green(src)),
+                                    255 - Math.abs(255 - blue(dst) - blue(src)));
                         }
                     };
                 case OVERLAY:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
+                        public int blend(int src, int dst) {
                             // screening with black leaves the underlying colour unchanged.
-                            if (src[3] == 0) {
+                            if (alpha(src) == 0) {
                                 return dst;
                             }
-                            return new int[]{
-                                    dst[0] < 128 ? (dst[0] * src[0]) >> 7 :
-                                            255 - ((255 - dst[0]) * (255 - src[0]) >> 7),
-                                    dst[1] < 128 ? dst[1] * src[1] >> 7 :
-                                            255 - ((255 - dst[1]) * (255 - src[1]) >> 7),
-                                    dst[2] < 128 ? (dst[2] * src[2]) >> 7 :
-                                            255 - ((255 - dst[2]) * (255 - src[2]) >> 7),
-                                    Math.min(255, dst[3])
-                            };
-//                            return dst;
+                            // overlay is hard light with the source and backdrop swapped.
+                            return argb(alpha(dst),
+                                    hardLight(red(dst), red(src)),
+                                    hardLight(green(dst), green(src)),
+                                    hardLight(blue(dst), blue(src)));
                         }
                     };
                 case RED:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    src[0],
-                                    dst[1],
-                                    dst[2],
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            return argb(sumAlpha(src, dst), red(src), green(dst), blue(dst));
                         }
                     };
                 case REFLECT:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    src[0] == 255 ? 255 : Math.min(255, dst[0] * dst[0] / (255 - src[0])),
-                                    src[1] == 255 ? 255 : Math.min(255, dst[1] * dst[1] / (255 - src[1])),
-                                    src[2] == 255 ? 255 : Math.min(255, dst[2] * dst[2] / (255 - src[2])),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            return argb(sumAlpha(src, dst),
+                                    reflect(red(src), red(dst)),
+                                    reflect(green(src), green(dst)),
+                                    reflect(blue(src), blue(dst)));
                         }
                     };
                 case SATURATION:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            float[] srcHSL = new float[3];
-                            RGBtoHSL(src[0], src[1], src[2], srcHSL);
-                            float[] dstHSL = new float[3];
-                            RGBtoHSL(dst[0], dst[1], dst[2], dstHSL);
-
-                            int[] result = new int[4];
-                            HSLtoRGB(dstHSL[0], srcHSL[1], dstHSL[2], result);
-                            result[3] = Math.min(255, src[3] + dst[3]);
-
-                            return result;
+                        public int blend(int src, int dst) {
+                            int dr = red(dst), dg = green(dst), db = blue(dst);
+                            return HSLtoARGB(hue(dr, dg, db), saturation(red(src), green(src), blue(src)),
+                                    lightness(dr, dg, db), sumAlpha(src, dst));
                         }
                     };
                 case SCREEN:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
+                        public int blend(int src, int dst) {
+                            int sr = red(src), sg = green(src), sb = blue(src);
+                            int dr = red(dst), dg = green(dst), db = blue(dst);
                             // screening with black leaves the underlying colour unchanged.
-                            if ((src[0] == 0 && src[1] == 0 && src[2] == 0)) {
+                            if (sr == 0 && sg == 0 && sb == 0) {
                                 return dst;
                             }
                             // screening any colour with white, produces white.
-                            if ((dst[0] != 255 && dst[1] != 255 && dst[2] != 255)) {
-                                return new int[]{
-                                        255 - ((255 - src[0]) * (255 - dst[0]) >> 8),
-                                        255 - ((255 - src[1]) * (255 - dst[1]) >> 8),
-                                        255 - ((255 - src[2]) * (255 - dst[2]) >> 8),
-                                        Math.min(255, src[3] + (dst[3]))
-                                };
+                            if (dr != 255 && dg != 255 && db != 255) {
+                                return argb(sumAlpha(src, dst),
+                                        255 - ((255 - sr) * (255 - dr) >> 8),
+                                        255 - ((255 - sg) * (255 - dg) >> 8),
+                                        255 - ((255 - sb) * (255 - db) >> 8));
                             }
                             return src;
                         }
@@ -788,96 +804,67 @@ public final class BlendComposite implements Composite {
                 case SOFT_BURN:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    dst[0] + src[0] < 256 ?
-                                            (dst[0] == 255 ? 255 :
-                                                    Math.min(255, (src[0] << 7) / (255 - dst[0]))) :
-                                            Math.max(0, 255 - (((255 - dst[0]) << 7) / src[0])),
-                                    dst[1] + src[1] < 256 ?
-                                            (dst[1] == 255 ? 255 :
-                                                    Math.min(255, (src[1] << 7) / (255 - dst[1]))) :
-                                            Math.max(0, 255 - (((255 - dst[1]) << 7) / src[1])),
-                                    dst[2] + src[2] < 256 ?
-                                            (dst[2] == 255 ? 255 :
-                                                    Math.min(255, (src[2] << 7) / (255 - dst[2]))) :
-                                            Math.max(0, 255 - (((255 - dst[2]) << 7) / src[2])),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            // soft burn is soft dodge with the source and backdrop swapped.
+                            return argb(sumAlpha(src, dst),
+                                    softDodge(red(dst), red(src)),
+                                    softDodge(green(dst), green(src)),
+                                    softDodge(blue(dst), blue(src)));
                         }
                     };
                 case SOFT_DODGE:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            if (src[3] == 0) {
+                        public int blend(int src, int dst) {
+                            if (alpha(src) == 0) {
                                 return dst;
                             }
-                            return new int[]{
-
-                                    dst[0] + src[0] < 256 ?
-                                            (src[0] == 255 ? 255 :
-                                                    Math.min(255, (dst[0] << 7) / (255 - src[0]))) :
-                                            Math.max(0, 255 - (((255 - src[0]) << 7) / dst[0])),
-                                    dst[1] + src[1] < 256 ?
-                                            (src[1] == 255 ? 255 :
-                                                    Math.min(255, (dst[1] << 7) / (255 - src[1]))) :
-                                            Math.max(0, 255 - (((255 - src[1]) << 7) / dst[1])),
-                                    dst[2] + src[2] < 256 ?
-                                            (src[2] == 255 ? 255 :
-                                                    Math.min(255, (dst[2] << 7) / (255 - src[2]))) :
-                                            Math.max(0, 255 - (((255 - src[2]) << 7) / dst[2])),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                            return argb(sumAlpha(src, dst),
+                                    softDodge(red(src), red(dst)),
+                                    softDodge(green(src), green(dst)),
+                                    softDodge(blue(src), blue(dst)));
                         }
                     };
                 case SOFT_LIGHT:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            int mRed = src[0] * dst[0] / 255;
-                            int mGreen = src[1] * dst[1] / 255;
-                            int mBlue = src[2] * dst[2] / 255;
-                            return new int[]{
-                                    mRed + src[0] * (255 - ((255 - src[0]) * (255 - dst[0]) / 255) - mRed) / 255,
-                                    mGreen + src[1] * (255 - ((255 - src[1]) * (255 - dst[1]) / 255) - mGreen) / 255,
-                                    mBlue + src[2] * (255 - ((255 - src[2]) * (255 - dst[2]) / 255) - mBlue),
-                                    Math.min(255, src[3] + dst[3] - (src[3] * dst[3]) / 255)};
+                        public int blend(int src, int dst) {
+                            int sa = alpha(src), da = alpha(dst);
+                            return argb(Math.min(255, sa + da - (sa * da) / 255),
+                                    softLight(red(src), red(dst)),
+                                    softLight(green(src), green(dst)),
+                                    softLight(blue(src), blue(dst)));
                         }
                     };
                 case STAMP:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            if (src[3] == 0) {
+                        public int blend(int src, int dst) {
+                            if (alpha(src) == 0) {
                                 return dst;
                             }
-                            return new int[]{
-                                    Math.max(0, Math.min(255, dst[0] + 2 * src[0] - 256)),
-                                    Math.max(0, Math.min(255, dst[1] + 2 * src[1] - 256)),
-                                    Math.max(0, Math.min(255, dst[2] + 2 * src[2] - 256)),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                            return argb(sumAlpha(src, dst),
+                                    red(dst) + 2 * red(src) - 256,
+                                    green(dst) + 2 * green(src) - 256,
+                                    blue(dst) + 2 * blue(src) - 256);
                         }
                     };
                 case SUBTRACT:
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            return new int[]{
-                                    Math.max(0, src[0] + dst[0] - 256),
-                                    Math.max(0, src[1] + dst[1] - 256),
-                                    Math.max(0, src[2] + dst[2] - 256),
-                                    Math.min(255, src[3] + dst[3])
-                            };
+                        public int blend(int src, int dst) {
+                            return argb(sumAlpha(src, dst),
+                                    red(src) + red(dst) - 256,
+                                    green(src) + green(dst) - 256,
+                                    blue(src) + blue(dst) - 256);
                         }
                     };
                 default:
                     logger.finer("Blender not implement for " + composite.getMode().name());
                     return new Blender() {
                         @Override
-                        public int[] blend(int[] src, int[] dst) {
-                            if (src[3] == 0) {
+                        public int blend(int src, int dst) {
+                            if (alpha(src) == 0) {
                                 return dst;
                             }
                             return src;
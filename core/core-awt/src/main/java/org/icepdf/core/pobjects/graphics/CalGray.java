@@ -47,6 +47,10 @@ public class CalGray extends PColorSpace {
     };
     protected float gamma = 1.0f;
 
+    // sampled conversion table, the conversion goes through the gray colour space.
+    private ColorLookupTable colorLookupTable;
+    private boolean lookupTableCreated;
+
     public CalGray(Library l, DictionaryEntries h) {
         super(l, h);
 
@@ -63,6 +67,18 @@ public class CalGray extends PColorSpace {
         }
     }
 
+    @Override
+    public synchronized ColorLookupTable getColorLookupTable() {
+        if (!ColorLookupTable.isEnabled()) {
+            return null;
+        }
+        if (!lookupTableCreated) {
+            colorLookupTable = ColorLookupTable.create(this);
+            lookupTableCreated = true;
+        }
+        return colorLookupTable;
+    }
+
     @Override
     public Color getColor(float[] f, boolean fillAndStroke) {
 
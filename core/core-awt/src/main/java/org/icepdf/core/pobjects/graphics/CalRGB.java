@@ -83,6 +83,19 @@ public class CalRGB extends PColorSpace {
     }
 
 
+    @Override
+    public void getColors(float[] components, int offset, int count, int[] argb, int argbOffset,
+                          boolean fillAndStroke) {
+        for (int i = 0; i < count; i++) {
+            int rgb = 0xff000000;
+            for (int c = 0; c < 3; c++, offset++) {
+                float value = components[offset];
+                rgb |= (value > 0 ? value < 1 ? (int) (value * 255 + 0.5f) : 255 : 0) << (16 - c * 8);
+            }
+            argb[argbOffset + i] = rgb;
+        }
+    }
+
     public Color getColor(float[] f, boolean fillAndStroke) {
         return new Color(f[0], f[1], f[2]);
         /*        float A = (float)Math.exp(gamma[0]*Math.log(f[2]));
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2006-2019 ICEsoft Technologies Canada Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.util.Defs;
+
+import java.awt.*;
+import java.awt.color.ColorSpace;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sampled colour conversion table from a colour space of one to four components to RGB.  The colour space is
+ * converted once at the nodes of a regular grid and 8 bit samples are then converted by tetrahedral, or more
+ * generally simplex, interpolation between the nodes surrounding the sample.  Grid nodes fall on 8 bit sample
+ * values so samples that hit a node are converted exactly and one component spaces are an exact 256 entry table.
+ * <br>
+ * Converting a raster through a table avoids a colour management call, a Color object and in some cases a lock
+ * per pixel.  Tables are read only once built and can be shared by threads.  Lookup tables can be disabled with
+ * the system property org.icepdf.core.colorSpace.lookupTable=false in which case colour spaces return no table
+ * and rasters are converted a pixel at a time.
+ *
+ * @since 7.3.0
+ */
+public class ColorLookupTable {
+
+    private static final Logger logger =
+            Logger.getLogger(ColorLookupTable.class.toString());
+
+    public static final int MAX_COMPONENTS = 4;
+
+    // sample value spacing of the grid nodes for each component count, must divide 255.
+    private static final int[] NODE_SPACING = {0, 1, 5, 5, 15};
+    // sub steps of an 8 bit sample value used when interpolating floating point components.
+    private static final int FLOAT_PRECISION = 16;
+
+    private static boolean enabled;
+
+    static {
+        enabled = Defs.booleanProperty("org.icepdf.core.colorSpace.lookupTable", true);
+    }
+
+    private final int components;
+    private final int spacing;
+    private final int gridPoints;
+    private final int nodeCount;
+    // offset in the table between neighbouring nodes of each component.
+    private final int[] strides;
+    // r, g, b of each node.
+    private final byte[] table;
+
+    private ColorLookupTable(int components) {
+        this.components = components;
+        spacing = NODE_SPACING[components];
+        gridPoints = 255 / spacing + 1;
+        strides = new int[components];
+        int stride = 3;
+        for (int c = components - 1; c >= 0; c--) {
+            strides[c] = stride;
+            stride *= gridPoints;
+        }
+        nodeCount = stride / 3;
+        table = new byte[nodeCount * 3];
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        ColorLookupTable.enabled = enabled;
+    }
+
+    /**
+     * Builds a table for a colour managed colour space by converting each grid node with
+     * {@link ColorSpace#toRGB(float[])}.
+     *
+     * @param colorSpace colour space with components in the range 0 to 1.
+     * @return new lookup table, null if the colour space isn't supported or can't be converted.
+     */
+    public static ColorLookupTable create(ColorSpace colorSpace) {
+        int components = colorSpace.getNumComponents();
+        if (components < 1 || components > MAX_COMPONENTS) {
+            return null;
+        }
+        for (int c = 0; c < components; c++) {
+            if (colorSpace.getMinValue(c) != 0 || colorSpace.getMaxValue(c) != 1) {
+                return null;
+            }
+        }
+        try {
+            ColorLookupTable lookupTable = new ColorLookupTable(components);
+            byte[] samples = lookupTable.createNodeSamples();
+            int[] nodes = new int[lookupTable.nodeCount];
+            float[] values = new float[components];
+            for (int node = 0, offset = 0; node < nodes.length; node++) {
+                for (int c = 0; c < components; c++, offset++) {
+                    values[c] = (samples[offset] & 0xff) / 255.0f;
+                }
+                float[] rgb = colorSpace.toRGB(values);
+                nodes[node] = (((int) (rgb[0] * 255) & 0xff) << 16) |
+                        (((int) (rgb[1] * 255) & 0xff) << 8) |
+                        ((int) (rgb[2] * 255) & 0xff);
+            }
+            lookupTable.setNodes(nodes);
+            return lookupTable;
+        } catch (Exception e) {
+            logger.log(Level.FINE, "Error building colour lookup table.", e);
+        }
+        return null;
+    }
+
+    /**
+     * Builds a table for a PDF colour space by converting each grid node with
+     * {@link PColorSpace#getColor(float[])}.
+     *
+     * @param colorSpace colour space to sample.
+     * @return new lookup table, null if the colour space isn't supported or can't be converted.
+     */
+    public static ColorLookupTable create(PColorSpace colorSpace) {
+        int components = colorSpace.getNumComponents();
+        if (components < 1 || components > MAX_COMPONENTS) {
+            return null;
+        }
+        try {
+            ColorLookupTable lookupTable = new ColorLookupTable(components);
+            byte[] samples = lookupTable.createNodeSamples();
+            int[] nodes = new int[lookupTable.nodeCount];
+            for (int node = 0, offset = 0; node < nodes.length; node++) {
+                // colour spaces may modify the values they are given so each node gets its own array.
+                float[] values = new float[components];
+                for (int c = 0; c < components; c++, offset++) {
+                    values[c] = (samples[offset] & 0xff) / 255.0f;
+                }
+                Color color = colorSpace.getColor(values);
+                if (color == null) {
+                    return null;
+                }
+                nodes[node] = color.getRGB();
+            }
+            lookupTable.setNodes(nodes);
+            return lookupTable;
+        } catch (Exception e) {
+            logger.log(Level.FINE, "Error building colour lookup table.", e);
+        }
+        return null;
+    }
+
+    private byte[] createNodeSamples() {
+        byte[] samples = new byte[nodeCount * components];
+        for (int node = 0, offset = 0; node < nodeCount; node++) {
+            for (int c = 0, index = node; c < components; c++) {
+                int divisor = strides[c] / 3;
+                samples[offset++] = (byte) ((index / divisor) * spacing);
+                index %= divisor;
+            }
+        }
+        return samples;
+    }
+
+    private void setNodes(int[] rgb) {
+        for (int node = 0, offset = 0; node < nodeCount; node++) {
+            int value = rgb[node];
+            table[offset++] = (byte) (value >> 16);
+            table[offset++] = (byte) (value >> 8);
+            table[offset++] = (byte) value;
+        }
+    }
+
+    /**
+     * @return number of colour components of the samples converted by this table.
+     */
+    public int getNumComponents() {
+        return components;
+    }
+
+    /**
+     * Converts interleaved 8 bit samples to opaque ARGB.
+     *
+     * @param samples    interleaved samples.
+     * @param offset     offset of the first pixel in samples.
+     * @param bands      number of samples per pixel, at least the table's component count.  Extra bands are
+     *                   ignored.
+     * @param argb       converted pixels.
+     * @param argbOffset offset of the first converted pixel in argb.
+     * @param count      number of pixels to convert.
+     */
+    public void toRGB(byte[] samples, int offset, int bands, int[] argb, int argbOffset, int count) {
+        int[] values = new int[components];
+        int[] fractions = new int[components];
+        int[] order = new int[components];
+        for (int pixel = 0; pixel < count; pixel++, offset += bands) {
+            for (int c = 0; c < components; c++) {
+                values[c] = samples[offset + c] & 0xff;
+            }
+            argb[argbOffset + pixel] = lookup(values, spacing, fractions, order);
+        }
+    }
+
+    /**
+     * Converts packed colour component tuples to opaque ARGB.
+     *
+     * @param components packed component tuples, values are clamped to the range 0 to 1.
+     * @param offset     offset of the first tuple in components.
+     * @param argb       converted colours.
+     * @param argbOffset offset of the first converted colour in argb.
+     * @param count      number of tuples to convert.
+     */
+    public void toRGB(float[] components, int offset, int[] argb, int argbOffset, int count) {
+        int[] values = new int[this.components];
+        int[] fractions = new int[this.components];
+        int[] order = new int[this.components];
+        int scale = 255 * FLOAT_PRECISION;
+        for (int i = 0; i < count; i++) {
+            for (int c = 0; c < this.components; c++, offset++) {
+                float value = components[offset];
+                values[c] = value > 0 ? value < 1 ? (int) (value * scale + 0.5f) : scale : 0;
+            }
+            argb[argbOffset + i] = lookup(values, spacing * FLOAT_PRECISION, fractions, order);
+        }
+    }
+
+    /**
+     * Interpolates the colour of a tuple.
+     *
+     * @param values       component values, a grid node every nodeInterval.
+     * @param nodeInterval value interval between grid nodes.
+     */
+    private int lookup(int[] values, int nodeInterval, int[] fractions, int[] order) {
+        int node = 0;
+        for (int c = 0; c < components; c++) {
+            int value = values[c];
+            int index = value / nodeInterval;
+            int fraction = value - index * nodeInterval;
+            if (index == gridPoints - 1) {
+                index--;
+                fraction = nodeInterval;
+            }
+            node += index * strides[c];
+            fractions[c] = fraction;
+            // order the components by descending fraction, the path through the simplex.
+            int k = c;
+            while (k > 0 && fractions[order[k - 1]] < fraction) {
+                order[k] = order[k - 1];
+                k--;
+            }
+            order[k] = c;
+        }
+        int weight = nodeInterval - fractions[order[0]];
+        int r = weight * (table[node] & 0xff);
+        int g = weight * (table[node + 1] & 0xff);
+        int b = weight * (table[node + 2] & 0xff);
+        for (int k = 0; k < components; k++) {
+            int c = order[k];
+            node += strides[c];
+            weight = fractions[c] - (k + 1 < components ? fractions[order[k + 1]] : 0);
+            if (weight != 0) {
+                r += weight * (table[node] & 0xff);
+                g += weight * (table[node + 1] & 0xff);
+                b += weight * (table[node + 2] & 0xff);
+            }
+        }
+        int half = nodeInterval >> 1;
+        return 0xff000000 |
+                ((r + half) / nodeInterval) << 16 |
+                ((g + half) / nodeInterval) << 8 |
+                ((b + half) / nodeInterval);
+    }
+}
@@ -47,6 +47,11 @@ public class DeviceCMYK extends PColorSpace {
     // disable icc color profile lookups as they can be slow. n
     private static boolean disableICCCmykColorSpace;
 
+    // sampled conversion tables of the ICC profile and of the approximation used when the profile is disabled.
+    private static ColorLookupTable iccCmykLookupTable;
+    private static boolean iccCmykLookupTableCreated;
+    private static ColorLookupTable cmykLookupTable;
+
     static {
         disableICCCmykColorSpace = Defs.booleanProperty("org.icepdf.core.cmyk.disableICCProfile", false);
 
@@ -75,6 +80,20 @@ public class DeviceCMYK extends PColorSpace {
         return alternative2(f, fillAndStroke);
     }
 
+    @Override
+    public void getColors(float[] components, int offset, int count, int[] argb, int argbOffset,
+                          boolean fillAndStroke) {
+        if (!disableICCCmykColorSpace && iccCmykColorSpace != null) {
+            // profile lookup table, or a colour at a time if there is no table.
+            super.getColors(components, offset, count, argb, argbOffset, fillAndStroke);
+            return;
+        }
+        for (int i = 0; i < count; i++, offset += 4) {
+            argb[argbOffset + i] = 0xff000000 | approximateRGB(components[offset], components[offset + 1],
+                    components[offset + 2], components[offset + 3], fillAndStroke);
+        }
+    }
+
     /*
       Ah yes the many possible ways to go from cmyk to rgb.  Everybody has
       an opinion but no one has the solution that is 100%
@@ -203,6 +222,25 @@ public class DeviceCMYK extends PColorSpace {
             return DEVICE_GRAY.getColor(new float[]{f[3]});
         }
 
+        return new Color(approximateRGB(inCyan, inMagenta, inYellow, inBlack));
+    }
+
+    /**
+     * Non ICC conversion of alternative2, black only colours are converted as gray when fillAndStroke is set.
+     *
+     * @return rgb value of the colour.
+     */
+    private static int approximateRGB(float inCyan, float inMagenta, float inYellow, float inBlack,
+                                      boolean fillAndStroke) {
+        if (fillAndStroke && inCyan == 0 && inMagenta == 0 && inYellow == 0) {
+            float gray = 1.0f - inBlack;
+            int value = gray > 0 ? gray < 1 ? (int) (gray * 255 + 0.5f) : 255 : 0;
+            return (value << 16) | (value << 8) | value;
+        }
+        return approximateRGB(inCyan, inMagenta, inYellow, inBlack);
+    }
+
+    private static int approximateRGB(float inCyan, float inMagenta, float inYellow, float inBlack) {
         double c, m, y, aw, ac, am, ay, ar, ag, ab;
         c = clip(0.0, 1.0, inCyan + inBlack);
         m = clip(0.0, 1.0, inMagenta + inBlack);
@@ -219,7 +257,9 @@ public class DeviceCMYK extends PColorSpace {
         float outGreen = (float) clip(0.0, 1.0, aw + 0.6196 * ac + ay + 0.5176 * ag);
         float outBlue = (float) clip(0.0, 1.0, aw + 0.7804 * ac + 0.5412 * am + 0.0667 * ar + 0.2118 * ag + 0.4863 * ab);
 
-        return new Color(outRed, outGreen, outBlue);
+        return ((int) (outRed * 255 + 0.5f) << 16) |
+                ((int) (outGreen * 255 + 0.5f) << 8) |
+                (int) (outBlue * 255 + 0.5f);
     }
 
     /**
@@ -269,6 +309,43 @@ public class DeviceCMYK extends PColorSpace {
         return null;
     }
 
+    /**
+     * Gets the lookup table of the ICC CMYK colour profile, the table is built the first time it's requested.
+     *
+     * @return lookup table, null if lookup tables or the ICC profile are disabled or the profile couldn't be loaded.
+     * @since 7.3.0
+     */
+    public static synchronized ColorLookupTable getIccCmykLookupTable() {
+        if (!ColorLookupTable.isEnabled() || disableICCCmykColorSpace) {
+            return null;
+        }
+        if (!iccCmykLookupTableCreated) {
+            // build from a new instance of the profile, see JDK-8033238.
+            ICC_ColorSpace colorSpace = getIccCmykColorSpace();
+            if (colorSpace != null) {
+                iccCmykLookupTable = ColorLookupTable.create(colorSpace);
+            }
+            iccCmykLookupTableCreated = true;
+        }
+        return iccCmykLookupTable;
+    }
+
+    @Override
+    public ColorLookupTable getColorLookupTable() {
+        if (!ColorLookupTable.isEnabled()) {
+            return null;
+        }
+        if (!disableICCCmykColorSpace && iccCmykColorSpace != null) {
+            return getIccCmykLookupTable();
+        }
+        synchronized (DeviceCMYK.class) {
+            if (cmykLookupTable == null) {
+                cmykLookupTable = ColorLookupTable.create(new DeviceCMYK(null, null));
+            }
+            return cmykLookupTable;
+        }
+    }
+
     /**
      * Determines if the ICC CMYK color space should be used to convert
      * CMYK images to RGB.
@@ -43,6 +43,25 @@ public class DeviceGray extends PColorSpace {
         return 1;
     }
 
+    @Override
+    public void getColors(float[] components, int offset, int count, int[] argb, int argbOffset,
+                          boolean fillAndStroke) {
+        for (int i = 0; i < count; i++) {
+            float gray = components[offset + i];
+            gray = gray > 1.0 ? gray / 255.f : gray;
+            int value = gray > 0 ? gray < 1 ? (int) (gray * 255 + 0.5f) : 255 : 0;
+            argb[argbOffset + i] = 0xff000000 | (value << 16) | (value << 8) | value;
+        }
+    }
+
+    @Override
+    public void getColors(byte[] samples, int offset, int bands, int count, int[] argb, int argbOffset) {
+        for (int i = 0; i < count; i++, offset += bands) {
+            int value = samples[offset] & 0xff;
+            argb[argbOffset + i] = 0xff000000 | (value << 16) | (value << 8) | value;
+        }
+    }
+
     public Color getColor(float[] f, boolean fillAndStroke) {
         float gray = f[0] > 1.0 ? f[0] / 255.f : f[0];
         Color color = colorHashMap.get(f[0]);
@@ -53,6 +53,10 @@ public class DeviceN extends PColorSpace {
 
     private boolean foundCMYKColorants;
 
+    // sampled conversion table used for rasters.
+    private ColorLookupTable colorLookupTable;
+    private boolean lookupTableCreated;
+
     @SuppressWarnings("unchecked")
     DeviceN(Library l, DictionaryEntries h, Object names, Object alternativeSpace, Object tintTransform, Object attributes) {
         super(l, h);
@@ -121,4 +125,16 @@ public class DeviceN extends PColorSpace {
             return alternate.getColor(y);
         }
     }
+
+    @Override
+    public synchronized ColorLookupTable getColorLookupTable() {
+        if (!ColorLookupTable.isEnabled()) {
+            return null;
+        }
+        if (!lookupTableCreated) {
+            colorLookupTable = ColorLookupTable.create(this);
+            lookupTableCreated = true;
+        }
+        return colorLookupTable;
+    }
 }
\ No newline at end of file
@@ -55,4 +55,25 @@ public class DeviceRGB extends PColorSpace {
                 validateColorRange(colours[1]),
                 validateColorRange(colours[2]));
     }
+
+    @Override
+    public void getColors(float[] components, int offset, int count, int[] argb, int argbOffset,
+                          boolean fillAndStroke) {
+        for (int i = 0; i < count; i++, offset += 3) {
+            argb[argbOffset + i] = 0xff000000 |
+                    ((int) (validateColorRange(components[offset]) * 255 + 0.5f) << 16) |
+                    ((int) (validateColorRange(components[offset + 1]) * 255 + 0.5f) << 8) |
+                    (int) (validateColorRange(components[offset + 2]) * 255 + 0.5f);
+        }
+    }
+
+    @Override
+    public void getColors(byte[] samples, int offset, int bands, int count, int[] argb, int argbOffset) {
+        for (int i = 0; i < count; i++, offset += bands) {
+            argb[argbOffset + i] = 0xff000000 |
+                    ((samples[offset] & 0xff) << 16) |
+                    ((samples[offset + 1] & 0xff) << 8) |
+                    (samples[offset + 2] & 0xff);
+        }
+    }
 }
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2006-2019 ICEsoft Technologies Canada Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.pobjects.OptionalContents;
+import org.icepdf.core.pobjects.Page;
+import org.icepdf.core.pobjects.graphics.commands.*;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Compiled, read only form of a Shapes draw command stack.  When the list is compiled:
+ * <ul>
+ * <li>optional content visibility is resolved, commands hidden by an optional content group are dropped along
+ * with the begin and end markers,</li>
+ * <li>graphics state commands that are overwritten before anything is painted, or that set the state the graphics
+ * context already has, are dropped,</li>
+ * <li>transform, colour, stroke and shape commands are reduced to plain operations that don't need a virtual
+ * call or a new transform per paint.</li>
+ * </ul>
+ * All the state of a paint, the current shape, optional content and paint timer, is local to the paint call so
+ * a list can be painted to several graphics contexts at once, for example a page view, its thumbnail and a print
+ * job.  The optional content visibility the list was compiled with is recorded, {@link #isStale()} reports when
+ * a layer has been shown or hidden since and the list has to be compiled again.
+ *
+ * @since 7.3.0
+ */
+public class DisplayList {
+
+    // delegate to the draw command.
+    private static final byte CMD = 0;
+    private static final byte SET_TRANSFORM = 1;
+    private static final byte SET_PAINT = 2;
+    private static final byte SET_STROKE = 3;
+    private static final byte SET_SHAPE = 4;
+    // paint a nested Shapes, form xObject content.
+    private static final byte SHAPES = 5;
+
+    // graphics state that is tracked while compiling.
+    private static final int TRANSFORM_STATE = 0;
+    private static final int PAINT_STATE = 1;
+    private static final int STROKE_STATE = 2;
+    private static final int SHAPE_STATE = 3;
+    private static final int COMPOSITE_STATE = 4;
+    private static final int STATE_COUNT = 5;
+
+    // optional content is resolved when compiling so the painting commands always see visible content.
+    private static final OptionalContentState VISIBLE = new OptionalContentState();
+
+    private final int sourceSize;
+    private final int size;
+    private final byte[] ops;
+    private final Object[] operands;
+    // optional content the list was compiled with and its visibility at the time.
+    private final OptionalContents[] optionalContents;
+    private final boolean[] visibility;
+
+    /**
+     * Compiles the given draw command stack.
+     *
+     * @param shapes draw commands of a Shapes object.
+     */
+    DisplayList(ArrayList<DrawCmd> shapes) {
+        sourceSize = shapes.size();
+        byte[] ops = new byte[sourceSize];
+        Object[] operands = new Object[sourceSize];
+        int size = 0;
+
+        Map<OptionalContents, Boolean> visibilityMap = new IdentityHashMap<>();
+        OptionalContentState optionalContentState = new OptionalContentState();
+        int optionalContentDepth = 0;
+
+        // last state command of each kind seen since the last painting command.
+        int[] pending = new int[STATE_COUNT];
+        Arrays.fill(pending, -1);
+        // state of the graphics context at this point of the list, null if unknown.
+        Object[] current = new Object[STATE_COUNT];
+
+        DrawCmd drawCmd;
+        for (int i = 0; i < sourceSize; i++) {
+            drawCmd = shapes.get(i);
+            if (drawCmd instanceof OCGStartDrawCmd) {
+                OptionalContents optionalContent = ((OCGStartDrawCmd) drawCmd).getOptionalContents();
+                visibilityMap.putIfAbsent(optionalContent, optionalContent.isVisible());
+                optionalContentState.add(optionalContent);
+                optionalContentDepth++;
+                continue;
+            } else if (drawCmd instanceof OCGEndDrawCmd) {
+                // unbalanced end markers are ignored.
+                if (optionalContentDepth > 0) {
+                    optionalContentState.remove();
+                    optionalContentDepth--;
+                }
+                continue;
+            } else if (drawCmd instanceof GraphicsStateCmd) {
+                continue;
+            }
+            int state = getState(drawCmd);
+            if (state >= 0) {
+                pending[state] = i;
+                continue;
+            }
+            if (!optionalContentState.isVisible() && isOptionalContent(drawCmd)) {
+                continue;
+            }
+            size = flush(shapes, pending, current, ops, operands, size);
+            if (drawCmd instanceof ShapesDrawCmd) {
+                ops[size] = SHAPES;
+                operands[size] = ((ShapesDrawCmd) drawCmd).getShapes();
+            } else {
+                ops[size] = CMD;
+                operands[size] = drawCmd;
+            }
+            size++;
+            if (!preservesState(drawCmd)) {
+                current[TRANSFORM_STATE] = null;
+                current[PAINT_STATE] = null;
+                current[STROKE_STATE] = null;
+                current[COMPOSITE_STATE] = null;
+            }
+        }
+        // state left at the end is kept, nested content can leave state behind for the content that follows.
+        size = flush(shapes, pending, current, ops, operands, size);
+
+        this.size = size;
+        this.ops = Arrays.copyOf(ops, size);
+        this.operands = Arrays.copyOf(operands, size);
+        optionalContents = visibilityMap.keySet().toArray(new OptionalContents[0]);
+        visibility = new boolean[optionalContents.length];
+        for (int i = 0; i < optionalContents.length; i++) {
+            visibility[i] = visibilityMap.get(optionalContents[i]);
+        }
+    }
+
+    /**
+     * Appends the pending state commands in their original order, skipping the ones that set the state the
+     * graphics context already has.
+     */
+    private static int flush(ArrayList<DrawCmd> shapes, int[] pending, Object[] current,
+                             byte[] ops, Object[] operands, int size) {
+        while (true) {
+            int state = -1;
+            for (int s = 0; s < STATE_COUNT; s++) {
+                if (pending[s] >= 0 && (state < 0 || pending[s] < pending[state])) {
+                    state = s;
+                }
+            }
+            if (state < 0) {
+                return size;
+            }
+            DrawCmd drawCmd = shapes.get(pending[state]);
+            pending[state] = -1;
+            Object value;
+            byte op;
+            if (drawCmd instanceof TransformDrawCmd) {
+                value = ((TransformDrawCmd) drawCmd).getAffineTransform();
+                op = SET_TRANSFORM;
+            } else if (drawCmd instanceof TextTransformDrawCmd) {
+                value = ((TextTransformDrawCmd) drawCmd).getAffineTransform();
+                op = SET_TRANSFORM;
+            } else if (drawCmd instanceof ColorDrawCmd) {
+                value = ((ColorDrawCmd) drawCmd).getColor();
+                op = SET_PAINT;
+            } else if (drawCmd instanceof PaintDrawCmd) {
+                value = ((PaintDrawCmd) drawCmd).getPaint();
+                op = SET_PAINT;
+            } else if (drawCmd instanceof StrokeDrawCmd) {
+                value = ((StrokeDrawCmd) drawCmd).getStroke();
+                op = SET_STROKE;
+            } else if (drawCmd instanceof ShapeDrawCmd) {
+                value = ((ShapeDrawCmd) drawCmd).getShape();
+                op = SET_SHAPE;
+            } else {
+                // composites are applied by the command as they depend on the paint alpha flag.
+                value = drawCmd;
+                op = CMD;
+            }
+            if (value == null || isSameState(state, value, current[state])) {
+                continue;
+            }
+            current[state] = value;
+            ops[size] = op;
+            operands[size] = op == CMD ? drawCmd : value;
+            size++;
+        }
+    }
+
+    private static boolean isSameState(int state, Object value, Object current) {
+        if (value == current) {
+            return true;
+        } else if (current == null || state == SHAPE_STATE || state == COMPOSITE_STATE) {
+            return false;
+        }
+        // only compare value types, other paints and strokes may carry state of their own.
+        return (value instanceof AffineTransform || value instanceof Color || value instanceof BasicStroke) &&
+                value.equals(current);
+    }
+
+    /**
+     * Gets the graphics state a command sets without painting anything.
+     *
+     * @return state index, -1 if the command paints or isn't a simple state command.
+     */
+    private static int getState(DrawCmd drawCmd) {
+        if (drawCmd instanceof TransformDrawCmd || drawCmd instanceof TextTransformDrawCmd) {
+            return TRANSFORM_STATE;
+        } else if (drawCmd instanceof ColorDrawCmd || drawCmd instanceof PaintDrawCmd) {
+            return PAINT_STATE;
+        } else if (drawCmd instanceof StrokeDrawCmd) {
+            return STROKE_STATE;
+        } else if (drawCmd instanceof ShapeDrawCmd) {
+            return SHAPE_STATE;
+        } else if (drawCmd instanceof AlphaDrawCmd || drawCmd instanceof BlendCompositeDrawCmd) {
+            return COMPOSITE_STATE;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if a command is only painted when its optional content is visible.
+     */
+    private static boolean isOptionalContent(DrawCmd drawCmd) {
+        return !(drawCmd instanceof ClipDrawCmd || drawCmd instanceof NoClipDrawCmd ||
+                drawCmd instanceof TilingPatternDrawCmd);
+    }
+
+    /**
+     * Checks if a command leaves the transform, paint, stroke and composite of the graphics context as is.
+     */
+    private static boolean preservesState(DrawCmd drawCmd) {
+        return drawCmd instanceof FillDrawCmd || drawCmd instanceof DrawDrawCmd ||
+                drawCmd instanceof ClipDrawCmd || drawCmd instanceof NoClipDrawCmd;
+    }
+
+    /**
+     * Checks if the list was compiled from the given command stack.
+     *
+     * @param shapes draw commands.
+     * @return true if the stack hasn't changed size since the list was compiled.
+     */
+    boolean isValid(ArrayList<DrawCmd> shapes) {
+        return shapes.size() == sourceSize;
+    }
+
+    /**
+     * Checks if the visibility of any of the optional content of the list has changed since it was compiled.
+     *
+     * @return true if the list needs to be compiled again.
+     */
+    public boolean isStale() {
+        for (int i = 0; i < optionalContents.length; i++) {
+            if (optionalContents[i].isVisible() != visibility[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of operations in the list.
+     *
+     * @return operation count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Paints the list to the given graphics context.  The list can be painted to several graphics contexts
+     * from different threads at the same time.
+     *
+     * @param g          graphics context to paint to.
+     * @param parentPage page to notify of paint progress, can be null.
+     * @param paintAlpha enable/disable alpha painting.
+     * @throws InterruptedException thread interrupted.
+     */
+    public void paint(Graphics2D g, Page parentPage, boolean paintAlpha) throws InterruptedException {
+        AffineTransform base = new AffineTransform(g.getTransform());
+        Shape clip = g.getClip();
+        PaintTimer paintTimer = new PaintTimer();
+        Shape currentShape = null;
+        for (int i = 0; i < size; i++) {
+            // try and minimize interrupted checks, costly.
+            if (i % 1000 == 0 && Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException("Page painting thread interrupted");
+            }
+            Object operand = operands[i];
+            switch (ops[i]) {
+                case SET_TRANSFORM:
+                    g.setTransform(base);
+                    g.transform((AffineTransform) operand);
+                    break;
+                case SET_PAINT:
+                    g.setPaint((Paint) operand);
+                    break;
+                case SET_STROKE:
+                    g.setStroke((Stroke) operand);
+                    break;
+                case SET_SHAPE:
+                    currentShape = (Shape) operand;
+                    break;
+                case SHAPES:
+                    ((Shapes) operand).paintDisplayList(g, parentPage, paintAlpha);
+                    break;
+                default:
+                    currentShape = ((DrawCmd) operand).paintOperand(g, parentPage, currentShape, clip, base,
+                            VISIBLE, paintAlpha, paintTimer);
+            }
+        }
+    }
+}
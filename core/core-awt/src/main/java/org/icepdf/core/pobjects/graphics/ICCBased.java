@@ -55,6 +55,10 @@ public class ICCBased extends PColorSpace {
     // we just fallback to the alternative space to safe cpu time.
     private boolean failed;
 
+    // sampled conversion table used for rasters.
+    private ColorLookupTable colorLookupTable;
+    private boolean lookupTableCreated;
+
     public ICCBased(Library l, Stream h) {
         super(l, h.getEntries());
         iccColorCache3B = new ConcurrentHashMap<>();
@@ -190,6 +194,35 @@ public class ICCBased extends PColorSpace {
                 ((((int) (frgbvalue[2] * 255)) & 0xFF));
     }
 
+    @Override
+    public synchronized ColorLookupTable getColorLookupTable() {
+        if (!ColorLookupTable.isEnabled()) {
+            return null;
+        }
+        init();
+        if (!lookupTableCreated) {
+            synchronized (lock) {
+                if (colorSpace != null && !failed) {
+                    colorLookupTable = ColorLookupTable.create(colorSpace);
+                }
+            }
+            lookupTableCreated = true;
+        }
+        return colorLookupTable;
+    }
+
+    @Override
+    public void getColors(float[] components, int offset, int count, int[] argb, int argbOffset,
+                          boolean fillAndStroke) {
+        ColorLookupTable lookupTable = getColorLookupTable();
+        if (lookupTable == null && (colorSpace == null || failed) && alternate != null) {
+            // same fallback as getColor, without taking the lock for every colour.
+            alternate.getColors(components, offset, count, argb, argbOffset, fillAndStroke);
+        } else {
+            super.getColors(components, offset, count, argb, argbOffset, fillAndStroke);
+        }
+    }
+
     public ColorSpace getColorSpace() {
         return colorSpace;
     }
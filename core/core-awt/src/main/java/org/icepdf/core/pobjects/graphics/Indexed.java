@@ -36,6 +36,8 @@ public class Indexed extends PColorSpace {
     };
     private boolean inited = false;
     private Color[] cols;
+    // argb of the colour table entries.
+    private int[] palette;
 
     /**
      * Constructs a new instance of the indexed colour space. Pares the indexed
@@ -115,13 +117,20 @@ public class Indexed extends PColorSpace {
         int numCSComps = colorSpace.getNumComponents();
         int[] b1 = new int[numCSComps];
         float[] f1 = new float[numCSComps];
-        cols = new Color[hival + 1];
+        // normalise the whole table and convert it in one pass.
+        float[] components = new float[numCSComps * (hival + 1)];
         for (int j = 0; j <= hival; j++) {
             for (int i = 0; i < numCSComps; i++) {
                 b1[i] = 0xFF & ((int) colors[j * numCSComps + i]);
             }
             colorSpace.normaliseComponentsToFloats(b1, f1, 255.0f);
-            cols[j] = colorSpace.getColor(f1, true);
+            System.arraycopy(f1, 0, components, j * numCSComps, numCSComps);
+        }
+        palette = new int[hival + 1];
+        colorSpace.getColors(components, 0, hival + 1, palette, 0, true);
+        cols = new Color[hival + 1];
+        for (int j = 0; j <= hival; j++) {
+            cols[j] = new Color(palette[j], true);
         }
         inited = true;
     }
@@ -145,6 +154,38 @@ public class Indexed extends PColorSpace {
 
     }
 
+    @Override
+    public void getColors(float[] components, int offset, int count, int[] argb, int argbOffset,
+                          boolean fillAndStroke) {
+        init();
+        for (int i = 0; i < count; i++) {
+            argb[argbOffset + i] = palette[getIndex(components[offset + i])];
+        }
+    }
+
+    /**
+     * Converts 8 bit samples to ARGB, unlike other colour spaces the samples are colour table indexes and aren't
+     * normalized.
+     */
+    @Override
+    public void getColors(byte[] samples, int offset, int bands, int count, int[] argb, int argbOffset) {
+        init();
+        for (int i = 0; i < count; i++, offset += bands) {
+            argb[argbOffset + i] = palette[Math.min(samples[offset] & 0xff, hival)];
+        }
+    }
+
+    private int getIndex(float value) {
+        int index = (int) value;
+        if (index >= 0 && index <= hival) {
+            return index;
+        } else if (index > hival) {
+            return hival;
+        } else {
+            return 0;
+        }
+    }
+
     public Color[] accessColorTable() {
         return cols;
     }
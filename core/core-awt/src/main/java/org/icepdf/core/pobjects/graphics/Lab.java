@@ -113,10 +113,19 @@ public class Lab extends PColorSpace {
     }
 
     public Color getColor(float[] f, boolean fillAndStroke) {
-        double cie_b = f[2];
-        double cie_a = f[1];
-        double cie_L = f[0];
+        return new Color(toRGB(f[0], f[1], f[2]));
+    }
+
+    @Override
+    public void getColors(float[] components, int offset, int count, int[] argb, int argbOffset,
+                          boolean fillAndStroke) {
+        for (int i = 0; i < count; i++, offset += 3) {
+            argb[argbOffset + i] = 0xff000000 | toRGB(components[offset], components[offset + 1],
+                    components[offset + 2]);
+        }
+    }
 
+    private int toRGB(double cie_L, double cie_a, double cie_b) {
         double var_Y = (cie_L + 16.0) / (116.0);
         double var_X = var_Y + (cie_a * 0.002);
         double var_Z = var_Y - (cie_b * 0.005);
@@ -148,6 +157,6 @@ public class Lab extends PColorSpace {
         ir = Math.max(0, Math.min(255, ir));
         ig = Math.max(0, Math.min(255, ig));
         ib = Math.max(0, Math.min(255, ib));
-        return new Color(ir, ig, ib);
+        return (ir << 16) | (ig << 8) | ib;
     }
 }
@@ -206,6 +206,76 @@ public abstract class PColorSpace extends Dictionary {
 
     public abstract Color getColor(float[] components, boolean fillAndStroke);
 
+    /**
+     * Converts packed colour component tuples to ARGB, the bulk form of {@link #getColor(float[], boolean)}.
+     * Colour spaces convert the tuples without creating a Color per tuple where they can.  The default
+     * implementation interpolates the colour space's lookup table when it has one, which assumes components in
+     * the range 0 to 1, and otherwise converts a tuple at a time.
+     *
+     * @param components    packed tuples of getNumComponents() values.
+     * @param offset        offset of the first tuple in components.
+     * @param count         number of tuples to convert.
+     * @param argb          converted colours.
+     * @param argbOffset    offset of the first converted colour in argb.
+     * @param fillAndStroke true if the colours are used for a fill or stroke rather than an image.
+     * @since 7.3.0
+     */
+    public void getColors(float[] components, int offset, int count, int[] argb, int argbOffset,
+                          boolean fillAndStroke) {
+        ColorLookupTable lookupTable = getColorLookupTable();
+        if (lookupTable != null) {
+            lookupTable.toRGB(components, offset, argb, argbOffset, count);
+            return;
+        }
+        int numComponents = getNumComponents();
+        float[] tuple = new float[numComponents];
+        for (int i = 0; i < count; i++, offset += numComponents) {
+            // copied each time as some colour spaces modify the values they are given.
+            System.arraycopy(components, offset, tuple, 0, numComponents);
+            Color color = getColor(tuple, fillAndStroke);
+            argb[argbOffset + i] = color != null ? color.getRGB() : 0;
+        }
+    }
+
+    /**
+     * Converts interleaved 8 bit image samples to ARGB.  Samples are normalized to the range 0 to 1 as they
+     * would be for {@link #getColor(float[])}, colour spaces with a lookup table convert through the table.
+     *
+     * @param samples    interleaved samples.
+     * @param offset     offset of the first pixel in samples.
+     * @param bands      number of samples per pixel, at least getNumComponents().  Extra bands are ignored.
+     * @param count      number of pixels to convert.
+     * @param argb       converted colours.
+     * @param argbOffset offset of the first converted colour in argb.
+     * @since 7.3.0
+     */
+    public void getColors(byte[] samples, int offset, int bands, int count, int[] argb, int argbOffset) {
+        ColorLookupTable lookupTable = getColorLookupTable();
+        if (lookupTable != null && lookupTable.getNumComponents() <= bands) {
+            lookupTable.toRGB(samples, offset, bands, argb, argbOffset, count);
+            return;
+        }
+        int numComponents = Math.min(getNumComponents(), bands);
+        float[] tuple = new float[getNumComponents()];
+        for (int i = 0; i < count; i++, offset += bands) {
+            for (int c = 0; c < numComponents; c++) {
+                tuple[c] = (samples[offset + c] & 0xff) / 255.0f;
+            }
+            getColors(tuple, 0, 1, argb, argbOffset + i, false);
+        }
+    }
+
+    /**
+     * Gets a lookup table that converts 8 bit samples of this colour space to RGB, used to convert whole rasters
+     * without going through {@link #getColor(float[])} for every pixel.  Tables are built on first use.
+     *
+     * @return lookup table, null if the colour space has no table or lookup tables are disabled.
+     * @since 7.3.0
+     */
+    public ColorLookupTable getColorLookupTable() {
+        return null;
+    }
+
     public void normaliseComponentsToFloats(int[] in, float[] out, float maxval) {
         int count = getNumComponents();
         for (int i = 0; i < count; i++)
@@ -77,6 +77,18 @@ public class PatternColor extends PColorSpace {
         return Color.black;
     }
 
+    @Override
+    public void getColors(float[] components, int offset, int count, int[] argb, int argbOffset,
+                          boolean fillAndStroke) {
+        if (PColorSpace != null) {
+            PColorSpace.getColors(components, offset, count, argb, argbOffset, false);
+        } else {
+            for (int i = 0; i < count; i++) {
+                argb[argbOffset + i] = Color.black.getRGB();
+            }
+        }
+    }
+
     public Pattern getPattern(Reference reference) {
         if (entries != null) {
             return (Pattern) entries.get(reference);
@@ -1,5 +1,6 @@
 package org.icepdf.core.pobjects.graphics.RasterOps;
 
+import org.icepdf.core.pobjects.graphics.ColorLookupTable;
 import org.icepdf.core.pobjects.graphics.DeviceCMYK;
 
 import java.awt.*;
@@ -20,10 +21,13 @@ import java.awt.image.*;
 public class IccCmykRasterOp implements RasterOp {
     private final RenderingHints hints;
     private final ColorSpace colorSpace;
+    // sampled profile, the profile is only loaded when no lookup table is available.
+    private final ColorLookupTable lookupTable;
 
     public IccCmykRasterOp(RenderingHints hints) {
         this.hints = hints;
-        this.colorSpace = DeviceCMYK.getIccCmykColorSpace();
+        this.lookupTable = DeviceCMYK.getIccCmykLookupTable();
+        this.colorSpace = lookupTable == null ? DeviceCMYK.getIccCmykColorSpace() : null;
     }
 
     public WritableRaster filter(Raster src, WritableRaster dest) {
@@ -35,6 +39,11 @@ public class IccCmykRasterOp implements RasterOp {
         int[] destPixels = ((DataBufferInt) dest.getDataBuffer()).getData();
 
         int bands = src.getNumBands();
+        if (lookupTable != null) {
+            lookupTable.toRGB(srcPixels, 0, bands, destPixels, 0,
+                    Math.min(srcPixels.length / bands, destPixels.length));
+            return dest;
+        }
         float[] colorValue = new float[bands];
 
         float[] rgbColorValue;
@@ -1,6 +1,5 @@
 package org.icepdf.core.pobjects.graphics.RasterOps;
 
-import org.icepdf.core.pobjects.graphics.DeviceRGB;
 import org.icepdf.core.pobjects.graphics.PColorSpace;
 
 import java.awt.*;
@@ -31,35 +30,10 @@ public class PColorSpaceRasterOp implements RasterOp {
         byte[] srcPixels = ((DataBufferByte) src.getDataBuffer()).getData();
         int[] destPixels = ((DataBufferInt) dest.getDataBuffer()).getData();
 
-        // already RGB not much to do so we just build the colour
-        if (colorSpace instanceof DeviceRGB) {
-            int bands = src.getNumBands();
-            int[] rgbValues = new int[3];
-            for (int pixel = 0, intPixels = 0; pixel < srcPixels.length; pixel += bands, intPixels++) {
-
-                rgbValues[0] = (srcPixels[pixel] & 0xff);
-                rgbValues[1] = (srcPixels[pixel + 1] & 0xff);
-                rgbValues[2] = (srcPixels[pixel + 2] & 0xff);
-
-                // reverse after the normalization to avoid looking gray data as
-                // array is trimmed above.
-                destPixels[intPixels] = ((rgbValues[0] & 0xff) << 16) |
-                        ((rgbValues[1] & 0xff) << 8) |
-                        (rgbValues[2] & 0xff);
-            }
-        } else {
-            int bands = src.getNumBands();
-            float[] values = new float[3];
-            for (int pixel = 0, intPixels = 0; pixel < srcPixels.length; pixel += bands, intPixels++) {
-
-                for (int i = 0; i < bands; i++) {
-                    values[i] = (srcPixels[pixel + i] & 0xff) / 255.0f;
-                }
-                // color space caching should help with the number of colors
-                // objects created.
-                destPixels[intPixels] = colorSpace.getColor(values).getRGB();
-            }
-        }
+        // the colour space converts the whole raster, through its lookup table if it has one.
+        int bands = src.getNumBands();
+        colorSpace.getColors(srcPixels, 0, bands, Math.min(srcPixels.length / bands, destPixels.length),
+                destPixels, 0);
 
         return dest;
     }
@@ -85,6 +85,9 @@ public class Separation extends PColorSpace {
     private final ConcurrentHashMap<Integer, Color> colorTable1B;
     private final ConcurrentHashMap<Integer, Color> colorTable3B;
     private final ConcurrentHashMap<Integer, Color> colorTable4B;
+    // sampled conversion table used for rasters.
+    private ColorLookupTable colorLookupTable;
+    private boolean lookupTableCreated;
 
     /**
      * Create a new Seperation colour space.  Separation is specified using
@@ -223,6 +226,31 @@ public class Separation extends PColorSpace {
         return null;
     }
 
+    @Override
+    public void getColors(float[] components, int offset, int count, int[] argb, int argbOffset,
+                          boolean fillAndStroke) {
+        if (isNone && tintTransform != null) {
+            // nothing is painted with the None colorant.
+            for (int i = 0; i < count; i++) {
+                argb[argbOffset + i] = 0;
+            }
+        } else {
+            super.getColors(components, offset, count, argb, argbOffset, fillAndStroke);
+        }
+    }
+
+    @Override
+    public synchronized ColorLookupTable getColorLookupTable() {
+        if (!ColorLookupTable.isEnabled()) {
+            return null;
+        }
+        if (!lookupTableCreated) {
+            colorLookupTable = ColorLookupTable.create(this);
+            lookupTableCreated = true;
+        }
+        return colorLookupTable;
+    }
+
     private static Color addColorToCache(
             ConcurrentHashMap<Integer, Color> colorCache, int key,
             PColorSpace alternate, Function tintTransform, float[] f) {
@@ -148,6 +148,22 @@ public abstract class ShadingMeshPattern extends ShadingPattern implements Patte
      * @throws IOException bit stream issue.
      */
     protected Color readColor() throws IOException {
+        float[] components = readColorComponents();
+        if (components != null) {
+            return colorSpace.getColor(components, true);
+        }
+        return null;
+    }
+
+    /**
+     * Reads the vertex colour data as colour space components, the colours of a mesh can then be converted
+     * together with {@link #convertColors(float[][], boolean)}.
+     *
+     * @return colour components of the vertex, null if the function couldn't be evaluated.
+     * @throws IOException bit stream issue.
+     * @since 7.3.0
+     */
+    protected float[] readColorComponents() throws IOException {
         float[] primitives;
         if (function == null) {
             primitives = new float[colorSpaceCompCount];
@@ -156,17 +172,13 @@ public abstract class ShadingMeshPattern extends ShadingPattern implements Patte
                 // normalize
                 primitives[i] *= decode[j + 1] - decode[j] + decode[j];
             }
-            return colorSpace.getColor(primitives, true);
+            return primitives;
         } else {
             float value = vertexBitStream.getBits(bitsPerComponent);
             // normalize
             value *= (decode[5] - decode[4]) + decode[4];
             primitives = new float[]{value};
-            float[] output = calculateValues(primitives);
-            if (output != null) {
-                return colorSpace.getColor(output, true);
-            }
+            return calculateValues(primitives);
         }
-        return null;
     }
 }
@@ -239,6 +239,35 @@ public abstract class ShadingPattern extends Dictionary implements Pattern {
         return new AffineTransform(f);
     }
 
+    /**
+     * Converts colour components, usually function outputs, to colours with a single bulk conversion of the
+     * shading's colour space.
+     *
+     * @param components    colour components of each colour, null entries give a null colour.
+     * @param fillAndStroke true if the colours are converted as fill and stroke colours.
+     * @return colours of the components.
+     * @since 7.3.0
+     */
+    protected Color[] convertColors(float[][] components, boolean fillAndStroke) {
+        int numComponents = colorSpace.getNumComponents();
+        float[] packed = new float[components.length * numComponents];
+        for (int i = 0; i < components.length; i++) {
+            if (components[i] != null) {
+                System.arraycopy(components[i], 0, packed, i * numComponents,
+                        Math.min(numComponents, components[i].length));
+            }
+        }
+        int[] argb = new int[components.length];
+        colorSpace.getColors(packed, 0, components.length, argb, 0, fillAndStroke);
+        Color[] colors = new Color[components.length];
+        for (int i = 0; i < components.length; i++) {
+            if (components[i] != null) {
+                colors[i] = new Color(argb[i], true);
+            }
+        }
+        return colors;
+    }
+
     /**
      * Applies the function data to the values array.
      *
@@ -181,16 +181,16 @@ public class ShadingType2Pattern extends ShadingPattern {
 
         // let calculate x points between startPoint.x and startPoint.y that
         // are on the line using y = mx + b.
-        Color[] color;
+        float[][] color;
         // if we don't have a y-axis line we can uses y=mx + b to get our points.
         if (!Float.isInfinite(m)) {
             float xDiff = (endPoint.x - startPoint.x) / numberOfPoints;
             float xOffset = startPoint.x;
-            color = new Color[numberOfPoints + 1];
+            color = new float[numberOfPoints + 1][];
             Point2D.Float point;
             for (int i = 0, max = color.length; i < max; i++) {
                 point = new Point2D.Float(xOffset, (m * xOffset) + b);
-                color[i] = calculateColour(colorSpace, point, startPoint, endPoint, t0, t1);
+                color[i] = calculateColour(point, startPoint, endPoint, t0, t1);
                 xOffset += xDiff;
             }
         }
@@ -198,15 +198,16 @@ public class ShadingType2Pattern extends ShadingPattern {
         else {
             float yDiff = (endPoint.y - startPoint.y) / numberOfPoints;
             float yOffset = startPoint.y;
-            color = new Color[numberOfPoints + 1];
+            color = new float[numberOfPoints + 1][];
             Point2D.Float point;
             for (int i = 0, max = color.length; i < max; i++) {
                 point = new Point2D.Float(0, yOffset);
-                color[i] = calculateColour(colorSpace, point, startPoint, endPoint, t0, t1);
+                color[i] = calculateColour(point, startPoint, endPoint, t0, t1);
                 yOffset += yDiff;
             }
         }
-        return color;
+        // convert all the points in one pass.
+        return convertColors(color, true);
     }
 
     /**
@@ -234,17 +235,16 @@ public class ShadingType2Pattern extends ShadingPattern {
     /**
      * Calculate the colours value of the point xy on the line point1 and point2.
      *
-     * @param colorSpace colour space to apply to the function output
      * @param xy         point to calcualte the colour of.
      * @param point1     start of gradient line
      * @param point2     end of gradient line.
      * @param t0         domain min
      * @param t1         domain max
-     * @return colour derived from the input parameters.
+     * @return colour components derived from the input parameters.
      */
-    private Color calculateColour(PColorSpace colorSpace, Point2D.Float xy,
-                                  Point2D.Float point1, Point2D.Float point2,
-                                  float t0, float t1) {
+    private float[] calculateColour(Point2D.Float xy,
+                                    Point2D.Float point1, Point2D.Float point2,
+                                    float t0, float t1) {
         // find colour at point 1
         float xPrime = linearMapping(xy, point1, point2);
         float t = parametrixValue(xPrime, t0, t1, extend);
@@ -253,12 +253,7 @@ public class ShadingType2Pattern extends ShadingPattern {
         input[0] = t;
         // apply the function to the given input
         if (function != null) {
-            float[] output = calculateValues(input);
-            if (output != null) {
-                return colorSpace.getColor(output, true);
-            } else {
-                return null;
-            }
+            return calculateValues(input);
 
         } else {
             logger.fine("Error processing Shading Type 2 Pattern.");
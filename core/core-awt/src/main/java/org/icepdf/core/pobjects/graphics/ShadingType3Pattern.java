@@ -146,17 +146,15 @@ public class ShadingType3Pattern extends ShadingPattern {
 
         try {
             // get the number off components in the colour
-            Color color1 = calculateColour(colorSpace, s[0], t0, t1);
-            Color color2 = calculateColour(colorSpace, s[1], t0, t1);
-            Color color3 = calculateColour(colorSpace, s[2], t0, t1);
-            Color color4 = calculateColour(colorSpace, s[3], t0, t1);
-            Color color5 = calculateColour(colorSpace, s[4], t0, t1);
-
-            if (color1 == null || color2 == null) {
+            float[][] components = new float[s.length][];
+            for (int i = 0; i < s.length; i++) {
+                components[i] = calculateColour(s[i], t0, t1);
+            }
+            if (components[0] == null || components[1] == null) {
                 return;
             }
             // Construct a LinearGradientPaint object to be use by java2D
-            Color[] colors = {color1, color2, color3, color4, color5};
+            Color[] colors = convertColors(components, false);
 
             radialGradientPaint = new RadialGradientPaint(
                     center, radius,
@@ -174,8 +172,7 @@ public class ShadingType3Pattern extends ShadingPattern {
         }
     }
 
-    private Color calculateColour(PColorSpace colorSpace, float s,
-                                  float t0, float t1) {
+    private float[] calculateColour(float s, float t0, float t1) {
 
         // find colour at point 1
         float t = parametrixValue(s, t0, t1, extend);
@@ -183,12 +180,7 @@ public class ShadingType3Pattern extends ShadingPattern {
         float[] input = new float[1];
         input[0] = t;
         if (function != null) {
-            float[] output = calculateValues(input);
-            if (output != null) {
-                return colorSpace.getColor(output);
-            } else {
-                return null;
-            }
+            return calculateValues(input);
         } else {
             logger.fine("Error processing Shading Type 3 Pattern.");
             return null;
@@ -8,6 +8,7 @@ import java.awt.*;
 import java.awt.geom.Point2D;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.logging.Logger;
 
 /**
@@ -32,16 +33,19 @@ public class ShadingType4Pattern extends ShadingMeshPattern {
 
         ArrayList<Integer> vertexEdgeFlag = new ArrayList<>();
         ArrayList<Point2D.Float> coordinates = new ArrayList<>();
-        colorComponents = new ArrayList<>();
+        ArrayList<float[]> vertexComponents = new ArrayList<>();
         try {
             while (vertexBitStream.available() > 0) {
                 vertexEdgeFlag.add(readFlag());
                 coordinates.add(readCoord());
-                colorComponents.add(readColor());
+                vertexComponents.add(readColorComponents());
             }
         } catch (IOException e) {
             logger.warning("Error parsing Shading type 4 pattern vertices.");
         }
+        // convert the vertex colours in one pass.
+        colorComponents = new ArrayList<>(Arrays.asList(
+                convertColors(vertexComponents.toArray(new float[0][]), true)));
     }
 
     public Paint getPaint() {
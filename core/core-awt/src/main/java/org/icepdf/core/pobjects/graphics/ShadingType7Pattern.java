@@ -8,6 +8,7 @@ import java.awt.*;
 import java.awt.geom.Point2D;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.logging.Logger;
 
 /**
@@ -30,7 +31,7 @@ public class ShadingType7Pattern extends ShadingMeshPattern {
 
     public synchronized void init(GraphicsState graphicsState) {
         ArrayList<Point2D.Float> coordinates = new ArrayList<>();
-        colorComponents = new ArrayList<>();
+        ArrayList<float[]> vertexComponents = new ArrayList<>();
         try {
             while (vertexBitStream.available() > 0) {
                 int flag = readFlag();
@@ -39,12 +40,15 @@ public class ShadingType7Pattern extends ShadingMeshPattern {
                     coordinates.add(readCoord());
                 }
                 for (int i = 0, ii = (flag != 0 ? 2 : 4); i < ii; i++) {
-                    colorComponents.add(readColor());
+                    vertexComponents.add(readColorComponents());
                 }
             }
         } catch (IOException e) {
             logger.warning("Error parsing Shading type 7 pattern vertices.");
         }
+        // convert the vertex colours in one pass.
+        colorComponents = new ArrayList<>(Arrays.asList(
+                convertColors(vertexComponents.toArray(new float[0][]), true)));
     }
 
     public Paint getPaint() {
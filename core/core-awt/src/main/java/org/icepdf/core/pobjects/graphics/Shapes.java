@@ -22,6 +22,7 @@ import org.icepdf.core.util.Defs;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -47,9 +48,19 @@ public class Shapes {
     protected boolean paintAlpha =
             !Defs.sysPropertyBoolean("org.icepdf.core.paint.disableAlpha", false);
 
+    // skip painting commands that fall outside the clip using a bounding box index of the commands.
+    private static boolean clipCulling;
+
+    // paint a compiled display list of the commands rather than the command stack.
+    private static boolean displayList;
+
     static {
         shapesInitialCapacity = Defs.sysPropertyInt(
                 "org.icepdf.core.shapes.initialCapacity", shapesInitialCapacity);
+        clipCulling = Defs.sysPropertyBoolean(
+                "org.icepdf.core.shapes.clipCulling", false);
+        displayList = Defs.sysPropertyBoolean(
+                "org.icepdf.core.shapes.displayList", false);
     }
 
     // cache of common draw state, we try to avoid adding new operands if the
@@ -63,6 +74,12 @@ public class Shapes {
     // stores the state of the currently visible optional content.
     protected final OptionalContentState optionalContentState = new OptionalContentState();
 
+    // bounding box index used for clip culled painting, built once parsing is complete.
+    private volatile ShapesIndex shapesIndex;
+
+    // compiled form of the commands, built on demand and discarded if commands are added.
+    private volatile DisplayList compiledList;
+
     // the collection of objects listening for page paint events
     private Page parentPage;
 
@@ -88,6 +105,8 @@ public class Shapes {
 
     public void add(ArrayList<DrawCmd> shapes) {
         this.shapes.addAll(shapes);
+        shapesIndex = null;
+        compiledList = null;
     }
 
     public void setPageParent(Page parent) {
@@ -101,6 +120,61 @@ public class Shapes {
         }else{
             shapes.add(drawCmd);
         }
+        shapesIndex = null;
+        compiledList = null;
+    }
+
+    public static boolean isClipCulling() {
+        return clipCulling;
+    }
+
+    /**
+     * Enables or disables clip culled painting for all Shapes.  When enabled, commands that paint outside the
+     * clip of the graphics context are skipped, which makes painting a small viewport or tile of a dense page
+     * cost in proportion to the visible area.
+     *
+     * @param clipCulling true to enable clip culling.
+     */
+    public static void setClipCulling(boolean clipCulling) {
+        Shapes.clipCulling = clipCulling;
+    }
+
+    public static boolean isDisplayList() {
+        return displayList;
+    }
+
+    /**
+     * Enables or disables display list painting for all Shapes.  When enabled, the commands are compiled into a
+     * {@link DisplayList} the first time they are painted and later paints replay the compiled list.  Clip culled
+     * painting takes precedence when both are enabled and the graphics context has a clip.
+     *
+     * @param displayList true to enable display list painting.
+     */
+    public static void setDisplayList(boolean displayList) {
+        Shapes.displayList = displayList;
+    }
+
+    /**
+     * Compiles the commands into a display list.  The list is cached and compiled again if commands are added or
+     * the visibility of the optional content it was compiled with changes.
+     *
+     * @return compiled display list of the commands.
+     */
+    public DisplayList compile() {
+        DisplayList list = compiledList;
+        if (list == null || !list.isValid(shapes) || list.isStale()) {
+            list = new DisplayList(shapes);
+            compiledList = list;
+        }
+        return list;
+    }
+
+    /**
+     * Builds the bounding box index used for clip culled painting.  The index is built when parsing completes
+     * and is discarded if commands are added afterwards.
+     */
+    public void buildIndex() {
+        shapesIndex = new ShapesIndex(shapes);
     }
 
     public boolean isPaintAlpha() {
@@ -134,6 +208,19 @@ public class Shapes {
      * @throws InterruptedException thread interrupted.
      */
     public void paint(Graphics2D g) throws InterruptedException {
+        if (clipCulling && g.getClip() != null) {
+            ShapesIndex index = shapesIndex;
+            if (index == null || !index.isValid(shapes)) {
+                index = new ShapesIndex(shapes);
+                shapesIndex = index;
+            }
+            paint(g, index);
+            return;
+        }
+        if (displayList) {
+            paintDisplayList(g, parentPage, paintAlpha);
+            return;
+        }
         try {
             boolean interrupted = false;
             AffineTransform base = new AffineTransform(g.getTransform());
@@ -162,6 +249,70 @@ public class Shapes {
         }
     }
 
+    /**
+     * Paints the compiled display list of the graphics stack.  The page and alpha flag are passed in rather than
+     * set on this instance so content shared by several pages or painted by several threads isn't altered.
+     *
+     * @param g          graphics context to paint to.
+     * @param parentPage page to notify of paint progress, can be null.
+     * @param paintAlpha enable/disable alpha painting.
+     * @throws InterruptedException thread interrupted.
+     */
+    void paintDisplayList(Graphics2D g, Page parentPage, boolean paintAlpha) throws InterruptedException {
+        try {
+            compile().paint(g, parentPage, paintAlpha);
+        } catch (InterruptedException e) {
+            throw new InterruptedException(e.getMessage());
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Error painting shapes.", e);
+        }
+    }
+
+    /**
+     * Paints the graphics stack skipping the painting commands that fall outside the clip of the graphics
+     * context.  Runs of commands that are completely outside the clip only have their state commands, transform,
+     * clip, colour, alpha and so on, replayed so commands that follow are painted with the correct state.
+     *
+     * @param g     graphics context to paint to.
+     * @param index bounding box index of the commands.
+     * @throws InterruptedException thread interrupted.
+     */
+    private void paint(Graphics2D g, ShapesIndex index) throws InterruptedException {
+        try {
+            AffineTransform base = new AffineTransform(g.getTransform());
+            Shape clip = g.getClip();
+            Rectangle2D clipBounds = clip.getBounds2D();
+            // pad the clip by a couple device pixels to allow for anti-aliasing and hairlines.
+            double scale = Math.sqrt(Math.abs(base.getDeterminant()));
+            double padding = scale > 0 ? 2 / scale : 0;
+            clipBounds.setRect(clipBounds.getX() - padding, clipBounds.getY() - padding,
+                    clipBounds.getWidth() + padding * 2, clipBounds.getHeight() + padding * 2);
+
+            PaintTimer paintTimer = new PaintTimer();
+            Shape previousShape = null;
+
+            DrawCmd nextShape;
+            for (int run = 0, runs = index.getRunCount(); run < runs; run++) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("Page painting thread interrupted");
+                }
+                boolean runVisible = index.isRunVisible(run, clipBounds);
+                for (int i = run * ShapesIndex.RUN_SIZE, max = Math.min(i + ShapesIndex.RUN_SIZE, shapes.size());
+                     i < max; i++) {
+                    if (runVisible ? !index.isCommandVisible(i, clipBounds) : index.isPaintCommand(i)) {
+                        continue;
+                    }
+                    nextShape = shapes.get(i);
+                    previousShape = nextShape.paintOperand(g, parentPage,
+                            previousShape, clip, base, optionalContentState, paintAlpha, paintTimer);
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new InterruptedException(e.getMessage());
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Error painting shapes.", e);
+        }
+    }
 
     /**
      * Iterates over the Shapes objects extracting all Image objects.
@@ -187,6 +338,12 @@ public class Shapes {
      */
     public void contract() {
         shapes.trimToSize();
+        if (clipCulling) {
+            buildIndex();
+        }
+        if (displayList) {
+            compile();
+        }
     }
 
     public int getRule() {
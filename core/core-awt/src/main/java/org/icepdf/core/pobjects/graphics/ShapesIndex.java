@@ -0,0 +1,217 @@
+/*
+ * Copyright 2006-2019 ICEsoft Technologies Canada Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.pobjects.graphics.commands.*;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+
+/**
+ * Bounding box index over a Shapes draw command stack.  The stack is split into fixed size runs of commands and
+ * the page space bounds of each painting command, as well as the union of the bounds of each run, is recorded.
+ * At paint time, runs whose bounds don't intersect the clip only need to have their state commands replayed and
+ * painting commands with bounds outside the clip can be skipped individually.
+ * <br>
+ * Bounds are tracked conservatively: painting commands are only given bounds when the transform they are painted
+ * with is known.  Commands that can't be bounded, or that follow a command that may leave the graphics transform
+ * in an unknown state, are always painted.
+ *
+ * @since 7.3.0
+ */
+class ShapesIndex {
+
+    // number of commands covered by a run bounding box.
+    static final int RUN_SIZE = 32;
+
+    private final int size;
+    // page space bounds of each command, x, y, w, h; NaN for state or unbounded commands.
+    private final float[] commandBounds;
+    // true for commands that only paint and don't alter the graphics state.
+    private final boolean[] paintCommands;
+    // union of the paint command bounds of each run, x1, y1, x2, y2.
+    private final float[] runBounds;
+    // true if a run contains a paint command that couldn't be bounded.
+    private final boolean[] runUnbounded;
+
+    ShapesIndex(ArrayList<DrawCmd> shapes) {
+        size = shapes.size();
+        commandBounds = new float[size * 4];
+        paintCommands = new boolean[size];
+        int runs = (size + RUN_SIZE - 1) / RUN_SIZE;
+        runBounds = new float[runs * 4];
+        runUnbounded = new boolean[runs];
+        for (int r = 0; r < runs; r++) {
+            runBounds[r * 4] = Float.POSITIVE_INFINITY;
+            runBounds[r * 4 + 1] = Float.POSITIVE_INFINITY;
+            runBounds[r * 4 + 2] = Float.NEGATIVE_INFINITY;
+            runBounds[r * 4 + 3] = Float.NEGATIVE_INFINITY;
+        }
+
+        // the transform is relative to the base transform at the start of a paint.
+        AffineTransform transform = new AffineTransform();
+        Shape currentShape = null;
+        float strokePadding = 0.5f;
+        DrawCmd drawCmd;
+        for (int i = 0; i < size; i++) {
+            drawCmd = shapes.get(i);
+            int run = i / RUN_SIZE;
+            Rectangle2D bounds = null;
+            boolean paintCommand = false;
+            if (drawCmd instanceof TransformDrawCmd) {
+                transform = ((TransformDrawCmd) drawCmd).getAffineTransform();
+            } else if (drawCmd instanceof TextTransformDrawCmd) {
+                transform = ((TextTransformDrawCmd) drawCmd).getAffineTransform();
+            } else if (drawCmd instanceof ShapeDrawCmd) {
+                currentShape = ((ShapeDrawCmd) drawCmd).getShape();
+            } else if (drawCmd instanceof StrokeDrawCmd) {
+                strokePadding = getStrokePadding(((StrokeDrawCmd) drawCmd).getStroke());
+            } else if (drawCmd instanceof FillDrawCmd) {
+                paintCommand = true;
+                if (currentShape != null && transform != null) {
+                    bounds = transform.createTransformedShape(currentShape.getBounds2D()).getBounds2D();
+                }
+            } else if (drawCmd instanceof DrawDrawCmd) {
+                paintCommand = true;
+                if (currentShape != null && transform != null && strokePadding >= 0) {
+                    Rectangle2D shapeBounds = currentShape.getBounds2D();
+                    shapeBounds.setRect(shapeBounds.getX() - strokePadding, shapeBounds.getY() - strokePadding,
+                            shapeBounds.getWidth() + strokePadding * 2, shapeBounds.getHeight() + strokePadding * 2);
+                    bounds = transform.createTransformedShape(shapeBounds).getBounds2D();
+                }
+            } else if (drawCmd instanceof ImageDrawCmd) {
+                paintCommand = true;
+                // images are painted into the unit square of the current transform.
+                if (transform != null && !((ImageDrawCmd) drawCmd).isScaledPaint()) {
+                    bounds = transform.createTransformedShape(new Rectangle2D.Float(0, 0, 1, 1)).getBounds2D();
+                }
+            } else if (drawCmd instanceof TextSpriteDrawCmd) {
+                paintCommand = true;
+                if (transform != null) {
+                    TextSprite textSprite = ((TextSpriteDrawCmd) drawCmd).getTextSprite();
+                    bounds = transform.createTransformedShape(textSprite.getBounds()).getBounds2D();
+                }
+            } else if (!isTransformPreserving(drawCmd)) {
+                // nested shapes, forms and patterns may leave the transform in an unknown state.
+                transform = null;
+            }
+            paintCommands[i] = paintCommand;
+            if (bounds != null) {
+                commandBounds[i * 4] = (float) bounds.getX();
+                commandBounds[i * 4 + 1] = (float) bounds.getY();
+                commandBounds[i * 4 + 2] = (float) bounds.getWidth();
+                commandBounds[i * 4 + 3] = (float) bounds.getHeight();
+                runBounds[run * 4] = Math.min(runBounds[run * 4], (float) bounds.getMinX());
+                runBounds[run * 4 + 1] = Math.min(runBounds[run * 4 + 1], (float) bounds.getMinY());
+                runBounds[run * 4 + 2] = Math.max(runBounds[run * 4 + 2], (float) bounds.getMaxX());
+                runBounds[run * 4 + 3] = Math.max(runBounds[run * 4 + 3], (float) bounds.getMaxY());
+            } else {
+                commandBounds[i * 4] = Float.NaN;
+                if (paintCommand) {
+                    runUnbounded[run] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the index still describes the given command stack.
+     *
+     * @param shapes command stack
+     * @return true if the index can be used to paint the stack.
+     */
+    boolean isValid(ArrayList<DrawCmd> shapes) {
+        return shapes.size() == size;
+    }
+
+    /**
+     * Checks if any painting command in the given run may intersect the clip bounds.
+     *
+     * @param run        run index
+     * @param clipBounds clip bounds in base transform space
+     * @return true if the run must be painted in full.
+     */
+    boolean isRunVisible(int run, Rectangle2D clipBounds) {
+        if (runUnbounded[run]) {
+            return true;
+        }
+        float x1 = runBounds[run * 4];
+        // no paint commands in the run.
+        if (x1 == Float.POSITIVE_INFINITY) {
+            return false;
+        }
+        return runBounds[run * 4 + 2] >= clipBounds.getMinX() && x1 <= clipBounds.getMaxX() &&
+                runBounds[run * 4 + 3] >= clipBounds.getMinY() && runBounds[run * 4 + 1] <= clipBounds.getMaxY();
+    }
+
+    /**
+     * Checks if the given command may paint inside the clip bounds, state commands are always visible.
+     *
+     * @param index      command index
+     * @param clipBounds clip bounds in base transform space
+     * @return true if the command should be painted.
+     */
+    boolean isCommandVisible(int index, Rectangle2D clipBounds) {
+        if (!paintCommands[index]) {
+            return true;
+        }
+        float x = commandBounds[index * 4];
+        if (Float.isNaN(x)) {
+            return true;
+        }
+        return clipBounds.intersects(x, commandBounds[index * 4 + 1],
+                commandBounds[index * 4 + 2], commandBounds[index * 4 + 3]);
+    }
+
+    boolean isPaintCommand(int index) {
+        return paintCommands[index];
+    }
+
+    int getRunCount() {
+        return runUnbounded.length;
+    }
+
+    private static boolean isTransformPreserving(DrawCmd drawCmd) {
+        return drawCmd instanceof ColorDrawCmd ||
+                drawCmd instanceof AlphaDrawCmd ||
+                drawCmd instanceof BlendCompositeDrawCmd ||
+                drawCmd instanceof PaintDrawCmd ||
+                drawCmd instanceof ClipDrawCmd ||
+                drawCmd instanceof NoClipDrawCmd ||
+                drawCmd instanceof GlyphOutlineDrawCmd ||
+                drawCmd instanceof GraphicsStateCmd ||
+                drawCmd instanceof OCGStartDrawCmd ||
+                drawCmd instanceof OCGEndDrawCmd;
+    }
+
+    /**
+     * Half the stroke width plus any miter join extension, or -1 if the stroke can't be bounded.
+     */
+    private static float getStrokePadding(Stroke stroke) {
+        if (stroke instanceof BasicStroke) {
+            BasicStroke basicStroke = (BasicStroke) stroke;
+            float padding = basicStroke.getLineWidth() / 2;
+            if (basicStroke.getLineJoin() == BasicStroke.JOIN_MITER) {
+                padding *= Math.max(1, basicStroke.getMiterLimit());
+            }
+            // square caps extend past the end points by half the line width in both directions.
+            return padding * 1.5f + 0.5f;
+        }
+        return -1;
+    }
+}
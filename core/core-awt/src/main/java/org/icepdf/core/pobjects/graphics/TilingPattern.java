@@ -31,6 +31,7 @@ import java.awt.geom.GeneralPath;
 import java.awt.geom.NoninvertibleTransformException;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -181,7 +182,7 @@ public class TilingPattern extends Stream implements Pattern {
     private GraphicsState parentGraphicState;
 
     public TilingPattern(Stream stream) {
-        super(stream.getLibrary(), stream.getEntries(), stream.getRawBytes());
+        super(stream.getLibrary(), stream.getEntries(), stream.getRawByteBuffer());
         pObjectReference = stream.getPObjectReference();
         initiParams();
     }
@@ -191,6 +192,11 @@ public class TilingPattern extends Stream implements Pattern {
         initiParams();
     }
 
+    public TilingPattern(Library l, DictionaryEntries h, ByteBuffer rawByteBuffer) {
+        super(l, h, rawByteBuffer);
+        initiParams();
+    }
+
     private void initiParams() {
         type = library.getName(entries, TYPE_KEY);
 
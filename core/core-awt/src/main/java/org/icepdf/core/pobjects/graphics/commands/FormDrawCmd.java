@@ -63,7 +63,7 @@ public class FormDrawCmd extends AbstractDrawCmd {
     }
 
     @Override
-    public Shape paintOperand(Graphics2D g, Page parentPage, Shape currentShape,
+    public synchronized Shape paintOperand(Graphics2D g, Page parentPage, Shape currentShape,
                               Shape clip, AffineTransform base,
                               OptionalContentState optionalContentState,
                               boolean paintAlpha, PaintTimer paintTimer) {
@@ -46,9 +46,6 @@ public class ImageDrawCmd extends AbstractDrawCmd {
     }
 
     private final ImageReference image;
-    // paint scale factor of original image.
-    private int xScale = 1;
-    private int yScale = 1;
     private boolean xIsScale = false;
     private boolean yIsScale = false;
 
@@ -85,6 +82,16 @@ public class ImageDrawCmd extends AbstractDrawCmd {
         return image.getImage();
     }
 
+    /**
+     * Checks if the image is scaled up at paint time to keep thin images visible, in which case the image may
+     * paint outside the unit square of the current transform.
+     *
+     * @return true if thin image scaling applies to this image.
+     */
+    public boolean isScaledPaint() {
+        return isScaledPaint && (xIsScale || yIsScale);
+    }
+
     public ImageStream getImageStream() {
         if (image != null) {
             return image.getImageStream();
@@ -98,8 +105,18 @@ public class ImageDrawCmd extends AbstractDrawCmd {
                               OptionalContentState optionalContentState,
                               boolean paintAlpha, PaintTimer paintTimer) throws InterruptedException {
         if (optionalContentState.isVisible()) {
+            // paint scale factor of original image, kept local so the command can be painted concurrently.
+            int xScale = 1;
+            int yScale = 1;
             if (isScaledPaint && (xIsScale || yIsScale)) {
-                calculateThinScale(base.getScaleX());
+                double scale = base.getScaleX();
+                if (xIsScale) {
+                    xScale = commonScaling(scale, image.getWidth());
+                }
+                // horizon scale needs to be applied for an Wx1px image.
+                if (yIsScale) {
+                    yScale = commonScaling(scale, image.getHeight());
+                }
             }
             image.drawImage(g, 0, 0, xScale, yScale);
             if (parentPage != null && paintTimer.shouldTriggerRepaint()) {
@@ -109,21 +126,6 @@ public class ImageDrawCmd extends AbstractDrawCmd {
         return currentShape;
     }
 
-    /**
-     * Alter the width or height value of 1px or less then MIN_DIMENSION.
-     *
-     * @param scale scale factor of current view.
-     */
-    private void calculateThinScale(double scale) {
-        if (xIsScale) {
-            xScale = commonScaling(scale, image.getWidth());
-        }
-        // horizon scale needs to be applied for an Wx1px image.
-        if (yIsScale) {
-            yScale = commonScaling(scale, image.getHeight());
-        }
-    }
-
     /**
      * Fetches a scale value from lookup table and returns the appropriate
      * scale so the image will be visible.
@@ -38,6 +38,10 @@ public class OCGStartDrawCmd extends AbstractDrawCmd {
         this.optionalContents = optionalContents;
     }
 
+    public OptionalContents getOptionalContents() {
+        return optionalContents;
+    }
+
     @Override
     public Shape paintOperand(Graphics2D g, Page parentPage, Shape currentShape,
                               Shape clip, AffineTransform base,
@@ -36,6 +36,10 @@ public class PaintDrawCmd extends AbstractDrawCmd {
         this.paint = paint;
     }
 
+    public Paint getPaint() {
+        return paint;
+    }
+
     @Override
     public Shape paintOperand(Graphics2D g, Page parentPage, Shape currentShape,
                               Shape clip, AffineTransform base,
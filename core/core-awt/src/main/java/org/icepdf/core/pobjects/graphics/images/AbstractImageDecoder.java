@@ -32,8 +32,11 @@ public abstract class AbstractImageDecoder implements ImageDecoder {
     public static int maxImageWidth = 10000;
     public static int maxImageHeight = 10000;
     public static int preferredSize = 1500;
+    // allows the DCT and JPX decoders to read a subsampled image when a target size is known.
+    public static boolean isSubsampling;
 
     static {
+        isSubsampling = Defs.booleanProperty("org.icepdf.core.imageDecoder.subsampling", true);
         try {
             maxImageWidth = Integer.parseInt(Defs.sysProperty("org.icepdf.core.imageDecoder.maxwWidth",
                     String.valueOf(maxImageWidth)));
@@ -51,6 +54,10 @@ public abstract class AbstractImageDecoder implements ImageDecoder {
     protected ImageStream imageStream;
     protected GraphicsState graphicsState;
 
+    // size in device pixels the image will be painted at, zero if unknown.
+    protected int targetWidth;
+    protected int targetHeight;
+
     public AbstractImageDecoder(ImageStream imageStream, GraphicsState graphicsState) {
         this.imageStream = imageStream;
         this.graphicsState = graphicsState;
@@ -63,6 +70,42 @@ public abstract class AbstractImageDecoder implements ImageDecoder {
         return imageStream;
     }
 
+    /**
+     * Sets the size in device pixels the decoded image will be painted at.  Decoders that can read a reduced
+     * resolution image use this as a hint to decode fewer pixels, the decoded image is never smaller then the
+     * target size.
+     *
+     * @param targetWidth  target width in pixels, zero if unknown.
+     * @param targetHeight target height in pixels, zero if unknown.
+     */
+    public void setTargetSize(int targetWidth, int targetHeight) {
+        this.targetWidth = targetWidth;
+        this.targetHeight = targetHeight;
+    }
+
+    /**
+     * Gets the source subsampling factor that can be used when reading an image of the given size.  The factor is
+     * the largest that keeps the image at least as big as the target size, images that are really big are also
+     * subsampled to no less then preferredSize on the longest edge so they don't have to be scaled after decoding.
+     *
+     * @param width  width of the encoded image.
+     * @param height height of the encoded image.
+     * @return subsampling factor, one to read every pixel.
+     */
+    int getSourceSubsampling(int width, int height) {
+        if (!isSubsampling || width <= 0 || height <= 0) {
+            return 1;
+        }
+        int subsampling = 1;
+        if (targetWidth > 0 && targetHeight > 0) {
+            subsampling = Math.min(width / targetWidth, height / targetHeight);
+        }
+        if (width > maxImageWidth && height > maxImageHeight) {
+            subsampling = Math.max(subsampling, Math.max(width, height) / preferredSize);
+        }
+        return Math.max(1, subsampling);
+    }
+
     /**
      * Check to make sure we don't have ludicrously large image that will likely pop the heap.  This is a rough check
      * to take images that are bigger the 10kx10k and scales them do something more manageable like 1.5k.
@@ -111,6 +111,11 @@ public class DctDecoder extends AbstractImageDecoder {
             // read the raster data only, as we have our own logic to covert
             // the raster data to RGB colours.
             ImageReadParam param = reader.getDefaultReadParam();
+            // skip pixels that won't be seen at the size the image is painted at.
+            int subsampling = getSourceSubsampling(reader.getWidth(0), reader.getHeight(0));
+            if (subsampling > 1) {
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            }
             WritableRaster wr = (WritableRaster) reader.readRaster(0, param);
 
             // quick sanity check to try and scale really large images before we get into heap trouble.
@@ -28,6 +28,7 @@ import java.awt.geom.AffineTransform;
 import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
 import java.util.logging.Logger;
 
 /**
@@ -55,6 +56,11 @@ public class ImageStream extends Stream {
         imageParams = new ImageParams(library, entries, null);
     }
 
+    public ImageStream(Library l, DictionaryEntries h, ByteBuffer rawByteBuffer) {
+        super(l, h, rawByteBuffer);
+        imageParams = new ImageParams(library, entries, null);
+    }
+
     /**
      * Gets the image param wrapper class for quick access to parameters that are needed now!
      *
@@ -74,16 +80,36 @@ public class ImageStream extends Stream {
      * @return new image object
      */
     public BufferedImage getImage(GraphicsState graphicsState, Resources resources){
+        return getImage(graphicsState, resources, 0, 0);
+    }
+
+    /**
+     * Gets the image object for the given resource, decoded for painting at the given size.  Decoders that support
+     * it, DCTDecode and JPXDecode, read a subsampled image that is no smaller then the target size, which can save
+     * most of the decode time and memory for high resolution images painted at a small size.
+     *
+     * @param graphicsState graphic state for image or parent form
+     * @param resources     resources containing image reference
+     * @param targetWidth   width in device pixels the image is painted at, zero to decode the full image.
+     * @param targetHeight  height in device pixels the image is painted at, zero to decode the full image.
+     * @return new image object
+     * @since 7.3.0
+     */
+    public BufferedImage getImage(GraphicsState graphicsState, Resources resources,
+                                  int targetWidth, int targetHeight) {
         // check the pool encase we already parse this image.
         imageParams = new ImageParams(library, entries, resources);
         if (pObjectReference != null) {
-            BufferedImage tmp = library.getImagePool().get(pObjectReference);
+            BufferedImage tmp = library.getImagePool().get(pObjectReference, targetWidth, targetHeight);
             if (tmp != null) {
                 return tmp;
             }
         }
         // decode the given image.
         ImageDecoder imageDecoder = ImageDecoderFactory.createDecoder(this, graphicsState);
+        if (imageDecoder instanceof AbstractImageDecoder) {
+            ((AbstractImageDecoder) imageDecoder).setTargetSize(targetWidth, targetHeight);
+        }
         BufferedImage decodedImage = imageDecoder.decode();
 
         // Fallback image code that will use pixel primitives to build out the image.
@@ -84,6 +84,11 @@ public class JpxDecoder extends AbstractImageDecoder {
             ImageReadParam param = reader.getDefaultReadParam();
             reader.setInput(imageInputStream, true, true);
             try {
+                // skip pixels that won't be seen at the size the image is painted at.
+                int subsampling = getSourceSubsampling(reader.getWidth(0), reader.getHeight(0));
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
                 tmpImage = reader.read(0, param);
             } finally {
                 reader.dispose();
@@ -26,7 +26,8 @@ import java.awt.image.BufferedImage;
  * The Abstract CachedImageReference stores the decoded BufferedImage data in
  * an ImagePool referenced by the images PDF object number to ensure that if
  * a page is garbage collected the image can re fetched from the pool if
- * necessary.
+ * necessary.  Images are pooled with the target size they were decoded for, so
+ * a subsampled image isn't used for a larger draw of the same image.
  *
  * @since 5.0
  */
@@ -48,16 +49,16 @@ public abstract class CachedImageReference extends ImageReference {
             return null;
         }
         if (image != null && reference != null) {
-            imagePool.put(reference, image);
+            imagePool.put(reference, image, targetWidth, targetHeight);
             return image;
         }
-        BufferedImage cached = imagePool.get(reference);
+        BufferedImage cached = imagePool.get(reference, targetWidth, targetHeight);
         if (cached != null) {
             return cached;
         } else {
             BufferedImage im = createImage();
             if (im != null && reference != null) {
-                imagePool.put(reference, im);
+                imagePool.put(reference, im, targetWidth, targetHeight);
             } else if (reference != null) {
                 isNull = true;
             }
@@ -19,9 +19,16 @@ import org.icepdf.core.pobjects.Reference;
 import org.icepdf.core.util.Defs;
 
 import java.awt.image.BufferedImage;
-import java.util.Collections;
+import java.awt.image.DataBuffer;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -31,9 +38,10 @@ import java.util.logging.Logger;
  * max pool size can be specified by using the org.icepdf.core.views.imagePoolSize
  * system property.  The value is specified in MB.
  * <br>
- * The pool also contains an executor pool for processing Images.  The executor
- * allows the pageInitialization thread to continue while the executor processes
- * the image data on another thread.
+ * The size of each image is accounted for using its raster data buffer, width x height x bytes per pixel, and
+ * the least recently used images are evicted once the pool grows past the max size.  Images are held by soft
+ * references so the garbage collector can still reclaim them when the heap runs low before the max size is
+ * reached.
  * <br>
  * Teh pool size can be set with the system property  org.icepdf.core.views.imagePoolSize
  * where the default value is 1/4 the heap size.  The pool set can be specified in
@@ -42,6 +50,14 @@ import java.util.logging.Logger;
  * The pool can also be disabled using the boolean system property
  * org.icepdf.core.views.imagePoolEnabled=false.  The default state is for the
  * ImagePool to be enabled.
+ * <br>
+ * By default all documents share one pool of the specified max size, which keeps the total memory used by
+ * decoded images bounded no matter how many documents are open.  The boolean system property
+ * org.icepdf.core.views.imagePoolShared=false gives each document a pool of its own.
+ * <br>
+ * Images decoded for a target size, see ImageStream#getImage(GraphicsState, Resources, int, int), are pooled
+ * with that size and are only returned for requests of the same or a smaller target size.  A request for a larger
+ * size, or for the full image, misses so the image is decoded again and replaces the smaller one.
  *
  * @since 5.0
  */
@@ -49,40 +65,304 @@ public class ImagePool {
     private static final Logger log =
             Logger.getLogger(ImagePool.class.toString());
 
-    // Image pool
-    private final Map<Reference, BufferedImage> fCache;
+    private static final boolean enabled;
+    private static final boolean shared;
+    private static final long maxSize;
 
+    private static ImageStore sharedStore;
 
-    private static final boolean enabled;
     static {
         // enable/disable the image pool all together.
         enabled = Defs.booleanProperty("org.icepdf.core.views.imagePoolEnabled", true);
+        shared = Defs.booleanProperty("org.icepdf.core.views.imagePoolShared", true);
+        long defaultSize = Runtime.getRuntime().maxMemory() / 4;
+        int poolSize = Defs.intProperty("org.icepdf.core.views.imagePoolSize", -1);
+        maxSize = poolSize > 0 ? poolSize * 1024L * 1024L : defaultSize;
     }
 
+    // Image pool, possibly shared with other documents
+    private final ImageStore store;
 
     public ImagePool() {
-        fCache = Collections.synchronizedMap(new WeakHashMap<>(50));
+        this(shared);
+    }
+
+    /**
+     * Creates a new image pool.
+     *
+     * @param useSharedStore true to use the image store shared by all documents, false to use a store specific
+     *                       to this pool.
+     */
+    public ImagePool(boolean useSharedStore) {
+        if (useSharedStore) {
+            store = getSharedStore();
+        } else {
+            store = new ImageStore(maxSize);
+        }
+    }
+
+    private static synchronized ImageStore getSharedStore() {
+        if (sharedStore == null) {
+            sharedStore = new ImageStore(maxSize);
+        }
+        return sharedStore;
     }
 
     public void put(Reference ref, BufferedImage image) {
-        // create a new reference so we don't have a hard link to the page
-        // which will likely keep a page from being GC'd.
-        if (enabled) {
-//            synchronized (fCache) {
-                fCache.put(new Reference(ref.getObjectNumber(), ref.getGenerationNumber()), image);
-//            }
+        put(ref, image, 0, 0);
+    }
+
+    /**
+     * Adds an image that was decoded for the given target size.
+     *
+     * @param ref          image reference.
+     * @param image        decoded image.
+     * @param targetWidth  width the image was decoded for, zero if the full image was decoded.
+     * @param targetHeight height the image was decoded for, zero if the full image was decoded.
+     */
+    public void put(Reference ref, BufferedImage image, int targetWidth, int targetHeight) {
+        if (enabled && ref != null && image != null) {
+            store.put(new PoolKey(this, ref), image, targetWidth, targetHeight);
         }
     }
 
     public BufferedImage get(Reference ref) {
-        if (enabled) {
-                return fCache.get(ref);
+        return get(ref, 0, 0);
+    }
+
+    /**
+     * Gets the pooled image if it was decoded for the full image or for a target at least as large as the given
+     * one.
+     *
+     * @param ref          image reference.
+     * @param targetWidth  width the image is needed at, zero if the full image is needed.
+     * @param targetHeight height the image is needed at, zero if the full image is needed.
+     * @return pooled image, null if there is none or it is too small.
+     */
+    public BufferedImage get(Reference ref, int targetWidth, int targetHeight) {
+        if (enabled && ref != null) {
+            return store.get(new PoolKey(this, ref), targetWidth, targetHeight);
         } else {
             return null;
         }
     }
 
     public boolean containsKey(Reference ref) {
-        return enabled && fCache.containsKey(ref);
+        return enabled && ref != null && store.containsKey(new PoolKey(this, ref));
+    }
+
+    /**
+     * Removes all of this pool's images, images added by other documents to a shared store are left in place.
+     */
+    public void clear() {
+        store.removeOwner(this);
+    }
+
+    /**
+     * @return number of bytes used by the images in the store backing this pool.
+     */
+    public long getSize() {
+        return store.getSize();
+    }
+
+    public long getMaxSize() {
+        return store.maxSize;
+    }
+
+    public long getHitCount() {
+        return store.hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return store.missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return store.evictionCount.sum();
+    }
+
+    /**
+     * Approximate number of bytes used by the given image's raster.
+     *
+     * @param image image to size
+     * @return approximate image size in bytes.
+     */
+    public static long getImageSize(BufferedImage image) {
+        DataBuffer dataBuffer = image.getRaster().getDataBuffer();
+        return (long) dataBuffer.getSize() * dataBuffer.getNumBanks() *
+                DataBuffer.getDataTypeSize(dataBuffer.getDataType()) / 8;
+    }
+
+    /**
+     * Key for an image in a store, the owning pool is part of the key so object numbers from different documents
+     * don't collide in a shared store.
+     */
+    private static class PoolKey {
+        private final ImagePool owner;
+        private final int objectNumber;
+        private final int generationNumber;
+
+        PoolKey(ImagePool owner, Reference reference) {
+            this.owner = owner;
+            objectNumber = reference.getObjectNumber();
+            generationNumber = reference.getGenerationNumber();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PoolKey)) return false;
+            PoolKey poolKey = (PoolKey) o;
+            return objectNumber == poolKey.objectNumber &&
+                    generationNumber == poolKey.generationNumber &&
+                    owner == poolKey.owner;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(owner), objectNumber, generationNumber);
+        }
+    }
+
+    /**
+     * Soft reference to a pooled image that remembers its key and size, so the store can account for images
+     * the garbage collector has cleared, and the target size the image was decoded for.
+     */
+    private static class ImageEntry extends SoftReference<BufferedImage> {
+        private final PoolKey key;
+        private final long size;
+        private final int targetWidth;
+        private final int targetHeight;
+
+        ImageEntry(PoolKey key, BufferedImage image, int targetWidth, int targetHeight,
+                   ReferenceQueue<BufferedImage> queue) {
+            super(image, queue);
+            this.key = key;
+            size = getImageSize(image);
+            this.targetWidth = Math.max(0, targetWidth);
+            this.targetHeight = Math.max(0, targetHeight);
+        }
+
+        /**
+         * @return true if the image was decoded in full or for a target at least as large as the given one.
+         */
+        boolean covers(int width, int height) {
+            if (targetWidth == 0 && targetHeight == 0) {
+                return true;
+            }
+            return width > 0 && height > 0 && targetWidth >= width && targetHeight >= height;
+        }
+    }
+
+    /**
+     * Least recently used map of images bounded by the total size of the image rasters.
+     */
+    private static class ImageStore {
+        private final LinkedHashMap<PoolKey, ImageEntry> images;
+        private final ReferenceQueue<BufferedImage> clearedImages = new ReferenceQueue<>();
+        private final long maxSize;
+        private long size;
+
+        private final LongAdder hitCount = new LongAdder();
+        private final LongAdder missCount = new LongAdder();
+        private final LongAdder evictionCount = new LongAdder();
+
+        ImageStore(long maxSize) {
+            this.maxSize = maxSize;
+            images = new LinkedHashMap<>(50, 0.75f, true);
+        }
+
+        synchronized void put(PoolKey key, BufferedImage image, int targetWidth, int targetHeight) {
+            removeCleared();
+            ImageEntry previous = images.get(key);
+            if (previous != null && previous.get() != null && previous.covers(targetWidth, targetHeight)) {
+                // don't replace an image with a smaller one decoded for another draw.
+                return;
+            }
+            ImageEntry entry = new ImageEntry(key, image, targetWidth, targetHeight, clearedImages);
+            if (entry.size > maxSize) {
+                return;
+            }
+            previous = images.put(key, entry);
+            if (previous != null) {
+                size -= previous.size;
+            }
+            size += entry.size;
+            Iterator<Map.Entry<PoolKey, ImageEntry>> iterator = images.entrySet().iterator();
+            while (size > maxSize && iterator.hasNext()) {
+                Map.Entry<PoolKey, ImageEntry> eldest = iterator.next();
+                if (eldest.getKey().equals(key)) {
+                    continue;
+                }
+                size -= eldest.getValue().size;
+                iterator.remove();
+                evictionCount.increment();
+            }
+            if (log.isLoggable(Level.FINEST)) {
+                log.finest("Image pool size " + size + " of " + maxSize + " bytes, " + images.size() + " images.");
+            }
+        }
+
+        BufferedImage get(PoolKey key, int targetWidth, int targetHeight) {
+            BufferedImage image;
+            synchronized (this) {
+                removeCleared();
+                ImageEntry entry = images.get(key);
+                image = entry != null && entry.covers(targetWidth, targetHeight) ? entry.get() : null;
+            }
+            if (image != null) {
+                hitCount.increment();
+            } else {
+                missCount.increment();
+            }
+            return image;
+        }
+
+        synchronized boolean containsKey(PoolKey key) {
+            removeCleared();
+            ImageEntry entry = images.get(key);
+            return entry != null && entry.get() != null;
+        }
+
+        synchronized void removeOwner(ImagePool owner) {
+            removeCleared();
+            Iterator<Map.Entry<PoolKey, ImageEntry>> iterator = images.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<PoolKey, ImageEntry> entry = iterator.next();
+                if (entry.getKey().owner == owner) {
+                    size -= entry.getValue().size;
+                    iterator.remove();
+                }
+            }
+        }
+
+        synchronized long getSize() {
+            removeCleared();
+            return size;
+        }
+
+        /**
+         * Drops the entries of images the garbage collector has cleared.  The entries are found by iterating the
+         * map, a get() would move each one to the most recently used end of the access ordered map.
+         */
+        private void removeCleared() {
+            ImageEntry entry = (ImageEntry) clearedImages.poll();
+            if (entry == null) {
+                return;
+            }
+            // entries are compared by identity, a cleared entry may already have been replaced or evicted.
+            HashSet<ImageEntry> clearedEntries = new HashSet<>();
+            do {
+                clearedEntries.add(entry);
+            } while ((entry = (ImageEntry) clearedImages.poll()) != null);
+            Iterator<Map.Entry<PoolKey, ImageEntry>> iterator = images.entrySet().iterator();
+            while (iterator.hasNext() && !clearedEntries.isEmpty()) {
+                ImageEntry imageEntry = iterator.next().getValue();
+                if (clearedEntries.remove(imageEntry)) {
+                    size -= imageEntry.size;
+                    iterator.remove();
+                }
+            }
+        }
     }
 }
@@ -27,6 +27,7 @@ import org.icepdf.core.pobjects.graphics.images.ImageUtility;
 import org.icepdf.core.util.Defs;
 
 import java.awt.*;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -48,9 +49,13 @@ public abstract class ImageReference implements Callable<BufferedImage> {
 
     public static boolean useProxy;
 
+    // highest device resolution in dpi images are decoded for, zero to always decode the full image.
+    public static int maxResolution;
+
     static {
         // decide if large images will be scaled
         useProxy = Defs.booleanProperty("org.icepdf.core.imageProxy", true);
+        maxResolution = Defs.intProperty("org.icepdf.core.imageReference.maxResolution", 0);
     }
 
     protected FutureTask<BufferedImage> futureTask;
@@ -64,6 +69,10 @@ public abstract class ImageReference implements Callable<BufferedImage> {
     protected int imageIndex;
     protected Page parentPage;
 
+    // size in pixels of the image when painted at maxResolution, zero if the full image should be decoded.
+    protected int targetWidth;
+    protected int targetHeight;
+
     protected ImageReference(ImageStream imageStream, GraphicsState graphicsState,
                              Resources resources, int imageIndex, Page parentPage) {
         this.imageStream = imageStream;
@@ -71,6 +80,14 @@ public abstract class ImageReference implements Callable<BufferedImage> {
         this.resources = resources;
         this.imageIndex = imageIndex;
         this.parentPage = parentPage;
+        // the image maps the unit square to page space, take the size at the time of the draw as the graphics
+        // state continues to change while the content stream is parsed.
+        if (maxResolution > 0 && graphicsState != null) {
+            AffineTransform ctm = graphicsState.getCTM();
+            double scale = maxResolution / 72.0;
+            targetWidth = (int) Math.ceil(Math.hypot(ctm.getScaleX(), ctm.getShearY()) * scale);
+            targetHeight = (int) Math.ceil(Math.hypot(ctm.getShearX(), ctm.getScaleY()) * scale);
+        }
     }
 
     public abstract int getWidth();
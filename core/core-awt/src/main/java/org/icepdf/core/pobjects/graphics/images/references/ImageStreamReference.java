@@ -49,10 +49,10 @@ public class ImageStreamReference extends CachedImageReference {
 
         // kick off a new thread to load the image, if not already in pool.
         ImagePool imagePool = imageStream.getLibrary().getImagePool();
-        if (useProxy && imagePool.get(reference) == null) {
+        if (useProxy && imagePool.get(reference, targetWidth, targetHeight) == null) {
             futureTask = new FutureTask<>(this);
             Library.executeImage(futureTask);
-        } else if (!useProxy && imagePool.get(reference) == null) {
+        } else if (!useProxy && imagePool.get(reference, targetWidth, targetHeight) == null) {
             image = call();
         }
     }
@@ -71,7 +71,7 @@ public class ImageStreamReference extends CachedImageReference {
         BufferedImage image = null;
         long start = System.nanoTime();
         try {
-            image = imageStream.getImage(graphicsState, resources);
+            image = imageStream.getImage(graphicsState, resources, targetWidth, targetHeight);
         } catch (Exception e) {
             logger.log(Level.WARNING, e, () -> "Error loading image: " + imageStream.getPObjectReference() +
                     " " + imageStream.toString());
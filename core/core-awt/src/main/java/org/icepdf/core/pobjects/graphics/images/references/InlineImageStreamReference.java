@@ -76,7 +76,7 @@ public class InlineImageStreamReference extends ImageReference {
         BufferedImage image = null;
         long start = System.nanoTime();
         try {
-            image = imageStream.getImage(graphicsState, resources);
+            image = imageStream.getImage(graphicsState, resources, targetWidth, targetHeight);
         } catch (Exception e) {
             logger.log(Level.WARNING, e, () -> "Error loading image: " + imageStream.getPObjectReference() +
                     " " + imageStream.toString());
@@ -0,0 +1,752 @@
+/*
+ * Copyright 2006-2019 ICEsoft Technologies Canada Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.pobjects.graphics.text;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.util.*;
+
+/**
+ * Columnar store of the text of a page.  Glyph positions, advances, bounds, character codes, unicode values and
+ * font formats are kept in primitive arrays rather than a GlyphText object per glyph, words and lines are a line
+ * index per word and a word index per glyph.  Words and lines are detected as glyphs are added with the same
+ * rules as {@link LineText} and {@link WordText} so the text of a page is the same in either form.
+ * <br>
+ * Plain text can be extracted straight from the arrays.  Everything else, selection, highlighting and search,
+ * works on the LineText, WordText and GlyphText hierarchy built by {@link #createLines()}, after which the store
+ * is no longer used.
+ *
+ * @since 7.3.0
+ */
+public class CompactPageText {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    // glyph columns.
+    private int glyphCount;
+    private float[] x;
+    private float[] y;
+    private float[] advanceX;
+    private float[] advanceY;
+    private char[] cids;
+    private int[] fontSubTypeFormats;
+    // x, y, width, height of each glyph in page space.
+    private double[] bounds;
+    // extraction bounds of glyphs that don't share their page space bounds.
+    private double[] extractionBounds;
+    private final BitSet distinctExtractionBounds;
+    private int[] glyphWords;
+    // unicode of glyph i is unicode[unicodeOffsets[i]] to unicode[unicodeOffsets[i + 1]].
+    private char[] unicode;
+    private int[] unicodeOffsets;
+
+    // word columns.
+    private int wordCount;
+    private int[] wordLines;
+    private int[] lastGlyphs;
+    private int[] wordSizes;
+    private double[] wordBounds;
+    private double[] wordExtractionBounds;
+    private final BitSet whiteSpaceWords;
+    // words whose page bounds were cleared by a transform, rebuilt when the word objects are created.
+    private final BitSet clearedWords;
+
+    // line columns.
+    private int lineCount;
+    private int[] lineWordCounts;
+
+    private int currentLine = -1;
+    private int currentWord = -1;
+
+    // words of each line and glyphs of each word in order, built on demand.
+    private int[] lineWordStarts;
+    private int[] lineWordOrder;
+    private int[] wordGlyphStarts;
+    private int[] wordGlyphOrder;
+
+    public CompactPageText() {
+        x = new float[INITIAL_CAPACITY];
+        y = new float[INITIAL_CAPACITY];
+        advanceX = new float[INITIAL_CAPACITY];
+        advanceY = new float[INITIAL_CAPACITY];
+        cids = new char[INITIAL_CAPACITY];
+        fontSubTypeFormats = new int[INITIAL_CAPACITY];
+        bounds = new double[INITIAL_CAPACITY * 4];
+        glyphWords = new int[INITIAL_CAPACITY];
+        distinctExtractionBounds = new BitSet();
+        unicode = new char[INITIAL_CAPACITY];
+        unicodeOffsets = new int[INITIAL_CAPACITY + 1];
+
+        wordLines = new int[INITIAL_CAPACITY / 4];
+        lastGlyphs = new int[INITIAL_CAPACITY / 4];
+        wordSizes = new int[INITIAL_CAPACITY / 4];
+        wordBounds = new double[INITIAL_CAPACITY];
+        wordExtractionBounds = new double[INITIAL_CAPACITY];
+        whiteSpaceWords = new BitSet();
+        clearedWords = new BitSet();
+
+        lineWordCounts = new int[16];
+    }
+
+    /**
+     * Gets the number of glyphs in the store, including the spaces inserted between words.
+     *
+     * @return glyph count.
+     */
+    public int getGlyphCount() {
+        return glyphCount;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Starts a new line, unless the current line has no words yet.
+     */
+    public void newLine() {
+        if (currentLine >= 0 && lineWordCounts[currentLine] == 0) {
+            return;
+        }
+        currentLine = addLine();
+        currentWord = -1;
+    }
+
+    /**
+     * Ends the current word so the next glyph starts a new one, unless the current word is empty.
+     */
+    public void clearCurrentWord() {
+        if (currentWord >= 0 && wordSizes[currentWord] == 0) {
+            return;
+        }
+        currentWord = -1;
+    }
+
+    /**
+     * Adds a glyph to the current line, space and word breaks are detected as they are by {@link LineText}.
+     *
+     * @param sprite glyph to add, its values are copied and the object isn't kept.
+     */
+    public void addGlyph(GlyphText sprite) {
+        if (currentLine < 0) {
+            newLine();
+        }
+        Rectangle2D.Double spriteBounds = sprite.getBounds();
+        Rectangle2D.Double spriteExtractionBounds = sprite.getTextExtractionBounds();
+        int glyph = addGlyph(sprite.getX(), sprite.getY(), sprite.getAdvanceX(), sprite.getAdvanceY(),
+                spriteBounds, spriteExtractionBounds == spriteBounds ? null : spriteExtractionBounds,
+                sprite.getCid(), sprite.getUnicode(), sprite.getFontSubTypeFormat());
+        addText(glyph);
+    }
+
+    /**
+     * Copies lines from another page text, generally the text of a form xObject, to the end of the store.  The
+     * copied words keep their bounds and aren't detected again.
+     *
+     * @param lines lines to copy.
+     */
+    public void addLines(List<LineText> lines) {
+        for (LineText lineText : lines) {
+            int line = addLine();
+            for (WordText wordText : lineText.getWords()) {
+                int word = addWord(line);
+                lineWordCounts[line]++;
+                whiteSpaceWords.set(word, wordText.isWhiteSpace());
+                Rectangle2D.Double rect = wordText.getBounds();
+                if (rect != null) {
+                    setRect(wordBounds, word, rect);
+                } else {
+                    clearedWords.set(word);
+                }
+                rect = wordText.getTextExtractionBounds();
+                if (rect != null) {
+                    setRect(wordExtractionBounds, word, rect);
+                }
+                for (GlyphText glyphText : wordText.getGlyphs()) {
+                    Rectangle2D.Double glyphBounds = glyphText.getBounds();
+                    Rectangle2D.Double glyphExtractionBounds = glyphText.getTextExtractionBounds();
+                    int glyph = addGlyph(glyphText.getX(), glyphText.getY(),
+                            glyphText.getAdvanceX(), glyphText.getAdvanceY(), glyphBounds,
+                            glyphExtractionBounds == glyphBounds ? null : glyphExtractionBounds,
+                            glyphText.getCid(), glyphText.getUnicode(), glyphText.getFontSubTypeFormat());
+                    glyphWords[glyph] = word;
+                    lastGlyphs[word] = glyph;
+                    wordSizes[word] += unicodeOffsets[glyph + 1] - unicodeOffsets[glyph];
+                }
+            }
+        }
+        lineWordStarts = null;
+    }
+
+    /**
+     * Maps the glyph bounds with the given transform, as {@link GlyphText#normalizeToUserSpace} does when the text
+     * of a form xObject is moved to page space.  Word bounds are rebuilt when the word objects are created.
+     *
+     * @param transform transform to apply.
+     */
+    public void transform(AffineTransform transform) {
+        Rectangle2D.Double rect = new Rectangle2D.Double();
+        for (int glyph = 0; glyph < glyphCount; glyph++) {
+            getRect(bounds, glyph, rect);
+            Rectangle2D mapped = new Path2D.Double(rect, transform).getBounds2D();
+            int offset = glyph * 4;
+            bounds[offset] = mapped.getX();
+            bounds[offset + 1] = mapped.getY();
+            bounds[offset + 2] = mapped.getWidth();
+            bounds[offset + 3] = mapped.getHeight();
+        }
+        distinctExtractionBounds.clear();
+        clearedWords.set(0, wordCount);
+    }
+
+    /**
+     * Checks if the text can be extracted from the arrays, which isn't the case once a transform has cleared the
+     * word bounds.
+     *
+     * @return true if {@link #getText(boolean, boolean)} can be used.
+     */
+    public boolean isExtractable() {
+        return clearedWords.isEmpty();
+    }
+
+    /**
+     * Builds the line, word and glyph objects of the stored text in the order they were added.
+     *
+     * @return new unsorted lines.
+     */
+    public ArrayList<LineText> createLines() {
+        buildIndex();
+        ArrayList<LineText> lines = new ArrayList<>(Math.max(lineCount, 1));
+        for (int line = 0; line < lineCount; line++) {
+            ArrayList<WordText> words = new ArrayList<>(lineWordStarts[line + 1] - lineWordStarts[line]);
+            for (int i = lineWordStarts[line]; i < lineWordStarts[line + 1]; i++) {
+                words.add(createWord(lineWordOrder[i]));
+            }
+            LineText lineText = new LineText();
+            lineText.addAll(words);
+            lines.add(lineText);
+        }
+        return lines;
+    }
+
+    private WordText createWord(int word) {
+        int start = wordGlyphStarts[word];
+        int end = wordGlyphStarts[word + 1];
+        ArrayList<GlyphText> glyphs = new ArrayList<>(Math.max(end - start, 4));
+        StringBuilder text = new StringBuilder(wordSizes[word]);
+        for (int i = start; i < end; i++) {
+            int glyph = wordGlyphOrder[i];
+            String glyphUnicode = getUnicode(glyph);
+            GlyphText glyphText = new GlyphText(x[glyph], y[glyph], advanceX[glyph], advanceY[glyph],
+                    getRect(bounds, glyph, new Rectangle2D.Double()), cids[glyph], glyphUnicode);
+            if (distinctExtractionBounds.get(glyph)) {
+                glyphText.textExtractionBounds = getRect(extractionBounds, glyph, new Rectangle2D.Double());
+            } else {
+                glyphText.textExtractionBounds = glyphText.bounds;
+            }
+            glyphText.setFontSubTypeFormat(fontSubTypeFormats[glyph]);
+            glyphs.add(glyphText);
+            text.append(glyphUnicode);
+        }
+        Rectangle2D.Double rect = clearedWords.get(word) ?
+                null : getRect(wordBounds, word, new Rectangle2D.Double());
+        return new WordText(glyphs, text, rect, getRect(wordExtractionBounds, word, new Rectangle2D.Double()),
+                whiteSpaceWords.get(word));
+    }
+
+    /**
+     * Extracts the text of the page without building the line, word and glyph objects.  Lines and words are
+     * sorted as {@link PageText#sortAndFormatText()} sorts them, words on the same line are left to right
+     * and lines are split on changes of the words' y coordinates.  The word bounds aren't rounded out to the next
+     * word as they are for the sorted lines, that only changes the bounds used for selection, not the text.
+     *
+     * @param checkForDuplicates drop words that have the same text and bounds as a previous word of the line.
+     * @param preserveColumns    keep the line order of the content stream rather than sorting lines top down.
+     * @return page text, a line per line of text.
+     */
+    public String getText(boolean checkForDuplicates, boolean preserveColumns) {
+        SortedText sortedText = sortText(checkForDuplicates, preserveColumns);
+        StringBuilder extractedText = new StringBuilder(unicodeOffsets[glyphCount] + sortedText.lineCount);
+        for (int i = 0; i < sortedText.lineCount; i++) {
+            int line = sortedText.lineOrder[i];
+            for (int w = sortedText.lineStarts[line]; w < sortedText.lineEnds[line]; w++) {
+                appendWordText(sortedText.words[w], extractedText);
+            }
+            extractedText.append('\n');
+        }
+        return extractedText.toString();
+    }
+
+    /**
+     * Gets the text of each word, in the order of {@link #getText(boolean, boolean)}, without building the line,
+     * word and glyph objects.
+     *
+     * @param checkForDuplicates drop words that have the same text and bounds as a previous word of the line.
+     * @param preserveColumns    keep the line order of the content stream rather than sorting lines top down.
+     * @return text of each word of the sorted lines.
+     */
+    public ArrayList<String> getWordTexts(boolean checkForDuplicates, boolean preserveColumns) {
+        SortedText sortedText = sortText(checkForDuplicates, preserveColumns);
+        ArrayList<String> wordTexts = new ArrayList<>(sortedText.size);
+        for (int i = 0; i < sortedText.lineCount; i++) {
+            int line = sortedText.lineOrder[i];
+            for (int w = sortedText.lineStarts[line]; w < sortedText.lineEnds[line]; w++) {
+                wordTexts.add(getWordText(sortedText.words[w]));
+            }
+        }
+        return wordTexts;
+    }
+
+    /**
+     * Word indexes of the sorted lines, each line is a range of the words array.
+     */
+    private static class SortedText {
+        private int[] words;
+        private int size;
+        private int[] lineStarts;
+        private int[] lineEnds;
+        private int[] lineOrder;
+        private int lineCount;
+    }
+
+    private SortedText sortText(boolean checkForDuplicates, boolean preserveColumns) {
+        buildIndex();
+        // split the lines on y changes, each sorted line is a range of the words of a line.
+        int[] sortedWords = new int[wordCount];
+        int[] sortedLineStarts = new int[wordCount + 1];
+        int sortedLineCount = 0;
+        int size = 0;
+        Rectangle2D.Double rect = new Rectangle2D.Double();
+        for (int line = 0; line < lineCount; line++) {
+            int start = lineWordStarts[line];
+            int end = lineWordStarts[line + 1];
+            if (start == end) {
+                continue;
+            }
+            double lastY = Math.round(wordExtractionBounds[lineWordOrder[start] * 4 + 1]);
+            sortedLineStarts[sortedLineCount++] = size;
+            for (int i = start; i < end; i++) {
+                int word = lineWordOrder[i];
+                double currentY = Math.round(wordExtractionBounds[word * 4 + 1]);
+                double diff = Math.abs(currentY - lastY);
+                if (diff != 0 && diff > wordExtractionBounds[word * 4 + 3] / 2) {
+                    sortedLineStarts[sortedLineCount++] = size;
+                }
+                sortedWords[size++] = word;
+                lastY = currentY;
+            }
+        }
+        sortedLineStarts[sortedLineCount] = size;
+
+        // trim duplicates and sort the words of each line by x coordinate.
+        int[] lineOrder = new int[sortedLineCount];
+        int[] lineEnds = new int[sortedLineCount];
+        double[] lineY = new double[sortedLineCount];
+        int[] buffer = new int[size];
+        for (int line = 0; line < sortedLineCount; line++) {
+            int start = sortedLineStarts[line];
+            int end = sortedLineStarts[line + 1];
+            if (checkForDuplicates) {
+                Set<String> refs = new HashSet<>();
+                int kept = start;
+                for (int i = start; i < end; i++) {
+                    int word = sortedWords[i];
+                    String key = getWordText(word) + getRect(wordBounds, word, rect).getBounds();
+                    if (refs.add(key)) {
+                        sortedWords[kept++] = word;
+                    }
+                }
+                end = kept;
+            }
+            sort(sortedWords, buffer, start, end, wordExtractionBounds, false);
+            lineOrder[line] = line;
+            lineEnds[line] = end;
+            double minY = 0;
+            for (int i = start; i < end; i++) {
+                double wordY = wordBounds[sortedWords[i] * 4 + 1];
+                minY = i == start ? wordY : Math.min(minY, wordY);
+            }
+            lineY[line] = minY;
+        }
+        if (!preserveColumns) {
+            // lines are ordered by descending y, see LinePositionComparator.
+            sort(lineOrder, new int[sortedLineCount], 0, sortedLineCount, lineY, true);
+        }
+        SortedText sortedText = new SortedText();
+        sortedText.words = sortedWords;
+        sortedText.size = size;
+        sortedText.lineStarts = sortedLineStarts;
+        sortedText.lineEnds = lineEnds;
+        sortedText.lineOrder = lineOrder;
+        sortedText.lineCount = sortedLineCount;
+        return sortedText;
+    }
+
+    private String getWordText(int word) {
+        StringBuilder text = new StringBuilder(wordSizes[word]);
+        appendWordText(word, text);
+        return text.toString();
+    }
+
+    private void appendWordText(int word, StringBuilder text) {
+        for (int i = wordGlyphStarts[word], max = wordGlyphStarts[word + 1]; i < max; i++) {
+            int glyph = wordGlyphOrder[i];
+            text.append(unicode, unicodeOffsets[glyph], unicodeOffsets[glyph + 1] - unicodeOffsets[glyph]);
+        }
+    }
+
+    /**
+     * Stable merge sort of word or line indexes by the y, or when sorting words x, coordinate of their bounds.
+     */
+    private static void sort(int[] items, int[] buffer, int from, int to, double[] keys, boolean lines) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        sort(items, buffer, from, middle, keys, lines);
+        sort(items, buffer, middle, to, keys, lines);
+        System.arraycopy(items, from, buffer, from, to - from);
+        for (int i = from, left = from, right = middle; i < to; i++) {
+            if (right >= to || (left < middle && compare(buffer[left], buffer[right], keys, lines) <= 0)) {
+                items[i] = buffer[left++];
+            } else {
+                items[i] = buffer[right++];
+            }
+        }
+    }
+
+    private static int compare(int item1, int item2, double[] keys, boolean lines) {
+        if (lines) {
+            return Double.compare(keys[item2], keys[item1]);
+        }
+        return Double.compare(keys[item1 * 4], keys[item2 * 4]);
+    }
+
+    /**
+     * Adds a glyph to the current line, see LineText.addText(GlyphText).
+     */
+    private void addText(int glyph) {
+        if (isWhiteSpace(glyph) || isPunctuation(glyph, currentWord)) {
+            int word = addWord(currentLine);
+            whiteSpaceWords.set(word);
+            addText(word, glyph);
+            lineWordCounts[currentLine]++;
+            currentWord = -1;
+        } else if (detectNewLine(getCurrentWord(), glyph)) {
+            buildSpaceWord(currentWord, glyph, false);
+            lineWordCounts[currentLine]++;
+            int word = addWord(currentLine);
+            whiteSpaceWords.set(word);
+            addText(word, glyph);
+            lineWordCounts[currentLine]++;
+            currentWord = word;
+        } else if (detectSpace(getCurrentWord(), glyph)) {
+            buildSpaceWord(currentWord, glyph, WordText.autoSpaceInsertion);
+            lineWordCounts[currentLine]++;
+            currentWord = -1;
+            addText(glyph);
+        } else {
+            addText(getCurrentWord(), glyph);
+        }
+    }
+
+    private int getCurrentWord() {
+        if (currentWord < 0) {
+            currentWord = addWord(currentLine);
+            lineWordCounts[currentLine]++;
+        }
+        return currentWord;
+    }
+
+    /**
+     * Adds a glyph to a word, see WordText.addText(GlyphText).
+     */
+    private void addText(int word, int glyph) {
+        int previous = lastGlyphs[word];
+        glyphWords[glyph] = word;
+        lastGlyphs[word] = glyph;
+        wordSizes[word] += unicodeOffsets[glyph + 1] - unicodeOffsets[glyph];
+        int offset = glyph * 4;
+        if (previous < 0 || clearedWords.get(word)) {
+            System.arraycopy(bounds, offset, wordBounds, word * 4, 4);
+            clearedWords.clear(word);
+        } else {
+            // extend the previous glyph to the start of this one.
+            int previousOffset = previous * 4;
+            double diff = bounds[offset] - (bounds[previousOffset] + bounds[previousOffset + 2]);
+            if (diff > 0) {
+                bounds[previousOffset + 2] = bounds[previousOffset + 2] + diff;
+            }
+            add(wordBounds, word * 4, bounds, offset);
+        }
+        double[] glyphExtractionBounds = distinctExtractionBounds.get(glyph) ? extractionBounds : bounds;
+        if (previous < 0) {
+            System.arraycopy(glyphExtractionBounds, offset, wordExtractionBounds, word * 4, 4);
+        } else {
+            add(wordExtractionBounds, word * 4, glyphExtractionBounds, offset);
+        }
+    }
+
+    private boolean detectNewLine(int word, int glyph) {
+        int previous = lastGlyphs[word];
+        if (previous >= 0 && WordText.autoSpaceInsertion) {
+            double[] previousBounds = getExtractionBounds(previous);
+            double[] glyphBounds = getExtractionBounds(glyph);
+            double tolerance = previousBounds[previous * 4 + 3] / WordText.spaceFraction;
+            double ydiff = Math.abs(glyphBounds[glyph * 4 + 1] - previousBounds[previous * 4 + 1]);
+            return ydiff > tolerance;
+        }
+        return false;
+    }
+
+    private boolean detectSpace(int word, int glyph) {
+        int previous = lastGlyphs[word];
+        if (previous >= 0 && WordText.autoSpaceInsertion) {
+            double[] previousBounds = getExtractionBounds(previous);
+            double[] glyphBounds = getExtractionBounds(glyph);
+            int previousOffset = previous * 4;
+            int offset = glyph * 4;
+            double space = Math.abs(glyphBounds[offset] -
+                    (previousBounds[previousOffset] + previousBounds[previousOffset + 2]));
+            double tolerance = previousBounds[previousOffset + 2] / WordText.spaceFraction;
+            double ydiff = Math.abs(glyphBounds[offset + 1] - previousBounds[previousOffset + 1]);
+            return space > tolerance || ydiff > tolerance;
+        }
+        return false;
+    }
+
+    /**
+     * Adds a white space word between the last glyph of the given word and the glyph, see
+     * WordText.buildSpaceWord(GlyphText, boolean).
+     */
+    private int buildSpaceWord(int word, int glyph, boolean autoSpaceInsertion) {
+        int previous = lastGlyphs[word];
+        Rectangle2D.Double bounds1 = getRect(getExtractionBounds(previous), previous, new Rectangle2D.Double());
+        Rectangle2D.Double bounds2 = getRect(getExtractionBounds(glyph), glyph, new Rectangle2D.Double());
+        double space = bounds2.x - (bounds1.x + bounds1.width);
+
+        double maxWidth = Math.max(bounds1.width, bounds2.width) / 2f;
+        int spaces = (int) (space / maxWidth);
+        if (spaces == 0) {
+            spaces = 1;
+        }
+        int whiteSpace = addWord(currentLine);
+        whiteSpaceWords.set(whiteSpace);
+        double offset;
+        double spaceWidth = space / spaces;
+        boolean ltr = true;
+        Rectangle2D.Double spaceBounds;
+        if (spaces > 0) {
+            offset = bounds1.x + bounds1.width;
+            spaceBounds = new Rectangle2D.Double(bounds1.x + bounds1.width, bounds1.y, spaceWidth, bounds1.height);
+        } else {
+            ltr = false;
+            offset = bounds1.x - bounds1.width;
+            spaces = 1;
+            spaceBounds = new Rectangle2D.Double(wordBounds[word * 4] - spaceWidth, bounds1.y,
+                    spaceWidth, bounds1.height);
+        }
+        if (autoSpaceInsertion) {
+            for (int i = 0; i < spaces && i < 50; i++) {
+                addSpace(whiteSpace, previous, offset, spaceBounds);
+                if (ltr) {
+                    spaceBounds.x += spaceBounds.width;
+                    offset += spaceWidth;
+                } else {
+                    spaceBounds.x -= spaceBounds.width;
+                    offset -= spaceWidth;
+                }
+            }
+        } else {
+            addSpace(whiteSpace, previous, offset, spaceBounds);
+        }
+        return whiteSpace;
+    }
+
+    private void addSpace(int whiteSpace, int previous, double offset, Rectangle2D.Double spaceBounds) {
+        // space glyphs get their own copy of the extraction bounds, like a new GlyphText.
+        int space = addGlyph((float) offset, y[previous], (float) offset, 0, spaceBounds, spaceBounds,
+                (char) 32, String.valueOf((char) 32), 0);
+        addText(whiteSpace, space);
+    }
+
+    private boolean isWhiteSpace(int glyph) {
+        int start = unicodeOffsets[glyph];
+        return start < unicodeOffsets[glyph + 1] && WordText.isWhiteSpace(unicode[start]);
+    }
+
+    private boolean isPunctuation(int glyph, int word) {
+        int start = unicodeOffsets[glyph];
+        if (start < unicodeOffsets[glyph + 1]) {
+            return WordText.isPunctuation(unicode[start]) &&
+                    !(word >= 0 && WordText.isDigit((char) getPreviousGlyphText(word)));
+        }
+        return false;
+    }
+
+    private int getPreviousGlyphText(int word) {
+        int glyph = lastGlyphs[word];
+        if (glyph >= 0 && unicodeOffsets[glyph] < unicodeOffsets[glyph + 1]) {
+            return unicode[unicodeOffsets[glyph]];
+        }
+        return 0;
+    }
+
+    private double[] getExtractionBounds(int glyph) {
+        return distinctExtractionBounds.get(glyph) ? extractionBounds : bounds;
+    }
+
+    private String getUnicode(int glyph) {
+        return new String(unicode, unicodeOffsets[glyph], unicodeOffsets[glyph + 1] - unicodeOffsets[glyph]);
+    }
+
+    private int addLine() {
+        if (lineCount == lineWordCounts.length) {
+            lineWordCounts = Arrays.copyOf(lineWordCounts, lineCount * 2);
+        }
+        lineWordStarts = null;
+        return lineCount++;
+    }
+
+    private int addWord(int line) {
+        if (wordCount == wordLines.length) {
+            int capacity = wordCount * 2;
+            wordLines = Arrays.copyOf(wordLines, capacity);
+            lastGlyphs = Arrays.copyOf(lastGlyphs, capacity);
+            wordSizes = Arrays.copyOf(wordSizes, capacity);
+            wordBounds = Arrays.copyOf(wordBounds, capacity * 4);
+            wordExtractionBounds = Arrays.copyOf(wordExtractionBounds, capacity * 4);
+        }
+        wordLines[wordCount] = line;
+        lastGlyphs[wordCount] = -1;
+        lineWordStarts = null;
+        return wordCount++;
+    }
+
+    private int addGlyph(float x, float y, float advanceX, float advanceY, Rectangle2D.Double glyphBounds,
+                         Rectangle2D.Double glyphExtractionBounds, char cid, String glyphUnicode,
+                         int fontSubTypeFormat) {
+        if (glyphCount == cids.length) {
+            int capacity = glyphCount * 2;
+            this.x = Arrays.copyOf(this.x, capacity);
+            this.y = Arrays.copyOf(this.y, capacity);
+            this.advanceX = Arrays.copyOf(this.advanceX, capacity);
+            this.advanceY = Arrays.copyOf(this.advanceY, capacity);
+            cids = Arrays.copyOf(cids, capacity);
+            fontSubTypeFormats = Arrays.copyOf(fontSubTypeFormats, capacity);
+            bounds = Arrays.copyOf(bounds, capacity * 4);
+            glyphWords = Arrays.copyOf(glyphWords, capacity);
+            unicodeOffsets = Arrays.copyOf(unicodeOffsets, capacity + 1);
+        }
+        int glyph = glyphCount++;
+        this.x[glyph] = x;
+        this.y[glyph] = y;
+        this.advanceX[glyph] = advanceX;
+        this.advanceY[glyph] = advanceY;
+        cids[glyph] = cid;
+        fontSubTypeFormats[glyph] = fontSubTypeFormat;
+        setRect(bounds, glyph, glyphBounds);
+        if (glyphExtractionBounds != null) {
+            if (extractionBounds == null) {
+                extractionBounds = new double[bounds.length];
+            } else if (extractionBounds.length <= glyph * 4) {
+                extractionBounds = Arrays.copyOf(extractionBounds, bounds.length);
+            }
+            setRect(extractionBounds, glyph, glyphExtractionBounds);
+            distinctExtractionBounds.set(glyph);
+        }
+        glyphWords[glyph] = -1;
+        int start = unicodeOffsets[glyph];
+        int length = glyphUnicode != null ? glyphUnicode.length() : 0;
+        if (start + length > unicode.length) {
+            unicode = Arrays.copyOf(unicode, Math.max(unicode.length * 2, start + length));
+        }
+        if (length > 0) {
+            glyphUnicode.getChars(0, length, unicode, start);
+        }
+        unicodeOffsets[glyph + 1] = start + length;
+        return glyph;
+    }
+
+    /**
+     * Builds the ordered words of each line and glyphs of each word, words and glyphs can be added out of order
+     * when lines of a form xObject are added in the middle of a line.
+     */
+    private void buildIndex() {
+        if (lineWordStarts != null) {
+            return;
+        }
+        wordGlyphStarts = new int[wordCount + 1];
+        wordGlyphOrder = buildIndex(glyphWords, glyphCount, wordGlyphStarts);
+        lineWordStarts = new int[lineCount + 1];
+        lineWordOrder = buildIndex(wordLines, wordCount, lineWordStarts);
+    }
+
+    /**
+     * Counting sort of the items by owner, keeping the order items were added in.
+     */
+    private static int[] buildIndex(int[] owners, int count, int[] starts) {
+        for (int i = 0; i < count; i++) {
+            if (owners[i] >= 0) {
+                starts[owners[i] + 1]++;
+            }
+        }
+        for (int i = 1; i < starts.length; i++) {
+            starts[i] += starts[i - 1];
+        }
+        int[] order = new int[starts[starts.length - 1]];
+        int[] next = Arrays.copyOf(starts, starts.length - 1);
+        for (int i = 0; i < count; i++) {
+            if (owners[i] >= 0) {
+                order[next[owners[i]]++] = i;
+            }
+        }
+        return order;
+    }
+
+    private static void setRect(double[] rects, int index, Rectangle2D.Double rect) {
+        int offset = index * 4;
+        rects[offset] = rect.x;
+        rects[offset + 1] = rect.y;
+        rects[offset + 2] = rect.width;
+        rects[offset + 3] = rect.height;
+    }
+
+    private static Rectangle2D.Double getRect(double[] rects, int index, Rectangle2D.Double rect) {
+        int offset = index * 4;
+        rect.setRect(rects[offset], rects[offset + 1], rects[offset + 2], rects[offset + 3]);
+        return rect;
+    }
+
+    /**
+     * Union of two rectangles, see Rectangle2D.add(Rectangle2D).
+     */
+    private static void add(double[] rects, int offset, double[] other, int otherOffset) {
+        double x1 = Math.min(rects[offset], other[otherOffset]);
+        double x2 = Math.max(rects[offset] + rects[offset + 2], other[otherOffset] + other[otherOffset + 2]);
+        double y1 = Math.min(rects[offset + 1], other[otherOffset + 1]);
+        double y2 = Math.max(rects[offset + 1] + rects[offset + 3], other[otherOffset + 1] + other[otherOffset + 3]);
+        rects[offset] = x1;
+        rects[offset + 1] = y1;
+        rects[offset + 2] = x2 - x1;
+        rects[offset + 3] = y2 - y1;
+    }
+}
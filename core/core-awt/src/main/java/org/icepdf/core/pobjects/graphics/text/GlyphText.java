@@ -127,6 +127,10 @@ public class GlyphText extends AbstractText {
         return y;
     }
 
+    public float getAdvanceY() {
+        return advanceY;
+    }
+
     public Rectangle2D.Double getBounds() {
         return bounds;
     }
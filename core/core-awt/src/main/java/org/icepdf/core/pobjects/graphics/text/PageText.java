@@ -40,6 +40,15 @@ import java.util.*;
  * layout and painting.  It is is used for painting text selectin via UI input
  * or search.  The seperation is needed so that the text represented in Page
  * text can be padded and sorted to aid in text extraction readability.
+ * <br>
+ * With the system property org.icepdf.core.views.page.text.compact=true glyphs
+ * are kept in a {@link CompactPageText} rather than a GlyphText, WordText and
+ * LineText object each.  Only plain text extraction with {@link #toString()}
+ * and the word text of {@link #getWordTexts()}, used to build search indexes,
+ * read the compact store.  Any call that needs the lines, such as
+ * {@link #getPageLines()}, {@link #find(WordText)}, selection, highlighting or
+ * search, builds the whole object hierarchy and drops the compact store, so the
+ * memory saving only holds for pages whose text is just extracted or indexed.
  *
  * @since 4.0
  */
@@ -47,6 +56,7 @@ public class PageText implements TextSelect {
 
     private static final boolean checkForDuplicates;
     private static final boolean preserveColumns;
+    private static final boolean compact;
 
     static {
         checkForDuplicates = Defs.booleanProperty(
@@ -54,12 +64,18 @@ public class PageText implements TextSelect {
 
         preserveColumns = Defs.booleanProperty(
                 "org.icepdf.core.views.page.text.preserveColumns", true);
+
+        compact = Defs.booleanProperty(
+                "org.icepdf.core.views.page.text.compact", false);
     }
 
     // pointer to current line during document parse, no other use.
     private LineText currentLine;
 
     private final ArrayList<LineText> pageLines;
+    // glyphs of the page lines until the line objects are needed, null once built or if not enabled.
+    // plain text and word text extraction are the only uses that don't build the line objects.
+    private CompactPageText compactText;
     private ArrayList<LineText> sortedPageLines;
 
     private AffineTransform previousTextTransform;
@@ -68,7 +84,17 @@ public class PageText implements TextSelect {
     private LinkedHashMap<OptionalContents, PageText> optionalPageLines;
 
     public PageText() {
+        this(compact);
+    }
+
+    /**
+     * @param useCompactText keep the glyphs in a compact text store rather than line, word and glyph objects.
+     */
+    PageText(boolean useCompactText) {
         pageLines = new ArrayList<>(64);
+        if (useCompactText) {
+            compactText = new CompactPageText();
+        }
     }
 
     public void newLine(LinkedList<OptionalContents> oCGs) {
@@ -90,6 +116,10 @@ public class PageText implements TextSelect {
     }
 
     public void newLine() {
+        if (compactText != null) {
+            compactText.newLine();
+            return;
+        }
         // make sure we don't insert a new line if the previous has no words.
         if (currentLine != null &&
                 currentLine.getWords().size() == 0) {
@@ -100,6 +130,10 @@ public class PageText implements TextSelect {
     }
 
     protected void addGlyph(GlyphText sprite) {
+        if (compactText != null) {
+            compactText.addGlyph(sprite);
+            return;
+        }
         if (currentLine == null) {
             newLine();
         }
@@ -136,7 +170,7 @@ public class PageText implements TextSelect {
      * @return list of all visible lineText.
      */
     private ArrayList<LineText> getVisiblePageLines(boolean skip) {
-        ArrayList<LineText> visiblePageLines = skip ? new ArrayList<>() : new ArrayList<>(pageLines);
+        ArrayList<LineText> visiblePageLines = skip ? new ArrayList<>() : new ArrayList<>(getRawPageLines());
         // add optional content text that is visible.
         // check optional content.
         if (optionalPageLines != null) {
@@ -159,7 +193,7 @@ public class PageText implements TextSelect {
     }
 
     private ArrayList<LineText> getAllPageLines() {
-        ArrayList<LineText> visiblePageLines = new ArrayList<>(pageLines);
+        ArrayList<LineText> visiblePageLines = new ArrayList<>(getRawPageLines());
         // add optional content text that is visible.
         // check optional content.
         if (optionalPageLines != null) {
@@ -189,20 +223,43 @@ public class PageText implements TextSelect {
      */
     public void addPageLines(ArrayList<LineText> pageLines) {
         if (pageLines != null) {
-            this.pageLines.addAll(pageLines);
+            if (compactText != null) {
+                compactText.addLines(pageLines);
+            } else {
+                this.pageLines.addAll(pageLines);
+            }
         }
     }
 
+    /**
+     * Gets the unsorted page lines, the line, word and glyph objects are built from the compact text store the
+     * first time they are needed.
+     *
+     * @return page lines in content stream order.
+     */
+    private ArrayList<LineText> getRawPageLines() {
+        if (compactText != null) {
+            pageLines.addAll(compactText.createLines());
+            compactText = null;
+            currentLine = null;
+        }
+        return pageLines;
+    }
+
     public void setTextTransform(AffineTransform affineTransform) {
         // look to see if we have shear and thus text that has been rotated, if so we insert a page break
-        if (previousTextTransform != null && currentLine != null) {
+        if (previousTextTransform != null && (currentLine != null || compactText != null)) {
             // hard round as we're just looking for a 90 degree shift in writing direction.
             // if found we clear the current work so we can start a new word.
             if ((previousTextTransform.getShearX() < 0 && (int) affineTransform.getShearX() > 0) ||
                     (previousTextTransform.getShearX() > 0 && (int) affineTransform.getShearX() < 0) ||
                     (previousTextTransform.getShearY() < 0 && (int) affineTransform.getShearY() > 0) ||
                     (previousTextTransform.getShearY() > 0 && (int) affineTransform.getShearY() < 0)) {
-                currentLine.clearCurrentWord();
+                if (compactText != null) {
+                    compactText.clearCurrentWord();
+                } else {
+                    currentLine.clearCurrentWord();
+                }
             }
         }
         previousTextTransform = affineTransform;
@@ -258,6 +315,10 @@ public class PageText implements TextSelect {
      * Utility to apply specified transform to all glyphs in the pageLine array
      */
     private void applyTextTransform(AffineTransform transform) {
+        if (compactText != null) {
+            compactText.transform(transform);
+            return;
+        }
         for (LineText lineText : pageLines) {
             lineText.clearBounds();
             for (WordText wordText : lineText.getWords()) {
@@ -374,6 +435,10 @@ public class PageText implements TextSelect {
     }
 
     public String toString() {
+        // plain text can be extracted from the compact store as long as there is no optional content to merge.
+        if (compactText != null && optionalPageLines == null && compactText.isExtractable()) {
+            return compactText.getText(checkForDuplicates, preserveColumns);
+        }
         StringBuilder extractedText = new StringBuilder();
         final List<LineText> sortedLines = getPageLines();
         for (LineText lineText : sortedLines) {
@@ -386,6 +451,26 @@ public class PageText implements TextSelect {
         return extractedText.toString();
     }
 
+    /**
+     * Gets the text of each word in the order of {@link #getPageLines()}.  The words are read from the compact
+     * store when there is one, without building the line, word and glyph objects, so a page's words can be indexed
+     * as cheaply as its plain text is extracted.
+     *
+     * @return text of each word of the sorted page lines.
+     */
+    public List<String> getWordTexts() {
+        if (compactText != null && optionalPageLines == null && compactText.isExtractable()) {
+            return compactText.getWordTexts(checkForDuplicates, preserveColumns);
+        }
+        ArrayList<String> wordTexts = new ArrayList<>();
+        for (LineText lineText : getPageLines()) {
+            for (WordText wordText : lineText.getWords()) {
+                wordTexts.add(wordText.getText());
+            }
+        }
+        return wordTexts;
+    }
+
     /**
      * Utility to find the currently displayed word instance as there is a chance that a page's PageText has been
      * reinstantiated.
@@ -394,7 +479,7 @@ public class PageText implements TextSelect {
      * @return current object of the same wordText value.
      */
     public WordText find(WordText word) {
-        for (LineText lineText : pageLines) {
+        for (LineText lineText : getRawPageLines()) {
             for (WordText wordText : lineText.getWords()) {
                 if (word.equals(wordText)) return wordText;
             }
@@ -497,7 +582,7 @@ public class PageText implements TextSelect {
      * sorted once more by each words x coordinate.
      */
     public void sortAndFormatText() {
-        ArrayList<LineText> visiblePageLines = new ArrayList<>(pageLines);
+        ArrayList<LineText> visiblePageLines = new ArrayList<>(getRawPageLines());
         // create new array for storing the sorted lines
         ArrayList<LineText> sortedPageLines = sortLinesVertically(visiblePageLines);
         // try and insert the option words on existing lines
@@ -83,6 +83,30 @@ public class WordText extends AbstractText implements TextSelect {
         glyphs = new ArrayList<>(4);
     }
 
+    /**
+     * Creates a word from glyphs that have already been through word detection, used to build the words of a
+     * {@link CompactPageText}.
+     *
+     * @param glyphs               glyphs of the word.
+     * @param text                 text of the glyphs.
+     * @param bounds               page space bounds, null if they have to be calculated from the glyphs.
+     * @param textExtractionBounds text extraction bounds.
+     * @param isWhiteSpace         true if the word is white space.
+     */
+    WordText(ArrayList<GlyphText> glyphs, StringBuilder text, Rectangle2D.Double bounds,
+             Rectangle2D.Double textExtractionBounds, boolean isWhiteSpace) {
+        this.glyphs = glyphs;
+        this.text = text;
+        this.bounds = bounds;
+        this.textExtractionBounds = textExtractionBounds;
+        this.isWhiteSpace = isWhiteSpace;
+        if (glyphs.size() > 0) {
+            currentGlyph = glyphs.get(glyphs.size() - 1);
+            String unicode = currentGlyph.getUnicode();
+            previousGlyphText = unicode != null && unicode.length() > 0 ? unicode.charAt(0) : 0;
+        }
+    }
+
     public int size(){
         return text.length();
     }
@@ -16,6 +16,7 @@
 package org.icepdf.core.pobjects.security;
 
 import org.icepdf.core.pobjects.Reference;
+import org.icepdf.core.util.Defs;
 import org.icepdf.core.util.Utils;
 
 import javax.crypto.*;
@@ -29,6 +30,8 @@ import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.security.*;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -39,6 +42,13 @@ import java.util.logging.Logger;
  * <br>
  * All of the algorithms used for encryption related calculations are based
  * on the suto code described in the Adobe PDF Specification 1.5.
+ * <br>
+ * Decryption is thread safe without a global lock.  The object keys derived by
+ * algorithm 3.1 are cached per object reference in a bounded LRU map, so the
+ * strings of an object and its stream share one MD5 derivation, the map size is
+ * set with the system property "org.icepdf.core.security.objectKeyCacheSize",
+ * default 1024.  Ciphers and message digests used for strings are reused per
+ * thread, streams get their own cipher as they are decrypted lazily.
  *
  * @since 1.1
  */
@@ -97,17 +107,26 @@ class StandardEncryption {
     // block size of aes key.
     private static final int BLOCK_SIZE = 16;
 
+    private static int objectKeyCacheSize;
+
+    static {
+        objectKeyCacheSize = Defs.intProperty("org.icepdf.core.security.objectKeyCacheSize", 1024);
+    }
+
+    // per thread instances for work that completes within a single call.
+    private static final ThreadLocal<Cipher> rc4Ciphers = new ThreadLocal<>();
+    private static final ThreadLocal<Cipher> aesCiphers = new ThreadLocal<>();
+    private static final ThreadLocal<MessageDigest> md5Digests = new ThreadLocal<>();
+
     // Stores data about encryption
     private final EncryptionDictionary encryptionDictionary;
 
     // Standard encryption key
     private byte[] encryptionKey;
 
-    // last used object reference
-    private Reference objectReference;
-
-    // last used RC4 encryption key
-    private byte[] rc4Key = null;
+    // object keys by object reference, RC4 and AES keys differ by the sAlT extension.
+    private final Map<Reference, byte[]> rc4ObjectKeys = createObjectKeyCache();
+    private final Map<Reference, byte[]> aesObjectKeys = createObjectKeyCache();
 
     // user password;
     private String userPassword = null;
@@ -134,11 +153,11 @@ class StandardEncryption {
      * @param inputData       date to encrypted/decrypt.
      * @return encrypted/decrypted data.
      */
-    public synchronized byte[] generalEncryptionAlgorithm(final Reference objectReference,
-                                                          final byte[] encryptionKey,
-                                                          final String algorithmType,
-                                                          byte[] inputData,
-                                                          final boolean encrypt) {
+    public byte[] generalEncryptionAlgorithm(final Reference objectReference,
+                                             final byte[] encryptionKey,
+                                             final String algorithmType,
+                                             byte[] inputData,
+                                             final boolean encrypt) {
 
         if (objectReference == null || encryptionKey == null ||
                 inputData == null) {
@@ -152,22 +171,7 @@ class StandardEncryption {
             // RC4 or AES algorithm detection
             final boolean isRc4 = algorithmType.equals(ENCRYPTION_TYPE_V2);
 
-            // optimization, if the encryptionKey and objectReference are the
-            // same there is no reason to calculate a new key.
-            if (rc4Key == null || !Arrays.equals(this.encryptionKey, encryptionKey) ||
-                    !this.objectReference.equals(objectReference)) {
-
-                this.objectReference = objectReference;
-
-                // Step 1 to 3, bytes
-                final byte[] step3Bytes = resetObjectReference(objectReference, isRc4);
-
-                // Step 4: Use the first (n+5) byes, up to a max of 16 from the MD5
-                // hash
-                final int n = encryptionKey.length;
-                rc4Key = new byte[Math.min(n + 5, BLOCK_SIZE)];
-                System.arraycopy(step3Bytes, 0, rc4Key, 0, rc4Key.length);
-            }
+            final byte[] rc4Key = getObjectKey(objectReference, encryptionKey, isRc4);
 
             // if we are encrypting we need to properly pad the byte array.
             final int encryptionMode = encrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE;
@@ -179,13 +183,13 @@ class StandardEncryption {
                 if (isRc4) {
                     // Use above as key for the RC4 encryption function.
                     final SecretKeySpec key = new SecretKeySpec(rc4Key, "RC4");
-                    final Cipher rc4 = Cipher.getInstance("RC4");
+                    final Cipher rc4 = getCipher(rc4Ciphers, "RC4");
                     rc4.init(encryptionMode, key);
                     // finally add the stream or string data
                     finalData = rc4.doFinal(inputData);
                 } else {
                     final SecretKeySpec key = new SecretKeySpec(rc4Key, "AES");
-                    final Cipher aes = Cipher.getInstance("AES/CBC/PKCS5Padding");
+                    final Cipher aes = getCipher(aesCiphers, "AES/CBC/PKCS5Padding");
 
                     // decrypt the data.
                     if (encryptionMode == Cipher.DECRYPT_MODE) {
@@ -252,7 +256,7 @@ class StandardEncryption {
             // stream or string.
             try {
                 final SecretKeySpec key = new SecretKeySpec(encryptionKey, "AES");
-                final Cipher aes = Cipher.getInstance("AES/CBC/PKCS5Padding");
+                final Cipher aes = getCipher(aesCiphers, "AES/CBC/PKCS5Padding");
 
                 // calculate 16 byte initialization vector.
                 final byte[] initialisationVector = new byte[BLOCK_SIZE];
@@ -304,9 +308,10 @@ class StandardEncryption {
      * General encryption algorithm 3.1 for encryption of data using an
      * encryption key.
      * <p>
-     * Must be synchronized for stream decoding.
+     * The returned stream decrypts as it's read, so each stream gets its own
+     * cipher instance rather than a per thread one.
      */
-    public synchronized InputStream generalEncryptionInputStream(
+    public InputStream generalEncryptionInputStream(
             final Reference objectReference,
             final byte[] encryptionKey,
             final String algorithmType,
@@ -321,22 +326,7 @@ class StandardEncryption {
             // RC4 or AES algorithm detection
             final boolean isRc4 = algorithmType.equals(ENCRYPTION_TYPE_V2);
 
-            // optimization, if the encryptionKey and objectReference are the
-            // same there is no reason to calculate a new key.
-            if (rc4Key == null || !Arrays.equals(this.encryptionKey, encryptionKey) ||
-                    !this.objectReference.equals(objectReference)) {
-
-                this.objectReference = objectReference;
-
-                // Step 1 to 3, bytes
-                final byte[] step3Bytes = resetObjectReference(objectReference, isRc4);
-
-                // Step 4: Use the first (n+5) byes, up to a max of 16 from the MD5
-                // hash
-                final int n = encryptionKey.length;
-                rc4Key = new byte[Math.min(n + 5, BLOCK_SIZE)];
-                System.arraycopy(step3Bytes, 0, rc4Key, 0, rc4Key.length);
-            }
+            final byte[] rc4Key = getObjectKey(objectReference, encryptionKey, isRc4);
 
             // if we are encrypting we need to properly pad the byte array.
             final int encryptionMode = encrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE;
@@ -435,6 +425,80 @@ class StandardEncryption {
         return null;
     }
 
+    /**
+     * Step 4 of the general encryption algorithm 3.1, gets the object key for
+     * the given reference, from the cache if the key was derived from the
+     * document encryption key.
+     *
+     * @param objectReference object being encrypted or decrypted.
+     * @param encryptionKey   encryption key for the document.
+     * @param isRc4           true for RC4, false for AES.
+     * @return first n + 5 bytes, up to a max of 16, of the step 3 MD5 hash.
+     */
+    private byte[] getObjectKey(final Reference objectReference, final byte[] encryptionKey,
+                                final boolean isRc4) {
+        final boolean cacheable = Arrays.equals(this.encryptionKey, encryptionKey);
+        final Map<Reference, byte[]> objectKeys = isRc4 ? rc4ObjectKeys : aesObjectKeys;
+        if (cacheable) {
+            synchronized (objectKeys) {
+                final byte[] objectKey = objectKeys.get(objectReference);
+                if (objectKey != null) {
+                    return objectKey;
+                }
+            }
+        }
+        // Step 1 to 3, bytes
+        final byte[] step3Bytes = resetObjectReference(objectReference, isRc4);
+
+        // Step 4: Use the first (n+5) byes, up to a max of 16 from the MD5
+        // hash
+        final int n = encryptionKey.length;
+        final byte[] objectKey = new byte[Math.min(n + 5, BLOCK_SIZE)];
+        System.arraycopy(step3Bytes, 0, objectKey, 0, objectKey.length);
+        if (cacheable) {
+            synchronized (objectKeys) {
+                objectKeys.put(objectReference, objectKey);
+            }
+        }
+        return objectKey;
+    }
+
+    /**
+     * Clears the cached object keys, must be called when the document
+     * encryption key changes.
+     */
+    private void clearObjectKeys() {
+        synchronized (rc4ObjectKeys) {
+            rc4ObjectKeys.clear();
+        }
+        synchronized (aesObjectKeys) {
+            aesObjectKeys.clear();
+        }
+    }
+
+    private static Map<Reference, byte[]> createObjectKeyCache() {
+        return new LinkedHashMap<Reference, byte[]>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Reference, byte[]> eldest) {
+                return size() > objectKeyCacheSize;
+            }
+        };
+    }
+
+    /**
+     * Gets this thread's cipher for the given transformation, only for use
+     * within a single call as the cipher is re-initialized by the next one.
+     */
+    private static Cipher getCipher(final ThreadLocal<Cipher> ciphers, final String transformation)
+            throws NoSuchAlgorithmException, NoSuchPaddingException {
+        Cipher cipher = ciphers.get();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(transformation);
+            ciphers.set(cipher);
+        }
+        return cipher;
+    }
+
     /**
      * Step 1-3 of the general encryption algorithm 3.1.  The procedure
      * is as follows:
@@ -499,10 +563,13 @@ class StandardEncryption {
         }
 
         // Step 3: Initialize the MD5 hash function and pass in step2Bytes
-        MessageDigest md5 = null;
-        try {
-            md5 = MessageDigest.getInstance("MD5");
-        } catch (final NoSuchAlgorithmException builtin) {
+        MessageDigest md5 = md5Digests.get();
+        if (md5 == null) {
+            try {
+                md5 = MessageDigest.getInstance("MD5");
+                md5Digests.set(md5);
+            } catch (final NoSuchAlgorithmException builtin) {
+            }
         }
         // and pass in padded password from step 1
         md5.update(step2Bytes);
@@ -592,6 +659,7 @@ class StandardEncryption {
                     keySize);
             // assign instance
             encryptionKey = out;
+            clearObjectKeys();
 
             return out;
         }
@@ -667,6 +735,7 @@ class StandardEncryption {
                     computeSha256(passwordBytes, salt, uPassword) :
                     computeHashRev6(passwordBytes, salt, uPassword);
             encryptionKey = AES256CBC(hash, ePassword);
+            clearObjectKeys();
             // 5.)Decrypt the 16-byte Perms string using AES-256 in ECB mode
             // with an initialization vector of zero and the file encryption
             // key as the key.
@@ -10,7 +10,6 @@ import org.icepdf.core.util.parser.object.Parser;
 
 import java.io.IOException;
 import java.util.HashMap;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *
@@ -19,7 +18,7 @@ public abstract class CrossReferenceBase<T extends Dictionary> implements CrossR
 
     public final T crossReference;
 
-    protected final ConcurrentHashMap<Reference, CrossReferenceEntry> indirectObjectReferences;
+    protected final CrossReferenceIndex indirectObjectReferences;
     protected CrossReference prevCrossReference;
 
     protected int xrefStartPos;
@@ -27,7 +26,8 @@ public abstract class CrossReferenceBase<T extends Dictionary> implements CrossR
     public CrossReferenceBase(T crossReference, int xrefStartPos) {
         this.crossReference = crossReference;
         this.xrefStartPos = xrefStartPos;
-        indirectObjectReferences = new ConcurrentHashMap<>(1024);
+        // sized from the subsection ranges as they are parsed, /Size covers the whole document not the section.
+        indirectObjectReferences = new CrossReferenceIndex();
     }
 
     public PObject loadObject(ObjectLoader objectLoader, Reference reference, Name hint)
@@ -40,7 +40,7 @@ public abstract class CrossReferenceBase<T extends Dictionary> implements CrossR
 
     public CrossReferenceEntry getEntry(Reference reference) throws ObjectStateException,
             CrossReferenceStateException, IOException {
-        CrossReferenceEntry crossReferenceEntry = indirectObjectReferences.get(reference);
+        CrossReferenceEntry crossReferenceEntry = indirectObjectReferences.getEntry(reference);
         DictionaryEntries entries = crossReference.getEntries();
         Library library = crossReference.getLibrary();
         if (crossReferenceEntry == null && entries.get(PTrailer.PREV_KEY) != null) {
@@ -69,12 +69,23 @@ public abstract class CrossReferenceBase<T extends Dictionary> implements CrossR
             completeIndirectReferences.putAll(prevCrossReference.getEntries());
         }
         // current after previous so we get the most recent object
-        completeIndirectReferences.putAll(indirectObjectReferences);
+        indirectObjectReferences.copyInto(completeIndirectReferences);
         return completeIndirectReferences;
     }
 
     public CrossReferenceEntry getEntryNoDescendents(Reference reference) {
-        return indirectObjectReferences.get(reference);
+        return indirectObjectReferences.getEntry(reference);
+    }
+
+    /**
+     * Checks if this section, not including previous sections, has an entry for the given object number regardless
+     * of its generation.
+     *
+     * @param objectNumber object number to check.
+     * @return true if the section has an entry for the object.
+     */
+    public boolean hasEntryNoDescendents(int objectNumber) {
+        return indirectObjectReferences.containsObjectNumber(objectNumber);
     }
 
     public int getXrefStartPos() {
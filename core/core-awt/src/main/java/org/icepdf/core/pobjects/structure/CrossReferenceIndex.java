@@ -0,0 +1,302 @@
+package org.icepdf.core.pobjects.structure;
+
+import org.icepdf.core.pobjects.Reference;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Compact storage for the entries of a cross-reference section.  Entries are kept in parallel primitive arrays
+ * indexed by object number rather than as a map of Reference keys to entry objects, which removes two objects and a
+ * hash lookup per PDF object.  Entry objects are only created when an entry is looked up.
+ * <br>
+ * For a used entry the offset column holds the file position of the object and the generation column its generation
+ * number.  For a compressed entry the offset column holds the object number of the containing object stream and the
+ * generation column the index of the object within that stream.
+ * <br>
+ * The arrays only cover a window of object numbers, sized from the subsection ranges announced with
+ * {@link #reserve(int, int)} and grown as entries are added, and the window is only allowed to span a few slots
+ * per entry.  Entries that would make the window sparse, for example the handful of objects of an incremental
+ * update section or the bogus object numbers of a damaged file, are kept in a map instead.  The index is populated
+ * while the cross-reference is parsed, before it's shared with other threads, and is read only afterwards.
+ *
+ * @since 7.3.0
+ */
+public class CrossReferenceIndex {
+
+    // entry types are stored as type + 1 so zero can mark an empty slot.
+    private static final byte EMPTY = 0;
+
+    // windows spanning up to this many slots are always allowed.
+    private static final int MIN_WINDOW = 64;
+    // slots the window may span per entry, sparser sections use the map.
+    private static final int MAX_SLOTS_PER_ENTRY = 4;
+    // largest window reserved for one subsection, damaged files can declare bogus counts.
+    private static final int MAX_RESERVE = 1 << 20;
+
+    // object number of the first slot of the arrays.
+    private int base;
+    private byte[] types = new byte[0];
+    private long[] offsets = new long[0];
+    private int[] generations = new int[0];
+    private int denseSize;
+    private HashMap<Integer, CrossReferenceEntry> sparse;
+    // number of entries announced by the subsection headers.
+    private long expectedSize;
+
+    /**
+     * Announces a subsection of the cross-reference so the arrays can be sized for it before its entries are
+     * added.  Subsections that would make the arrays sparse are left to grow entry by entry or go to the map.
+     *
+     * @param firstObjectNumber object number of the first entry of the subsection.
+     * @param count             number of entries in the subsection.
+     */
+    public void reserve(int firstObjectNumber, int count) {
+        if (firstObjectNumber < 0 || count <= 0) {
+            return;
+        }
+        count = Math.min(count, MAX_RESERVE);
+        expectedSize += count;
+        cover(firstObjectNumber, (long) firstObjectNumber + count);
+    }
+
+    /**
+     * Adds or replaces the entry of an uncompressed object.
+     *
+     * @param objectNumber         object number.
+     * @param generationNumber     generation number.
+     * @param filePositionOfObject byte offset of the object in the file.
+     */
+    public void addUsedEntry(int objectNumber, int generationNumber, long filePositionOfObject) {
+        if (objectNumber < 0) {
+            return;
+        }
+        if (!isInWindow(objectNumber) && !cover(objectNumber, objectNumber + 1L)) {
+            addSparse(objectNumber, new CrossReferenceUsedEntry(
+                    objectNumber, generationNumber, (int) filePositionOfObject));
+            return;
+        }
+        set(objectNumber, CrossReferenceEntry.TYPE_USED, filePositionOfObject, generationNumber);
+    }
+
+    /**
+     * Adds or replaces the entry of an object stored in an object stream.
+     *
+     * @param objectNumber                         object number.
+     * @param objectNumberOfContainingObjectStream object number of the containing object stream.
+     * @param indexWithinObjectStream              index of the object in the object stream.
+     */
+    public void addCompressedEntry(int objectNumber, int objectNumberOfContainingObjectStream,
+                                   int indexWithinObjectStream) {
+        if (objectNumber < 0) {
+            return;
+        }
+        if (!isInWindow(objectNumber) && !cover(objectNumber, objectNumber + 1L)) {
+            addSparse(objectNumber, new CrossReferenceCompressedEntry(
+                    objectNumber, objectNumberOfContainingObjectStream, indexWithinObjectStream));
+            return;
+        }
+        set(objectNumber, CrossReferenceEntry.TYPE_COMPRESSED, objectNumberOfContainingObjectStream,
+                indexWithinObjectStream);
+    }
+
+    /**
+     * Adds or replaces an entry, free entries are ignored.
+     *
+     * @param entry entry to add.
+     */
+    public void addEntry(CrossReferenceEntry entry) {
+        if (entry instanceof CrossReferenceUsedEntry) {
+            CrossReferenceUsedEntry usedEntry = (CrossReferenceUsedEntry) entry;
+            addUsedEntry(usedEntry.objectNumber, usedEntry.getGenerationNumber(),
+                    usedEntry.getFilePositionOfObject());
+        } else if (entry instanceof CrossReferenceCompressedEntry) {
+            CrossReferenceCompressedEntry compressedEntry = (CrossReferenceCompressedEntry) entry;
+            addCompressedEntry(compressedEntry.objectNumber,
+                    compressedEntry.getObjectNumberOfContainingObjectStream().getObjectNumber(),
+                    compressedEntry.getIndexWithinObjectStream());
+        }
+    }
+
+    /**
+     * Checks if there is an entry for the given object number, regardless of generation.
+     *
+     * @param objectNumber object number to check.
+     * @return true if the section has an entry for the object.
+     */
+    public boolean containsObjectNumber(int objectNumber) {
+        if (isInWindow(objectNumber)) {
+            return types[objectNumber - base] != EMPTY;
+        }
+        return sparse != null && sparse.containsKey(objectNumber);
+    }
+
+    /**
+     * Gets the entry for the given reference.  Used entries must match the reference's generation, compressed
+     * entries always have a generation of zero.
+     *
+     * @param reference object reference.
+     * @return entry for the reference, null if the section has no entry for it.
+     */
+    public CrossReferenceEntry getEntry(Reference reference) {
+        if (reference == null) {
+            return null;
+        }
+        int objectNumber = reference.getObjectNumber();
+        int generationNumber = reference.getGenerationNumber();
+        CrossReferenceEntry entry;
+        if (isInWindow(objectNumber)) {
+            entry = createEntry(objectNumber);
+        } else if (sparse != null) {
+            entry = sparse.get(objectNumber);
+        } else {
+            entry = null;
+        }
+        if (entry instanceof CrossReferenceUsedEntry &&
+                ((CrossReferenceUsedEntry) entry).getGenerationNumber() != generationNumber) {
+            return null;
+        } else if (entry instanceof CrossReferenceCompressedEntry && generationNumber != 0) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * @return number of entries in the index.
+     */
+    public int size() {
+        return denseSize + (sparse != null ? sparse.size() : 0);
+    }
+
+    /**
+     * @return number of object number slots allocated for the arrays.
+     */
+    int getCapacity() {
+        return types.length;
+    }
+
+    /**
+     * Copies all the entries into the given map keyed by reference.
+     *
+     * @param entries map to add the entries to.
+     */
+    public void copyInto(Map<Reference, CrossReferenceEntry> entries) {
+        for (int i = 0; i < types.length; i++) {
+            CrossReferenceEntry entry = createEntry(base + i);
+            if (entry != null) {
+                entries.put(getReference(entry), entry);
+            }
+        }
+        if (sparse != null) {
+            for (CrossReferenceEntry entry : sparse.values()) {
+                entries.put(getReference(entry), entry);
+            }
+        }
+    }
+
+    private static Reference getReference(CrossReferenceEntry entry) {
+        int generation = entry instanceof CrossReferenceUsedEntry ?
+                ((CrossReferenceUsedEntry) entry).getGenerationNumber() : 0;
+        return new Reference(entry.objectNumber, generation);
+    }
+
+    private CrossReferenceEntry createEntry(int objectNumber) {
+        int slot = objectNumber - base;
+        switch (types[slot] - 1) {
+            case CrossReferenceEntry.TYPE_USED:
+                return new CrossReferenceUsedEntry(objectNumber, generations[slot], (int) offsets[slot]);
+            case CrossReferenceEntry.TYPE_COMPRESSED:
+                return new CrossReferenceCompressedEntry(objectNumber, (int) offsets[slot], generations[slot]);
+            default:
+                return null;
+        }
+    }
+
+    private boolean isInWindow(int objectNumber) {
+        return objectNumber >= base && objectNumber - base < types.length;
+    }
+
+    /**
+     * Grows, or moves if it's still empty, the window of the arrays so it covers the given object numbers, as long
+     * as the window doesn't become sparse.  Slots are indexed by int so the window can't reach past
+     * Integer.MAX_VALUE - 1, the last object number goes to the map.
+     *
+     * @param first first object number to cover.
+     * @param end   object number after the last one to cover.
+     * @return true if the window covers the object numbers.
+     */
+    private boolean cover(int first, long end) {
+        if (end > Integer.MAX_VALUE) {
+            return false;
+        }
+        long windowEnd = (long) base + types.length;
+        if (types.length > 0 && first >= base && end <= windowEnd) {
+            return true;
+        }
+        int newBase = denseSize == 0 ? first : Math.min(base, first);
+        long newEnd = denseSize == 0 ? end : Math.max(windowEnd, end);
+        long span = newEnd - newBase;
+        long maxSpan = Math.max(MIN_WINDOW, MAX_SLOTS_PER_ENTRY * (Math.max(expectedSize, size()) + 1L));
+        if (span > maxSpan) {
+            return false;
+        }
+        long capacity = span;
+        if (denseSize > 0 && newEnd > windowEnd) {
+            // leave room above so ascending object numbers don't copy the arrays on every add.
+            capacity = Math.max(span, Math.min(maxSpan, types.length * 2L));
+        }
+        capacity = Math.min(capacity, Integer.MAX_VALUE - (long) newBase);
+        byte[] newTypes = new byte[(int) capacity];
+        long[] newOffsets = new long[(int) capacity];
+        int[] newGenerations = new int[(int) capacity];
+        if (denseSize > 0) {
+            int shift = base - newBase;
+            System.arraycopy(types, 0, newTypes, shift, types.length);
+            System.arraycopy(offsets, 0, newOffsets, shift, offsets.length);
+            System.arraycopy(generations, 0, newGenerations, shift, generations.length);
+        }
+        base = newBase;
+        types = newTypes;
+        offsets = newOffsets;
+        generations = newGenerations;
+        // entries of the map that now fall in the window move to the arrays.
+        if (sparse != null) {
+            Iterator<CrossReferenceEntry> iterator = sparse.values().iterator();
+            while (iterator.hasNext()) {
+                CrossReferenceEntry entry = iterator.next();
+                if (isInWindow(entry.objectNumber)) {
+                    iterator.remove();
+                    if (entry instanceof CrossReferenceUsedEntry) {
+                        CrossReferenceUsedEntry usedEntry = (CrossReferenceUsedEntry) entry;
+                        set(entry.objectNumber, CrossReferenceEntry.TYPE_USED,
+                                usedEntry.getFilePositionOfObject(), usedEntry.getGenerationNumber());
+                    } else {
+                        CrossReferenceCompressedEntry compressedEntry = (CrossReferenceCompressedEntry) entry;
+                        set(entry.objectNumber, CrossReferenceEntry.TYPE_COMPRESSED,
+                                compressedEntry.getObjectNumberOfContainingObjectStream().getObjectNumber(),
+                                compressedEntry.getIndexWithinObjectStream());
+                    }
+                }
+            }
+        }
+        return first >= base && end <= (long) base + types.length;
+    }
+
+    private void set(int objectNumber, int type, long offset, int generation) {
+        int slot = objectNumber - base;
+        if (types[slot] == EMPTY) {
+            denseSize++;
+        }
+        types[slot] = (byte) (type + 1);
+        offsets[slot] = offset;
+        generations[slot] = generation;
+    }
+
+    private void addSparse(int objectNumber, CrossReferenceEntry entry) {
+        if (sparse == null) {
+            sparse = new HashMap<>();
+        }
+        sparse.put(objectNumber, entry);
+    }
+}
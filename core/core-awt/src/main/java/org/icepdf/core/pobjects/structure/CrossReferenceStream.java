@@ -2,7 +2,6 @@ package org.icepdf.core.pobjects.structure;
 
 import org.icepdf.core.pobjects.DictionaryEntries;
 import org.icepdf.core.pobjects.Name;
-import org.icepdf.core.pobjects.Reference;
 import org.icepdf.core.pobjects.Stream;
 import org.icepdf.core.util.Library;
 import org.icepdf.core.util.Utils;
@@ -29,6 +28,10 @@ public class CrossReferenceStream extends CrossReferenceBase<Stream> implements
         super(new Stream(library, dictionaryEntries, rawBytes), 0);
     }
 
+    public CrossReferenceStream(Library library, DictionaryEntries dictionaryEntries, ByteBuffer rawByteBuffer) {
+        super(new Stream(library, dictionaryEntries, rawByteBuffer), 0);
+    }
+
     public void initialize() {
         int size = crossReference.getInt(SIZE_KEY);
         List<Number> objNumAndEntriesCountPairs = crossReference.getList(INDEX_KEY);
@@ -58,6 +61,7 @@ public class CrossReferenceStream extends CrossReferenceBase<Stream> implements
             int startingObjectNumber = objNumAndEntriesCountPairs.get(xrefSubsection).intValue();
             int entriesCount = objNumAndEntriesCountPairs.get(xrefSubsection + 1).intValue();
             int afterObjectNumber = startingObjectNumber + entriesCount;
+            indirectObjectReferences.reserve(startingObjectNumber, entriesCount);
             for (int objectNumber = startingObjectNumber; objectNumber < afterObjectNumber; objectNumber++) {
                 int entryType = CrossReferenceEntry.TYPE_USED;    // Default value is 1
                 if (fieldTypeSize > 0)
@@ -89,13 +93,12 @@ public class CrossReferenceStream extends CrossReferenceBase<Stream> implements
     }
 
     private void addUsedEntry(int objectNumber, int generationNumber, int filePositionOfObject) {
-        CrossReferenceUsedEntry entry = new CrossReferenceUsedEntry(objectNumber, generationNumber, filePositionOfObject);
-        indirectObjectReferences.put(new Reference(objectNumber, generationNumber), entry);
+        indirectObjectReferences.addUsedEntry(objectNumber, generationNumber, filePositionOfObject);
     }
 
     private void addCompressedEntry(int objectNumber, int objectNumberOfContainingObjectStream, int indexWithinObjectStream) {
-        CrossReferenceCompressedEntry entry = new CrossReferenceCompressedEntry(objectNumber, objectNumberOfContainingObjectStream, indexWithinObjectStream);
-        indirectObjectReferences.put(new Reference(objectNumber, 0), entry);
+        indirectObjectReferences.addCompressedEntry(objectNumber, objectNumberOfContainingObjectStream,
+                indexWithinObjectStream);
     }
 
 }
\ No newline at end of file
@@ -2,7 +2,6 @@ package org.icepdf.core.pobjects.structure;
 
 import org.icepdf.core.pobjects.Dictionary;
 import org.icepdf.core.pobjects.DictionaryEntries;
-import org.icepdf.core.pobjects.Reference;
 import org.icepdf.core.util.Library;
 
 /**
@@ -15,12 +14,23 @@ public class CrossReferenceTable extends CrossReferenceBase<Dictionary> {
     }
 
     public void addEntry(CrossReferenceEntry crossReferenceEntry) {
-        int generation;
         if (crossReferenceEntry instanceof CrossReferenceUsedEntry) {
-            generation = ((CrossReferenceUsedEntry) crossReferenceEntry).getGenerationNumber();
-            indirectObjectReferences.put(new Reference(crossReferenceEntry.objectNumber, generation),
-                    crossReferenceEntry);
+            indirectObjectReferences.addEntry(crossReferenceEntry);
         }
     }
 
+    /**
+     * Announces a subsection of the table before its entries are added.
+     *
+     * @param firstObjectNumber object number of the first entry of the subsection.
+     * @param count             number of entries in the subsection.
+     */
+    public void reserveSubsection(int firstObjectNumber, int count) {
+        indirectObjectReferences.reserve(firstObjectNumber, count);
+    }
+
+    public void addUsedEntry(int objectNumber, int generationNumber, int filePositionOfObject) {
+        indirectObjectReferences.addUsedEntry(objectNumber, generationNumber, filePositionOfObject);
+    }
+
 }
\ No newline at end of file
@@ -2,7 +2,6 @@ package org.icepdf.core.pobjects.structure;
 
 import org.icepdf.core.pobjects.DictionaryEntries;
 import org.icepdf.core.pobjects.PTrailer;
-import org.icepdf.core.pobjects.Reference;
 import org.icepdf.core.pobjects.structure.exceptions.CrossReferenceStateException;
 import org.icepdf.core.pobjects.structure.exceptions.ObjectStateException;
 import org.icepdf.core.util.ByteBufferUtil;
@@ -100,9 +99,8 @@ public class Indexer {
                     if (crossReference != null) {
                         // check if the object is already present,  were ready from the back of the file so object
                         // added first is likely the most resnet incremental update and should be overridden
-                        if (crossReference.getEntryNoDescendents(new Reference(objectNumber, generation)) == null) {
-                            crossReference.addEntry(
-                                    new CrossReferenceUsedEntry(objectNumber, generation, byteBuffer.position() + 1));
+                        if (!crossReference.hasEntryNoDescendents(objectNumber)) {
+                            crossReference.addUsedEntry(objectNumber, generation, byteBuffer.position() + 1);
                         } else {
                             logger.fine("Not inserting " + objectNumber + " already present in file.");
                         }
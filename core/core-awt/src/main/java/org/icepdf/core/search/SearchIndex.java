@@ -0,0 +1,554 @@
+/*
+ * Copyright 2006-2019 ICEsoft Technologies Canada Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.search;
+
+import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.pobjects.PDate;
+import org.icepdf.core.pobjects.PInfo;
+import org.icepdf.core.pobjects.PTrailer;
+import org.icepdf.core.pobjects.StringObject;
+import org.icepdf.core.pobjects.graphics.text.LineText;
+import org.icepdf.core.pobjects.graphics.text.PageText;
+import org.icepdf.core.pobjects.graphics.text.WordText;
+import org.icepdf.core.pobjects.structure.CrossReferenceRoot;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Inverted index of the words of a document, each word maps to the pages and word positions it's found at.  Pages
+ * are added one at a time, usually by a {@link SearchIndexBuilder} in the background, and the index answers term,
+ * prefix and phrase queries for the pages indexed so far without parsing any content streams.
+ * <br>
+ * Words are split and ordered as they are by {@link PageText#getPageLines()}, read with
+ * {@link PageText#getWordTexts()}, and indexed in lower case.  The
+ * position of a word is its index on the page, counting every word except single white space characters, which
+ * matches how the search controller matches phrases.  An index can be saved to a sidecar file and loaded again as
+ * long as the document's key, built from its file identifier, modification date and page count, hasn't changed.
+ *
+ * @since 7.3.0
+ */
+public class SearchIndex {
+
+    private static final int MAGIC = 0x49434958;
+    private static final int VERSION = 1;
+
+    private final String key;
+    private final int pageCount;
+    private final BitSet indexedPages;
+    // term -> page index and position pairs.
+    private final TreeMap<String, Postings> terms;
+
+    // pages matching the last page query, cleared when pages are added.
+    private String lastPageQuery;
+    private BitSet lastPageQueryResult;
+
+    /**
+     * Creates a new empty index.
+     *
+     * @param key       document key, see {@link #createKey(Document)}.
+     * @param pageCount number of pages in the document.
+     */
+    public SearchIndex(String key, int pageCount) {
+        this.key = key;
+        this.pageCount = pageCount;
+        indexedPages = new BitSet(pageCount);
+        terms = new TreeMap<>();
+    }
+
+    /**
+     * Builds the key that identifies the version of a document an index was built from, the document's file
+     * identifier, modification date and page count.
+     *
+     * @param document document to build the key for.
+     * @return document key.
+     */
+    public static String createKey(Document document) {
+        StringBuilder key = new StringBuilder();
+        CrossReferenceRoot crossReferenceRoot = document.getCatalog().getLibrary().getCrossReferenceRoot();
+        PTrailer trailer = crossReferenceRoot != null ? crossReferenceRoot.getTrailerDictionary() : null;
+        List<?> id = trailer != null ? trailer.getID() : null;
+        if (id != null) {
+            for (Object value : id) {
+                if (value instanceof StringObject) {
+                    key.append(((StringObject) value).getHexString());
+                }
+                key.append(':');
+            }
+        }
+        key.append('|');
+        PInfo info = document.getInfo();
+        PDate modDate = info != null ? info.getModDate() : null;
+        if (modDate != null) {
+            key.append(modDate);
+        }
+        key.append('|').append(document.getNumberOfPages());
+        return key.toString();
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public synchronized boolean isPageIndexed(int pageIndex) {
+        return indexedPages.get(pageIndex);
+    }
+
+    public synchronized int getIndexedPageCount() {
+        return indexedPages.cardinality();
+    }
+
+    /**
+     * @return true if every page of the document has been indexed.
+     */
+    public synchronized boolean isComplete() {
+        return indexedPages.cardinality() == pageCount;
+    }
+
+    /**
+     * Adds the words of a page to the index, pages that have already been indexed are skipped.
+     *
+     * @param pageIndex zero-based page index.
+     * @param pageText  text of the page, null if the page has no text.
+     */
+    public void addPage(int pageIndex, PageText pageText) {
+        // words are collected outside the lock so queries aren't held up while the page text is sorted.
+        // the word text is read without building the page's word objects when the page text is compact.
+        ArrayList<String> words = new ArrayList<>();
+        if (pageText != null) {
+            for (String word : pageText.getWordTexts()) {
+                if (!isSkipped(word)) {
+                    words.add(isWhiteSpace(word) ? null : word.toLowerCase());
+                }
+            }
+        }
+        synchronized (this) {
+            if (pageIndex < 0 || pageIndex >= pageCount || indexedPages.get(pageIndex)) {
+                return;
+            }
+            for (int position = 0, max = words.size(); position < max; position++) {
+                String word = words.get(position);
+                if (word != null) {
+                    terms.computeIfAbsent(word, k -> new Postings()).add(pageIndex, position);
+                }
+            }
+            indexedPages.set(pageIndex);
+            lastPageQuery = null;
+            lastPageQueryResult = null;
+        }
+    }
+
+    /**
+     * Finds the occurrences of a word.
+     *
+     * @param term word to find, case insensitive.
+     * @return hits in page and position order.
+     */
+    public synchronized List<Hit> findTerm(String term) {
+        ArrayList<Hit> hits = new ArrayList<>();
+        Postings postings = terms.get(term.toLowerCase());
+        if (postings != null) {
+            postings.addHits(hits, 1);
+        }
+        hits.sort(null);
+        return hits;
+    }
+
+    /**
+     * Finds the occurrences of the words starting with the given prefix.
+     *
+     * @param prefix word prefix, case insensitive.
+     * @return hits in page and position order.
+     */
+    public synchronized List<Hit> findPrefix(String prefix) {
+        ArrayList<Hit> hits = new ArrayList<>();
+        for (Postings postings : getPrefixTerms(prefix.toLowerCase()).values()) {
+            postings.addHits(hits, 1);
+        }
+        hits.sort(null);
+        return hits;
+    }
+
+    /**
+     * Finds the occurrences of consecutive words.
+     *
+     * @param phrase words of the phrase, case insensitive.
+     * @return hits in page and position order, the hit length is the number of words in the phrase.
+     */
+    public synchronized List<Hit> findPhrase(List<String> phrase) {
+        ArrayList<Hit> hits = new ArrayList<>();
+        if (phrase.isEmpty()) {
+            return hits;
+        }
+        Postings[] postings = new Postings[phrase.size()];
+        for (int i = 0; i < postings.length; i++) {
+            postings[i] = terms.get(phrase.get(i).toLowerCase());
+            if (postings[i] == null) {
+                return hits;
+            }
+        }
+        // check the positions following each occurrence of the first word.
+        ArrayList<HashSet<Long>> followingPositions = new ArrayList<>(postings.length);
+        for (int i = 1; i < postings.length; i++) {
+            followingPositions.add(postings[i].getPositions());
+        }
+        Postings first = postings[0];
+        for (int i = 0; i < first.size; i++) {
+            int pageIndex = first.data[i * 2];
+            int position = first.data[i * 2 + 1];
+            boolean found = true;
+            for (int w = 1; w < postings.length && found; w++) {
+                found = followingPositions.get(w - 1).contains(Postings.toKey(pageIndex, position + w));
+            }
+            if (found) {
+                hits.add(new Hit(pageIndex, position, postings.length));
+            }
+        }
+        hits.sort(null);
+        return hits;
+    }
+
+    /**
+     * Finds the indexed pages that contain all the given words.  Pages that haven't been indexed yet aren't
+     * included.
+     *
+     * @param words     words to look for, case insensitive.
+     * @param wholeWord true if the page words must match the words, false if they only have to contain them.
+     * @return indexes of the pages containing all the words.
+     */
+    public synchronized BitSet findPages(List<String> words, boolean wholeWord) {
+        String query = wholeWord + ":" + words;
+        if (query.equals(lastPageQuery)) {
+            return (BitSet) lastPageQueryResult.clone();
+        }
+        BitSet pages = null;
+        for (String word : words) {
+            word = word.toLowerCase();
+            BitSet wordPages = new BitSet(pageCount);
+            if (wholeWord) {
+                Postings postings = terms.get(word);
+                if (postings != null) {
+                    postings.addPages(wordPages);
+                }
+            } else {
+                for (Map.Entry<String, Postings> entry : terms.entrySet()) {
+                    if (entry.getKey().contains(word)) {
+                        entry.getValue().addPages(wordPages);
+                    }
+                }
+            }
+            if (pages == null) {
+                pages = wordPages;
+            } else {
+                pages.and(wordPages);
+            }
+        }
+        if (pages == null) {
+            pages = (BitSet) indexedPages.clone();
+        }
+        lastPageQuery = query;
+        lastPageQueryResult = pages;
+        return (BitSet) pages.clone();
+    }
+
+    /**
+     * Gets the search words that can be used to rule out pages with {@link #findPages(List, boolean)}, the words
+     * made up of letters and digits only.  Punctuation and other symbols may be split into words differently by
+     * the page text, so pages are never ruled out on them.
+     *
+     * @param words search words, as split by the search controller.
+     * @return letter and digit words, empty if there are none.
+     */
+    public static List<String> getIndexedWords(List<String> words) {
+        ArrayList<String> indexedWords = new ArrayList<>(words.size());
+        for (String word : words) {
+            if (isAlphanumeric(word)) {
+                indexedWords.add(word);
+            }
+        }
+        return indexedWords;
+    }
+
+    /**
+     * Gets the words of a hit from the page's text.
+     *
+     * @param pageText text of the hit's page.
+     * @param hit      hit to get the words of.
+     * @return words of the hit, empty if the page text doesn't match the index.
+     */
+    public static List<WordText> getWords(PageText pageText, Hit hit) {
+        ArrayList<WordText> words = new ArrayList<>(hit.getLength());
+        int position = 0;
+        int end = hit.getPosition() + hit.getLength();
+        for (LineText lineText : pageText.getPageLines()) {
+            for (WordText wordText : lineText.getWords()) {
+                if (isSkipped(wordText.getText())) {
+                    continue;
+                }
+                if (position >= hit.getPosition() && position < end) {
+                    words.add(wordText);
+                }
+                if (++position >= end) {
+                    return words;
+                }
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private SortedMap<String, Postings> getPrefixTerms(String prefix) {
+        return terms.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    /**
+     * Words that don't count as a position, single white space characters.
+     */
+    private static boolean isSkipped(String word) {
+        return word.length() == 1 && WordText.isWhiteSpace(word.charAt(0));
+    }
+
+    private static boolean isAlphanumeric(String word) {
+        if (word.isEmpty()) {
+            return false;
+        }
+        for (int i = 0, max = word.length(); i < max; i++) {
+            if (!Character.isLetterOrDigit(word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWhiteSpace(String word) {
+        for (int i = 0, max = word.length(); i < max; i++) {
+            if (!WordText.isWhiteSpace(word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the index to a file, usually a sidecar file next to the document.  The index is written to a temporary
+     * file that's then moved over the file, so a failed write never leaves a truncated index behind.
+     *
+     * @param file file to write.
+     * @throws IOException error writing the file.
+     */
+    public void save(File file) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        File tempFile = File.createTempFile(file.getName(), ".tmp", directory);
+        try {
+            write(tempFile);
+            try {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    private synchronized void write(File file) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeUTF(key);
+            output.writeInt(pageCount);
+            long[] pages = indexedPages.toLongArray();
+            output.writeInt(pages.length);
+            for (long value : pages) {
+                output.writeLong(value);
+            }
+            output.writeInt(terms.size());
+            for (Map.Entry<String, Postings> entry : terms.entrySet()) {
+                String term = entry.getKey();
+                output.writeInt(term.length());
+                output.writeChars(term);
+                Postings postings = entry.getValue();
+                output.writeInt(postings.size);
+                for (int i = 0, max = postings.size * 2; i < max; i++) {
+                    output.writeInt(postings.data[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads an index written by {@link #save(File)}.
+     *
+     * @param file file to read.
+     * @param key  key of the document the index is for, see {@link #createKey(Document)}.
+     * @return index read from the file, null if the file doesn't exist, is truncated or malformed, or was written
+     * for a different version of the document.
+     * @throws IOException error reading the file.
+     */
+    public static SearchIndex load(File file, String key) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+        // counts can't be larger than the file, a malformed count would otherwise allocate a huge array.
+        long maxCount = file.length();
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION || !key.equals(input.readUTF())) {
+                return null;
+            }
+            int pageCount = input.readInt();
+            int pageWords = input.readInt();
+            if (pageCount < 0 || pageWords < 0 || pageWords > maxCount) {
+                return null;
+            }
+            SearchIndex searchIndex = new SearchIndex(key, pageCount);
+            long[] pages = new long[pageWords];
+            for (int i = 0; i < pages.length; i++) {
+                pages[i] = input.readLong();
+            }
+            BitSet indexedPages = BitSet.valueOf(pages);
+            if (indexedPages.length() > pageCount) {
+                return null;
+            }
+            searchIndex.indexedPages.or(indexedPages);
+            for (int t = 0, termCount = input.readInt(); t < termCount; t++) {
+                int termLength = input.readInt();
+                if (termLength < 0 || termLength > maxCount) {
+                    return null;
+                }
+                char[] term = new char[termLength];
+                for (int i = 0; i < term.length; i++) {
+                    term[i] = input.readChar();
+                }
+                int size = input.readInt();
+                if (size < 0 || size > maxCount) {
+                    return null;
+                }
+                Postings postings = new Postings();
+                for (int i = 0; i < size; i++) {
+                    int pageIndex = input.readInt();
+                    int position = input.readInt();
+                    if (pageIndex < 0 || pageIndex >= pageCount || position < 0) {
+                        return null;
+                    }
+                    postings.add(pageIndex, position);
+                }
+                searchIndex.terms.put(new String(term), postings);
+            }
+            if (input.read() != -1) {
+                return null;
+            }
+            return searchIndex;
+        } catch (EOFException | UTFDataFormatException e) {
+            // truncated by an interrupted write or not an index file.
+            return null;
+        }
+    }
+
+    /**
+     * Occurrence of a term or phrase.
+     */
+    public static class Hit implements Comparable<Hit> {
+
+        private final int pageIndex;
+        private final int position;
+        private final int length;
+
+        public Hit(int pageIndex, int position, int length) {
+            this.pageIndex = pageIndex;
+            this.position = position;
+            this.length = length;
+        }
+
+        public int getPageIndex() {
+            return pageIndex;
+        }
+
+        /**
+         * @return position of the first word on the page.
+         */
+        public int getPosition() {
+            return position;
+        }
+
+        /**
+         * @return number of words.
+         */
+        public int getLength() {
+            return length;
+        }
+
+        @Override
+        public int compareTo(Hit hit) {
+            int compare = Integer.compare(pageIndex, hit.pageIndex);
+            return compare != 0 ? compare : Integer.compare(position, hit.position);
+        }
+
+        @Override
+        public String toString() {
+            return "page " + pageIndex + " position " + position + " length " + length;
+        }
+    }
+
+    /**
+     * Page index and position pairs of a term.
+     */
+    private static class Postings {
+
+        private int[] data = new int[4];
+        private int size;
+
+        void add(int pageIndex, int position) {
+            if (size * 2 == data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[size * 2] = pageIndex;
+            data[size * 2 + 1] = position;
+            size++;
+        }
+
+        void addHits(List<Hit> hits, int length) {
+            for (int i = 0; i < size; i++) {
+                hits.add(new Hit(data[i * 2], data[i * 2 + 1], length));
+            }
+        }
+
+        void addPages(BitSet pages) {
+            for (int i = 0; i < size; i++) {
+                pages.set(data[i * 2]);
+            }
+        }
+
+        HashSet<Long> getPositions() {
+            HashSet<Long> positions = new HashSet<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                positions.add(toKey(data[i * 2], data[i * 2 + 1]));
+            }
+            return positions;
+        }
+
+        static long toKey(int pageIndex, int position) {
+            return ((long) pageIndex << 32) | (position & 0xffffffffL);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2006-2019 ICEsoft Technologies Canada Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.search;
+
+import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.util.Defs;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fills a {@link SearchIndex} with the pages it's missing on a background thread.  Page text is read with the
+ * document's {@link org.icepdf.core.pobjects.TextExtractor} so content streams are released as soon as a page has
+ * been indexed.  Pages already in the index, for example one loaded from a sidecar file, aren't parsed again and
+ * the index can be queried while it's being built.  When a sidecar file is given the index is saved to it once
+ * every page has been indexed.
+ * <br>
+ * The number of threads used to parse page text can be set with the system property
+ * org.icepdf.core.search.index.threads, the default is 1 so indexing doesn't compete with page rendering.
+ *
+ * @since 7.3.0
+ */
+public class SearchIndexBuilder {
+
+    private static final Logger logger =
+            Logger.getLogger(SearchIndexBuilder.class.toString());
+
+    private static int parallelism;
+
+    static {
+        parallelism = Defs.intProperty("org.icepdf.core.search.index.threads", 1);
+    }
+
+    private final Document document;
+    private final SearchIndex searchIndex;
+    private final File indexFile;
+
+    private Thread thread;
+    private volatile boolean done;
+
+    /**
+     * Creates a new builder.
+     *
+     * @param document    document to index.
+     * @param searchIndex index to add the document's pages to.
+     * @param indexFile   file to save the index to once it's complete, can be null.
+     */
+    public SearchIndexBuilder(Document document, SearchIndex searchIndex, File indexFile) {
+        this.document = document;
+        this.searchIndex = searchIndex;
+        this.indexFile = indexFile;
+    }
+
+    public SearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    /**
+     * Starts indexing on a daemon thread, does nothing if the builder has already been started.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = new Thread(this::build);
+        thread.setName("ICEpdf-search-index");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops indexing, pages indexed so far are kept.
+     */
+    public synchronized void cancel() {
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * @return true once the builder has finished, whether the index is complete or not.
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    private void build() {
+        try {
+            int pageCount = searchIndex.getPageCount();
+            int start = 0;
+            while (start < pageCount && !Thread.currentThread().isInterrupted()) {
+                // extract each run of pages that isn't indexed yet.
+                while (start < pageCount && searchIndex.isPageIndexed(start)) {
+                    start++;
+                }
+                int end = start;
+                while (end < pageCount && !searchIndex.isPageIndexed(end)) {
+                    end++;
+                }
+                if (start < end) {
+                    document.getTextExtractor(start, end, parallelism).extract(searchIndex::addPage);
+                }
+                start = end;
+            }
+            if (indexFile != null && searchIndex.isComplete()) {
+                searchIndex.save(indexFile);
+            }
+        } catch (InterruptedException e) {
+            logger.fine("Search indexing interrupted.");
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Error saving search index " + indexFile + ".", e);
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Error building search index.", e);
+        } finally {
+            done = true;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2006-2019 ICEsoft Technologies Canada Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.core.util;
+
+import org.icepdf.core.pobjects.Reference;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Document level cache of decoded stream bytes bounded by a byte budget.  Entries are evicted in least recently
+ * used order once the total size of the cached byte arrays exceeds the budget, which makes the memory held by
+ * decoded streams predictable rather than dependent on when the garbage collector clears the stream objects.
+ * <br>
+ * The budget is set with the system property "org.icepdf.core.library.decodedStreamCacheSize" in bytes and
+ * defaults to 32MB, a value of zero disables the cache.  Streams larger than the budget are never cached.
+ * <br>
+ * Hit, miss and eviction counts are kept, so the budget can be tuned for a given workload.
+ *
+ * @since 7.3.0
+ */
+public class DecodedStreamCache {
+
+    private static final int DEFAULT_MAX_SIZE = 32 * 1024 * 1024;
+
+    private static long defaultMaxSize;
+
+    static {
+        defaultMaxSize = Defs.intProperty("org.icepdf.core.library.decodedStreamCacheSize", DEFAULT_MAX_SIZE);
+        if (defaultMaxSize < 0) {
+            defaultMaxSize = DEFAULT_MAX_SIZE;
+        }
+    }
+
+    private final LinkedHashMap<Reference, byte[]> cache;
+    private final Object lock = new Object();
+    private volatile long maxSize;
+    private long size;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public DecodedStreamCache() {
+        this(defaultMaxSize);
+    }
+
+    public DecodedStreamCache(long maxSize) {
+        this.maxSize = maxSize;
+        cache = new LinkedHashMap<>(64, 0.75f, true);
+    }
+
+    /**
+     * Gets the decoded bytes for the given stream reference.
+     *
+     * @param reference stream object reference
+     * @return cached decoded bytes, null if the stream isn't in the cache.
+     */
+    public byte[] get(Reference reference) {
+        byte[] bytes;
+        synchronized (lock) {
+            bytes = cache.get(reference);
+        }
+        if (bytes != null) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return bytes;
+    }
+
+    /**
+     * Adds the decoded bytes of the given stream to the cache, evicting the least recently used entries as needed
+     * to stay within the byte budget.
+     *
+     * @param reference stream object reference
+     * @param bytes     decoded stream bytes.
+     * @return true if the bytes were added to the cache, false if they are larger than the budget.
+     */
+    public boolean put(Reference reference, byte[] bytes) {
+        if (reference == null || bytes == null || bytes.length > maxSize) {
+            return false;
+        }
+        synchronized (lock) {
+            byte[] previous = cache.put(reference, bytes);
+            if (previous != null) {
+                size -= previous.length;
+            }
+            size += bytes.length;
+            trimToSize(maxSize);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the decoded bytes of the given stream reference, used when the stream contents change.
+     *
+     * @param reference stream object reference
+     */
+    public void remove(Reference reference) {
+        synchronized (lock) {
+            byte[] previous = cache.remove(reference);
+            if (previous != null) {
+                size -= previous.length;
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            cache.clear();
+            size = 0;
+        }
+    }
+
+    private void trimToSize(long maxSize) {
+        Iterator<Map.Entry<Reference, byte[]>> iterator = cache.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().getValue().length;
+            iterator.remove();
+            evictionCount.increment();
+        }
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the byte budget of the cache, entries are evicted right away if the cache is over the new budget.
+     *
+     * @param maxSize maximum number of decoded bytes to hold, zero disables the cache.
+     */
+    public void setMaxSize(long maxSize) {
+        synchronized (lock) {
+            this.maxSize = maxSize;
+            trimToSize(maxSize);
+        }
+    }
+
+    /**
+     * @return number of decoded bytes currently held by the cache.
+     */
+    public long getSize() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "DecodedStreamCache{size=" + getSize() + ", maxSize=" + maxSize + ", hits=" + getHitCount() +
+                ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "}";
+    }
+}
@@ -94,6 +94,11 @@ public class Library {
             new ConcurrentHashMap<>(1024);
     private final ConcurrentHashMap<Reference, WeakReference<ICCBased>> lookupReference2ICCBased =
             new ConcurrentHashMap<>(256);
+    // loads currently in progress when concurrent object loading is enabled, used to de-duplicate work.
+    private final ConcurrentHashMap<Reference, CompletableFuture<PObject>> pendingLoads =
+            new ConcurrentHashMap<>(64);
+    // number of loads the current thread is in the middle of, nested loads never wait on other threads.
+    private final ThreadLocal<int[]> loadDepth = ThreadLocal.withInitial(() -> new int[1]);
 
     private Header fileHeader;
     private String fileOrigin;
@@ -101,7 +106,7 @@ public class Library {
     private ByteBuffer mappedFileByteBuffer;
     private final Object mappedFileByteBufferLock = new Object();
 
-    private CrossReferenceRoot crossReferenceRoot;
+    private volatile CrossReferenceRoot crossReferenceRoot;
 
     private final ObjectLoader objectLoader;
 
@@ -122,6 +127,7 @@ public class Library {
     private boolean isEncrypted;
     private boolean isLinearTraversal;
     private final ImagePool imagePool;
+    private final DecodedStreamCache decodedStreamCache;
 
 
     /**
@@ -131,6 +137,7 @@ public class Library {
         objectLoader = new ObjectLoader(this);
         // set Catalog memory Manager and cache manager.
         imagePool = new ImagePool();
+        decodedStreamCache = new DecodedStreamCache();
         signatureHandler = new SignatureHandler();
     }
 
@@ -181,34 +188,10 @@ public class Library {
         java.lang.ref.Reference<Object> obRef = useCache ? objectStore.get(reference) : null;
         obj = obRef != null ? obRef.get() : null;
         if (obj == null && crossReferenceRoot != null) {
-            try {
-                obj = crossReferenceRoot.loadObject(objectLoader, reference, hint);
-            } catch (ObjectStateException | CrossReferenceStateException | IOException e) {
-                // a null object is ok in this case we are looking at likely an incorrectly indexed file.
-                logger.log(Level.WARNING, e,
-                        () -> "Cross reference indexing failed, reindexing file. " + getFileOrigin());
-                try {
-                    rebuildCrossReferenceTable();
-                    // try one more time
-                    obj = crossReferenceRoot.loadObject(objectLoader, reference, hint);
-                } catch (IOException | CrossReferenceStateException | ObjectStateException e1) {
-                    logger.log(Level.WARNING, "Linear traversal of file failed, can not load file.", e);
-                    return null;
-                }
-            } catch (ClassCastException e) {
-                logger.log(Level.WARNING, e,
-                        () -> "Failed to load object, likely malformed. " + reference + " " + getFileOrigin());
-                return null;
-            }
-            if (obj == null) return null;
-            // keep expensive like fonts, images, page tree
-            PObject object = ((PObject) obj);
-            if (isSoftReferenceAble(object)) {
-                objectStore.put(reference, new SoftReference<>(obj));
-            } else {
-                objectStore.put(reference, new WeakReference<>(obj));
+            if (objectLoader.isConcurrentLoading()) {
+                return loadObjectDeduplicated(reference, hint);
             }
-            return object;
+            return loadObject(reference, hint);
         }
         if (obj instanceof PObject) {
             return (PObject) obj;
@@ -220,6 +203,88 @@ public class Library {
         return new PObject(obj, reference);
     }
 
+    /**
+     * Checks if objects of this document can be loaded by several threads at the same time.
+     *
+     * @return true if concurrent object loading is enabled.
+     */
+    public boolean isConcurrentObjectLoading() {
+        return objectLoader.isConcurrentLoading();
+    }
+
+    /**
+     * Enables or disables concurrent object loading for this document only, the default is set by the system
+     * property org.icepdf.core.library.concurrentObjectLoading.
+     *
+     * @param concurrentObjectLoading true to let several threads load objects at the same time.
+     */
+    public void setConcurrentObjectLoading(boolean concurrentObjectLoading) {
+        objectLoader.setConcurrentLoading(concurrentObjectLoading);
+    }
+
+    /**
+     * Loads the given reference, making sure only one thread parses a given reference at a time.  Threads that
+     * request a reference that is already being loaded wait on the result of the first load rather than parsing
+     * the object again.  A thread that is itself in the middle of a load never waits, two threads loading objects
+     * that refer to each other would otherwise wait on each other, it parses the object directly instead.
+     */
+    private PObject loadObjectDeduplicated(Reference reference, Name hint) {
+        int[] depth = loadDepth.get();
+        CompletableFuture<PObject> pendingLoad = new CompletableFuture<>();
+        CompletableFuture<PObject> inFlight = pendingLoads.putIfAbsent(reference, pendingLoad);
+        if (inFlight != null) {
+            if (depth[0] == 0) {
+                PObject object = inFlight.join();
+                if (object != null) {
+                    return object;
+                }
+            }
+            return loadObject(reference, hint);
+        }
+        PObject object = null;
+        depth[0]++;
+        try {
+            object = loadObject(reference, hint);
+        } finally {
+            depth[0]--;
+            pendingLoads.remove(reference, pendingLoad);
+            pendingLoad.complete(object);
+        }
+        return object;
+    }
+
+    private PObject loadObject(Reference reference, Name hint) {
+        Object obj;
+        try {
+            obj = crossReferenceRoot.loadObject(objectLoader, reference, hint);
+        } catch (ObjectStateException | CrossReferenceStateException | IOException e) {
+            // a null object is ok in this case we are looking at likely an incorrectly indexed file.
+            logger.log(Level.WARNING, e,
+                    () -> "Cross reference indexing failed, reindexing file. " + getFileOrigin());
+            try {
+                rebuildCrossReferenceTable();
+                // try one more time
+                obj = crossReferenceRoot.loadObject(objectLoader, reference, hint);
+            } catch (IOException | CrossReferenceStateException | ObjectStateException e1) {
+                logger.log(Level.WARNING, "Linear traversal of file failed, can not load file.", e);
+                return null;
+            }
+        } catch (ClassCastException e) {
+            logger.log(Level.WARNING, e,
+                    () -> "Failed to load object, likely malformed. " + reference + " " + getFileOrigin());
+            return null;
+        }
+        if (obj == null) return null;
+        // keep expensive like fonts, images, page tree
+        PObject object = ((PObject) obj);
+        if (isSoftReferenceAble(object)) {
+            objectStore.put(reference, new SoftReference<>(obj));
+        } else {
+            objectStore.put(reference, new WeakReference<>(obj));
+        }
+        return object;
+    }
+
     private boolean isSoftReferenceAble(PObject pObject) {
         Object object = pObject.getObject();
         if (object instanceof Dictionary) {
@@ -997,6 +1062,15 @@ public class Library {
         return imagePool;
     }
 
+    /**
+     * Gets the document's cache of decoded stream bytes.
+     *
+     * @return decoded stream cache, never null.
+     */
+    public DecodedStreamCache getDecodedStreamCache() {
+        return decodedStreamCache;
+    }
+
     public static void initializeThreadPool() {
 
         logger.log(Level.FINE, () -> "Starting ICEpdf Thread Pool: " + commonPoolThreads + " threads.");
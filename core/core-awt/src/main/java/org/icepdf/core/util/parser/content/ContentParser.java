@@ -87,23 +87,26 @@ public class ContentParser extends AbstractContentParser {
         float yBTstart = 0;
 
         try {
-            Object tok;
+            int tokenType;
             while (true) {
                 count++;
-                tok = lexer.next();
-                if (tok == null) {
+                tokenType = lexer.nextToken();
+                if (tokenType == Lexer.TOKEN_NONE) {
                     break;
                 }
 
-                // add any names and numbers and every thing else on the stack for future reference
-                if (!(tok instanceof Integer)) {
-                    stack.push(tok);
+                // add any names and numbers and every thing else on the stack for future reference,
+                // numbers are pushed as primitives.
+                if (tokenType == Lexer.TOKEN_NUMBER) {
+                    stack.push(lexer.getNumber());
+                } else if (tokenType == Lexer.TOKEN_OBJECT) {
+                    stack.push(lexer.getObject());
                 } else {
                     if (count % 10000 == 0 && Thread.currentThread().isInterrupted()) {
                         throw new InterruptedException("ContentParser thread interrupted");
                     }
 
-                    int operand = (Integer) tok;
+                    int operand = lexer.getOperator();
                     markTokenPosition(lexer.getPos(), operand);
                     // Append a straight line segment from the current point to the
                     // point (x, y). The new current point is (x, y).
@@ -609,15 +612,15 @@ public class ContentParser extends AbstractContentParser {
             graphicState.getTextState().tlmatrix = new AffineTransform();
 
             // loop through each token returned form the parser
-            Object tok = parser.next();
-            Stack<Object> stack = new Stack<>();
+            int tokenType = parser.nextToken();
+            OperandStack stack = new OperandStack();
             double yBTStart = 0;
             int operand;
-            while (tok != null) {
+            while (tokenType != Lexer.TOKEN_NONE) {
                 // add any names and numbers and every thing else on the
                 // stack for future reference
-                if (tok instanceof Integer) {
-                    operand = (Integer) tok;
+                if (tokenType == Lexer.TOKEN_OPERATOR) {
+                    operand = parser.getOperator();
                     switch (operand) {
                         case Operands.BT:
                             // start parseText, which parses until ET is reached
@@ -650,10 +653,12 @@ public class ContentParser extends AbstractContentParser {
                             consume_cm(graphicState, stack, inTextBlock, textBlockBase);
                             break;
                     }
+                } else if (tokenType == Lexer.TOKEN_NUMBER) {
+                    stack.push(parser.getNumber());
                 } else {
-                    stack.push(tok);
+                    stack.push(parser.getObject());
                 }
-                tok = parser.next();
+                tokenType = parser.nextToken();
             }
             // clear our temporary stack.
             stack.clear();
@@ -676,7 +681,7 @@ public class ContentParser extends AbstractContentParser {
      */
     private float parseText(Lexer lexer, Shapes shapes, double previousBTStart)
             throws IOException, InterruptedException {
-        Object nextToken;
+        int tokenType;
         inTextBlock = true;
         // keeps track of previous text placement so that Compatibility and
         // implementation note 57 is respected.  That is text drawn after a TJ
@@ -696,12 +701,12 @@ public class ContentParser extends AbstractContentParser {
         GlyphOutlineClip glyphOutlineClip = new GlyphOutlineClip();
 
         // start parsing of the BT block
-        nextToken = lexer.next();
+        tokenType = lexer.nextToken();
         int operand;
-        while (!(nextToken instanceof Integer && (Integer) nextToken == Operands.ET)) {
+        while (!(tokenType == Lexer.TOKEN_OPERATOR && lexer.getOperator() == Operands.ET)) {
 
-            if (nextToken instanceof Integer) {
-                operand = (Integer) nextToken;
+            if (tokenType == Lexer.TOKEN_OPERATOR) {
+                operand = lexer.getOperator();
                 markTokenPosition(lexer.getPos(), operand);
                 switch (operand) {
                     // Normal text token, string, hex
@@ -958,19 +963,21 @@ public class ContentParser extends AbstractContentParser {
                 }
             }
             // push everything else on the stack for consumptions
-            else {
-                stack.push(nextToken);
+            else if (tokenType == Lexer.TOKEN_NUMBER) {
+                stack.push(lexer.getNumber());
+            } else {
+                stack.push(lexer.getObject());
             }
 
-            nextToken = lexer.next();
-            if (nextToken == null) {
+            tokenType = lexer.nextToken();
+            if (tokenType == Lexer.TOKEN_NONE) {
                 break;
             }
         }
 
         // make sure we get the last ET token
-        if (nextToken instanceof Integer && (Integer) nextToken == Operands.ET) {
-            markTokenPosition(lexer.getPos(), (Integer) nextToken);
+        if (tokenType == Lexer.TOKEN_OPERATOR && lexer.getOperator() == Operands.ET) {
+            markTokenPosition(lexer.getPos(), Operands.ET);
         }
         // during a BT -> ET text parse there is a change that we might be
         // in MODE_ADD or MODE_Fill_Add which require that we push the
@@ -983,7 +990,7 @@ public class ContentParser extends AbstractContentParser {
             shapes.add(new GlyphOutlineDrawCmd(glyphOutlineClip));
         }
         graphicState.set(textBlockBase);
-        if (nextToken instanceof Integer) {
+        if (tokenType == Lexer.TOKEN_OPERATOR) {
             inTextBlock = false;
         }
 
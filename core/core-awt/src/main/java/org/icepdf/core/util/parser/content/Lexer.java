@@ -14,6 +14,15 @@ public class Lexer {
     private static final Logger logger =
             Logger.getLogger(Lexer.class.toString());
 
+    /**
+     * Token types returned by {@link #nextToken()}.
+     */
+    public static final int
+            TOKEN_NONE = 0,
+            TOKEN_NUMBER = 1,
+            TOKEN_OPERATOR = 2,
+            TOKEN_OBJECT = 3;
+
     private static final int
             NO_MORE = 1,
             NUMBER = 2,
@@ -35,6 +44,12 @@ public class Lexer {
 
     private int tokenType = 0;
 
+    // streaming token values, see nextToken().
+    private float numberValue;
+    private int operatorValue;
+    private Object objectValue;
+    private final int[] operandResult = new int[2];
+
     private ContentStreamRedactorCallback contentStreamRedactorCallbackCallback;
 
     public void setContentStream(Stream[] in, ContentStreamRedactorCallback contentStreamRedactorCallback) throws IOException {
@@ -59,6 +74,10 @@ public class Lexer {
         // get starting lexer state.
         parseNextState();
 
+        return next(tokenType);
+    }
+
+    private Object next(int tokenType) throws IOException {
         switch (tokenType) {
             // we have a name
             case NUMBER:
@@ -84,6 +103,67 @@ public class Lexer {
         }
     }
 
+    /**
+     * Streaming alternative to {@link #next()} that doesn't box numbers or operators.  The token value is read
+     * with {@link #getNumber()}, {@link #getOperator()} or {@link #getObject()} depending on the returned type and
+     * is only valid until the next call.
+     *
+     * @return one of TOKEN_NUMBER, TOKEN_OPERATOR, TOKEN_OBJECT or TOKEN_NONE if there are no more tokens.
+     * @throws IOException null content stream bytes.
+     */
+    public int nextToken() throws IOException {
+
+        if (streamBytes == null) {
+            throw new IOException("Content Stream, null input stream bytes.");
+        }
+
+        objectValue = null;
+        parseNextState();
+
+        switch (tokenType) {
+            case NUMBER:
+                numberValue = scanNumber();
+                return TOKEN_NUMBER;
+            case OPERAND:
+                int operator = parseOperator();
+                if (operator < 0) {
+                    return TOKEN_NONE;
+                }
+                operatorValue = operator;
+                return TOKEN_OPERATOR;
+            case COMMENT:
+                startComment();
+                operatorValue = Operands.OP;
+                return TOKEN_OPERATOR;
+            case NO_MORE:
+                return TOKEN_NONE;
+            default:
+                objectValue = next(tokenType);
+                return objectValue != null ? TOKEN_OBJECT : TOKEN_NONE;
+        }
+    }
+
+    /**
+     * @return value of the last TOKEN_NUMBER returned by {@link #nextToken()}.
+     */
+    public float getNumber() {
+        return numberValue;
+    }
+
+    /**
+     * @return Operands value of the last TOKEN_OPERATOR returned by {@link #nextToken()}.
+     */
+    public int getOperator() {
+        return operatorValue;
+    }
+
+    /**
+     * @return value of the last TOKEN_OBJECT returned by {@link #nextToken()}.
+     */
+    public Object getObject() {
+        return objectValue;
+    }
+
     public byte[] getImageBytes() {
         // skip past the D in ID and the first white space.
         pos += 1;
@@ -436,12 +516,12 @@ public class Lexer {
         streamCount++;
         // assign next byte array, but skip over the corner
         // case of a zero length content stream.
-        if (streams[streamCount].getDecompressedBytes() != null &&
-                streams[streamCount].getDecompressedBytes().length == 0 &&
+        streamBytes = streams[streamCount].getDecodedStreamBytes();
+        if (streamBytes != null && streamBytes.length == 0 &&
                 streamCount + 1 < streams.length) {
             streamCount++;
+            streamBytes = streams[streamCount].getDecodedStreamBytes();
         }
-        streamBytes = streams[streamCount].getDecompressedBytes();
         markContentStreamStart();
         // reset the  pointers.
         pos = 0;
@@ -506,6 +586,10 @@ public class Lexer {
     }
 
     private Object startNumber() {
+        return scanNumber();
+    }
+
+    private float scanNumber() {
         startTokenPos = pos;
         while (pos < numRead) {
             if (streamBytes[pos] < '+' || streamBytes[pos] > '9' || streamBytes[pos] == '/') {
@@ -520,6 +604,17 @@ public class Lexer {
      * Utility for processing the operand state.
      */
     private Object startOperand() {
+        int operator = parseOperator();
+        // operators are small values and are boxed from the Integer cache.
+        return operator >= 0 ? operator : null;
+    }
+
+    /**
+     * Parses the operator at the current position.
+     *
+     * @return Operands value or -1 if no operator could be read.
+     */
+    private int parseOperator() {
         startTokenPos = pos;
         while (pos < numRead) {
             // check for delimiters just encase the encoder didn't use spaces.
@@ -530,7 +625,7 @@ public class Lexer {
             pos++;
         }
         if (pos <= numRead && pos > startTokenPos) {
-            int[] tmp = Operands.parseOperand(streamBytes, startTokenPos, pos - startTokenPos);
+            int[] tmp = Operands.parseOperand(streamBytes, startTokenPos, pos - startTokenPos, operandResult);
             // adjust for any potential parsing compensation.
             if (tmp[1] > 0) {
                 pos -= tmp[1];
@@ -538,7 +633,7 @@ public class Lexer {
             return tmp[0];
         } else {
             // copy and fill the buffer so we cn continue parsing
-            return null;
+            return -1;
         }
     }
 
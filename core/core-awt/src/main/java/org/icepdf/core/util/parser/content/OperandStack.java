@@ -0,0 +1,150 @@
+package org.icepdf.core.util.parser.content;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * Operand stack used by the content parser.  Numbers are the bulk of the operands in a content stream so they are
+ * stored as primitive floats in a parallel array and are only boxed if popped or peeked as an Object, every other
+ * operand is stored as is.  The backing arrays are reused for the life of the parser so path heavy content
+ * streams can be parsed without allocating an object per operand.
+ * <br>
+ * The stack isn't synchronized, it's only ever used by the thread doing the parse.
+ *
+ * @since 7.3.0
+ */
+public class OperandStack {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] objects;
+    private float[] numbers;
+    private boolean[] isNumber;
+    private int size;
+
+    public OperandStack() {
+        objects = new Object[DEFAULT_CAPACITY];
+        numbers = new float[DEFAULT_CAPACITY];
+        isNumber = new boolean[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Pushes a number onto the stack without boxing it.
+     *
+     * @param value number operand
+     */
+    public void push(float value) {
+        ensureCapacity();
+        numbers[size] = value;
+        isNumber[size] = true;
+        size++;
+    }
+
+    /**
+     * Pushes an operand onto the stack.
+     *
+     * @param value operand, name, string, array, dictionary etc.
+     * @return the pushed value, to mirror java.util.Stack.
+     */
+    public Object push(Object value) {
+        ensureCapacity();
+        objects[size] = value;
+        isNumber[size] = false;
+        size++;
+        return value;
+    }
+
+    /**
+     * Pops the top operand, numbers are boxed as a Float.
+     *
+     * @return top operand.
+     * @throws EmptyStackException if the stack is empty.
+     */
+    public Object pop() {
+        Object value = peek();
+        size--;
+        objects[size] = null;
+        return value;
+    }
+
+    /**
+     * Pops the top operand as a primitive float.
+     *
+     * @return top operand as a float.
+     * @throws EmptyStackException if the stack is empty.
+     * @throws ClassCastException  if the top operand isn't a number.
+     */
+    public float popFloat() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        size--;
+        if (isNumber[size]) {
+            return numbers[size];
+        }
+        Object value = objects[size];
+        objects[size] = null;
+        return ((Number) value).floatValue();
+    }
+
+    /**
+     * Gets the top operand without removing it, numbers are boxed as a Float.
+     *
+     * @return top operand.
+     * @throws EmptyStackException if the stack is empty.
+     */
+    public Object peek() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        int top = size - 1;
+        return isNumber[top] ? (Object) numbers[top] : objects[top];
+    }
+
+    /**
+     * Checks if the top operand is a number without boxing it.
+     *
+     * @return true if the stack isn't empty and the top operand is a number.
+     */
+    public boolean isNumber() {
+        if (size == 0) {
+            return false;
+        }
+        int top = size - 1;
+        return isNumber[top] || objects[top] instanceof Number;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(objects, 0, size, null);
+        size = 0;
+    }
+
+    private void ensureCapacity() {
+        if (size == objects.length) {
+            int capacity = objects.length * 2;
+            objects = Arrays.copyOf(objects, capacity);
+            numbers = Arrays.copyOf(numbers, capacity);
+            isNumber = Arrays.copyOf(isNumber, capacity);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(isNumber[i] ? (Object) numbers[i] : objects[i]);
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -85,18 +85,32 @@ public class Operands {
             NULL = 77;
 
     public static int[] parseOperand(byte[] ch, int offset, int length) {
+        return parseOperand(ch, offset, length, new int[2]);
+    }
+
+    /**
+     * Parses the operator at the given offset storing the result in the given array rather than allocating a new
+     * one, so the lexer can reuse a single buffer for the whole content stream.
+     *
+     * @param ch     content stream bytes
+     * @param offset offset of the operator
+     * @param length length of the operator token
+     * @param result array of at least two elements, the operator and the number of bytes to back out.
+     * @return result array.
+     */
+    public static int[] parseOperand(byte[] ch, int offset, int length, int[] result) {
         byte c1, c2;
         byte c = ch[offset];
         switch (c) {
             case 'q':
-                if (length == 1) return new int[]{q, 0};
+                if (length == 1) return operand(result, q, 0);
                 else {
-                    return new int[]{q, length - 1};
+                    return operand(result, q, length - 1);
                 }
             case 'Q':
-                if (length == 1) return new int[]{Q, 0};
+                if (length == 1) return operand(result, Q, 0);
                 else {
-                    return new int[]{Q, length - 1};
+                    return operand(result, Q, length - 1);
                 }
             case 'r':
                 c1 = ch[offset + 1];
@@ -106,70 +120,70 @@ public class Operands {
                 }
                 switch (c1) {
                     case 'e':
-                        return new int[]{re, offset};
+                        return operand(result, re, offset);
                     case 'i':
-                        return new int[]{ri, offset};
+                        return operand(result, ri, offset);
                     default:
-                        return new int[]{rg, offset};
+                        return operand(result, rg, offset);
                 }
             case 'R':
                 offset = 0;
                 if (length > 2) {
                     offset = length - 2;
                 }
-                return new int[]{RG, offset};
+                return operand(result, RG, offset);
             case 's':
                 if (length == 1) {
-                    return new int[]{s, 0};
+                    return operand(result, s, 0);
                 }
                 c1 = ch[offset + 1];
                 switch (c1) {
                     case 'c':
                         if (length == 3) {
-                            return new int[]{scn, 0};
+                            return operand(result, scn, 0);
                         } else if (length == 2) {
-                            return new int[]{sc, 0};
+                            return operand(result, sc, 0);
                         } else if (length > 3) {
                             c2 = ch[offset + 3];
                             if (c2 == 'n') {
                                 offset = length - 3;
-                                return new int[]{scn, offset};
+                                return operand(result, scn, offset);
                             } else {
                                 offset = length - 2;
-                                return new int[]{sc, offset};
+                                return operand(result, sc, offset);
                             }
                         }
                     case 'h':
                         if (length == 2) {
-                            return new int[]{sh, 0};
+                            return operand(result, sh, 0);
                         } else {
                             offset = length - 2;
-                            return new int[]{sh, offset};
+                            return operand(result, sh, offset);
                         }
                 }
             case 'S':
                 if (length == 1) {
-                    return new int[]{S, 0};
+                    return operand(result, S, 0);
                 }
                 c1 = ch[offset + 1];
                 if (c1 == 'C') {
                     if (length == 3) {
-                        return new int[]{SCN, 0};
+                        return operand(result, SCN, 0);
                     } else if (length == 2) {
-                        return new int[]{SC, 0};
+                        return operand(result, SC, 0);
                     } else if (length > 3) {
                         c2 = ch[offset + 3];
                         if (c2 == 'N') {
                             offset = length - 3;
-                            return new int[]{SCN, offset};
+                            return operand(result, SCN, offset);
                         } else {
                             offset = length - 2;
-                            return new int[]{SC, offset};
+                            return operand(result, SC, offset);
                         }
                     }
                 } else {
                     offset = length - 1;
-                    return new int[]{S, offset};
+                    return operand(result, S, offset);
                 }
             case 'T':
                 c1 = ch[offset + 1];
@@ -180,35 +194,35 @@ public class Operands {
                 }
                 switch (c1) {
                     case 'c':
-                        return new int[]{Tc, offset};
+                        return operand(result, Tc, offset);
                     case 'd':
-                        return new int[]{Td, offset};
+                        return operand(result, Td, offset);
                     case 'D':
-                        return new int[]{TD, offset};
+                        return operand(result, TD, offset);
                     case 'f':
-                        return new int[]{Tf, offset};
+                        return operand(result, Tf, offset);
                     case 'j':
-                        return new int[]{Tj, offset};
+                        return operand(result, Tj, offset);
                     case 'J':
-                        return new int[]{TJ, offset};
+                        return operand(result, TJ, offset);
                     case 'L':
-                        return new int[]{TL, offset};
+                        return operand(result, TL, offset);
                     case 'm':
-                        return new int[]{Tm, offset};
+                        return operand(result, Tm, offset);
                     case 'r':
-                        return new int[]{Tr, offset};
+                        return operand(result, Tr, offset);
                     case 's':
-                        return new int[]{Ts, offset};
+                        return operand(result, Ts, offset);
                     case 'w':
-                        return new int[]{Tw, offset};
+                        return operand(result, Tw, offset);
                     case 'z':
-                        return new int[]{Tz, offset};
+                        return operand(result, Tz, offset);
                     case '*':
-                        return new int[]{T_STAR, offset};
+                        return operand(result, T_STAR, offset);
                 }
             case 'f':
                 if (length == 1) {
-                    return new int[]{f, 0};
+                    return operand(result, f, 0);
                 } else {
                     c1 = ch[offset + 1];
                     offset = 0;
@@ -216,10 +230,10 @@ public class Operands {
                         if (length > 2) {
                             offset = length - 2;
                         }
-                        return new int[]{f_STAR, offset};
+                        return operand(result, f_STAR, offset);
                     } else {
                         offset = length - 1;
-                        return new int[]{f, offset};
+                        return operand(result, f, offset);
                     }
                 }
             case 'F':
@@ -227,28 +241,28 @@ public class Operands {
                 if (length > 1) {
                     offset = length - 1;
                 }
-                return new int[]{F, offset};
+                return operand(result, F, offset);
             case 'v':
                 offset = 0;
                 if (length > 1) {
                     offset = length - 1;
                 }
-                return new int[]{v, offset};
+                return operand(result, v, offset);
             case 'W':
                 if (length == 1) {
-                    return new int[]{W, 0};
+                    return operand(result, W, 0);
                 } else {
                     c1 = ch[offset + 1];
                     if (c1 == '*') {
                         if (length == 2) {
-                            return new int[]{W_STAR, 0};
+                            return operand(result, W_STAR, 0);
                         } else {
                             offset = length - 2;
-                            return new int[]{W_STAR, offset};
+                            return operand(result, W_STAR, offset);
                         }
                     } else {
                         offset = length - 1;
-                        return new int[]{W, offset};
+                        return operand(result, W, offset);
                     }
                 }
             case 'w':
@@ -256,20 +270,20 @@ public class Operands {
                 if (length > 1) {
                     offset = length - 1;
                 }
-                return new int[]{w, offset};
+                return operand(result, w, offset);
             case 'n':
                 if (length == 1) {
-                    return new int[]{n, 0};
+                    return operand(result, n, 0);
                 } else {
                     c1 = ch[offset + 1];
                     if (c1 == 'u') {
                         if (length > 3) {
                             offset = length - 3;
                         }
-                        return new int[]{NULL, offset};
+                        return operand(result, NULL, offset);
                     } else {
                         offset = length - 1;
-                        return new int[]{n, offset};
+                        return operand(result, n, offset);
                     }
                 }
             case 'y':
@@ -277,10 +291,10 @@ public class Operands {
                 if (length > 1) {
                     offset = length - 1;
                 }
-                return new int[]{y, offset};
+                return operand(result, y, offset);
             case 'E':
                 if (length == 3) {
-                    return new int[]{EMC, 0};
+                    return operand(result, EMC, 0);
                 } else {
                     c1 = ch[offset + 1];
                     offset = 0;
@@ -289,22 +303,22 @@ public class Operands {
                             if (length > 2) {
                                 offset = length - 2;
                             }
-                            return new int[]{ET, offset};
+                            return operand(result, ET, offset);
                         case 'X':
                             if (length > 2) {
                                 offset = length - 2;
                             }
-                            return new int[]{EX, offset};
+                            return operand(result, EX, offset);
                         case 'I':
                             if (length > 2) {
                                 offset = length - 2;
                             }
-                            return new int[]{EI, offset};
+                            return operand(result, EI, offset);
                         case 'M':
                             if (length > 3) {
                                 offset = length - 3;
                             }
-                            return new int[]{EMC, offset};
+                            return operand(result, EMC, offset);
                     }
                 }
             case 'i':
@@ -312,58 +326,58 @@ public class Operands {
                 if (length > 1) {
                     offset = length - 1;
                 }
-                return new int[]{i, offset};
+                return operand(result, i, offset);
             case 'h':
                 offset = 0;
                 if (length > 1) {
                     offset = length - 1;
                 }
-                return new int[]{h, offset};
+                return operand(result, h, offset);
             case 'j':
                 offset = 0;
                 if (length > 1) {
                     offset = length - 1;
                 }
-                return new int[]{j, offset};
+                return operand(result, j, offset);
             case 'J':
                 offset = 0;
                 if (length > 1) {
                     offset = length - 1;
                 }
-                return new int[]{J, offset};
+                return operand(result, J, offset);
             case 'k':
                 offset = 0;
                 if (length > 1) {
                     offset = length - 1;
                 }
-                return new int[]{k, offset};
+                return operand(result, k, offset);
             case 'K':
                 offset = 0;
                 if (length > 1) {
                     offset = length - 1;
                 }
-                return new int[]{K, offset};
+                return operand(result, K, offset);
             case 'G':
                 offset = 0;
                 if (length > 1) {
                     offset = length - 1;
                 }
-                return new int[]{G, offset};
+                return operand(result, G, offset);
             case 'l':
                 offset = 0;
                 if (length > 1) {
                     offset = length - 1;
                 }
-                return new int[]{l, offset};
+                return operand(result, l, offset);
             case 'L':
                 offset = 0;
                 if (length > 2) {
                     offset = length - 2;
                 }
-                return new int[]{LW, offset};
+                return operand(result, LW, offset);
             case 'g':
                 if (length == 1) {
-                    return new int[]{g, 0};
+                    return operand(result, g, 0);
                 } else {
                     c1 = ch[offset + 1];
                     offset = 0;
@@ -371,10 +385,10 @@ public class Operands {
                         if (length > 2) {
                             offset = length - 2;
                         }
-                        return new int[]{gs, offset};
+                        return operand(result, gs, offset);
                     } else {
                         offset = length - 1;
-                        return new int[]{g, offset};
+                        return operand(result, g, offset);
                     }
                 }
             case 'C':
@@ -382,10 +396,10 @@ public class Operands {
                 if (length > 2) {
                     offset = length - 2;
                 }
-                return new int[]{CS, offset};
+                return operand(result, CS, offset);
             case 'c':
                 if (length == 1) {
-                    return new int[]{Operands.c, 0};
+                    return operand(result, Operands.c, 0);
                 } else {
                     c1 = ch[offset + 1];
                     offset = 0;
@@ -394,20 +408,20 @@ public class Operands {
                             if (length > 2) {
                                 offset = length - 2;
                             }
-                            return new int[]{cs, offset};
+                            return operand(result, cs, offset);
                         case 'm':
                             if (length > 2) {
                                 offset = length - 2;
                             }
-                            return new int[]{cm, offset};
+                            return operand(result, cm, offset);
                         default:
                             offset = length - 1;
-                            return new int[]{Operands.c, offset};
+                            return operand(result, Operands.c, offset);
                     }
                 }
             case 'b':
                 if (length == 1) {
-                    return new int[]{b, 0};
+                    return operand(result, b, 0);
                 } else {
                     c1 = ch[offset + 1];
                     offset = 0;
@@ -415,15 +429,15 @@ public class Operands {
                         if (length > 2) {
                             offset = length - 2;
                         }
-                        return new int[]{b_STAR, offset};
+                        return operand(result, b_STAR, offset);
                     } else {
                         offset = length - 1;
-                        return new int[]{b, offset};
+                        return operand(result, b, offset);
                     }
                 }
             case 'B':
                 if (length == 1) {
-                    return new int[]{B, 0};
+                    return operand(result, B, 0);
                 } else {
                     c1 = ch[offset + 1];
                     offset = 0;
@@ -432,41 +446,41 @@ public class Operands {
                             if (length > 2) {
                                 offset = length - 2;
                             }
-                            return new int[]{BT, offset};
+                            return operand(result, BT, offset);
                         case '*':
                             if (length > 2) {
                                 offset = length - 2;
                             }
-                            return new int[]{B_STAR, offset};
+                            return operand(result, B_STAR, offset);
                         case 'I':
                             if (length > 2) {
                                 offset = length - 2;
                             }
-                            return new int[]{BI, offset};
+                            return operand(result, BI, offset);
                         case 'X':
                             if (length > 2) {
                                 offset = length - 2;
                             }
-                            return new int[]{BX, offset};
+                            return operand(result, BX, offset);
                         case 'D':
                             if (length > 3) {
                                 offset = length - 3;
                             }
-                            return new int[]{BDC, offset};
+                            return operand(result, BDC, offset);
                         case 'M':
                             if (length > 3) {
                                 offset = length - 3;
                             }
-                            return new int[]{BMC, offset};
+                            return operand(result, BMC, offset);
                         default:
                             offset = length - 1;
-                            return new int[]{B, offset};
+                            return operand(result, B, offset);
                     }
                 }
             case 'd':
             case 'D':
                 if (length == 1) {
-                    return new int[]{d, 0};
+                    return operand(result, d, 0);
                 } else {
                     c1 = ch[offset + 1];
                     offset = 0;
@@ -475,25 +489,25 @@ public class Operands {
                             if (length > 2) {
                                 offset = length - 2;
                             }
-                            return new int[]{d0, offset};
+                            return operand(result, d0, offset);
                         case '1':
                             if (length > 2) {
                                 offset = length - 2;
                             }
-                            return new int[]{d1, offset};
+                            return operand(result, d1, offset);
                         case 'o':
                             if (length > 2) {
                                 offset = length - 2;
                             }
-                            return new int[]{Do, offset};
+                            return operand(result, Do, offset);
                         case 'P':
                             if (length > 2) {
                                 offset = length - 2;
                             }
-                            return new int[]{DP, offset};
+                            return operand(result, DP, offset);
                         default:
                             offset = length - 1;
-                            return new int[]{d, offset};
+                            return operand(result, d, offset);
                     }
                 }
             case 'm':
@@ -501,10 +515,10 @@ public class Operands {
                 if (length > 1) {
                     offset = length - 1;
                 }
-                return new int[]{m, offset};
+                return operand(result, m, offset);
             case 'M':
                 if (length == 1) {
-                    return new int[]{M, 0};
+                    return operand(result, M, 0);
                 } else {
                     c1 = ch[offset + 1];
                     offset = 0;
@@ -512,36 +526,42 @@ public class Operands {
                         if (length > 2) {
                             offset = length - 2;
                         }
-                        return new int[]{MP, offset};
+                        return operand(result, MP, offset);
                     }
                     offset = length - 1;
-                    return new int[]{M, offset};
+                    return operand(result, M, offset);
                 }
             case 'I':
                 offset = 0;
                 if (length > 2) {
                     offset = length - 2;
                 }
-                return new int[]{ID, offset};
+                return operand(result, ID, offset);
             case '\'':
                 offset = 0;
                 if (length > 1) {
                     offset = length - 1;
                 }
-                return new int[]{SINGLE_QUOTE, offset};
+                return operand(result, SINGLE_QUOTE, offset);
             case '"':
                 offset = 0;
                 if (length > 1) {
                     offset = length - 1;
                 }
-                return new int[]{DOUBLE_QUOTE, offset};
+                return operand(result, DOUBLE_QUOTE, offset);
             case '%':
                 offset = 0;
                 if (length > 1) {
                     offset = length - 1;
                 }
-                return new int[]{PERCENT, offset};
+                return operand(result, PERCENT, offset);
         }
-        return new int[]{OP, 0};
+        return operand(result, OP, 0);
+    }
+
+    private static int[] operand(int[] result, int operand, int offset) {
+        result[0] = operand;
+        result[1] = offset;
+        return result;
     }
 }
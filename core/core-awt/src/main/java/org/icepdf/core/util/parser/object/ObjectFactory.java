@@ -30,9 +30,8 @@ public class ObjectFactory {
             }
             Name type = (Name) entries.get(Dictionary.TYPE_KEY);
             Name subType = (Name) entries.get(Dictionary.SUBTYPE_KEY);
-            // bulk copy as all our filters expect byte[], this may be expensive in some instances.
-            byte[] bufferBytes = new byte[streamData.remaining()];
-            streamData.get(bufferBytes);
+            // the stream keeps a view of the document buffer, bytes are only read when the stream is decoded.
+            ByteBuffer bufferBytes = streamData.slice();
             if (CrossReferenceStream.TYPE.equals(type)) {
                 return new PObject(new CrossReferenceStream(library, entries, bufferBytes), objectNumber, generationNumber);
             } else if (ObjectStream.TYPE.equals(type)) {
@@ -11,21 +11,60 @@ import org.icepdf.core.pobjects.structure.CrossReferenceEntry;
 import org.icepdf.core.pobjects.structure.CrossReferenceUsedEntry;
 import org.icepdf.core.pobjects.structure.exceptions.CrossReferenceStateException;
 import org.icepdf.core.pobjects.structure.exceptions.ObjectStateException;
+import org.icepdf.core.util.Defs;
 import org.icepdf.core.util.Library;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
+/**
+ * Loads indirect objects from the document byte buffer using the cross-reference entries.
+ * <p>
+ * By default, loading is serialized on this instance and on the library's mapped file byte buffer lock.  When
+ * concurrent loading is enabled, per loader with {@link #setConcurrentLoading(boolean)} or for every new loader
+ * via the system property "org.icepdf.core.library.concurrentObjectLoading", each
+ * call parses from its own duplicate view of the document buffer with its own parser and lexer state, so any
+ * number of threads can load objects from the same document at the same time.  The {@link Library} takes care of
+ * de-duplicating in-flight loads of the same reference.
+ *
+ * @since 7.3.0
+ */
 public class ObjectLoader {
 
+    private static final boolean defaultConcurrentLoading;
+
+    static {
+        defaultConcurrentLoading = Defs.sysPropertyBoolean(
+                "org.icepdf.core.library.concurrentObjectLoading", false);
+    }
+
     private final Library library;
     private final Parser parser;
 
+    private volatile boolean concurrentLoading = defaultConcurrentLoading;
+
     public ObjectLoader(Library library) {
         this.library = library;
         parser = new Parser(library);
     }
 
-    public synchronized PObject loadObject(CrossReference crossReference, Reference reference, Name hint)
+    public boolean isConcurrentLoading() {
+        return concurrentLoading;
+    }
+
+    public void setConcurrentLoading(boolean concurrentLoading) {
+        this.concurrentLoading = concurrentLoading;
+    }
+
+    public PObject loadObject(CrossReference crossReference, Reference reference, Name hint)
+            throws ObjectStateException, CrossReferenceStateException, IOException {
+        if (concurrentLoading) {
+            return loadObjectConcurrent(crossReference, reference);
+        }
+        return loadObjectSerial(crossReference, reference);
+    }
+
+    private synchronized PObject loadObjectSerial(CrossReference crossReference, Reference reference)
             throws ObjectStateException, CrossReferenceStateException, IOException {
 
         CrossReferenceEntry entry = crossReference.getEntry(reference);
@@ -47,4 +86,32 @@ public class ObjectLoader {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Loads the object without taking any shared locks.  The document buffer is duplicated so the position and
+     * limit changes made by the parser are local to the calling thread, and a new parser, and thus lexer, is used
+     * for each call.
+     */
+    private PObject loadObjectConcurrent(CrossReference crossReference, Reference reference)
+            throws ObjectStateException, CrossReferenceStateException, IOException {
+
+        CrossReferenceEntry entry = crossReference.getEntry(reference);
+
+        if (entry instanceof CrossReferenceUsedEntry) {
+            CrossReferenceUsedEntry crossReferenceEntry = (CrossReferenceUsedEntry) entry;
+            int offset = crossReferenceEntry.getFilePositionOfObject();
+            if (offset > 0) {
+                ByteBuffer byteBuffer = library.getMappedFileByteBuffer().duplicate();
+                // other threads may have narrowed the limit of the shared buffer when we duplicated it.
+                byteBuffer.limit(byteBuffer.capacity());
+                return new Parser(library).getPObject(byteBuffer, offset);
+            }
+        } else if (entry instanceof CrossReferenceCompressedEntry) {
+            CrossReferenceCompressedEntry compressedEntry = (CrossReferenceCompressedEntry) entry;
+            Reference objectStreamRef = compressedEntry.getObjectNumberOfContainingObjectStream();
+            ObjectStream objectStream = (ObjectStream) library.getObject(objectStreamRef);
+            return objectStream.decompressObject(new Parser(library), compressedEntry.getIndexWithinObjectStream());
+        }
+        return null;
+    }
+}
@@ -5,7 +5,6 @@ import org.icepdf.core.pobjects.*;
 import org.icepdf.core.pobjects.structure.CrossReference;
 import org.icepdf.core.pobjects.structure.CrossReferenceStream;
 import org.icepdf.core.pobjects.structure.CrossReferenceTable;
-import org.icepdf.core.pobjects.structure.CrossReferenceUsedEntry;
 import org.icepdf.core.pobjects.structure.exceptions.CrossReferenceStateException;
 import org.icepdf.core.pobjects.structure.exceptions.ObjectStateException;
 import org.icepdf.core.util.ByteBufferUtil;
@@ -212,14 +211,14 @@ public class Parser {
             // buffer end will result in a null token
             if (startObjectNumber == null) break;
             int numberOfObjects = (Integer) objectLexer.nextToken();
+            crossReferenceTable.reserveSubsection(startObjectNumber, numberOfObjects);
             int currentNumber = startObjectNumber;
             for (int i = 0; i < numberOfObjects; i++) {
                 int offset = (Integer) objectLexer.nextToken();
                 int generation = (Integer) objectLexer.nextToken();
                 int state = (Integer) objectLexer.nextToken();
                 if (state == OperandNames.OP_n) {
-                    crossReferenceTable.addEntry(
-                            new CrossReferenceUsedEntry(currentNumber, generation, offset));
+                    crossReferenceTable.addUsedEntry(currentNumber, generation, offset);
                 } else if (state == OperandNames.OP_f) {    // Free
                     // check for the first entry 0000000000 65535 f  and
                     // an object range where the first entry isn't zero.  The
@@ -75,7 +75,7 @@ public class ContentStreamRedactorCallback {
             endContentStream();
         }
         currentStream = stream;
-        originalContentStreamBytes = stream.getDecompressedBytes();
+        originalContentStreamBytes = stream.getDecodedStreamBytes();
         burnedContentOutputStream = new ByteArrayOutputStream();
     }
 
@@ -36,6 +36,8 @@ public class PageRemovalModifier implements Modifier<Page> {
         // remove page tree
         PageTree pageTree = catalog.getPageTree();
         if (findAndRemovePageTreeReference(pageTree, pageReference)) {
+            // page numbers have shifted, the index is rebuilt on the next lookup.
+            pageTree.resetPageIndex();
             // remove related resources
             // contents
             removeDictionaryEntries(page.getEntries(), CONTENTS_KEY, stateManager);
@@ -0,0 +1,188 @@
+package org.icepdf.core.pobjects.filters;
+
+import org.icepdf.core.pobjects.DictionaryEntries;
+import org.icepdf.core.pobjects.Name;
+import org.icepdf.core.util.Library;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class BlockDecodeTest {
+
+    private static final List<String> FLATE = Collections.singletonList("FlateDecode");
+
+    private final Library library = new Library();
+
+    @DisplayName("BlockDecode - inflate without a predictor")
+    @Test
+    public void testNoPredictor() throws IOException {
+        byte[] data = createImage(300, 200, 3, new Random(1));
+        byte[] raw = deflate(data);
+        DictionaryEntries entries = new DictionaryEntries();
+        assertDecoded(data, entries, raw);
+    }
+
+    @DisplayName("BlockDecode - bogus /DL values don't change the result")
+    @Test
+    public void testBogusDecodedLength() throws IOException {
+        byte[] data = createImage(300, 200, 3, new Random(2));
+        byte[] raw = deflate(data);
+        for (int decodedLength : new int[]{Integer.MAX_VALUE - 100, 1, -5}) {
+            DictionaryEntries entries = new DictionaryEntries();
+            entries.put(BlockDecode.DL_KEY, decodedLength);
+            assertDecoded(data, entries, raw);
+        }
+        // a few bytes claiming to inflate to 2GB.
+        DictionaryEntries entries = new DictionaryEntries();
+        entries.put(BlockDecode.DL_KEY, Integer.MAX_VALUE - 8);
+        assertDecoded(new byte[]{1, 2, 3}, entries, deflate(new byte[]{1, 2, 3}));
+    }
+
+    @DisplayName("BlockDecode - undo every PNG predictor, including a different one per row")
+    @Test
+    public void testPngPredictors() throws IOException {
+        Random random = new Random(3);
+        int width = 97;
+        int height = 61;
+        for (int colors : new int[]{1, 3, 4}) {
+            byte[] data = createImage(width, height, colors, random);
+            for (int tag = 0; tag <= 5; tag++) {
+                // tag 5 stands for PNG optimum, a random predictor on each row.
+                byte[] encoded = encodePng(data, width * colors, colors, tag, random);
+                DictionaryEntries entries = createDecodeParms(PredictorDecode.PREDICTOR_PNG_OPTIMUM,
+                        width, colors, 8);
+                assertDecoded(data, entries, deflate(encoded));
+            }
+        }
+    }
+
+    @DisplayName("BlockDecode - undo the TIFF 2 predictor")
+    @Test
+    public void testTiffPredictor() throws IOException {
+        int width = 131;
+        int height = 40;
+        int colors = 3;
+        byte[] data = createImage(width, height, colors, new Random(4));
+        byte[] encoded = data.clone();
+        int rowBytes = width * colors;
+        for (int row = 0; row < encoded.length; row += rowBytes) {
+            for (int i = row + rowBytes - 1; i >= row + colors; i--) {
+                encoded[i] -= encoded[i - colors];
+            }
+        }
+        DictionaryEntries entries = createDecodeParms(PredictorDecode.PREDICTOR_TIFF_2, width, colors, 8);
+        assertDecoded(data, entries, deflate(encoded));
+    }
+
+    /**
+     * Checks the block decoder against the expected data and the FlateDecode/PredictorDecode stream chain.
+     */
+    private void assertDecoded(byte[] expected, DictionaryEntries entries, byte[] raw) throws IOException {
+        byte[] blockDecoded = BlockDecode.decode(library, entries, FLATE, ByteBuffer.wrap(raw));
+        assertArrayEquals(expected, blockDecoded);
+
+        InputStream input = new FlateDecode(library, entries, new ByteArrayInputStream(raw));
+        if (PredictorDecode.isPredictor(library, entries)) {
+            input = new PredictorDecode(input, library, entries);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = input.read(buffer)) > 0) {
+            out.write(buffer, 0, read);
+        }
+        input.close();
+        assertArrayEquals(out.toByteArray(), blockDecoded);
+    }
+
+    private static DictionaryEntries createDecodeParms(int predictor, int columns, int colors,
+                                                       int bitsPerComponent) {
+        DictionaryEntries decodeParms = new DictionaryEntries();
+        decodeParms.put(PredictorDecode.PREDICTOR_VALUE, predictor);
+        decodeParms.put(PredictorDecode.COLUMNS_VALUE, columns);
+        decodeParms.put(PredictorDecode.COLORS_VALUE, colors);
+        decodeParms.put(PredictorDecode.BITS_PER_COMPONENT_VALUE, bitsPerComponent);
+        DictionaryEntries entries = new DictionaryEntries();
+        entries.put(new Name("DecodeParms"), decodeParms);
+        return entries;
+    }
+
+    /**
+     * Smooth gradients with some noise, so every predictor has something to do.
+     */
+    private static byte[] createImage(int width, int height, int colors, Random random) {
+        byte[] data = new byte[width * height * colors];
+        for (int y = 0, i = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                for (int c = 0; c < colors; c++, i++) {
+                    data[i] = (byte) (x * (c + 1) + y * 3 + random.nextInt(16));
+                }
+            }
+        }
+        return data;
+    }
+
+    private static byte[] encodePng(byte[] data, int rowBytes, int bytesPerPixel, int tag, Random random) {
+        int rows = data.length / rowBytes;
+        byte[] encoded = new byte[rows * (rowBytes + 1)];
+        for (int row = 0, out = 0; row < rows; row++) {
+            int rowTag = tag == 5 ? random.nextInt(5) : tag;
+            encoded[out++] = (byte) rowTag;
+            int start = row * rowBytes;
+            for (int i = 0; i < rowBytes; i++) {
+                int x = data[start + i] & 0xFF;
+                int left = i >= bytesPerPixel ? data[start + i - bytesPerPixel] & 0xFF : 0;
+                int above = row > 0 ? data[start + i - rowBytes] & 0xFF : 0;
+                int aboveLeft = row > 0 && i >= bytesPerPixel ? data[start + i - rowBytes - bytesPerPixel] & 0xFF : 0;
+                int prediction;
+                switch (rowTag) {
+                    case 1:
+                        prediction = left;
+                        break;
+                    case 2:
+                        prediction = above;
+                        break;
+                    case 3:
+                        prediction = (left + above) >>> 1;
+                        break;
+                    case 4:
+                        int p = left + above - aboveLeft;
+                        int pLeft = Math.abs(p - left);
+                        int pAbove = Math.abs(p - above);
+                        int pAboveLeft = Math.abs(p - aboveLeft);
+                        prediction = pLeft <= pAbove && pLeft <= pAboveLeft ? left :
+                                pAbove <= pAboveLeft ? above : aboveLeft;
+                        break;
+                    default:
+                        prediction = 0;
+                }
+                encoded[out++] = (byte) (x - prediction);
+            }
+        }
+        return encoded;
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,156 @@
+package org.icepdf.core.pobjects.filters;
+
+import org.icepdf.core.io.BitStream;
+import org.icepdf.core.pobjects.DictionaryEntries;
+import org.icepdf.core.util.Library;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+public class LZWDecodeTest {
+
+    private static final int CLEAR_TABLE = 256;
+    private static final int END_OF_DATA = 257;
+
+    @DisplayName("LZWDecode - decode the example of the PDF specification")
+    @Test
+    public void testSpecificationExample() throws IOException {
+        byte[] encoded = {(byte) 0x80, 0x0B, 0x60, 0x50, 0x22, 0x0C, 0x0C, (byte) 0x85, 0x01};
+        assertArrayEquals("-----A---B".getBytes(StandardCharsets.ISO_8859_1), decode(encoded, 1, 8192));
+    }
+
+    @DisplayName("LZWDecode - round trip repetitive data that fills and clears the code table")
+    @Test
+    public void testRepetitiveData() throws IOException {
+        Random random = new Random(11);
+        byte[] data = new byte[300_000];
+        for (int i = 0; i < data.length; i++) {
+            // few symbols with long runs, long code strings and several table clears.
+            data[i] = (byte) (random.nextInt(8) == 0 ? random.nextInt(4) : (i / 1000) % 3);
+        }
+        roundTrip(data);
+    }
+
+    @DisplayName("LZWDecode - round trip random data")
+    @Test
+    public void testRandomData() throws IOException {
+        Random random = new Random(5);
+        byte[] data = new byte[100_000];
+        random.nextBytes(data);
+        roundTrip(data);
+    }
+
+    @DisplayName("LZWDecode - round trip a single run, the longest possible code strings")
+    @Test
+    public void testSingleRun() throws IOException {
+        roundTrip(new byte[200_000]);
+    }
+
+    private static void roundTrip(byte[] data) throws IOException {
+        for (int earlyChange = 0; earlyChange <= 1; earlyChange++) {
+            byte[] encoded = encode(data, earlyChange);
+            // small reads go through the internal buffer, large ones are decoded straight into the array.
+            assertArrayEquals(data, decode(encoded, earlyChange, 7));
+            assertArrayEquals(data, decode(encoded, earlyChange, 64 * 1024));
+        }
+    }
+
+    private static byte[] decode(byte[] encoded, int earlyChange, int readSize) throws IOException {
+        DictionaryEntries entries = new DictionaryEntries();
+        if (earlyChange != 1) {
+            DictionaryEntries decodeParms = new DictionaryEntries();
+            decodeParms.put(LZWDecode.EARLYCHANGE_KEY, earlyChange);
+            entries.put(LZWDecode.DECODEPARMS_KEY, decodeParms);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream input = new LZWDecode(
+                new BitStream(new ByteArrayInputStream(encoded)), new Library(), entries)) {
+            byte[] buffer = new byte[readSize];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Straightforward LZW encoder, a clear code first, a clear code whenever the table is full and an end of data
+     * code last.
+     */
+    private static byte[] encode(byte[] data, int earlyChange) {
+        BitWriter out = new BitWriter();
+        HashMap<Long, Integer> table = new HashMap<>();
+        int width = 9;
+        int next = 258;
+        out.write(CLEAR_TABLE, width);
+        int string = -1;
+        for (byte value : data) {
+            int b = value & 0xff;
+            if (string < 0) {
+                string = b;
+                continue;
+            }
+            Long key = ((long) string << 8) | b;
+            Integer code = table.get(key);
+            if (code != null) {
+                string = code;
+                continue;
+            }
+            out.write(string, width);
+            table.put(key, next++);
+            if (next + earlyChange - 1 == 1 << width && width < 12) {
+                width++;
+            }
+            if (next >= 4094) {
+                out.write(CLEAR_TABLE, width);
+                table.clear();
+                width = 9;
+                next = 258;
+            }
+            string = b;
+        }
+        if (string >= 0) {
+            out.write(string, width);
+            // the decoder adds an entry for the last code too, which can widen the end of data code.
+            next++;
+            if (next + earlyChange - 1 == 1 << width && width < 12) {
+                width++;
+            }
+        }
+        out.write(END_OF_DATA, width);
+        return out.toByteArray();
+    }
+
+    private static class BitWriter {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private long bits;
+        private int count;
+
+        void write(int code, int width) {
+            bits = (bits << width) | code;
+            count += width;
+            while (count >= 8) {
+                count -= 8;
+                out.write((int) (bits >> count) & 0xff);
+            }
+        }
+
+        byte[] toByteArray() {
+            if (count > 0) {
+                out.write((int) (bits << (8 - count)) & 0xff);
+                count = 0;
+            }
+            return out.toByteArray();
+        }
+    }
+}
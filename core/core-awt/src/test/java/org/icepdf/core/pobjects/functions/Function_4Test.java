@@ -0,0 +1,217 @@
+package org.icepdf.core.pobjects.functions;
+
+import org.icepdf.core.pobjects.DictionaryEntries;
+import org.icepdf.core.pobjects.Name;
+import org.icepdf.core.pobjects.Stream;
+import org.icepdf.core.pobjects.functions.postscript.CalculatorProgram;
+import org.icepdf.core.pobjects.functions.postscript.Lexer;
+import org.icepdf.core.util.Library;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Stack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class Function_4Test {
+
+    @DisplayName("type 4 function - every calculator operator name is compiled")
+    @Test
+    public void testOperatorNames() {
+        String[] names = {"abs", "add", "and", "atan", "bitshift", "ceiling", "cos", "copy", "cvi", "cvr", "div",
+                "dup", "eq", "exch", "exp", "floor", "ge", "gt", "idiv", "index", "le", "ln", "log", "lt", "mod",
+                "mul", "ne", "neg", "not", "or", "pop", "roll", "round", "sin", "sqrt", "sub", "truncate", "xor"};
+        for (String name : names) {
+            byte[] program = ("{ " + name + " }").getBytes(StandardCharsets.ISO_8859_1);
+            assertDoesNotThrow(() -> CalculatorProgram.compile(program), name);
+        }
+        assertOutput("{ true { 1 } if false { 1 } { 2 } ifelse add }", new float[0], 3);
+    }
+
+    @DisplayName("type 4 function - arithmetic operators match the interpreter")
+    @Test
+    public void testArithmetic() throws IOException {
+        float[][] inputs = {{0.25f, 0.5f}, {-3.75f, 2}, {7, -2}, {1.5f, 0.1f}};
+        assertSameAsInterpreter("{ add }", inputs);
+        assertSameAsInterpreter("{ sub }", inputs);
+        assertSameAsInterpreter("{ mul }", inputs);
+        assertSameAsInterpreter("{ div }", inputs);
+        assertSameAsInterpreter("{ mod }", new float[][]{{7, 3}, {-7, 3}, {8, -3}});
+        assertSameAsInterpreter("{ idiv }", new float[][]{{7, 2}, {-7, 2}, {7.5f, 2}, {-7.5f, 2}});
+        assertSameAsInterpreter("{ pop abs }", inputs);
+        assertSameAsInterpreter("{ pop neg }", inputs);
+        assertSameAsInterpreter("{ pop ceiling }", inputs);
+        assertSameAsInterpreter("{ pop floor }", inputs);
+        assertSameAsInterpreter("{ pop round }", inputs);
+        // the interpreter floors on truncate, toward zero is checked in testIntegerDivision.
+        assertSameAsInterpreter("{ pop truncate }", new float[][]{{3.75f, 1}, {7, 2}});
+        assertSameAsInterpreter("{ pop cvi }", inputs);
+        assertSameAsInterpreter("{ pop cvr }", inputs);
+        assertSameAsInterpreter("{ exch pop abs sqrt }", inputs);
+        assertSameAsInterpreter("{ exch pop abs 0.5 exp }", inputs);
+        assertSameAsInterpreter("{ exch pop abs ln }", inputs);
+        assertSameAsInterpreter("{ exch pop abs log }", inputs);
+    }
+
+    @DisplayName("type 4 function - comparisons, if and ifelse match the interpreter")
+    @Test
+    public void testConditionals() throws IOException {
+        float[][] inputs = {{0.25f, 0.5f}, {0.5f, 0.25f}, {0.5f, 0.5f}};
+        assertSameAsInterpreter("{ eq { 1 } { 0 } ifelse }", inputs);
+        assertSameAsInterpreter("{ ne { 1 } { 0 } ifelse }", inputs);
+        assertSameAsInterpreter("{ ge { 1 } { 0 } ifelse }", inputs);
+        assertSameAsInterpreter("{ gt { 1 } { 0 } ifelse }", inputs);
+        assertSameAsInterpreter("{ le { 1 } { 0 } ifelse }", inputs);
+        assertSameAsInterpreter("{ lt { 1 } { 0 } ifelse }", inputs);
+        assertSameAsInterpreter("{ 2 copy lt { exch } if pop }", inputs);
+        // nested procedures and operators after the conditional.
+        assertSameAsInterpreter("{ 2 copy gt { pop 0.3 gt { 1 } { 2 } ifelse } { pop pop 3 } ifelse 10 mul }",
+                inputs);
+    }
+
+    @DisplayName("type 4 function - boolean and bitwise operators match the interpreter")
+    @Test
+    public void testBooleans() throws IOException {
+        float[][] inputs = {{12, 10}, {3, 5}, {0, 7}};
+        assertSameAsInterpreter("{ and }", inputs);
+        assertSameAsInterpreter("{ xor }", inputs);
+        assertSameAsInterpreter("{ 2 copy gt 3 1 roll lt or { 1 } { 0 } ifelse }", inputs);
+        assertSameAsInterpreter("{ 2 copy gt 3 1 roll lt and { 1 } { 0 } ifelse }", inputs);
+        assertSameAsInterpreter("{ 2 copy gt 3 1 roll lt xor { 1 } { 0 } ifelse }", inputs);
+        assertSameAsInterpreter("{ gt not { 1 } { 0 } ifelse }", inputs);
+        assertSameAsInterpreter("{ pop pop true false xor { 1 } { 0 } ifelse }", inputs);
+        assertSameAsInterpreter("{ pop pop true false or }", inputs);
+        // the interpreter only takes booleans for or and not and fails on bitshift.
+        assertOutput("{ or }", new float[]{12, 10}, 14);
+        assertOutput("{ not }", new float[]{12}, -13);
+        assertOutput("{ 3 bitshift }", new float[]{7}, 56);
+    }
+
+    @DisplayName("type 4 function - stack operators match the interpreter")
+    @Test
+    public void testStackOperators() throws IOException {
+        float[][] inputs = {{1, 2, 3, 4}, {0.1f, 0.2f, 0.3f, 0.4f}};
+        assertSameAsInterpreter("{ pop }", inputs);
+        assertSameAsInterpreter("{ dup }", inputs);
+        assertSameAsInterpreter("{ exch }", inputs);
+        assertSameAsInterpreter("{ 2 copy }", inputs);
+        assertSameAsInterpreter("{ 3 copy }", inputs);
+        assertSameAsInterpreter("{ 0 index }", inputs);
+        assertSameAsInterpreter("{ 3 index }", inputs);
+        assertSameAsInterpreter("{ 4 1 roll }", inputs);
+        assertSameAsInterpreter("{ 4 -1 roll }", inputs);
+        assertSameAsInterpreter("{ 3 2 roll }", inputs);
+        assertSameAsInterpreter("{ 4 5 roll }", inputs);
+    }
+
+    @DisplayName("type 4 function - sin, cos and atan work in degrees")
+    @Test
+    public void testTrigonometry() {
+        // the interpreter takes radians for sin and cos and returns atan in -90 to 90, so these are checked
+        // against the PostScript definitions instead.
+        assertOutput("{ sin }", new float[]{0}, 0);
+        assertOutput("{ sin }", new float[]{30}, 0.5f);
+        assertOutput("{ sin }", new float[]{90}, 1);
+        assertOutput("{ sin }", new float[]{270}, -1);
+        assertOutput("{ cos }", new float[]{0}, 1);
+        assertOutput("{ cos }", new float[]{60}, 0.5f);
+        assertOutput("{ cos }", new float[]{180}, -1);
+        assertOutput("{ atan }", new float[]{0, 1}, 0);
+        assertOutput("{ atan }", new float[]{1, 0}, 90);
+        assertOutput("{ atan }", new float[]{4, 4}, 45);
+        assertOutput("{ atan }", new float[]{-100, 0}, 270);
+        assertOutput("{ atan }", new float[]{1, -1}, 135);
+        // round spot function, angles are used by the predefined spot functions.
+        assertOutput("{ 360 mul sin 2 div exch 360 mul sin 2 div add }", new float[]{0.25f, 0.25f}, 1);
+    }
+
+    @DisplayName("type 4 function - idiv and truncate round toward zero")
+    @Test
+    public void testIntegerDivision() {
+        assertOutput("{ idiv }", new float[]{7, 2}, 3);
+        assertOutput("{ idiv }", new float[]{-7, 2}, -3);
+        assertOutput("{ idiv }", new float[]{7.5f, 2}, 3);
+        assertOutput("{ idiv }", new float[]{-7.5f, 2}, -3);
+        assertOutput("{ truncate }", new float[]{-3.75f}, -3);
+        assertOutput("{ cvi }", new float[]{3.75f}, 3);
+        assertOutput("{ -3 bitshift }", new float[]{142}, 17);
+    }
+
+    @DisplayName("type 4 function - sampled evaluation interpolates close to the program")
+    @Test
+    public void testSampled() {
+        String program = "{ 360 mul sin 0.5 mul 0.5 add dup mul }";
+        Function_4 exact = createFunction(program, 0);
+        Function_4 sampled = createFunction(program, 256);
+        for (int i = 0; i <= 1000; i++) {
+            float x = i / 1000.0f;
+            float expected = exact.calculate(new float[]{x})[0];
+            assertEquals(expected, sampled.calculate(new float[]{x})[0], 0.001f, "x " + x);
+        }
+        // samples are taken at the domain ends, inputs outside the domain are clamped.
+        assertEquals(exact.calculate(new float[]{0})[0], sampled.calculate(new float[]{0})[0], 1e-6f);
+        assertEquals(exact.calculate(new float[]{1})[0], sampled.calculate(new float[]{1})[0], 1e-6f);
+        assertEquals(exact.calculate(new float[]{1})[0], sampled.calculate(new float[]{2})[0], 1e-6f);
+        // more than one input isn't sampled.
+        Function_4 twoInputs = createFunction("{ add }", 256, 0, 1, 0, 1);
+        assertEquals(0.75f, twoInputs.calculate(new float[]{0.25f, 0.5f})[0], 1e-6f);
+    }
+
+    private static void assertSameAsInterpreter(String program, float[][] inputs) throws IOException {
+        CalculatorProgram calculatorProgram = CalculatorProgram.compile(program.getBytes(StandardCharsets.ISO_8859_1));
+        for (float[] input : inputs) {
+            float[] expected = interpret(program, input);
+            float[] actual = calculatorProgram.execute(input);
+            assertArrayEquals(expected, actual, 1e-6f, program + " " + Arrays.toString(input));
+        }
+    }
+
+    private static void assertOutput(String program, float[] input, float expected) {
+        float[] output = CalculatorProgram.compile(program.getBytes(StandardCharsets.ISO_8859_1)).execute(input);
+        assertEquals(1, output.length, program);
+        assertEquals(expected, output[0], 1e-5f, program + " " + Arrays.toString(input));
+    }
+
+    /**
+     * Runs the program with the interpreting lexer, booleans are returned as 1 or 0.
+     */
+    private static float[] interpret(String program, float[] input) throws IOException {
+        Lexer lexer = new Lexer();
+        lexer.setInputStream(new ByteArrayInputStream(program.getBytes(StandardCharsets.ISO_8859_1)));
+        lexer.parse(input);
+        Stack<?> stack = lexer.getStack();
+        float[] values = new float[stack.size()];
+        for (int i = 0; i < values.length; i++) {
+            Object value = stack.elementAt(i);
+            values[i] = value instanceof Boolean ? ((Boolean) value ? 1 : 0) : ((Number) value).floatValue();
+        }
+        return values;
+    }
+
+    private static Function_4 createFunction(String program, int sampleSize, float... domain) {
+        if (domain.length == 0) {
+            domain = new float[]{0, 1};
+        }
+        DictionaryEntries entries = new DictionaryEntries();
+        entries.put(new Name("FunctionType"), 4);
+        entries.put(new Name("Domain"), toList(domain));
+        entries.put(new Name("Range"), toList(new float[]{0, 1}));
+        byte[] content = program.getBytes(StandardCharsets.ISO_8859_1);
+        entries.put(Stream.LENGTH_KEY, content.length);
+        return new Function_4(new Stream(new Library(), entries, content), sampleSize);
+    }
+
+    private static List<Object> toList(float[] values) {
+        List<Object> list = new ArrayList<>();
+        for (float value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
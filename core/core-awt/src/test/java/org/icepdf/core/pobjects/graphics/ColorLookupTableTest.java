@@ -0,0 +1,202 @@
+package org.icepdf.core.pobjects.graphics;
+
+import org.icepdf.core.pobjects.graphics.RasterOps.IccCmykRasterOp;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.color.ColorSpace;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ColorLookupTableTest {
+
+    @DisplayName("colour lookup table - one component table is exact")
+    @Test
+    public void testOneComponentExact() {
+        ColorSpace gray = ColorSpace.getInstance(ColorSpace.CS_GRAY);
+        ColorLookupTable lookupTable = ColorLookupTable.create(gray);
+        assertNotNull(lookupTable);
+        byte[] samples = new byte[256];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (byte) i;
+        }
+        int[] argb = new int[samples.length];
+        lookupTable.toRGB(samples, 0, 1, argb, 0, samples.length);
+        for (int i = 0; i < samples.length; i++) {
+            assertEquals(toRGB(gray, new float[]{i / 255.0f}), argb[i], "sample " + i);
+        }
+    }
+
+    @DisplayName("colour lookup table - samples on grid nodes convert exactly as the colour space does")
+    @Test
+    public void testGridNodesExact() {
+        DeviceCMYK cmyk = new DeviceCMYK(null, null);
+        ColorLookupTable lookupTable = ColorLookupTable.create(cmyk);
+        assertNotNull(lookupTable);
+        Random random = new Random(1);
+        byte[] samples = new byte[4];
+        int[] argb = new int[1];
+        for (int i = 0; i < 2000; i++) {
+            float[] values = new float[4];
+            for (int c = 0; c < 4; c++) {
+                // nodes of a four component table are 15 sample values apart.
+                int sample = random.nextInt(18) * 15;
+                samples[c] = (byte) sample;
+                values[c] = sample / 255.0f;
+            }
+            lookupTable.toRGB(samples, 0, 4, argb, 0, 1);
+            assertEquals(cmyk.getColor(values).getRGB(), argb[0]);
+        }
+    }
+
+    @DisplayName("colour lookup table - DeviceCMYK approximation table is close to getColor")
+    @Test
+    public void testDeviceCmyk() {
+        DeviceCMYK cmyk = new DeviceCMYK(null, null);
+        ColorLookupTable lookupTable = ColorLookupTable.create(cmyk);
+        assertNotNull(lookupTable);
+        assertClose(lookupTable, 4, values -> cmyk.getColor(values).getRGB(), 24);
+    }
+
+    @DisplayName("colour lookup table - ICC three component table is close to the colour space conversion")
+    @Test
+    public void testIccThreeComponents() {
+        ColorSpace linearRgb = ColorSpace.getInstance(ColorSpace.CS_LINEAR_RGB);
+        ColorLookupTable lookupTable = ColorLookupTable.create(linearRgb);
+        assertNotNull(lookupTable);
+        assertClose(lookupTable, 3, values -> toRGB(linearRgb, values), 8);
+    }
+
+    @DisplayName("colour lookup table - ICC CMYK table is close to the profile conversion")
+    @Test
+    public void testIccCmyk() {
+        ColorSpace iccCmyk = DeviceCMYK.getIccCmykColorSpace();
+        ColorLookupTable lookupTable = DeviceCMYK.getIccCmykLookupTable();
+        if (iccCmyk == null || lookupTable == null) {
+            // profile disabled or unavailable, nothing to compare.
+            return;
+        }
+        assertClose(lookupTable, 4, values -> toRGB(iccCmyk, values), 24);
+    }
+
+    @DisplayName("colour lookup table - IccCmykRasterOp converts about the same with and without a table")
+    @Test
+    public void testIccCmykRasterOp() {
+        if (DeviceCMYK.getIccCmykLookupTable() == null) {
+            return;
+        }
+        int width = 64;
+        int height = 64;
+        byte[] samples = new byte[width * height * 4];
+        new Random(9).nextBytes(samples);
+        Raster src = Raster.createInterleavedRaster(new DataBufferByte(samples, samples.length),
+                width, height, width * 4, 4, new int[]{0, 1, 2, 3}, null);
+        int[] withTable = filter(new IccCmykRasterOp(null), src, width, height);
+        int[] withoutTable;
+        ColorLookupTable.setEnabled(false);
+        try {
+            withoutTable = filter(new IccCmykRasterOp(null), src, width, height);
+        } finally {
+            ColorLookupTable.setEnabled(true);
+        }
+        assertClose(withoutTable, withTable, 24);
+    }
+
+    @DisplayName("colour lookup table - float tuples convert like 8 bit samples of the same value")
+    @Test
+    public void testFloatComponents() {
+        ColorLookupTable lookupTable = ColorLookupTable.create(new DeviceCMYK(null, null));
+        Random random = new Random(4);
+        byte[] samples = new byte[4 * 1000];
+        random.nextBytes(samples);
+        float[] components = new float[samples.length];
+        for (int i = 0; i < samples.length; i++) {
+            components[i] = (samples[i] & 0xff) / 255.0f;
+        }
+        int[] fromSamples = new int[1000];
+        int[] fromComponents = new int[1000];
+        lookupTable.toRGB(samples, 0, 4, fromSamples, 0, 1000);
+        lookupTable.toRGB(components, 0, fromComponents, 0, 1000);
+        assertArrayEquals(fromSamples, fromComponents);
+    }
+
+    private interface Conversion {
+        int toRGB(float[] values);
+    }
+
+    /**
+     * Compares the table against the direct conversion of random samples.
+     */
+    private static void assertClose(ColorLookupTable lookupTable, int components, Conversion conversion,
+                                    int maxError) {
+        Random random = new Random(components);
+        int count = 20000;
+        byte[] samples = new byte[count * components];
+        random.nextBytes(samples);
+        int[] argb = new int[count];
+        lookupTable.toRGB(samples, 0, components, argb, 0, count);
+        int[] expected = new int[count];
+        for (int i = 0; i < count; i++) {
+            float[] values = new float[components];
+            for (int c = 0; c < components; c++) {
+                values[c] = (samples[i * components + c] & 0xff) / 255.0f;
+            }
+            expected[i] = conversion.toRGB(values);
+        }
+        assertClose(expected, argb, maxError);
+    }
+
+    /**
+     * Interpolation is off by a level or so on average, only samples close to a sharp bend in the conversion,
+     * like the clipping of the CMYK approximation, are off by more.
+     */
+    private static void assertClose(int[] expected, int[] actual, int maxError) {
+        long total = 0;
+        int worst = 0;
+        int outliers = 0;
+        for (int i = 0; i < expected.length; i++) {
+            int error = difference(expected[i], actual[i]);
+            total += error;
+            worst = Math.max(worst, error);
+            if (error > 2) {
+                outliers++;
+            }
+        }
+        double mean = (double) total / expected.length;
+        assertTrue(mean <= 1.0, "mean error " + mean);
+        assertTrue(outliers <= expected.length / 10, "errors over 2 " + outliers + " of " + expected.length);
+        assertTrue(worst <= maxError, "max error " + worst);
+    }
+
+    private static int[] filter(IccCmykRasterOp rasterOp, Raster src, int width, int height) {
+        WritableRaster dest = Raster.createPackedRaster(new DataBufferInt(width * height), width, height, width,
+                new int[]{0xff0000, 0xff00, 0xff, 0xff000000}, null);
+        rasterOp.filter(src, dest);
+        return ((DataBufferInt) dest.getDataBuffer()).getData();
+    }
+
+    /**
+     * Same rounding as the colour lookup table and ICCBased use for their nodes.
+     */
+    private static int toRGB(ColorSpace colorSpace, float[] values) {
+        float[] rgb = colorSpace.toRGB(values);
+        return 0xff000000 | (((int) (rgb[0] * 255) & 0xff) << 16) | (((int) (rgb[1] * 255) & 0xff) << 8) |
+                ((int) (rgb[2] * 255) & 0xff);
+    }
+
+    /**
+     * @return largest difference of the red, green and blue values.
+     */
+    private static int difference(int argb1, int argb2) {
+        int error = 0;
+        for (int shift = 0; shift <= 16; shift += 8) {
+            error = Math.max(error, Math.abs(((argb1 >> shift) & 0xff) - ((argb2 >> shift) & 0xff)));
+        }
+        return error;
+    }
+}
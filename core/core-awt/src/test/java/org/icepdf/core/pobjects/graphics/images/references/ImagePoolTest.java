@@ -0,0 +1,58 @@
+package org.icepdf.core.pobjects.graphics.images.references;
+
+import org.icepdf.core.pobjects.Reference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImagePoolTest {
+
+    private final Reference reference = new Reference(10, 0);
+
+    @DisplayName("image pool - subsampled image isn't returned for a larger or full size request")
+    @Test
+    public void testSubsampledImage() {
+        ImagePool imagePool = new ImagePool(false);
+        BufferedImage small = new BufferedImage(100, 50, BufferedImage.TYPE_INT_RGB);
+        imagePool.put(reference, small, 100, 50);
+
+        assertSame(small, imagePool.get(reference, 100, 50));
+        assertSame(small, imagePool.get(reference, 60, 20));
+        assertNull(imagePool.get(reference, 400, 200));
+        assertNull(imagePool.get(reference, 101, 50));
+        assertNull(imagePool.get(reference));
+    }
+
+    @DisplayName("image pool - larger decode replaces a subsampled image but not the other way round")
+    @Test
+    public void testLargerImageReplaces() {
+        ImagePool imagePool = new ImagePool(false);
+        BufferedImage small = new BufferedImage(100, 50, BufferedImage.TYPE_INT_RGB);
+        BufferedImage large = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+        imagePool.put(reference, small, 100, 50);
+        imagePool.put(reference, large, 400, 200);
+        assertSame(large, imagePool.get(reference, 400, 200));
+        assertSame(large, imagePool.get(reference, 100, 50));
+
+        imagePool.put(reference, small, 100, 50);
+        assertSame(large, imagePool.get(reference, 400, 200));
+    }
+
+    @DisplayName("image pool - full image is returned for any target size")
+    @Test
+    public void testFullImage() {
+        ImagePool imagePool = new ImagePool(false);
+        BufferedImage full = new BufferedImage(800, 400, BufferedImage.TYPE_INT_RGB);
+        imagePool.put(reference, full);
+        assertSame(full, imagePool.get(reference));
+        assertSame(full, imagePool.get(reference, 100, 50));
+        assertSame(full, imagePool.get(reference, 1600, 800));
+
+        BufferedImage small = new BufferedImage(100, 50, BufferedImage.TYPE_INT_RGB);
+        imagePool.put(reference, small, 100, 50);
+        assertSame(full, imagePool.get(reference));
+    }
+}
@@ -0,0 +1,208 @@
+package org.icepdf.core.pobjects.graphics.text;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactPageTextTest {
+
+    private static final String CHARACTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 .,;:!?-()'";
+
+    @DisplayName("compact page text - same text as the object model for lines and words drawn out of order")
+    @Test
+    public void testOutOfOrderLayout() {
+        List<Step> script = createLayout();
+        assertSameText(script);
+        assertSameSortedText(script);
+    }
+
+    @DisplayName("compact page text - same text as the object model for random glyphs")
+    @Test
+    public void testRandomGlyphs() {
+        for (int seed = 0; seed < 20; seed++) {
+            assertSameText(createRandom(seed, true));
+            assertSameSortedText(createRandom(seed, false));
+        }
+    }
+
+    @DisplayName("compact page text - duplicate words are dropped when asked")
+    @Test
+    public void testDuplicates() {
+        CompactPageText compactText = new CompactPageText();
+        for (Step step : createLayout()) {
+            step.apply(compactText);
+        }
+        String text = compactText.getText(false, true);
+        assertEquals(text.indexOf("twice"), text.lastIndexOf("twice") - "twice".length());
+        String trimmed = compactText.getText(true, true);
+        assertTrue(trimmed.contains("twice"), trimmed);
+        assertEquals(trimmed.indexOf("twice"), trimmed.lastIndexOf("twice"));
+        assertEquals(text.length() - "twice".length(), trimmed.length());
+    }
+
+    /**
+     * Runs the script on a page text of each kind, the compact text is extracted from the arrays and then again
+     * from the line objects built from them.
+     */
+    private static void assertSameText(List<Step> script) {
+        PageText objectText = new PageText(false);
+        PageText compactText = new PageText(true);
+        for (Step step : script) {
+            step.apply(objectText);
+            step.apply(compactText);
+        }
+        String expected = objectText.toString();
+        assertTrue(expected.trim().length() > 0);
+        assertEquals(expected, compactText.toString());
+        // word text read from the compact store, before the line objects are built.
+        assertEquals(objectText.getWordTexts(), compactText.getWordTexts());
+        // builds the line objects from the compact store, toString then sorts them like the object model.
+        assertEquals(objectText.getPageLines().size(), compactText.getPageLines().size());
+        assertEquals(expected, compactText.toString());
+    }
+
+    /**
+     * Checks the line order when columns aren't preserved against the object model's lines sorted top down.
+     */
+    private static void assertSameSortedText(List<Step> script) {
+        PageText objectText = new PageText(false);
+        CompactPageText compactText = new CompactPageText();
+        for (Step step : script) {
+            step.apply(objectText);
+            step.apply(compactText);
+        }
+        List<LineText> lines = new ArrayList<>(objectText.getPageLines());
+        lines.sort(new LinePositionComparator());
+        StringBuilder expected = new StringBuilder();
+        List<String> expectedWords = new ArrayList<>();
+        for (LineText lineText : lines) {
+            for (WordText wordText : lineText.getWords()) {
+                expected.append(wordText.getText());
+                expectedWords.add(wordText.getText());
+            }
+            expected.append('\n');
+        }
+        assertEquals(expected.toString(), compactText.getText(false, false));
+        assertEquals(expectedWords, compactText.getWordTexts(false, false));
+    }
+
+    private static List<Step> createLayout() {
+        List<Step> script = new ArrayList<>();
+        // bottom line first.
+        script.add(new Step());
+        addWord(script, 72, 660, "bottom");
+        addWord(script, 130, 660, "line.");
+        // top line with its words drawn right to left and a superscript.
+        script.add(new Step());
+        addWord(script, 200, 700, "world,");
+        addWord(script, 250, 704, "2");
+        addWord(script, 72, 700, "hello");
+        // middle line split over two text objects with a wide gap.
+        script.add(new Step());
+        addWord(script, 72, 680, "left");
+        script.add(new Step());
+        addWord(script, 400, 680, "right");
+        // the same word drawn twice.
+        script.add(new Step());
+        addWord(script, 72, 640, "twice");
+        addWord(script, 72, 640, "twice");
+        return script;
+    }
+
+    /**
+     * Blocks of random glyphs on a grid of baselines with some jitter and gaps.
+     *
+     * @param transforms include changes of writing direction, which only the page text handles.
+     */
+    private static List<Step> createRandom(int seed, boolean transforms) {
+        Random random = new Random(seed);
+        List<Step> script = new ArrayList<>();
+        AffineTransform rotated = new AffineTransform(0, 1, -1, 0, 0, 0);
+        AffineTransform upright = new AffineTransform(0, -1, 1, 0, 0, 0);
+        for (int block = 0; block < 30; block++) {
+            script.add(new Step());
+            if (transforms && random.nextInt(10) == 0) {
+                // a change of writing direction starts a new word.
+                script.add(new Step(random.nextBoolean() ? rotated : upright));
+            }
+            float x = 72 + random.nextInt(300);
+            float y = 100 + random.nextInt(30) * 20 + (random.nextInt(5) == 0 ? random.nextInt(7) - 3 : 0);
+            float size = 8 + random.nextInt(6);
+            for (int i = 0, count = 1 + random.nextInt(40); i < count; i++) {
+                String unicode = String.valueOf(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
+                float width = size * (0.4f + random.nextFloat() * 0.3f);
+                script.add(new Step(x, y, width, size, unicode));
+                // mostly next to each other, sometimes a gap that's big enough for a space.
+                x += width + (random.nextInt(6) == 0 ? size * random.nextFloat() : 0);
+            }
+        }
+        return script;
+    }
+
+    private static void addWord(List<Step> script, float x, float y, String word) {
+        for (int i = 0; i < word.length(); i++) {
+            script.add(new Step(x + i * 6, y, 6, 10, word.substring(i, i + 1)));
+        }
+    }
+
+    /**
+     * A new line, a text transform or a glyph, each page text gets its own glyph as glyph bounds are changed as
+     * text is sorted.
+     */
+    private static class Step {
+        private final AffineTransform transform;
+        private final float x, y, width, height;
+        private final String unicode;
+
+        Step() {
+            this(null, 0, 0, 0, 0, null);
+        }
+
+        Step(AffineTransform transform) {
+            this(transform, 0, 0, 0, 0, null);
+        }
+
+        Step(float x, float y, float width, float height, String unicode) {
+            this(null, x, y, width, height, unicode);
+        }
+
+        private Step(AffineTransform transform, float x, float y, float width, float height, String unicode) {
+            this.transform = transform;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.unicode = unicode;
+        }
+
+        void apply(PageText pageText) {
+            if (unicode != null) {
+                pageText.addGlyph(createGlyph());
+            } else if (transform != null) {
+                pageText.setTextTransform(transform);
+            } else {
+                pageText.newLine();
+            }
+        }
+
+        void apply(CompactPageText compactText) {
+            if (unicode != null) {
+                compactText.addGlyph(createGlyph());
+            } else if (transform == null) {
+                compactText.newLine();
+            }
+        }
+
+        private GlyphText createGlyph() {
+            return new GlyphText(x, y, width, 0, new Rectangle2D.Double(x, y, width, height), unicode.charAt(0),
+                    unicode);
+        }
+    }
+}
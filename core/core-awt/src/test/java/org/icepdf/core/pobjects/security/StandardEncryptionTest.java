@@ -0,0 +1,222 @@
+package org.icepdf.core.pobjects.security;
+
+import org.icepdf.core.pobjects.DictionaryEntries;
+import org.icepdf.core.pobjects.LiteralStringObject;
+import org.icepdf.core.pobjects.Reference;
+import org.icepdf.core.util.Library;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StandardEncryptionTest {
+
+    private static final byte[] SALT = {0x73, 0x41, 0x6C, 0x54};
+
+    @DisplayName("standard encryption - RC4 object keys match algorithm 3.1 on first use and from the cache")
+    @Test
+    public void testRc4ObjectKeys() throws Exception {
+        StandardEncryption encryption = createEncryption();
+        byte[] key = encryption.encryptionKeyAlgorithm("", 128);
+        byte[] data = "rc4 string data".getBytes(StandardCharsets.ISO_8859_1);
+        // interleave references, every second call per reference is a cache hit.
+        for (int pass = 0; pass < 2; pass++) {
+            for (int objectNumber = 1; objectNumber < 50; objectNumber++) {
+                Reference reference = new Reference(objectNumber, objectNumber % 3);
+                byte[] encrypted = rc4(objectKey(key, reference, true), data);
+                assertArrayEquals(data, encryption.generalEncryptionAlgorithm(reference, key,
+                        StandardEncryption.ENCRYPTION_TYPE_V2, encrypted, false));
+            }
+        }
+    }
+
+    @DisplayName("standard encryption - AES object keys are cached apart from RC4 keys of the same object")
+    @Test
+    public void testAesObjectKeys() throws Exception {
+        StandardEncryption encryption = createEncryption();
+        byte[] key = encryption.encryptionKeyAlgorithm("", 128);
+        byte[] data = "aes string data, longer than a block".getBytes(StandardCharsets.ISO_8859_1);
+        Reference reference = new Reference(12, 0);
+        for (int pass = 0; pass < 2; pass++) {
+            byte[] rc4Encrypted = rc4(objectKey(key, reference, true), data);
+            assertArrayEquals(data, encryption.generalEncryptionAlgorithm(reference, key,
+                    StandardEncryption.ENCRYPTION_TYPE_V2, rc4Encrypted, false));
+            byte[] aesEncrypted = aes(objectKey(key, reference, false), data);
+            assertArrayEquals(data, encryption.generalEncryptionAlgorithm(reference, key,
+                    StandardEncryption.ENCRYPTION_TYPE_AES_V2, aesEncrypted, false));
+            // round trip through the encryption side too.
+            byte[] encrypted = encryption.generalEncryptionAlgorithm(reference, key,
+                    StandardEncryption.ENCRYPTION_TYPE_AES_V2, data, true);
+            assertArrayEquals(data, encryption.generalEncryptionAlgorithm(reference, key,
+                    StandardEncryption.ENCRYPTION_TYPE_AES_V2, encrypted, false));
+        }
+    }
+
+    @DisplayName("standard encryption - streams use the same cached object key as strings")
+    @Test
+    public void testStreamObjectKeys() throws Exception {
+        StandardEncryption encryption = createEncryption();
+        byte[] key = encryption.encryptionKeyAlgorithm("", 128);
+        byte[] data = new byte[10_000];
+        new Random(3).nextBytes(data);
+        Reference reference = new Reference(7, 0);
+        byte[] objectKey = objectKey(key, reference, true);
+        // a string of the object first, so the stream's key comes from the cache.
+        byte[] string = "string".getBytes(StandardCharsets.ISO_8859_1);
+        assertArrayEquals(string, encryption.generalEncryptionAlgorithm(reference, key,
+                StandardEncryption.ENCRYPTION_TYPE_V2, rc4(objectKey, string), false));
+        InputStream input = encryption.generalEncryptionInputStream(reference, key,
+                StandardEncryption.ENCRYPTION_TYPE_V2, new ByteArrayInputStream(rc4(objectKey, data)), false);
+        assertArrayEquals(data, readAll(input));
+
+        reference = new Reference(8, 0);
+        objectKey = objectKey(key, reference, false);
+        input = encryption.generalEncryptionInputStream(reference, key,
+                StandardEncryption.ENCRYPTION_TYPE_AES_V2, new ByteArrayInputStream(aes(objectKey, data)), false);
+        assertArrayEquals(data, readAll(input));
+    }
+
+    @DisplayName("standard encryption - a new document key clears the cached object keys")
+    @Test
+    public void testKeyChangeClearsCache() throws Exception {
+        StandardEncryption encryption = createEncryption();
+        byte[] data = "data".getBytes(StandardCharsets.ISO_8859_1);
+        Reference reference = new Reference(5, 0);
+        byte[] firstKey = encryption.encryptionKeyAlgorithm("", 128);
+        assertArrayEquals(data, encryption.generalEncryptionAlgorithm(reference, firstKey,
+                StandardEncryption.ENCRYPTION_TYPE_V2, rc4(objectKey(firstKey, reference, true), data), false));
+
+        byte[] secondKey = encryption.encryptionKeyAlgorithm("password", 128);
+        assertFalse(Arrays.equals(firstKey, secondKey));
+        assertArrayEquals(data, encryption.generalEncryptionAlgorithm(reference, secondKey,
+                StandardEncryption.ENCRYPTION_TYPE_V2, rc4(objectKey(secondKey, reference, true), data), false));
+    }
+
+    @DisplayName("standard encryption - more objects than the cache holds are all decrypted")
+    @Test
+    public void testCacheEviction() throws Exception {
+        StandardEncryption encryption = createEncryption();
+        byte[] key = encryption.encryptionKeyAlgorithm("", 128);
+        byte[] data = "evicted".getBytes(StandardCharsets.ISO_8859_1);
+        for (int pass = 0; pass < 2; pass++) {
+            for (int objectNumber = 1; objectNumber < 3000; objectNumber += 1 + pass * 100) {
+                Reference reference = new Reference(objectNumber, 0);
+                assertArrayEquals(data, encryption.generalEncryptionAlgorithm(reference, key,
+                        StandardEncryption.ENCRYPTION_TYPE_V2, rc4(objectKey(key, reference, true), data), false));
+            }
+        }
+    }
+
+    @DisplayName("standard encryption - concurrent decryption of different objects")
+    @Test
+    public void testConcurrentDecryption() throws Exception {
+        StandardEncryption encryption = createEncryption();
+        byte[] key = encryption.encryptionKeyAlgorithm("", 128);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                final int seed = thread;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 2000; i++) {
+                        Reference reference = new Reference(1 + random.nextInt(200), 0);
+                        boolean isRc4 = random.nextBoolean();
+                        byte[] data = new byte[1 + random.nextInt(100)];
+                        random.nextBytes(data);
+                        byte[] objectKey = objectKey(key, reference, isRc4);
+                        byte[] encrypted = isRc4 ? rc4(objectKey, data) : aes(objectKey, data);
+                        assertArrayEquals(data, encryption.generalEncryptionAlgorithm(reference, key,
+                                isRc4 ? StandardEncryption.ENCRYPTION_TYPE_V2 :
+                                        StandardEncryption.ENCRYPTION_TYPE_AES_V2, encrypted, false));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Revision 3, 128 bit key, the document key only depends on the password given as the O and ID values are fixed.
+     */
+    private static StandardEncryption createEncryption() {
+        DictionaryEntries entries = new DictionaryEntries();
+        entries.put(EncryptionDictionary.V_KEY, 2);
+        entries.put(EncryptionDictionary.R_KEY, 3);
+        entries.put(EncryptionDictionary.LENGTH_KEY, 128);
+        entries.put(EncryptionDictionary.P_KEY, -4);
+        char[] bigO = new char[32];
+        Arrays.fill(bigO, 'o');
+        entries.put(EncryptionDictionary.O_KEY, new LiteralStringObject(new String(bigO)));
+        List<Object> fileId = new ArrayList<>();
+        fileId.add(new LiteralStringObject("0123456789abcdef"));
+        fileId.add(new LiteralStringObject("0123456789abcdef"));
+        return new StandardEncryption(new EncryptionDictionary(new Library(), entries, fileId));
+    }
+
+    /**
+     * Algorithm 3.1 step 1 to 4 without any caching.
+     */
+    private static byte[] objectKey(byte[] key, Reference reference, boolean isRc4) throws Exception {
+        MessageDigest md5 = MessageDigest.getInstance("MD5");
+        md5.update(key);
+        int objectNumber = reference.getObjectNumber();
+        int generationNumber = reference.getGenerationNumber();
+        md5.update(new byte[]{(byte) objectNumber, (byte) (objectNumber >> 8), (byte) (objectNumber >> 16),
+                (byte) generationNumber, (byte) (generationNumber >> 8)});
+        if (!isRc4) {
+            md5.update(SALT);
+        }
+        return Arrays.copyOf(md5.digest(), Math.min(key.length + 5, 16));
+    }
+
+    private static byte[] rc4(byte[] objectKey, byte[] data) throws Exception {
+        Cipher rc4 = Cipher.getInstance("RC4");
+        rc4.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(objectKey, "RC4"));
+        return rc4.doFinal(data);
+    }
+
+    private static byte[] aes(byte[] objectKey, byte[] data) throws Exception {
+        byte[] iv = new byte[16];
+        new Random(objectKey[0]).nextBytes(iv);
+        Cipher aes = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        aes.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(objectKey, "AES"), new IvParameterSpec(iv));
+        byte[] encrypted = aes.doFinal(data);
+        byte[] output = new byte[iv.length + encrypted.length];
+        System.arraycopy(iv, 0, output, 0, iv.length);
+        System.arraycopy(encrypted, 0, output, iv.length, encrypted.length);
+        return output;
+    }
+
+    private static byte[] readAll(InputStream input) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1000];
+        int read;
+        while ((read = input.read(buffer)) > 0) {
+            out.write(buffer, 0, read);
+        }
+        input.close();
+        return out.toByteArray();
+    }
+}
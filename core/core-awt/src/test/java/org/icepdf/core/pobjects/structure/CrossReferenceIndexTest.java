@@ -0,0 +1,120 @@
+package org.icepdf.core.pobjects.structure;
+
+import org.icepdf.core.pobjects.Reference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CrossReferenceIndexTest {
+
+    @DisplayName("xref index - dense section is sized from its subsection")
+    @Test
+    public void testDenseSection() {
+        CrossReferenceIndex index = new CrossReferenceIndex();
+        index.reserve(0, 1000);
+        for (int objectNumber = 1; objectNumber < 1000; objectNumber++) {
+            index.addUsedEntry(objectNumber, 0, objectNumber * 10L);
+        }
+        assertEquals(1000, index.getCapacity());
+        assertEquals(999, index.size());
+        CrossReferenceUsedEntry entry = (CrossReferenceUsedEntry) index.getEntry(new Reference(500, 0));
+        assertEquals(5000, entry.getFilePositionOfObject());
+        assertNull(index.getEntry(new Reference(500, 1)));
+        assertNull(index.getEntry(new Reference(0, 0)));
+    }
+
+    @DisplayName("xref index - small incremental update section doesn't allocate for the whole document")
+    @Test
+    public void testIncrementalSection() {
+        CrossReferenceIndex index = new CrossReferenceIndex();
+        // typical incremental update, the free head entry and a few objects at the end of the document.
+        index.reserve(0, 1);
+        index.reserve(100_000, 3);
+        index.addUsedEntry(100_000, 0, 10);
+        index.addUsedEntry(100_001, 0, 20);
+        index.addCompressedEntry(100_002, 100_000, 4);
+        index.addUsedEntry(42, 1, 30);
+        assertTrue(index.getCapacity() < 100, "capacity " + index.getCapacity());
+        assertEquals(4, index.size());
+        assertEquals(30, ((CrossReferenceUsedEntry) index.getEntry(new Reference(42, 1))).getFilePositionOfObject());
+        CrossReferenceCompressedEntry compressedEntry =
+                (CrossReferenceCompressedEntry) index.getEntry(new Reference(100_002, 0));
+        assertEquals(100_000, compressedEntry.getObjectNumberOfContainingObjectStream().getObjectNumber());
+        assertEquals(4, compressedEntry.getIndexWithinObjectStream());
+        assertTrue(index.containsObjectNumber(42));
+        assertFalse(index.containsObjectNumber(43));
+    }
+
+    @DisplayName("xref index - bogus object numbers don't grow the arrays")
+    @Test
+    public void testBogusObjectNumber() {
+        CrossReferenceIndex index = new CrossReferenceIndex();
+        index.reserve(0, 10);
+        index.addUsedEntry(1, 0, 10);
+        index.addUsedEntry(Integer.MAX_VALUE - 1, 0, 20);
+        index.reserve(5, Integer.MAX_VALUE);
+        assertTrue(index.getCapacity() <= (1 << 20) + 10, "capacity " + index.getCapacity());
+        assertEquals(20, ((CrossReferenceUsedEntry) index.getEntry(
+                new Reference(Integer.MAX_VALUE - 1, 0))).getFilePositionOfObject());
+    }
+
+    @DisplayName("xref index - object numbers at the top of the int range are kept")
+    @Test
+    public void testLargestObjectNumbers() {
+        CrossReferenceIndex index = new CrossReferenceIndex();
+        index.addUsedEntry(Integer.MAX_VALUE, 0, 10);
+        assertEquals(10, ((CrossReferenceUsedEntry) index.getEntry(
+                new Reference(Integer.MAX_VALUE, 0))).getFilePositionOfObject());
+
+        index = new CrossReferenceIndex();
+        index.reserve(Integer.MAX_VALUE - 4, 10);
+        for (int i = 4; i >= 0; i--) {
+            index.addUsedEntry(Integer.MAX_VALUE - i, 0, 100 + i);
+        }
+        index.addCompressedEntry(Integer.MAX_VALUE, 7, 3);
+        assertEquals(5, index.size());
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(100 + i, ((CrossReferenceUsedEntry) index.getEntry(
+                    new Reference(Integer.MAX_VALUE - i, 0))).getFilePositionOfObject());
+        }
+        CrossReferenceCompressedEntry compressedEntry =
+                (CrossReferenceCompressedEntry) index.getEntry(new Reference(Integer.MAX_VALUE, 0));
+        assertEquals(7, compressedEntry.getObjectNumberOfContainingObjectStream().getObjectNumber());
+        assertEquals(3, compressedEntry.getIndexWithinObjectStream());
+        assertTrue(index.containsObjectNumber(Integer.MAX_VALUE));
+
+        HashMap<Reference, CrossReferenceEntry> entries = new HashMap<>();
+        index.copyInto(entries);
+        assertEquals(5, entries.size());
+    }
+
+    @DisplayName("xref index - entries added in any order without subsections are all found")
+    @Test
+    public void testUnorderedEntries() {
+        List<Integer> objectNumbers = new ArrayList<>();
+        for (int objectNumber = 1; objectNumber < 5000; objectNumber += 3) {
+            objectNumbers.add(objectNumber);
+        }
+        Collections.shuffle(objectNumbers, new Random(7));
+        CrossReferenceIndex index = new CrossReferenceIndex();
+        for (int objectNumber : objectNumbers) {
+            index.addUsedEntry(objectNumber, 0, objectNumber + 1);
+        }
+        assertEquals(objectNumbers.size(), index.size());
+        for (int objectNumber : objectNumbers) {
+            CrossReferenceUsedEntry entry = (CrossReferenceUsedEntry) index.getEntry(new Reference(objectNumber, 0));
+            assertEquals(objectNumber + 1, entry.getFilePositionOfObject());
+        }
+        HashMap<Reference, CrossReferenceEntry> entries = new HashMap<>();
+        index.copyInto(entries);
+        assertEquals(objectNumbers.size(), entries.size());
+        assertTrue(index.getCapacity() <= 4 * (objectNumbers.size() + 1), "capacity " + index.getCapacity());
+    }
+}
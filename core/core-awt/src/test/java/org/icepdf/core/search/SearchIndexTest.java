@@ -0,0 +1,239 @@
+package org.icepdf.core.search;
+
+import org.icepdf.core.exceptions.PDFSecurityException;
+import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.pobjects.graphics.text.WordText;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchIndexTest {
+
+    @TempDir
+    File tempDir;
+
+    @DisplayName("search index - terms, prefixes and phrases are found at their page and position")
+    @Test
+    public void testFind() throws Exception {
+        Document document = createDocument();
+        try {
+            SearchIndex searchIndex = createIndex(document);
+            // page 0 words, single spaces don't count: Hello , world . Costs 3.5 units ! An inverted-index example
+            assertHit(searchIndex.findTerm("WORLD"), 0, 2, 1);
+            assertHit(searchIndex.findPrefix("inv"), 0, 9, 1);
+            assertHit(searchIndex.findPhrase(Arrays.asList("hello", ",", "world")), 0, 0, 3);
+            assertHit(searchIndex.findPhrase(Arrays.asList("Costs", "3.5", "units")), 0, 4, 3);
+            assertTrue(searchIndex.findPhrase(Arrays.asList("world", "hello")).isEmpty());
+            // page 1 words: Another page , nothing here .
+            assertHit(searchIndex.findTerm("page"), 1, 1, 1);
+
+            // the words of a hit are taken from the page text.
+            List<WordText> words = SearchIndex.getWords(document.getPageTree().getPage(0).getText(),
+                    searchIndex.findPhrase(Arrays.asList("hello", ",", "world")).get(0));
+            assertEquals(3, words.size());
+            assertEquals("world", words.get(2).getText());
+        } finally {
+            document.dispose();
+        }
+    }
+
+    @DisplayName("search index - a phrase with punctuation and a partial word query find their page")
+    @Test
+    public void testPunctuationAndPartialWords() throws Exception {
+        Document document = createDocument();
+        try {
+            SearchIndex searchIndex = createIndex(document);
+            // "Hello, world." as split by the search controller, only the letter and digit words rule out pages.
+            List<String> phrase = Arrays.asList("Hello", ",", "world", ".");
+            List<String> indexedWords = SearchIndex.getIndexedWords(phrase);
+            assertEquals(Arrays.asList("Hello", "world"), indexedWords);
+            assertEquals(pages(0), searchIndex.findPages(indexedWords, true));
+
+            // "ello, wor" isn't made of whole words, the page words only have to contain them.
+            indexedWords = SearchIndex.getIndexedWords(Arrays.asList("ello", ",", "wor"));
+            assertEquals(pages(), searchIndex.findPages(indexedWords, true));
+            assertEquals(pages(0), searchIndex.findPages(indexedWords, false));
+
+            // words with symbols can't rule out a page.
+            assertTrue(SearchIndex.getIndexedWords(Collections.singletonList("inverted-index")).isEmpty());
+            assertTrue(SearchIndex.getIndexedWords(Arrays.asList("!", ",")).isEmpty());
+            assertEquals(pages(0), searchIndex.findPages(Collections.singletonList("dex"), false));
+            assertEquals(pages(0, 1), searchIndex.findPages(Collections.emptyList(), true));
+        } finally {
+            document.dispose();
+        }
+    }
+
+    @DisplayName("search index - pages that haven't been indexed aren't found")
+    @Test
+    public void testPartialIndex() throws Exception {
+        Document document = createDocument();
+        try {
+            SearchIndex searchIndex = new SearchIndex(SearchIndex.createKey(document), 2);
+            searchIndex.addPage(0, document.getPageTree().getPage(0).getText());
+            List<String> words = Collections.singletonList("page");
+            assertEquals(pages(), searchIndex.findPages(words, true));
+            assertFalse(searchIndex.isComplete());
+
+            searchIndex.addPage(1, document.getPageTree().getPage(1).getText());
+            assertEquals(pages(1), searchIndex.findPages(words, true));
+            assertTrue(searchIndex.isComplete());
+        } finally {
+            document.dispose();
+        }
+    }
+
+    @DisplayName("search index - save and load round trip, a different document key isn't loaded")
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        Document document = createDocument();
+        try {
+            SearchIndex searchIndex = createIndex(document);
+            String key = SearchIndex.createKey(document);
+            assertTrue(key.startsWith("0123456789ABCDEF"), key);
+            assertTrue(key.endsWith("|2"), key);
+            File file = new File(tempDir, "search_index.idx");
+            searchIndex.save(file);
+
+            SearchIndex loaded = SearchIndex.load(file, key);
+            assertNotNull(loaded);
+            assertEquals(key, loaded.getKey());
+            assertEquals(2, loaded.getPageCount());
+            assertTrue(loaded.isComplete());
+            assertEquals(searchIndex.findTerm("world").toString(), loaded.findTerm("world").toString());
+            assertEquals(searchIndex.findPrefix("e").toString(), loaded.findPrefix("e").toString());
+            assertHit(loaded.findPhrase(Arrays.asList("an", "inverted-index", "example")), 0, 8, 3);
+            assertEquals(pages(0, 1), loaded.findPages(Collections.singletonList("e"), false));
+
+            assertNull(SearchIndex.load(file, key + "0"));
+            assertNull(SearchIndex.load(new File(tempDir, "missing.idx"), key));
+        } finally {
+            document.dispose();
+        }
+    }
+
+    @DisplayName("search index - saving replaces the file, truncated or malformed files aren't loaded")
+    @Test
+    public void testDamagedFile() throws Exception {
+        Document document = createDocument();
+        try {
+            String key = SearchIndex.createKey(document);
+            File file = new File(tempDir, "search_index.idx");
+            new SearchIndex(key, 2).save(file);
+            createIndex(document).save(file);
+            // only the index is left, no temporary files.
+            assertArrayEquals(new String[]{"search_index.idx"}, tempDir.list());
+            assertEquals(2, SearchIndex.load(file, key).getIndexedPageCount());
+
+            byte[] data = Files.readAllBytes(file.toPath());
+            File damaged = new File(tempDir, "damaged.idx");
+            for (int length = 0; length < data.length; length++) {
+                Files.write(damaged.toPath(), Arrays.copyOf(data, length));
+                assertNull(SearchIndex.load(damaged, key), "truncated to " + length);
+            }
+            Files.write(damaged.toPath(), Arrays.copyOf(data, data.length + 1));
+            assertNull(SearchIndex.load(damaged, key));
+            // a negative page count after the key.
+            byte[] malformed = data.clone();
+            int pageCountOffset = 8 + 2 + key.length();
+            malformed[pageCountOffset] = (byte) 0x80;
+            Files.write(damaged.toPath(), malformed);
+            assertNull(SearchIndex.load(damaged, key));
+            // a huge bit set length.
+            malformed = data.clone();
+            malformed[pageCountOffset + 4] = 0x7f;
+            Files.write(damaged.toPath(), malformed);
+            assertNull(SearchIndex.load(damaged, key));
+        } finally {
+            document.dispose();
+        }
+    }
+
+    private static SearchIndex createIndex(Document document) throws InterruptedException {
+        int pageCount = document.getNumberOfPages();
+        SearchIndex searchIndex = new SearchIndex(SearchIndex.createKey(document), pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            searchIndex.addPage(i, document.getPageTree().getPage(i).getText());
+        }
+        return searchIndex;
+    }
+
+    private static void assertHit(List<SearchIndex.Hit> hits, int pageIndex, int position, int length) {
+        assertEquals(1, hits.size(), hits.toString());
+        assertEquals(pageIndex, hits.get(0).getPageIndex());
+        assertEquals(position, hits.get(0).getPosition());
+        assertEquals(length, hits.get(0).getLength());
+    }
+
+    private static BitSet pages(int... pageIndexes) {
+        BitSet pages = new BitSet();
+        for (int pageIndex : pageIndexes) {
+            pages.set(pageIndex);
+        }
+        return pages;
+    }
+
+    private static Document createDocument() throws IOException, PDFSecurityException {
+        byte[] pdf = createPdf(
+                "BT /F1 12 Tf 72 720 Td (Hello, world. Costs 3.5 units!) Tj 0 -20 Td (An inverted-index example) Tj ET",
+                "BT /F1 12 Tf 72 720 Td (Another page, nothing here.) Tj ET");
+        Document document = new Document();
+        document.setByteArray(pdf, 0, pdf.length, "search_index.pdf");
+        return document;
+    }
+
+    /**
+     * Builds a document with a page per content stream.
+     */
+    private static byte[] createPdf(String... contents) throws IOException {
+        List<String> objects = new ArrayList<>();
+        int firstPage = 4;
+        StringBuilder kids = new StringBuilder();
+        for (int i = 0; i < contents.length; i++) {
+            kids.append(firstPage + i * 2).append(" 0 R ");
+        }
+        objects.add("<< /Type /Catalog /Pages 2 0 R >>");
+        objects.add("<< /Type /Pages /Kids [" + kids + "] /Count " + contents.length + " >>");
+        objects.add("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica >>");
+        for (int i = 0; i < contents.length; i++) {
+            byte[] content = contents[i].getBytes(StandardCharsets.ISO_8859_1);
+            objects.add("<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] " +
+                    "/Resources << /Font << /F1 3 0 R >> >> /Contents " + (firstPage + i * 2 + 1) + " 0 R >>");
+            objects.add("<< /Length " + content.length + " >>\nstream\n" + contents[i] + "\nendstream");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Integer> offsets = new ArrayList<>();
+        write(out, "%PDF-1.4\n");
+        for (int i = 0; i < objects.size(); i++) {
+            offsets.add(out.size());
+            write(out, (i + 1) + " 0 obj\n" + objects.get(i) + "\nendobj\n");
+        }
+        int xref = out.size();
+        write(out, "xref\n0 " + (offsets.size() + 1) + "\n0000000000 65535 f \n");
+        for (int offset : offsets) {
+            write(out, String.format("%010d 00000 n \n", offset));
+        }
+        write(out, "trailer\n<< /Size " + (offsets.size() + 1) + " /Root 1 0 R " +
+                "/ID [<0123456789abcdef0123456789abcdef> <0123456789abcdef0123456789abcdef>] >>\nstartxref\n" +
+                xref + "\n%%EOF\n");
+        return out.toByteArray();
+    }
+
+    private static void write(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.ISO_8859_1);
+        out.write(bytes, 0, bytes.length);
+    }
+}
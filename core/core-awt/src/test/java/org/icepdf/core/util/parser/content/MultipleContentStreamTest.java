@@ -0,0 +1,105 @@
+package org.icepdf.core.util.parser.content;
+
+import org.icepdf.core.exceptions.PDFSecurityException;
+import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.pobjects.Page;
+import org.icepdf.core.pobjects.graphics.text.PageText;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MultipleContentStreamTest {
+
+    @DisplayName("content streams - text is extracted from every flate compressed content stream of a page")
+    @Test
+    public void testTextOfEveryContentStream() throws PDFSecurityException, IOException, InterruptedException {
+        Document document = new Document();
+        byte[] pdf = createDocument(
+                "BT /F1 12 Tf 72 720 Td (alpha) Tj ET",
+                "BT /F1 12 Tf 72 700 Td (bravo) Tj ET",
+                "",
+                "BT /F1 12 Tf 72 680 Td (delta) Tj ET");
+        document.setByteArray(pdf, 0, pdf.length, "multiple_content_streams.pdf");
+        try {
+            Page page = document.getPageTree().getPage(0);
+            // once for the first parse and again once the decoded bytes are only held by the stream cache.
+            for (int i = 0; i < 2; i++) {
+                PageText pageText = page.getText();
+                String text = pageText.toString();
+                assertTrue(text.contains("alpha"), text);
+                assertTrue(text.contains("bravo"), text);
+                assertTrue(text.contains("delta"), text);
+                page.releaseTextResources();
+            }
+        } finally {
+            document.dispose();
+        }
+    }
+
+    /**
+     * Builds a single page document whose page has one flate compressed content stream per given content.
+     */
+    private static byte[] createDocument(String... contents) throws IOException {
+        List<String> objects = new ArrayList<>();
+        int firstContent = 5;
+        StringBuilder contentRefs = new StringBuilder();
+        for (int i = 0; i < contents.length; i++) {
+            contentRefs.append(firstContent + i).append(" 0 R ");
+        }
+        objects.add("<< /Type /Catalog /Pages 2 0 R >>");
+        objects.add("<< /Type /Pages /Kids [3 0 R] /Count 1 >>");
+        objects.add("<< /Type /Page /Parent 2 0 R /MediaBox [0 0 612 792] " +
+                "/Resources << /Font << /F1 4 0 R >> >> /Contents [" + contentRefs + "] >>");
+        objects.add("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica >>");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Integer> offsets = new ArrayList<>();
+        write(out, "%PDF-1.4\n");
+        for (int i = 0; i < objects.size(); i++) {
+            offsets.add(out.size());
+            write(out, (i + 1) + " 0 obj\n" + objects.get(i) + "\nendobj\n");
+        }
+        for (int i = 0; i < contents.length; i++) {
+            byte[] compressed = deflate(contents[i].getBytes(StandardCharsets.ISO_8859_1));
+            offsets.add(out.size());
+            write(out, (firstContent + i) + " 0 obj\n<< /Length " + compressed.length +
+                    " /Filter /FlateDecode >>\nstream\n");
+            out.write(compressed);
+            write(out, "\nendstream\nendobj\n");
+        }
+        int xref = out.size();
+        write(out, "xref\n0 " + (offsets.size() + 1) + "\n0000000000 65535 f \n");
+        for (int offset : offsets) {
+            write(out, String.format("%010d 00000 n \n", offset));
+        }
+        write(out, "trailer\n<< /Size " + (offsets.size() + 1) + " /Root 1 0 R >>\nstartxref\n" + xref +
+                "\n%%EOF\n");
+        return out.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    private static void write(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.ISO_8859_1);
+        out.write(bytes, 0, bytes.length);
+    }
+}
@@ -64,6 +64,8 @@ public class PageThumbnailComponent extends AbstractPageViewComponent implements
         // current state.
         pageZoom = thumbNailZoom;
         pageRotation = 0;
+        // thumbnails are small enough to always be painted as one buffer.
+        tiledRendering = false;
 
         addMouseListener(this);
         setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
@@ -23,6 +23,7 @@ import org.icepdf.core.pobjects.graphics.text.PageText;
 import org.icepdf.core.pobjects.graphics.text.WordText;
 import org.icepdf.core.search.DestinationResult;
 import org.icepdf.core.search.DocumentSearchController;
+import org.icepdf.core.search.SearchIndex;
 import org.icepdf.core.search.SearchMode;
 import org.icepdf.core.search.SearchTerm;
 import org.icepdf.core.util.Library;
@@ -79,6 +80,9 @@ public class DocumentSearchControllerImpl implements DocumentSearchController {
     // Page index to SearchHitComponents
     private final Map<Integer, Set<SearchHitComponent>> pageToComponents = new HashMap<>();
 
+    // optional index used to skip the text of pages that can't contain a hit.
+    private SearchIndex searchIndex;
+
     /**
      * Create a news instance of search controller. A search model is created
      * for this instance.
@@ -188,6 +192,11 @@ public class DocumentSearchControllerImpl implements DocumentSearchController {
         // search hit list
         List<LineText> searchHits = new ArrayList<>();
 
+        // skip pages the index says don't contain any of the terms, saves parsing the page text.
+        if (isPageExcluded(pageIndex)) {
+            return searchHits;
+        }
+
         // get our page text reference
         PageText pageText = getPageText(pageIndex);
 
@@ -947,6 +956,7 @@ public class DocumentSearchControllerImpl implements DocumentSearchController {
     public void dispose() {
         searchModel.clearSearchResults();
         pageToComponents.clear();
+        searchIndex = null;
         document = null;
     }
 
@@ -973,6 +983,45 @@ public class DocumentSearchControllerImpl implements DocumentSearchController {
         return pageText;
     }
 
+    /**
+     * Sets the index used to skip pages that don't contain the search terms.  Pages that haven't been indexed
+     * yet are searched as usual so the index can still be building in the background.
+     *
+     * @param searchIndex index of the current document, null to search every page.
+     */
+    public void setSearchIndex(SearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    public SearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    /**
+     * Checks the search index for pages that can't contain a hit for any of the search terms.  Regex terms can't
+     * be checked against the index so any regex term searches the page.  Only the letter and digit words of a term
+     * are looked up, see {@link SearchIndex#getIndexedWords(List)}, a term without any searches the page.
+     *
+     * @param pageIndex page to check.
+     * @return true if the page has been indexed and doesn't contain the words of any of the search terms.
+     */
+    private boolean isPageExcluded(int pageIndex) {
+        SearchIndex searchIndex = this.searchIndex;
+        if (searchIndex == null || !searchIndex.isPageIndexed(pageIndex)) {
+            return false;
+        }
+        for (SearchTerm term : searchModel.getSearchTerms()) {
+            if (term.isRegex() || term.getTerms() == null) {
+                return false;
+            }
+            List<String> words = SearchIndex.getIndexedWords(term.getTerms());
+            if (words.isEmpty() || searchIndex.findPages(words, term.isWholeWord()).get(pageIndex)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Utility for breaking the pattern up into searchable words.  Breaks are
      * done on white spaces and punctuation.
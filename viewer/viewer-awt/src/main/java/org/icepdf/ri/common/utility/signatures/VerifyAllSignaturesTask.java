@@ -18,7 +18,7 @@ package org.icepdf.ri.common.utility.signatures;
 import org.icepdf.core.pobjects.Document;
 import org.icepdf.core.pobjects.acroform.InteractiveForm;
 import org.icepdf.core.pobjects.acroform.SignatureDictionary;
-import org.icepdf.core.pobjects.acroform.signature.exceptions.SignatureIntegrityException;
+import org.icepdf.core.pobjects.acroform.SignatureHandler;
 import org.icepdf.core.pobjects.annotations.SignatureWidgetAnnotation;
 import org.icepdf.ri.common.AbstractTask;
 import org.icepdf.ri.common.AbstractWorkerPanel;
@@ -55,39 +55,30 @@ public class VerifyAllSignaturesTask extends AbstractTask<Void, Object> {
             boolean unsignedFields = false;
             // build out the tree
             if (signatures.size() > 0) {
-                // iterate over the signature in the document.
-                for (int i = 0, max = signatures.size(); i < max; i++) {
-                    // break if needed
-                    if (isCancelled()) {
-                        break;
-                    }
-                    taskStatusMessage = messageFormat.format(new Object[]{i + 1, signatures.size()});
-
-                    SignatureWidgetAnnotation signatureWidgetAnnotation = signatures.get(i);
+                for (SignatureWidgetAnnotation signatureWidgetAnnotation : signatures) {
                     SignatureDictionary signatureDictionary = signatureWidgetAnnotation.getSignatureDictionary();
-                    if (signatureDictionary.getEntries().size() > 0) {
-                        try {
-                            signatureWidgetAnnotation.getSignatureValidator().validate();
-                            signatureWidgetAnnotation.getSignatureValidator().isSignaturesCoverDocumentLength();
-                            // add a new node to the tree.
-                        } catch (SignatureIntegrityException e) {
-                            logger.log(Level.WARNING, "Error verifying signature.", e);
-                        }
-                        // add the node to the signature panel tree but on the awt thread.
-                        publish(signatureWidgetAnnotation);
-                    } else {
+                    if (signatureDictionary.getEntries().size() == 0) {
                         // found some unsigned fields.
                         unsignedFields = true;
+                        break;
                     }
-                    Thread.yield();
                 }
+                // signatures are verified concurrently, each one is added to the signature panel tree on the
+                // awt thread as soon as it has been verified.
+                SignatureHandler signatureHandler = document.getCatalog().getLibrary().getSignatureHandler();
+                signatureHandler.validateSignatures(signatures, (signatureWidgetAnnotation, completed, total) -> {
+                    taskStatusMessage = messageFormat.format(new Object[]{completed, total});
+                    publish(signatureWidgetAnnotation);
+                });
                 // build out unsigned fields
-                if (unsignedFields) {
+                if (unsignedFields && !isCancelled()) {
                     publish(signatures);
                 }
             }
             // update the dialog and end the task
             taskStatusMessage = messageBundle.getString("viewer.utilityPane.signatures.verify.completeMessage.label");
+        } catch (InterruptedException e) {
+            logger.log(Level.FINER, "Signature verification was cancelled.", e);
         } catch (Exception e) {
             logger.log(Level.FINER, "Error verifying signatures.", e);
         }
@@ -28,6 +28,9 @@ import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.FutureTask;
 import java.util.logging.Level;
@@ -38,6 +41,11 @@ import java.util.logging.Logger;
  * provided by a parent JScrollPane component to optimize memory usage.  Page content is painted to a back buffer
  * which is painted by the component when ready.  The back buffer is scaled on subsequent paints to show content and
  * is later replaced with a new buffer that is painted with the current page properties.
+ * <br>
+ * When tiled rendering is enabled with the system property org.icepdf.core.views.page.tiledRendering, the page is
+ * instead painted as fixed size tiles kept in the shared {@link PageTileCache}.  Only the tiles that are missing for
+ * the visible part of the page, plus the buffer padding, are painted so scrolling over large pages and returning to
+ * a previous zoom level don't repaint the whole page.
  */
 public abstract class AbstractPageViewComponent
         extends JLayeredPane
@@ -51,6 +59,7 @@ public abstract class AbstractPageViewComponent
     private static Color pageColor;
     protected static int pageBufferPadding;
     protected static boolean progressivePaint;
+    private static boolean tiledRenderingEnabled;
 
     static {
         try {
@@ -67,6 +76,8 @@ public abstract class AbstractPageViewComponent
         pageBufferPadding = Defs.intProperty("org.icepdf.core.views.bufferpadding", 250);
         // progressive paint of first page loat.
         progressivePaint = Defs.booleanProperty("org.icepdf.core.views.page.progressivePaint", true);
+        // paint pages as cached tiles rather than one viewport sized buffer.
+        tiledRenderingEnabled = Defs.booleanProperty("org.icepdf.core.views.page.tiledRendering", false);
     }
 
     // flags for painting annotations and text highlights.
@@ -93,6 +104,15 @@ public abstract class AbstractPageViewComponent
     // Main worker task.
     protected FutureTask<Object> pageImageCaptureTask;
 
+    // tiled rendering state, tiles are keyed by the generation which changes when the page content is refreshed.
+    protected boolean tiledRendering;
+    protected int tileGeneration;
+    private PageTileCaptureTask pageTileCaptureTask;
+    private FutureTask<Object> pageTileCaptureFuture;
+    // zoom and rotation all the visible tiles were last painted at, used to fill in while tiles are painted.
+    private boolean hasTileLevel;
+    private float tileZoom, tileRotation;
+
     public AbstractPageViewComponent(DocumentViewModel documentViewModel, PageTree pageTree,
                                      final int pageIndex, int width, int height) {
         // needed to propagate mouse events.
@@ -113,6 +133,7 @@ public abstract class AbstractPageViewComponent
 
         // set up the store for the pageBufferPadding and current clip
         pageBufferStore = new PageBufferStore();
+        tiledRendering = tiledRenderingEnabled;
 
         // initialize page size
         pageSize = new Rectangle();
@@ -207,12 +228,20 @@ public abstract class AbstractPageViewComponent
         if (pageImageCaptureTask != null && !pageImageCaptureTask.isDone()) {
             pageImageCaptureTask.cancel(true);
         }
+        if (pageTileCaptureFuture != null && !pageTileCaptureFuture.isDone()) {
+            pageTileCaptureFuture.cancel(true);
+        }
         if (PropertyConstants.DOCUMENT_VIEW_ROTATION_CHANGE.equals(propertyConstant)) {
             pageRotation = (Float) newValue;
         } else if (PropertyConstants.DOCUMENT_VIEW_ZOOM_CHANGE.equals(propertyConstant)) {
             pageZoom = (Float) newValue;
         } else if (PropertyConstants.DOCUMENT_VIEW_REFRESH_CHANGE.equals(propertyConstant)) {
-            // nothing to do but repaint
+            // nothing to do but repaint, tiles of the old content are dropped.
+            if (tiledRendering) {
+                tileGeneration++;
+                hasTileLevel = false;
+                PageTileCache.getInstance().remove(pageTree, pageIndex);
+            }
         }
         calculatePageSize(pageSize, pageRotation, pageZoom);
         pageBufferStore.setDirty(true);
@@ -256,12 +285,20 @@ public abstract class AbstractPageViewComponent
         GraphicsRenderingHints grh = GraphicsRenderingHints.getDefault();
         g2d.setRenderingHints(grh.getRenderingHints(GraphicsRenderingHints.SCREEN));
         // page location in the entire view.
-        calculateBufferLocation();
+        if (!tiledRendering) {
+            calculateBufferLocation();
+        }
 
         // paint the paper
         g2d.setColor(pageColor);
         g2d.fillRect(0, 0, pageSize.width, pageSize.height);
 
+        if (tiledRendering) {
+            paintTiles(g2d);
+            g2d.dispose();
+            return;
+        }
+
         // paint the pageBufferPadding, but get the latest copy encase it was returned extra quick
         BufferedImage pageImage = pageBufferStore.getImageReference();
         if (pageImage != null) {
@@ -338,6 +375,133 @@ public abstract class AbstractPageViewComponent
         }
     }
 
+    /**
+     * Paints the cached tiles that cover the visible part of the page and schedules the painting of the tiles that
+     * are missing, visible tiles first and then the tiles in the buffer padding around them.  Until a missing tile
+     * is ready, the tiles of the zoom level the page was last completely painted at are scaled to fill in for it.
+     *
+     * @param g2d page graphics context.
+     */
+    private void paintTiles(Graphics2D g2d) {
+        JScrollPane parentScrollPane = documentViewModel.getDocumentViewScrollPane();
+        // grab a reference to the graphics configuration via the AWT thread, same as calculateBufferLocation.
+        graphicsConfiguration = parentScrollPane.getGraphicsConfiguration();
+        calculatePageSize(pageSize, pageRotation, pageZoom);
+
+        Rectangle pageLocation = documentViewModel.getPageBounds(pageIndex);
+        if (pageLocation == null) {
+            pageLocation = new Rectangle(pageSize);
+        }
+        Rectangle pageArea = new Rectangle(0, 0, pageSize.width, pageSize.height);
+        Rectangle visibleArea = parentScrollPane.getViewport().getViewRect().intersection(pageLocation);
+        visibleArea.translate(-pageLocation.x, -pageLocation.y);
+        visibleArea = visibleArea.intersection(pageArea);
+        if (visibleArea.isEmpty()) {
+            return;
+        }
+
+        PageTileCache tileCache = PageTileCache.getInstance();
+        List<PageTileCache.TileKey> visibleTiles = getTileKeys(visibleArea, pageZoom, pageRotation);
+        BufferedImage[] tileImages = new BufferedImage[visibleTiles.size()];
+        ArrayList<PageTileCache.TileKey> missingTiles = new ArrayList<>();
+        for (int i = 0, max = visibleTiles.size(); i < max; i++) {
+            tileImages[i] = tileCache.get(visibleTiles.get(i));
+            if (tileImages[i] == null) {
+                missingTiles.add(visibleTiles.get(i));
+            }
+        }
+        // fill in the missing tiles with the last complete level, scaled.
+        if (!missingTiles.isEmpty() && hasTileLevel && tileRotation == pageRotation && tileZoom != pageZoom) {
+            double scale = pageZoom / (double) tileZoom;
+            Rectangle levelArea = new Rectangle(
+                    (int) Math.floor(visibleArea.x / scale), (int) Math.floor(visibleArea.y / scale),
+                    (int) Math.ceil(visibleArea.width / scale) + 1, (int) Math.ceil(visibleArea.height / scale) + 1);
+            Graphics2D levelGraphics = (Graphics2D) g2d.create();
+            levelGraphics.scale(scale, scale);
+            for (PageTileCache.TileKey key : getTileKeys(levelArea, tileZoom, tileRotation)) {
+                BufferedImage tileImage = tileCache.get(key);
+                if (tileImage != null) {
+                    levelGraphics.drawImage(tileImage, key.getColumn() * PageTileCache.TILE_SIZE,
+                            key.getRow() * PageTileCache.TILE_SIZE, null);
+                }
+            }
+            levelGraphics.dispose();
+        }
+        for (int i = 0, max = visibleTiles.size(); i < max; i++) {
+            if (tileImages[i] != null) {
+                PageTileCache.TileKey key = visibleTiles.get(i);
+                g2d.drawImage(tileImages[i], key.getColumn() * PageTileCache.TILE_SIZE,
+                        key.getRow() * PageTileCache.TILE_SIZE, null);
+            }
+        }
+        if (missingTiles.isEmpty()) {
+            hasTileLevel = true;
+            tileZoom = pageZoom;
+            tileRotation = pageRotation;
+        }
+
+        // a running task that already covers the visible tiles is left alone, the padding is picked up on the
+        // repaint that follows it.
+        if (pageTileCaptureFuture != null && !pageTileCaptureFuture.isDone()) {
+            if (pageTileCaptureTask.containsAll(missingTiles)) {
+                return;
+            }
+            pageTileCaptureFuture.cancel(true);
+        }
+        int visibleMissingCount = missingTiles.size();
+        Rectangle paddedArea = new Rectangle(visibleArea.x - pageBufferPadding, visibleArea.y - pageBufferPadding,
+                visibleArea.width + pageBufferPadding * 2, visibleArea.height + pageBufferPadding * 2)
+                .intersection(pageArea);
+        HashSet<PageTileCache.TileKey> visibleTileSet = new HashSet<>(visibleTiles);
+        for (PageTileCache.TileKey key : getTileKeys(paddedArea, pageZoom, pageRotation)) {
+            if (!visibleTileSet.contains(key) && !tileCache.containsKey(key)) {
+                missingTiles.add(key);
+            }
+        }
+        if (!missingTiles.isEmpty()) {
+            pageTileCaptureTask = new PageTileCaptureTask(this, missingTiles, visibleMissingCount,
+                    pageSize.getSize(), pageZoom, pageRotation);
+            pageTileCaptureFuture = new FutureTask<>(pageTileCaptureTask);
+            Library.execute(pageTileCaptureFuture);
+        }
+    }
+
+    /**
+     * Gets the keys of the tiles that intersect the given area of the page.
+     *
+     * @param area     area of the page in pixels at the given zoom and rotation.
+     * @param zoom     page zoom.
+     * @param rotation page rotation.
+     * @return tile keys in row order.
+     */
+    private List<PageTileCache.TileKey> getTileKeys(Rectangle area, float zoom, float rotation) {
+        PageTileCache tileCache = PageTileCache.getInstance();
+        int tileSize = PageTileCache.TILE_SIZE;
+        int firstColumn = Math.max(0, area.x / tileSize);
+        int firstRow = Math.max(0, area.y / tileSize);
+        int lastColumn = (area.x + area.width - 1) / tileSize;
+        int lastRow = (area.y + area.height - 1) / tileSize;
+        ArrayList<PageTileCache.TileKey> keys = new ArrayList<>();
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                keys.add(tileCache.createKey(pageTree, pageIndex, tileGeneration, zoom, rotation, column, row));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Cancels the painting of any tiles and removes the page's tiles from the shared tile cache.
+     */
+    protected void disposeTiles() {
+        if (pageTileCaptureFuture != null && !pageTileCaptureFuture.isDone()) {
+            pageTileCaptureFuture.cancel(true);
+        }
+        if (tiledRendering) {
+            PageTileCache.getInstance().remove(pageTree, pageIndex);
+        }
+    }
+
     /**
      * Calculates the affine transform that paints the old buffered image using the current scale and rotation.  This
      * avoid the back buffer flicker.  Once the worker captures the new buffer we swap in the new buffer.
@@ -458,6 +622,112 @@ public abstract class AbstractPageViewComponent
         }
     }
 
+    /**
+     * Paints a list of tiles of the page into the shared tile cache, repainting the component as each tile is
+     * ready.  Page content can't be painted by several threads at once so the tiles of a page are painted one after
+     * the other, the tiles of different pages are painted concurrently by each page's task.
+     */
+    public class PageTileCaptureTask implements Callable<Object> {
+
+        private final JComponent parent;
+        private final List<PageTileCache.TileKey> tileKeys;
+        private final HashSet<PageTileCache.TileKey> visibleTileKeys;
+        private final Dimension pageSize;
+        private final float zoom;
+        private final float rotation;
+
+        /**
+         * Creates a new task.
+         *
+         * @param parent       page component.
+         * @param tileKeys     tiles to paint, in paint order.
+         * @param visibleCount number of tiles at the start of the list that are visible.
+         * @param pageSize     size of the page at the zoom and rotation.
+         * @param zoom         page zoom.
+         * @param rotation     page rotation.
+         */
+        public PageTileCaptureTask(JComponent parent, List<PageTileCache.TileKey> tileKeys, int visibleCount,
+                                   Dimension pageSize, float zoom, float rotation) {
+            this.parent = parent;
+            this.tileKeys = tileKeys;
+            this.visibleTileKeys = new HashSet<>(tileKeys.subList(0, visibleCount));
+            this.pageSize = pageSize;
+            this.zoom = zoom;
+            this.rotation = rotation;
+        }
+
+        /**
+         * @param keys tiles to check.
+         * @return true if the given tiles are all visible tiles of this task.
+         */
+        boolean containsAll(List<PageTileCache.TileKey> keys) {
+            return visibleTileKeys.containsAll(keys);
+        }
+
+        public Object call() {
+            if (!isPageIntersectViewport()) {
+                // page teardown when out of view.
+                pageTeardownCallback();
+                return null;
+            }
+            Page page = pageTree.getPage(pageIndex);
+            PageTileCache tileCache = PageTileCache.getInstance();
+            int tileSize = PageTileCache.TILE_SIZE;
+            // page loading progress
+            PageViewLoadingListener pageLoadingListener = new DefaultPageViewLoadingListener(parent, documentViewController);
+            try {
+                if (documentViewController != null) page.addPageProcessingListener(pageLoadingListener);
+                // page init, interruptable
+                page.init();
+                pageInitializedCallback(page);
+
+                for (PageTileCache.TileKey key : tileKeys) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException("Page tile capture interrupted");
+                    }
+                    if (tileCache.containsKey(key)) {
+                        continue;
+                    }
+                    int x = key.getColumn() * tileSize;
+                    int y = key.getRow() * tileSize;
+                    int width = Math.min(tileSize, pageSize.width - x);
+                    int height = Math.min(tileSize, pageSize.height - y);
+                    if (width <= 0 || height <= 0) {
+                        continue;
+                    }
+                    BufferedImage tileImage = graphicsConfiguration.createCompatibleImage(
+                            width, height, BufferedImage.TYPE_INT_ARGB);
+                    Graphics2D g2d = tileImage.createGraphics();
+                    try {
+                        g2d.setClip(0, 0, width, height);
+                        g2d.translate(-x, -y);
+                        // paint page interruptable
+                        page.paint(g2d, GraphicsRenderingHints.SCREEN, pageBoundaryBox, rotation, zoom,
+                                paintAnnotations, paintSearchHighlight);
+                    } finally {
+                        g2d.dispose();
+                    }
+                    // don't keep a tile that may only be partially painted.
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException("Page tile capture interrupted");
+                    }
+                    tileCache.put(key, tileImage);
+                    SwingUtilities.invokeLater(AbstractPageViewComponent.this::repaint);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.finer("Interrupted page tile capture task: " + e.getMessage() + " " + pageIndex);
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Error during page tile capture task: " + e.getMessage() + " " +
+                        pageIndex, e);
+            } finally {
+                page.removePageProcessingListener(pageLoadingListener);
+            }
+            // no repaint once done, each tile has queued its own and a failed tile would be scheduled again.
+            return null;
+        }
+    }
+
     /**
      * Synchronized page buffer property store, insures that a page capture occurs using the correct properties.
      */
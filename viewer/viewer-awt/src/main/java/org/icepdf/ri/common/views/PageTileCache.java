@@ -0,0 +1,218 @@
+/*
+ * Copyright 2006-2019 ICEsoft Technologies Canada Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an "AS
+ * IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.icepdf.ri.common.views;
+
+import org.icepdf.core.util.Defs;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Least recently used cache of rendered page tiles shared by all the page views of the viewer.  Tiles are square
+ * pieces of a page painted at a given zoom and rotation, the cache is bounded by the total size of the tile rasters
+ * so panning over large pages and switching back and forth between zoom levels reuses tiles rather than painting
+ * the page again.
+ * <br>
+ * The tile size in pixels can be set with the system property org.icepdf.core.views.page.tileSize, default 256,
+ * and the max cache size in MB with org.icepdf.core.views.page.tileCacheSize, default 1/8 of the heap.
+ *
+ * @since 7.3.0
+ */
+public class PageTileCache {
+
+    private static final Logger logger =
+            Logger.getLogger(PageTileCache.class.toString());
+
+    public static final int TILE_SIZE;
+
+    private static final long maxSize;
+
+    private static PageTileCache pageTileCache;
+
+    static {
+        TILE_SIZE = Math.max(64, Defs.intProperty("org.icepdf.core.views.page.tileSize", 256));
+        int cacheSize = Defs.intProperty("org.icepdf.core.views.page.tileCacheSize", -1);
+        maxSize = cacheSize > 0 ? cacheSize * 1024L * 1024L : Runtime.getRuntime().maxMemory() / 8;
+    }
+
+    private final LinkedHashMap<TileKey, BufferedImage> tiles;
+    // documents are identified by an id so the keys don't keep a closed document's page tree reachable.
+    private final WeakHashMap<Object, Integer> owners;
+    private int nextOwnerId;
+    private long size;
+
+    private PageTileCache() {
+        tiles = new LinkedHashMap<>(256, 0.75f, true);
+        owners = new WeakHashMap<>();
+    }
+
+    public static synchronized PageTileCache getInstance() {
+        if (pageTileCache == null) {
+            pageTileCache = new PageTileCache();
+        }
+        return pageTileCache;
+    }
+
+    /**
+     * Creates the key of a tile.
+     *
+     * @param owner      object identifying the document, usually its page tree.
+     * @param pageIndex  page index.
+     * @param generation content generation of the page, incremented when the page content has to be repainted.
+     * @param zoom       page zoom.
+     * @param rotation   page rotation.
+     * @param column     tile column, the tile's x location divided by TILE_SIZE.
+     * @param row        tile row, the tile's y location divided by TILE_SIZE.
+     * @return new tile key.
+     */
+    public TileKey createKey(Object owner, int pageIndex, int generation, float zoom, float rotation,
+                             int column, int row) {
+        return new TileKey(getOwnerId(owner), pageIndex, generation, zoom, rotation, column, row);
+    }
+
+    public synchronized BufferedImage get(TileKey key) {
+        return tiles.get(key);
+    }
+
+    public synchronized boolean containsKey(TileKey key) {
+        return tiles.containsKey(key);
+    }
+
+    public synchronized void put(TileKey key, BufferedImage tile) {
+        long tileSize = getImageSize(tile);
+        if (tileSize > maxSize) {
+            return;
+        }
+        BufferedImage previous = tiles.put(key, tile);
+        if (previous != null) {
+            size -= getImageSize(previous);
+        }
+        size += tileSize;
+        Iterator<Map.Entry<TileKey, BufferedImage>> iterator = tiles.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            Map.Entry<TileKey, BufferedImage> eldest = iterator.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            size -= getImageSize(eldest.getValue());
+            iterator.remove();
+        }
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.finest("Tile cache size " + size + " of " + maxSize + " bytes, " + tiles.size() + " tiles.");
+        }
+    }
+
+    /**
+     * Removes all the tiles of the given page, regardless of zoom, rotation and generation.
+     *
+     * @param owner     object identifying the document.
+     * @param pageIndex page index.
+     */
+    public synchronized void remove(Object owner, int pageIndex) {
+        int ownerId = getOwnerId(owner);
+        Iterator<Map.Entry<TileKey, BufferedImage>> iterator = tiles.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<TileKey, BufferedImage> entry = iterator.next();
+            TileKey key = entry.getKey();
+            if (key.ownerId == ownerId && key.pageIndex == pageIndex) {
+                size -= getImageSize(entry.getValue());
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    private synchronized int getOwnerId(Object owner) {
+        return owners.computeIfAbsent(owner, o -> nextOwnerId++);
+    }
+
+    private static long getImageSize(BufferedImage image) {
+        DataBuffer dataBuffer = image.getRaster().getDataBuffer();
+        return (long) dataBuffer.getSize() * dataBuffer.getNumBanks() *
+                DataBuffer.getDataTypeSize(dataBuffer.getDataType()) / 8;
+    }
+
+    /**
+     * Identifies a tile of a page painted at a given zoom and rotation.
+     */
+    public static final class TileKey {
+        private final int ownerId;
+        private final int pageIndex;
+        private final int generation;
+        private final float zoom;
+        private final float rotation;
+        private final int column;
+        private final int row;
+
+        private TileKey(int ownerId, int pageIndex, int generation, float zoom, float rotation,
+                        int column, int row) {
+            this.ownerId = ownerId;
+            this.pageIndex = pageIndex;
+            this.generation = generation;
+            this.zoom = zoom;
+            this.rotation = rotation;
+            this.column = column;
+            this.row = row;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TileKey)) return false;
+            TileKey tileKey = (TileKey) o;
+            return ownerId == tileKey.ownerId &&
+                    pageIndex == tileKey.pageIndex &&
+                    generation == tileKey.generation &&
+                    column == tileKey.column &&
+                    row == tileKey.row &&
+                    Float.compare(zoom, tileKey.zoom) == 0 &&
+                    Float.compare(rotation, tileKey.rotation) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = ownerId;
+            result = 31 * result + pageIndex;
+            result = 31 * result + generation;
+            result = 31 * result + Float.floatToIntBits(zoom);
+            result = 31 * result + Float.floatToIntBits(rotation);
+            result = 31 * result + column;
+            result = 31 * result + row;
+            return result;
+        }
+    }
+}
@@ -99,6 +99,8 @@ public class PageViewComponentImpl extends AbstractPageViewComponent implements
         removeMouseListener(currentToolHandler);
         // remove focus listener
         removeFocusListener(this);
+        // release the page tiles, if any.
+        disposeTiles();
         // dispose annotations components
         if (annotationComponents != null) {
             synchronized (annotationComponentsLock) {